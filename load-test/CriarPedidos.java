@@ -0,0 +1,150 @@
+// Teste de carga do POST /api/pedidos sem dependências externas, equivalente a criar-pedidos.js,
+// para ambientes sem o k6. Executável direto pelo launcher de arquivo único do Java 21:
+//
+//   java load-test/CriarPedidos.java [usuarios] [segundos] [aquecimentoSegundos]
+//   java load-test/CriarPedidos.java 300 30 10
+//
+// Variáveis de ambiente: BASE_URL, EMAIL, SENHA e CLIENTE_ID, com os mesmos padrões do script k6.
+// Cada usuário é uma thread virtual que envia pedidos em sequência; as respostas do aquecimento
+// não entram na medição. Imprime a vazão (pedidos 201 por segundo) e os percentis de latência.
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+public class CriarPedidos {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+
+        int usuarios = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        int aquecimento = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        String baseUrl = System.getenv().getOrDefault("BASE_URL", "http://localhost:8080");
+
+        HttpClient cliente = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest pedido = HttpRequest.newBuilder(URI.create(baseUrl + "/api/pedidos"))
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + login(cliente, baseUrl))
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.ofString(corpoPedido()))
+            .build();
+
+        long inicioMedicao = System.nanoTime() + aquecimento * 1_000_000_000L;
+        long fim = inicioMedicao + segundos * 1_000_000_000L;
+
+        ConcurrentLinkedQueue<Long> latencias = new ConcurrentLinkedQueue<>();
+        Map<String, LongAdder> respostas = new ConcurrentHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (int i = 0; i < usuarios; i++) {
+
+                executor.submit(() -> {
+
+                    while (System.nanoTime() < fim) {
+
+                        long inicio = System.nanoTime();
+                        String resultado;
+
+                        try {
+
+                            int status = cliente.send(pedido, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            resultado = String.valueOf(status);
+                            if (status == 201 && inicio >= inicioMedicao) {
+
+                                latencias.add(System.nanoTime() - inicio);
+
+                            }
+
+                        } catch (Exception e) {
+
+                            resultado = e.getClass().getSimpleName();
+
+                        }
+
+                        if (inicio >= inicioMedicao) {
+
+                            respostas.computeIfAbsent(resultado, chave -> new LongAdder()).increment();
+
+                        }
+
+                    }
+
+                    return null;
+
+                });
+
+            }
+
+        }
+
+        long[] ordenadas = latencias.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("usuarios=%d duracao=%ds respostas=%s%n", usuarios, segundos, new TreeMap<>(respostas));
+
+        if (ordenadas.length == 0) {
+
+            System.out.println("Nenhum pedido criado durante a medição.");
+            return;
+
+        }
+
+        System.out.printf("pedidos/s=%.1f p50=%.0fms p95=%.0fms p99=%.0fms max=%.0fms%n",
+            ordenadas.length / (double) segundos,
+            percentil(ordenadas, 0.50), percentil(ordenadas, 0.95), percentil(ordenadas, 0.99),
+            ordenadas[ordenadas.length - 1] / 1e6);
+
+    }
+
+    // Login uma única vez com a cliente de teste; todos os usuários usam o mesmo token.
+    private static String login(HttpClient cliente, String baseUrl) throws Exception {
+
+        String credenciais = "{\"email\":\"%s\",\"senha\":\"%s\"}".formatted(
+            System.getenv().getOrDefault("EMAIL", "ana.cliente@email.com"),
+            System.getenv().getOrDefault("SENHA", "123456"));
+
+        String resposta = cliente.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(credenciais))
+            .build(), HttpResponse.BodyHandlers.ofString()).body();
+
+        Matcher token = TOKEN.matcher(resposta);
+        if (!token.find()) {
+
+            throw new IllegalStateException("Login falhou: " + resposta);
+
+        }
+
+        return token.group(1);
+
+    }
+
+    private static String corpoPedido() {
+
+        return """
+            {"clienteId":%s,"restauranteId":1,"enderecoEntrega":"Rua das Flores, 123, Apto 45","cep":"16015-240",\
+            "formaPagamento":"PIX","itens":[{"produtoId":1,"quantidade":1},{"produtoId":2,"quantidade":2}]}"""
+            .formatted(System.getenv().getOrDefault("CLIENTE_ID", "2"));
+
+    }
+
+    private static double percentil(long[] ordenadas, double fracao) {
+
+        return ordenadas[Math.min(ordenadas.length - 1, (int) (ordenadas.length * fracao))] / 1e6;
+
+    }
+
+}
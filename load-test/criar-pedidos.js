@@ -0,0 +1,56 @@
+// Teste de carga do POST /api/pedidos (k6: https://k6.io).
+//
+// Rodar a mesma carga contra a API com threads de plataforma e com o perfil "virtual":
+//   java -jar target/deliverytech-0.0.1-SNAPSHOT.jar
+//   java -jar target/deliverytech-0.0.1-SNAPSHOT.jar --spring.profiles.active=virtual
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 -e DURACAO=60s load-test/criar-pedidos.js
+//
+// Compare "http_reqs" (vazão) e o p(99) de "http_req_duration" dos dois modos.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    vus: Number(__ENV.VUS || 200),
+    duration: __ENV.DURACAO || '60s',
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+// Login uma única vez com a cliente de teste; todos os VUs usam o mesmo token.
+export function setup() {
+
+    const resposta = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ email: __ENV.EMAIL || 'ana.cliente@email.com', senha: __ENV.SENHA || '123456' }),
+        { headers: { 'Content-Type': 'application/json' } });
+
+    check(resposta, { 'login 200': r => r.status === 200 });
+    return { token: resposta.json('token') || resposta.json('data.token') };
+
+}
+
+export default function (dados) {
+
+    const pedido = {
+        clienteId: Number(__ENV.CLIENTE_ID || 2),
+        restauranteId: 1,
+        enderecoEntrega: 'Rua das Flores, 123, Apto 45',
+        cep: '16015-240',
+        formaPagamento: 'PIX',
+        itens: [
+            { produtoId: 1, quantidade: 1 },
+            { produtoId: 2, quantidade: 2 },
+        ],
+    };
+
+    const resposta = http.post(`${BASE_URL}/api/pedidos`, JSON.stringify(pedido), {
+        headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${dados.token}` },
+    });
+
+    check(resposta, { 'pedido 201': r => r.status === 201 });
+
+}
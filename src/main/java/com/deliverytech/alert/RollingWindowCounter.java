@@ -0,0 +1,76 @@
+package com.deliverytech.alert;
+
+
+/**
+* Janelas deslizantes de requisições e erros em memória constante.
+* Guarda, em um anel de tamanho fixo, o valor acumulado dos contadores a cada intervalo de avaliação;
+* o volume de uma janela é a diferença entre a leitura mais recente e a de N intervalos atrás
+* (equivalente a somar os N buckets mais recentes).
+*/
+public class RollingWindowCounter {
+
+    private final long[] totais;
+    private final long[] erros;
+
+    private int proxima;
+    private int preenchidas;
+
+    /**
+    * @param maxIntervalos Maior janela consultada, em intervalos de avaliação.
+    */
+    public RollingWindowCounter(int maxIntervalos) {
+
+        if (maxIntervalos < 1) {
+
+            throw new IllegalArgumentException("A janela deve ter pelo menos um intervalo: " + maxIntervalos);
+
+        }
+
+        // Uma leitura a mais: a janela de N intervalos precisa da leitura de N intervalos atrás.
+        this.totais = new long[maxIntervalos + 1];
+        this.erros = new long[maxIntervalos + 1];
+
+    }
+
+    /**
+    * Registra a leitura dos contadores acumulados no fim de um intervalo.
+    */
+    public synchronized void registrar(long totalAcumulado, long errosAcumulados) {
+
+        totais[proxima] = totalAcumulado;
+        erros[proxima] = errosAcumulados;
+        proxima = (proxima + 1) % totais.length;
+        preenchidas = Math.min(preenchidas + 1, totais.length);
+
+    }
+
+    /**
+    * Volume dos últimos {@code intervalos}. Logo após a inicialização, usa o histórico disponível.
+    */
+    public synchronized Janela janela(int intervalos) {
+
+        if (preenchidas == 0) {
+
+            return new Janela(0, 0);
+
+        }
+
+        int atual = (proxima - 1 + totais.length) % totais.length;
+        int recuo = Math.min(intervalos, preenchidas - 1);
+        int inicio = (atual - recuo + totais.length) % totais.length;
+
+        return new Janela(totais[atual] - totais[inicio], erros[atual] - erros[inicio]);
+
+    }
+
+    public record Janela(long total, long erros) {
+
+        public double taxaErro() {
+
+            return total > 0 ? (double) erros / total : 0.0;
+
+        }
+
+    }
+
+}
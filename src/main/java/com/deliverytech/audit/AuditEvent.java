@@ -0,0 +1,41 @@
+package com.deliverytech.audit;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.Instant;
+
+
+/**
+* Eventos de auditoria, montados na thread da requisição e serializados pelo {@link AuditEventWriter}.
+* Os campos e a ordem no JSON são os mesmos gravados antes no arquivo de auditoria.
+*/
+public sealed interface AuditEvent {
+
+    @JsonPropertyOrder({ "timestamp", "type", "userId", "action", "resource", "details", "correlationId" })
+    record UserAction(Instant timestamp, String userId, String action, String resource, Object details,
+        String correlationId) implements AuditEvent {
+
+        @JsonProperty("type")
+        public String type() {
+
+            return "USER_ACTION";
+
+        }
+
+    }
+
+    @JsonPropertyOrder({ "timestamp", "type", "event", "details", "success", "correlationId" })
+    record SecurityEvent(Instant timestamp, String event, String details, boolean success,
+        String correlationId) implements AuditEvent {
+
+        @JsonProperty("type")
+        public String type() {
+
+            return "SECURITY_EVENT";
+
+        }
+
+    }
+
+}
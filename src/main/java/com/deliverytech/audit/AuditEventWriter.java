@@ -0,0 +1,330 @@
+package com.deliverytech.audit;
+
+import com.deliverytech.config.AuditProperties;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+
+/**
+* Grava os eventos de auditoria fora da thread da requisição.
+* As requisições apenas enfileiram o evento em um {@link MpscRingBuffer}; uma thread dedicada
+* ("audit-writer") drena a fila em lotes e grava cada evento com sua própria chamada ao logger "AUDIT",
+* de modo que cada appender (arquivo e console JSON) recebe um registro por evento. O que é agrupado por
+* lote é só o flush: o appender de arquivo da auditoria usa immediateFlush=false e o escritor descarrega
+* o buffer uma vez ao fim de cada lote.
+*/
+@Component
+public class AuditEventWriter {
+
+    // Logger específico "AUDIT" que configuramos no logback-spring.xml
+    private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    // Espera do escritor sem eventos (é acordado antes disso quando chega um evento).
+    private static final long ESPERA_ESCRITOR_NANOS = Duration.ofMillis(100).toNanos();
+
+    // Espera de um produtor com a fila cheia na política BLOQUEAR (50 µs por tentativa).
+    private static final long ESPERA_PRODUTOR_NANOS = 50_000L;
+
+    private final MpscRingBuffer<AuditEvent> fila;
+    private final AuditEvent[] lote;
+    private final AuditProperties.PoliticaOverflow overflow;
+    private final Duration tempoDesligamento;
+    private final ObjectWriter jsonWriter;
+    private final Consumer<String> destino;
+    private final Runnable descarregar;
+    private final LongAdder descartados = new LongAdder();
+    private final Thread escritor;
+
+    private volatile boolean ativo = true;
+    private volatile boolean dormindo;
+
+    @Autowired
+    public AuditEventWriter(AuditProperties properties, ObjectMapper objectMapper,
+        ObjectProvider<MeterRegistry> meterRegistry) {
+
+        this(properties, objectMapper, auditLogger::info, AuditEventWriter::descarregarArquivos);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+
+            registrarMetricas(registry);
+
+        }
+
+    }
+
+    AuditEventWriter(AuditProperties properties, ObjectMapper objectMapper, Consumer<String> destino) {
+
+        this(properties, objectMapper, destino, () -> { });
+
+    }
+
+    AuditEventWriter(AuditProperties properties, ObjectMapper objectMapper, Consumer<String> destino,
+        Runnable descarregar) {
+
+        this.fila = new MpscRingBuffer<>(properties.getCapacidade());
+        this.lote = new AuditEvent[Math.max(1, properties.getTamanhoLote())];
+        this.overflow = properties.getOverflow();
+        this.tempoDesligamento = properties.getTempoDesligamento();
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.destino = destino;
+        this.descarregar = descarregar;
+
+        this.escritor = Thread.ofPlatform().name("audit-writer").daemon(true).unstarted(this::executar);
+        this.escritor.start();
+
+    }
+
+    /**
+    * Enfileira o evento para gravação. Com a fila cheia, descarta (contando o descarte)
+    * ou espera por espaço, conforme delivery.audit.overflow.
+    */
+    public void publicar(AuditEvent evento) {
+
+        if (!ativo) {
+
+            // Aplicação desligando: grava direto para não perder o evento.
+            escreverDireto(evento);
+            return;
+
+        }
+
+        while (!fila.offer(evento)) {
+
+            if (overflow == AuditProperties.PoliticaOverflow.DESCARTAR) {
+
+                descartados.increment();
+                return;
+
+            }
+
+            if (!ativo) {
+
+                escreverDireto(evento);
+                return;
+
+            }
+
+            LockSupport.unpark(escritor);
+            LockSupport.parkNanos(ESPERA_PRODUTOR_NANOS);
+
+        }
+
+        if (dormindo) {
+
+            LockSupport.unpark(escritor);
+
+        }
+
+    }
+
+    /**
+    * Para de aceitar eventos na fila e grava os pendentes, esperando no máximo delivery.audit.tempo-desligamento.
+    */
+    @PreDestroy
+    public void encerrar() {
+
+        ativo = false;
+        LockSupport.unpark(escritor);
+
+        try {
+
+            escritor.join(tempoDesligamento.toMillis());
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+        }
+
+        if (escritor.isAlive()) {
+
+            logger.warn("Tempo esgotado ao gravar a auditoria pendente; {} eventos não foram gravados", fila.size());
+            return;
+
+        }
+
+        // O escritor já terminou: grava o que foi enfileirado depois da sua última leitura.
+        esvaziar();
+
+    }
+
+    public int tamanhoFila() {
+
+        return fila.size();
+
+    }
+
+    public long descartados() {
+
+        return descartados.sum();
+
+    }
+
+    private void executar() {
+
+        while (ativo) {
+
+            int quantidade = fila.drain(lote, lote.length);
+            if (quantidade > 0) {
+
+                escrever(quantidade);
+                continue;
+
+            }
+
+            // Marca que vai dormir antes de conferir a fila, para nenhum produtor deixar de acordá-lo.
+            dormindo = true;
+            if (fila.isEmpty() && ativo) {
+
+                LockSupport.parkNanos(this, ESPERA_ESCRITOR_NANOS);
+
+            }
+            dormindo = false;
+
+        }
+
+        esvaziar();
+
+    }
+
+    private synchronized void esvaziar() {
+
+        int quantidade;
+        while ((quantidade = fila.drain(lote, lote.length)) > 0) {
+
+            escrever(quantidade);
+
+        }
+
+    }
+
+    private void escrever(int quantidade) {
+
+        for (int i = 0; i < quantidade; i++) {
+
+            gravar(lote[i]);
+            lote[i] = null;
+
+        }
+
+        descarregarLote();
+
+    }
+
+    private void escreverDireto(AuditEvent evento) {
+
+        gravar(evento);
+        descarregarLote();
+
+    }
+
+    private void gravar(AuditEvent evento) {
+
+        try {
+
+            destino.accept(jsonWriter.writeValueAsString(evento));
+
+        } catch (JsonProcessingException e) {
+
+            // Loga um erro no logger padrão caso a serialização para JSON falhe.
+            logger.error("Erro ao registrar evento de auditoria", e);
+
+        } catch (RuntimeException e) {
+
+            logger.error("Erro ao gravar evento de auditoria", e);
+
+        }
+
+    }
+
+    private void descarregarLote() {
+
+        try {
+
+            descarregar.run();
+
+        } catch (RuntimeException e) {
+
+            logger.error("Erro ao descarregar eventos de auditoria", e);
+
+        }
+
+    }
+
+    // Descarrega os appenders do logger "AUDIT" configurados com immediateFlush=false (o arquivo de auditoria).
+    private static void descarregarArquivos() {
+
+        if (!(LoggerFactory.getLogger("AUDIT") instanceof ch.qos.logback.classic.Logger logback)) {
+
+            return;
+
+        }
+
+        Iterator<Appender<ILoggingEvent>> appenders = logback.iteratorForAppenders();
+        while (appenders.hasNext()) {
+
+            if (appenders.next() instanceof OutputStreamAppender<ILoggingEvent> appender
+                && !appender.isImmediateFlush() && appender.getOutputStream() != null) {
+
+                try {
+
+                    appender.getOutputStream().flush();
+
+                } catch (IOException e) {
+
+                    logger.error("Erro ao descarregar o arquivo de auditoria", e);
+
+                }
+
+            }
+
+        }
+
+    }
+
+    private void registrarMetricas(MeterRegistry registry) {
+
+        Gauge.builder("delivery.audit.fila.tamanho", fila, MpscRingBuffer::size)
+        .description("Eventos de auditoria aguardando gravação")
+        .register(registry);
+
+        Gauge.builder("delivery.audit.fila.capacidade", fila, MpscRingBuffer::capacity)
+        .description("Capacidade da fila de auditoria")
+        .register(registry);
+
+        FunctionCounter.builder("delivery.audit.eventos.descartados", descartados, LongAdder::sum)
+        .description("Eventos de auditoria descartados com a fila cheia")
+        .register(registry);
+
+    }
+
+}
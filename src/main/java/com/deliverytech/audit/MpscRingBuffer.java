@@ -0,0 +1,122 @@
+package com.deliverytech.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+* Fila circular limitada e sem locks para vários produtores e um único consumidor.
+* Os produtores reservam uma posição com CAS no índice de escrita e depois publicam o elemento no slot;
+* o consumidor só avança quando o slot já foi publicado, então a ordem de reserva é preservada.
+*/
+public class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mascara;
+
+    private final AtomicLong indiceEscrita = new AtomicLong();
+
+    // Escrito apenas pelo consumidor; os produtores leem para saber se há espaço.
+    private final AtomicLong indiceLeitura = new AtomicLong();
+
+    public MpscRingBuffer(int capacidadeMinima) {
+
+        if (capacidadeMinima < 1) {
+
+            throw new IllegalArgumentException("A capacidade deve ser positiva: " + capacidadeMinima);
+
+        }
+
+        int capacidade = Integer.highestOneBit(capacidadeMinima);
+        if (capacidade < capacidadeMinima) {
+
+            capacidade <<= 1;
+
+        }
+
+        this.slots = new AtomicReferenceArray<>(capacidade);
+        this.mascara = capacidade - 1;
+
+    }
+
+    /**
+    * Tenta enfileirar o elemento sem bloquear.
+    * @return false se a fila estiver cheia.
+    */
+    public boolean offer(E elemento) {
+
+        long posicao;
+
+        do {
+
+            posicao = indiceEscrita.get();
+            if (posicao - indiceLeitura.get() >= slots.length()) {
+
+                return false;
+
+            }
+
+        } while (!indiceEscrita.compareAndSet(posicao, posicao + 1));
+
+        slots.lazySet((int) posicao & mascara, elemento);
+        return true;
+
+    }
+
+    /**
+    * Move até {@code maximo} elementos para {@code destino}. Deve ser chamado só pelo consumidor.
+    * @return Quantidade de elementos copiados.
+    */
+    public int drain(E[] destino, int maximo) {
+
+        long posicao = indiceLeitura.get();
+        int limite = Math.min(maximo, destino.length);
+        int copiados = 0;
+
+        while (copiados < limite) {
+
+            int indice = (int) (posicao + copiados) & mascara;
+            E elemento = slots.get(indice);
+
+            // Posição reservada mas ainda não publicada: para aqui e continua na próxima chamada.
+            if (elemento == null) {
+
+                break;
+
+            }
+
+            slots.lazySet(indice, null);
+            destino[copiados++] = elemento;
+
+        }
+
+        if (copiados > 0) {
+
+            indiceLeitura.lazySet(posicao + copiados);
+
+        }
+
+        return copiados;
+
+    }
+
+    public int size() {
+
+        long tamanho = indiceEscrita.get() - indiceLeitura.get();
+        return (int) Math.max(0, Math.min(tamanho, slots.length()));
+
+    }
+
+    public boolean isEmpty() {
+
+        return size() == 0;
+
+    }
+
+    public int capacity() {
+
+        return slots.length();
+
+    }
+
+}
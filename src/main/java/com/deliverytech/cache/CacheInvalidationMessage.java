@@ -0,0 +1,50 @@
+package com.deliverytech.cache;
+
+
+/**
+* Mensagem trafegada no canal de pub/sub para invalidar o cache em memória das outras instâncias.
+* Formato em texto: "origem|cache|tipo|chave" (a chave fica por último e pode conter "|").
+*/
+public record CacheInvalidationMessage(String origem, String cache, Tipo tipo, String chave) {
+
+    private static final String SEPARADOR = "|";
+
+    public enum Tipo {
+
+        EVICT,
+        CLEAR
+
+    }
+
+    public static CacheInvalidationMessage evict(String origem, String cache, String chave) {
+
+        return new CacheInvalidationMessage(origem, cache, Tipo.EVICT, chave);
+
+    }
+
+    public static CacheInvalidationMessage clear(String origem, String cache) {
+
+        return new CacheInvalidationMessage(origem, cache, Tipo.CLEAR, "");
+
+    }
+
+    public String codificar() {
+
+        return origem + SEPARADOR + cache + SEPARADOR + tipo.name() + SEPARADOR + (chave != null ? chave : "");
+
+    }
+
+    public static CacheInvalidationMessage decodificar(String texto) {
+
+        String[] partes = texto.split("\\|", 4);
+        if (partes.length != 4) {
+
+            throw new IllegalArgumentException("Mensagem de invalidação de cache inválida: " + texto);
+
+        }
+
+        return new CacheInvalidationMessage(partes[0], partes[1], Tipo.valueOf(partes[2]), partes[3]);
+
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.cache;
+
+
+/**
+* Publica avisos de invalidação para as demais instâncias da aplicação.
+*/
+@FunctionalInterface
+public interface CacheInvalidationPublisher {
+
+    void publicar(CacheInvalidationMessage mensagem);
+
+}
@@ -0,0 +1,162 @@
+package com.deliverytech.cache;
+
+import com.deliverytech.model.Produto;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+
+/**
+* Invalida no cache "produtos" apenas as chaves das quais um produto faz parte,
+* em vez de limpar o catálogo inteiro (allEntries = true).
+* As chaves seguem o formato usado pelos @Cacheable do ProdutoServiceImpl:
+* "<id>", "todos", "categoria::<categoria>" e "restaurante::<id>::disponivel::<true|false|null>".
+* A busca por texto não passa pelo cache (usa o IndiceProdutos).
+*/
+@Component
+public class ProdutoCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProdutoCacheInvalidator.class);
+
+    public static final String CACHE = "produtos";
+
+    private final CacheManager cacheManager;
+
+    public ProdutoCacheInvalidator(CacheManager cacheManager) {
+
+        this.cacheManager = cacheManager;
+
+    }
+
+    /**
+    * Retrato dos campos de um produto que determinam em quais listas ele aparece.
+    */
+    public record Estado(Long id, Long restauranteId, String categoria) {
+
+        public static Estado de(Produto produto) {
+
+            Long restauranteId = produto.getRestaurante() != null ? produto.getRestaurante().getId() : null;
+            return new Estado(produto.getId(), restauranteId, produto.getCategoria());
+
+        }
+
+    }
+
+    /**
+    * Invalida as chaves afetadas pela alteração de um produto.
+    * Com transação ativa, a remoção acontece só após o commit, para que uma leitura concorrente
+    * não recoloque no cache o estado anterior à alteração.
+    * @param anterior Estado antes da alteração (nulo em cadastros).
+    * @param atual Estado depois da alteração (nulo em remoções).
+    */
+    public void invalidar(Estado anterior, Estado atual) {
+
+        agendarRemocao(chavesAfetadas(anterior, atual));
+
+    }
+
+    /**
+    * Invalida de uma vez as chaves afetadas por vários cadastros (importação em massa):
+    * uma única remoção após o commit, em vez de uma por produto.
+    * @param cadastrados Estados dos produtos cadastrados.
+    */
+    public void invalidarCadastros(Collection<Estado> cadastrados) {
+
+        Set<Object> chaves = new LinkedHashSet<>();
+        for (Estado estado : cadastrados) {
+
+            chaves.addAll(chavesAfetadas(null, estado));
+
+        }
+
+        agendarRemocao(chaves);
+
+    }
+
+    private void agendarRemocao(Set<Object> chaves) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+
+                    remover(chaves);
+
+                }
+
+            });
+
+        } else {
+
+            remover(chaves);
+
+        }
+
+    }
+
+    Set<Object> chavesAfetadas(Estado anterior, Estado atual) {
+
+        Set<Object> chaves = new LinkedHashSet<>();
+        chaves.add("todos");
+
+        for (Estado estado : new Estado[] { anterior, atual }) {
+
+            if (estado == null) {
+
+                continue;
+
+            }
+
+            if (estado.id() != null) {
+
+                chaves.add(estado.id());
+
+            }
+
+            if (estado.categoria() != null) {
+
+                chaves.add("categoria::" + estado.categoria());
+
+            }
+
+            if (estado.restauranteId() != null) {
+
+                chaves.add("restaurante::" + estado.restauranteId() + "::disponivel::true");
+                chaves.add("restaurante::" + estado.restauranteId() + "::disponivel::false");
+                chaves.add("restaurante::" + estado.restauranteId() + "::disponivel::null");
+
+            }
+
+        }
+
+        return chaves;
+
+    }
+
+    private void remover(Set<Object> chaves) {
+
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache == null) {
+
+            return;
+
+        }
+
+        chaves.forEach(cache::evict);
+        logger.debug("Chaves removidas do cache '{}': {}", CACHE, chaves);
+
+    }
+
+}
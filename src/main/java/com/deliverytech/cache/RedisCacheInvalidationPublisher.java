@@ -0,0 +1,43 @@
+package com.deliverytech.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+
+/**
+* Publica as invalidações no canal de pub/sub do Redis.
+* Uma falha na publicação não interrompe a operação de negócio: o TTL curto do cache local
+* limita por quanto tempo as outras instâncias podem servir um valor desatualizado.
+*/
+public class RedisCacheInvalidationPublisher implements CacheInvalidationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCacheInvalidationPublisher.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String canal;
+
+    public RedisCacheInvalidationPublisher(StringRedisTemplate redisTemplate, String canal) {
+
+        this.redisTemplate = redisTemplate;
+        this.canal = canal;
+
+    }
+
+    @Override
+    public void publicar(CacheInvalidationMessage mensagem) {
+
+        try {
+
+            redisTemplate.convertAndSend(canal, mensagem.codificar());
+
+        } catch (RuntimeException e) {
+
+            logger.warn("Falha ao publicar invalidação do cache '{}': {}", mensagem.cache(), e.getMessage());
+
+        }
+
+    }
+
+}
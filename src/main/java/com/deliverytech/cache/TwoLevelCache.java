@@ -0,0 +1,240 @@
+package com.deliverytech.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+
+/**
+* Cache em duas camadas: L1 em memória (Caffeine) na frente de um L2 compartilhado (Redis).
+* Leituras tentam o L1 e só vão ao L2 em caso de falta, guardando o valor no L1.
+* Escritas e remoções vão ao L2, ao L1 e são publicadas para as outras instâncias descartarem o seu L1;
+* cargas feitas por uma falta de leitura não publicam nada.
+* Sem L2 configurado, funciona apenas com a camada em memória.
+*/
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+
+    @Nullable
+    private final Cache remoto;
+
+    @Nullable
+    private final CacheInvalidationPublisher publisher;
+
+    private final String origem;
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+        @Nullable Cache remoto, @Nullable CacheInvalidationPublisher publisher, String origem) {
+
+        // Valores nulos não são cacheados, assim como no RedisCacheConfiguration.
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remoto = remoto;
+        this.publisher = publisher;
+        this.origem = origem;
+
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+
+        return name;
+
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+
+        return local;
+
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(@NonNull Object key) {
+
+        String chave = chaveLocal(key);
+        Object valor = local.getIfPresent(chave);
+        if (valor != null || remoto == null) {
+
+            return valor;
+
+        }
+
+        ValueWrapper wrapper = remoto.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+
+            return null;
+
+        }
+
+        local.put(chave, wrapper.get());
+        return wrapper.get();
+
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+
+        // O Caffeine garante uma única carga por chave nesta instância (evita estouro de consultas ao banco).
+        return (T) fromStoreValue(local.get(chaveLocal(key), chave -> carregar(key, valueLoader)));
+
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+
+        Object valor = toStoreValue(value);
+        if (remoto != null) {
+
+            remoto.put(key, valor);
+
+        }
+
+        local.put(chaveLocal(key), valor);
+        publicar(CacheInvalidationMessage.evict(origem, name, chaveLocal(key)));
+
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+
+        Object valor = toStoreValue(value);
+        String chave = chaveLocal(key);
+
+        if (remoto != null) {
+
+            ValueWrapper existente = remoto.putIfAbsent(key, valor);
+            if (existente != null && existente.get() != null) {
+
+                local.put(chave, existente.get());
+                return existente;
+
+            }
+
+            local.put(chave, valor);
+            publicar(CacheInvalidationMessage.evict(origem, name, chave));
+            return null;
+
+        }
+
+        return toValueWrapper(local.asMap().putIfAbsent(chave, valor));
+
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+
+        if (remoto != null) {
+
+            remoto.evict(key);
+
+        }
+
+        local.invalidate(chaveLocal(key));
+        publicar(CacheInvalidationMessage.evict(origem, name, chaveLocal(key)));
+
+    }
+
+    @Override
+    public void clear() {
+
+        if (remoto != null) {
+
+            remoto.clear();
+
+        }
+
+        local.invalidateAll();
+        publicar(CacheInvalidationMessage.clear(origem, name));
+
+    }
+
+    /**
+    * Remove a chave apenas do L1 desta instância (usado ao receber avisos de outras instâncias).
+    */
+    public void evictLocal(String chave) {
+
+        local.invalidate(chave);
+
+    }
+
+    /**
+    * Limpa apenas o L1 desta instância (usado ao receber avisos de outras instâncias).
+    */
+    public void clearLocal() {
+
+        local.invalidateAll();
+
+    }
+
+    private Object carregar(Object key, Callable<?> valueLoader) {
+
+        if (remoto != null) {
+
+            ValueWrapper wrapper = remoto.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+
+                return wrapper.get();
+
+            }
+
+        }
+
+        Object valor;
+
+        try {
+
+            valor = valueLoader.call();
+
+        } catch (Exception e) {
+
+            throw new ValueRetrievalException(key, valueLoader, e);
+
+        }
+
+        if (valor == null) {
+
+            return null;
+
+        }
+
+        if (remoto != null) {
+
+            remoto.put(key, valor);
+
+        }
+
+        // Uma carga não altera nada: não há o que invalidar nas outras instâncias.
+        return valor;
+
+    }
+
+    private void publicar(CacheInvalidationMessage mensagem) {
+
+        if (publisher != null) {
+
+            publisher.publicar(mensagem);
+
+        }
+
+    }
+
+    // As chaves do L1 usam a mesma representação em texto que o RedisCache usa no L2.
+    private static String chaveLocal(Object key) {
+
+        return String.valueOf(key);
+
+    }
+
+}
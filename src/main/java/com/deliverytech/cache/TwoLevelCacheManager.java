@@ -0,0 +1,133 @@
+package com.deliverytech.cache;
+
+import com.deliverytech.config.TwoLevelCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+* CacheManager composto: cria um TwoLevelCache por nome, combinando um Caffeine configurado
+* por cache (TTL e tamanho) com o cache correspondente do CacheManager remoto, quando houver.
+*/
+public class TwoLevelCacheManager implements CacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private final TwoLevelCacheProperties properties;
+
+    @Nullable
+    private final CacheManager remoto;
+
+    @Nullable
+    private final CacheInvalidationPublisher publisher;
+
+    @Nullable
+    private final MeterRegistry meterRegistry;
+
+    private final String origem;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(TwoLevelCacheProperties properties, @Nullable CacheManager remoto,
+        @Nullable CacheInvalidationPublisher publisher, @Nullable MeterRegistry meterRegistry, String origem) {
+
+        this.properties = properties;
+        this.remoto = remoto;
+        this.publisher = publisher;
+        this.meterRegistry = meterRegistry;
+        this.origem = origem;
+
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(@NonNull String name) {
+
+        return caches.computeIfAbsent(name, this::criarCache);
+
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+
+        return Collections.unmodifiableSet(caches.keySet());
+
+    }
+
+    public String getOrigem() {
+
+        return origem;
+
+    }
+
+    /**
+    * Aplica um aviso de invalidação recebido pelo pub/sub. Avisos publicados por esta própria instância são ignorados.
+    */
+    public void processarInvalidacao(CacheInvalidationMessage mensagem) {
+
+        if (origem.equals(mensagem.origem())) {
+
+            return;
+
+        }
+
+        TwoLevelCache cache = caches.get(mensagem.cache());
+        if (cache == null) {
+
+            return;
+
+        }
+
+        if (mensagem.tipo() == CacheInvalidationMessage.Tipo.CLEAR) {
+
+            cache.clearLocal();
+
+        } else {
+
+            cache.evictLocal(mensagem.chave());
+
+        }
+
+        logger.debug("Invalidação recebida de {}: {} {} {}", mensagem.origem(), mensagem.cache(), mensagem.tipo(), mensagem.chave());
+
+    }
+
+    private TwoLevelCache criarCache(String name) {
+
+        TwoLevelCacheProperties.Camada camada = properties.camada(name);
+
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+        .expireAfterWrite(camada.getLocalTtl())
+        .maximumSize(camada.getLocalMaxSize())
+        .recordStats()
+        .build();
+
+        if (meterRegistry != null) {
+
+            CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("camada", "l1"));
+
+        }
+
+        Cache cacheRemoto = remoto != null ? remoto.getCache(name) : null;
+        return new TwoLevelCache(name, local, cacheRemoto, publisher, origem);
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.alertas") // Propriedades que começam com "delivery.alertas"
+@Data
+public class AlertProperties {
+
+    /**
+     * Intervalo de avaliação dos alertas. Também é a granularidade das janelas deslizantes.
+     */
+    private Duration intervalo = Duration.ofSeconds(10);
+
+    /**
+     * Objetivo de disponibilidade dos pedidos (0.99 = até 1% de erros, o orçamento de erro).
+     */
+    private double slo = 0.99;
+
+    /**
+     * Volume mínimo de pedidos na janela longa para uma regra de burn rate poder disparar.
+     */
+    private long volumeMinimo = 10;
+
+    /**
+     * Limite do p99 da janela recente de cada operação de pedido.
+     */
+    private Duration p99Limite = Duration.ofSeconds(1);
+
+    /**
+     * Regras de burn rate: disparam quando o orçamento de erro é consumido acima de "burn-rate" vezes
+     * o ritmo sustentável na janela longa E na curta (a curta faz o alerta parar logo após a recuperação).
+     */
+    private List<RegraBurnRate> regras = new ArrayList<>(List.of(
+        new RegraBurnRate("ERROR_BUDGET_FAST_BURN", "CRITICAL", Duration.ofMinutes(5), Duration.ofMinutes(1), 14.4),
+        new RegraBurnRate("ERROR_BUDGET_SLOW_BURN", "WARNING", Duration.ofMinutes(15), Duration.ofMinutes(5), 6)));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RegraBurnRate {
+
+        private String nome;
+
+        private String severidade;
+
+        private Duration janelaLonga;
+
+        private Duration janelaCurta;
+
+        private double burnRate;
+
+    }
+
+}
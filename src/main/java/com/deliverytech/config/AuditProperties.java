@@ -0,0 +1,44 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.audit") // Propriedades que começam com "delivery.audit"
+@Data
+public class AuditProperties {
+
+    /**
+     * Número máximo de eventos aguardando escrita. Arredondado para a próxima potência de 2.
+     */
+    private int capacidade = 8192;
+
+    /**
+     * Quantidade máxima de eventos gravados no arquivo de auditoria de uma só vez.
+     */
+    private int tamanhoLote = 256;
+
+    /**
+     * O que fazer quando a fila está cheia: "descartar" (conta em delivery.audit.eventos.descartados)
+     * ou "bloquear" (a requisição espera até haver espaço).
+     */
+    private PoliticaOverflow overflow = PoliticaOverflow.DESCARTAR;
+
+    /**
+     * Tempo máximo para gravar os eventos pendentes ao desligar a aplicação.
+     */
+    private Duration tempoDesligamento = Duration.ofSeconds(5);
+
+    public enum PoliticaOverflow {
+
+        DESCARTAR,
+        BLOQUEAR
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.busca") // Propriedades que começam com "delivery.busca"
+@Data
+public class BuscaProperties {
+
+    /**
+     * Intervalo da reconstrução completa do índice de busca a partir do banco. Entre reconstruções o índice
+     * é atualizado a cada escrita de produto nesta instância; a reconstrução traz as escritas feitas por outras.
+     */
+    private Duration intervaloReconstrucao = Duration.ofMinutes(5);
+
+    /**
+     * Tamanho mínimo de um termo para aceitar um erro de digitação (uma letra trocada, a mais, a menos ou invertida).
+     */
+    private int tamanhoMinimoTolerancia = 4;
+
+}
@@ -1,19 +1,39 @@
 package com.deliverytech.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.deliverytech.cache.CacheInvalidationMessage;
+import com.deliverytech.cache.RedisCacheInvalidationPublisher;
+import com.deliverytech.cache.TwoLevelCacheManager;
+
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 
 /**
 * Configuração centralizada para o Spring Cache com Redis.
 * Esta classe estabelece o comportamento padrão para todos os caches da aplicação,
 * garantindo consistência de serialização.
+* Os caches são servidos em duas camadas: um L1 em memória (Caffeine) na frente do Redis (L2),
+* com as escritas e remoções propagadas entre as instâncias via Redis pub/sub.
 */
 @Configuration
 public class CacheConfig {
@@ -49,4 +69,64 @@ public class CacheConfig {
 
     }
 
-}
\ No newline at end of file
+    /**
+     * CacheManager em duas camadas. Substitui o RedisCacheManager criado automaticamente pelo Spring Boot.
+     * No modo LOCAL, o Redis não é utilizado e apenas o L1 em memória responde (útil para testes locais).
+     * @return O CacheManager usado pelas anotações @Cacheable, @CachePut e @CacheEvict.
+     */
+    @Bean
+    CacheManager cacheManager(TwoLevelCacheProperties properties,
+        RedisCacheConfiguration redisCacheConfiguration,
+        ObjectProvider<RedisConnectionFactory> connectionFactory,
+        ObjectProvider<MeterRegistry> meterRegistry) {
+
+        // Identifica esta instância nas mensagens de pub/sub, para ignorar os próprios avisos.
+        String origem = UUID.randomUUID().toString();
+
+        if (properties.getModo() == TwoLevelCacheProperties.Modo.LOCAL) {
+
+            return new TwoLevelCacheManager(properties, null, null, meterRegistry.getIfAvailable(), origem);
+
+        }
+
+        RedisConnectionFactory factory = connectionFactory.getObject();
+
+        // TTL do Redis configurável por cache; os demais usam o padrão definido em redisCacheConfiguration().
+        Map<String, RedisCacheConfiguration> configuracoes = new HashMap<>();
+        properties.getCaches().keySet().forEach(nome ->
+            configuracoes.put(nome, redisCacheConfiguration.entryTtl(properties.camada(nome).getRemotoTtl())));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(factory)
+        .cacheDefaults(redisCacheConfiguration.entryTtl(properties.getPadrao().getRemotoTtl()))
+        .withInitialCacheConfigurations(configuracoes)
+        .build();
+        redisCacheManager.afterPropertiesSet();
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(factory);
+        RedisCacheInvalidationPublisher publisher = new RedisCacheInvalidationPublisher(redisTemplate, properties.getCanal());
+
+        return new TwoLevelCacheManager(properties, redisCacheManager, publisher, meterRegistry.getIfAvailable(), origem);
+
+    }
+
+    /**
+     * Assina o canal de invalidação para descartar do L1 local as chaves alteradas por outras instâncias.
+     * @return O container de mensagens do Redis.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "delivery.cache", name = "modo", havingValue = "two-level", matchIfMissing = true)
+    RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+        CacheManager cacheManager, TwoLevelCacheProperties properties) {
+
+        TwoLevelCacheManager twoLevelCacheManager = (TwoLevelCacheManager) cacheManager;
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> twoLevelCacheManager.processarInvalidacao(
+            CacheInvalidationMessage.decodificar(new String(message.getBody(), StandardCharsets.UTF_8))),
+            new ChannelTopic(properties.getCanal()));
+        return container;
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.dashboard") // Propriedades que começam com "delivery.dashboard"
+@Data
+public class DashboardProperties {
+
+    /**
+     * Intervalo entre as publicações do snapshot de métricas para os inscritos no stream.
+     */
+    private Duration intervalo = Duration.ofSeconds(2);
+
+    /**
+     * Número máximo de conexões simultâneas no stream. Acima disso a inscrição recebe 503.
+     */
+    private int maxInscritos = 50;
+
+    /**
+     * Duração máxima de uma conexão. Depois disso o navegador reconecta sozinho (EventSource).
+     */
+    private Duration timeoutConexao = Duration.ofMinutes(30);
+
+    /**
+     * Tempo máximo que um envio para um cliente pode ficar travado antes de ele ser desconectado.
+     */
+    private Duration atrasoMaximo = Duration.ofSeconds(10);
+
+}
@@ -2,6 +2,7 @@ package com.deliverytech.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import com.deliverytech.model.*;
@@ -11,7 +12,9 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 
 
+// Carga de dados de demonstração; não roda em produção, onde o banco é gerenciado pelo Flyway.
 @Component
+@Profile("!prod")
 public class DataLoader implements CommandLineRunner {
 
     @Autowired
@@ -87,11 +90,23 @@ public class DataLoader implements CommandLineRunner {
         60, "12:00-22:00"
         );
 
+        localizar(r1, "01414-000", -23.5594, -46.6644);
+        localizar(r2, "04101-000", -23.5870, -46.6362);
+        localizar(r3, "01311-000", -23.5657, -46.6513);
+
         restauranteRepository.saveAll(Arrays.asList(r1, r2, r3));
         System.out.println("✓ 3 restaurantes inseridos");
 
     }
 
+    private void localizar(Restaurante restaurante, String cep, double latitude, double longitude) {
+
+        restaurante.setCep(cep);
+        restaurante.setLatitude(latitude);
+        restaurante.setLongitude(longitude);
+
+    }
+
     private void inserirProdutos() {
 
         System.out.println("\n----- INSERINDO PRODUTOS -----");
@@ -0,0 +1,55 @@
+package com.deliverytech.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+
+/**
+* Timeout próprio da exportação de pedidos, que escreve a resposta de forma assíncrona e pode levar minutos.
+* O controller marca a requisição com {@link #ATRIBUTO_EXPORTACAO}; antes de a resposta passar para a
+* thread assíncrona, o interceptor troca o timeout dessa requisição por delivery.exportacao.timeout.
+* As demais respostas assíncronas continuam com o padrão do contêiner, e os feeds SSE com o do próprio SseEmitter.
+*/
+@Configuration
+public class ExportacaoAsyncConfig implements WebMvcConfigurer {
+
+    public static final String ATRIBUTO_EXPORTACAO = ExportacaoAsyncConfig.class.getName() + ".EXPORTACAO";
+
+    private final ExportacaoProperties properties;
+
+    public ExportacaoAsyncConfig(ExportacaoProperties properties) {
+
+        this.properties = properties;
+
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+
+                // Chamado antes do início do processamento assíncrono, quando o timeout ainda pode ser trocado.
+                if (request.getAttribute(ATRIBUTO_EXPORTACAO, RequestAttributes.SCOPE_REQUEST) != null
+                    && request instanceof AsyncWebRequest asyncWebRequest) {
+
+                    asyncWebRequest.setTimeout(properties.getTimeout().toMillis());
+
+                }
+
+            }
+
+        });
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.exportacao") // Propriedades que começam com "delivery.exportacao"
+@Data
+public class ExportacaoProperties {
+
+    /**
+     * Linhas buscadas do banco por ida ao servidor enquanto o cursor é percorrido.
+     */
+    private int fetchSize = 500;
+
+    /**
+     * A cada quantas linhas do banco a resposta é descarregada para o cliente.
+     */
+    private int flushLinhas = 1000;
+
+    /**
+     * Duração máxima de uma exportação; vale só para ela, e não para as demais respostas assíncronas.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+}
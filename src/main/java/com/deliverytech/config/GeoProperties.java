@@ -0,0 +1,51 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.geo") // Propriedades que começam com "delivery.geo"
+@Data
+public class GeoProperties {
+
+    /**
+     * Arquivo CSV (cep;latitude;longitude) com as coordenadas por CEP completo ou por prefixo de 5 dígitos.
+     * Carregado uma vez na inicialização; aceita "classpath:" ou "file:" para apontar uma base mais completa.
+     */
+    private Resource arquivoCep = new ClassPathResource("geo/cep-coordenadas.csv");
+
+    /**
+     * Lado de cada célula da grade do índice geográfico, em graus (0.05° ≈ 5,5 km de latitude).
+     * Células menores examinam menos restaurantes por busca, mas uma busca de raio grande percorre mais células.
+     */
+    private double tamanhoCelulaGraus = 0.05;
+
+    /**
+     * Raio usado quando a busca por proximidade não informa um.
+     */
+    private int raioPadraoKm = 5;
+
+    /**
+     * Maior raio aceito na busca por proximidade.
+     */
+    private int raioMaximoKm = 50;
+
+    /**
+     * Quantidade máxima de restaurantes devolvidos pela busca, do mais próximo para o mais distante.
+     */
+    private int maxResultados = 100;
+
+    /**
+     * Intervalo da reconstrução completa do índice geográfico a partir do banco. Entre reconstruções o índice
+     * é atualizado a cada escrita de restaurante nesta instância; a reconstrução traz as escritas feitas por outras.
+     */
+    private Duration intervaloReconstrucao = Duration.ofMinutes(5);
+
+}
@@ -0,0 +1,71 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.health") // Propriedades que começam com "delivery.health"
+@Data
+public class HealthCheckProperties {
+
+    /**
+     * Intervalo entre as verificações feitas em segundo plano.
+     */
+    private Duration intervalo = Duration.ofSeconds(15);
+
+    /**
+     * Idade máxima do último resultado. Acima disso o indicador reporta DOWN,
+     * pois as verificações em segundo plano pararam de acontecer.
+     */
+    private Duration idadeMaxima = Duration.ofMinutes(1);
+
+    private Banco banco = new Banco();
+
+    private Externo externo = new Externo();
+
+    @Data
+    public static class Banco {
+
+        /**
+         * Tempo máximo para validar a conexão com o banco.
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+
+    }
+
+    @Data
+    public static class Externo {
+
+        /**
+         * Liga ou desliga a verificação do serviço externo.
+         */
+        private boolean habilitado = true;
+
+        /**
+         * Nome exibido nos detalhes do health check.
+         */
+        private String nome = "Gateway de Pagamento (Simulado)";
+
+        /**
+         * URL consultada na verificação. Pode apontar para um stub local.
+         */
+        private String url = "https://jsonplaceholder.typicode.com/todos/1";
+
+        /**
+         * Tempo máximo para abrir a conexão com o serviço externo.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Tempo máximo aguardando a resposta do serviço externo.
+         */
+        private Duration readTimeout = Duration.ofSeconds(3);
+
+    }
+
+}
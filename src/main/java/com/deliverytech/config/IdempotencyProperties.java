@@ -0,0 +1,43 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.idempotency") // Propriedades que começam com "delivery.idempotency"
+@Data
+public class IdempotencyProperties {
+
+    /**
+     * Implementação do armazenamento das respostas: "redis" (compartilhado entre instâncias)
+     * ou "memory" (local, para desenvolvimento e testes).
+     */
+    private String store = "memory";
+
+    /**
+     * Por quanto tempo a primeira resposta de uma Idempotency-Key é guardada.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Número máximo de chaves mantidas pelo armazenamento em memória.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Tempo máximo que uma requisição duplicada espera pelo resultado da requisição em andamento.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Validade da reserva de uma chave em processamento. Enquanto a operação roda, a reserva é renovada a cada
+     * terço desse tempo; ela só expira (liberando a chave para outra tentativa) se a instância cair.
+     */
+    private Duration inFlightTtl = Duration.ofSeconds(30);
+
+}
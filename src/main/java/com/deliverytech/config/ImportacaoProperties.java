@@ -0,0 +1,25 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.importacao") // Propriedades que começam com "delivery.importacao"
+@Data
+public class ImportacaoProperties {
+
+    /**
+     * Produtos válidos acumulados antes de cada flush. Os inserts saem em lotes JDBC de
+     * hibernate.jdbc.batch_size, e o contexto de persistência é limpo a cada flush.
+     */
+    private int tamanhoLote = 500;
+
+    /**
+     * Número máximo de linhas por importação. Acima disso a importação é recusada (nada é gravado).
+     */
+    private int maxLinhas = 5000;
+
+}
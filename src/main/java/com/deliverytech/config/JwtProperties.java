@@ -23,4 +23,17 @@ public class JwtProperties {
      */
     private Long expiration;
 
+    /**
+     * Quando verdadeiro, o usuário autenticado é montado a partir das claims do token,
+     * sem buscar o usuário no cache/banco a cada requisição; apenas a versão do token é conferida.
+     * Padrão: true.
+     */
+    private boolean stateless = true;
+
+    /**
+     * Quantidade máxima de tokens já verificados mantidos em memória (cada um até a sua expiração).
+     * Zero desativa o cache. Padrão: 10000.
+     */
+    private long cacheMaxSize = 10000;
+
 }
\ No newline at end of file
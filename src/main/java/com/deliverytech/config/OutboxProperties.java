@@ -0,0 +1,63 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.outbox") // Propriedades que começam com "delivery.outbox"
+@Data
+public class OutboxProperties {
+
+    /**
+     * Destino dos eventos publicados pelo relay: "log" (loga e guarda os últimos em memória, para uso local).
+     * Outras implementações de OutboxSink (fila, webhook) são selecionadas por este valor.
+     */
+    private String sink = "log";
+
+    /**
+     * Intervalo entre as execuções do relay.
+     */
+    private Duration intervalo = Duration.ofSeconds(1);
+
+    /**
+     * Quantidade máxima de eventos lidos e publicados por execução do relay.
+     */
+    private int tamanhoLote = 100;
+
+    /**
+     * Falhas de envio de um evento até ele ser marcado como falho (dead-letter) e sair da fila.
+     * Os eventos seguintes do mesmo pedido ficam retidos até o evento ser reprocessado.
+     */
+    private int maxTentativas = 10;
+
+    /**
+     * Espera antes da segunda tentativa de um evento que falhou; dobra a cada nova falha.
+     */
+    private Duration esperaInicial = Duration.ofSeconds(1);
+
+    /**
+     * Limite da espera entre tentativas.
+     */
+    private Duration esperaMaxima = Duration.ofMinutes(5);
+
+    /**
+     * Por quanto tempo os eventos já publicados ficam na tabela antes de serem removidos.
+     */
+    private Duration retencao = Duration.ofDays(7);
+
+    /**
+     * Quantidade de eventos recentes mantidos em memória pelo sink "log".
+     */
+    private int memoriaMaxEventos = 1000;
+
+    /**
+     * Intervalo entre as limpezas dos eventos publicados além da retenção.
+     */
+    private Duration intervaloLimpeza = Duration.ofHours(1);
+
+}
@@ -0,0 +1,37 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.pedidos.feed") // Propriedades que começam com "delivery.pedidos.feed"
+@Data
+public class PedidoFeedProperties {
+
+    /**
+     * Número máximo de conexões simultâneas no feed, somando todos os restaurantes. Acima disso a inscrição recebe 503.
+     */
+    private int maxInscritos = 500;
+
+    /**
+     * Duração máxima de uma conexão. O navegador reconecta sozinho e recebe um snapshot novo.
+     */
+    private Duration timeoutConexao = Duration.ofMinutes(30);
+
+    /**
+     * Eventos aguardando envio por conexão. Um cliente que acumula mais que isso é desconectado
+     * (ao reconectar ele recebe o snapshot atualizado em vez da fila inteira).
+     */
+    private int filaMaxima = 256;
+
+    /**
+     * Intervalo do comentário de keep-alive, para proxies não derrubarem conexões sem pedidos.
+     */
+    private Duration heartbeat = Duration.ofSeconds(25);
+
+}
@@ -0,0 +1,24 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.relatorios") // Propriedades que começam com "delivery.relatorios"
+@Data
+public class RelatorioProperties {
+
+    /**
+     * Quando a reconciliação do agregado de vendas roda (expressão cron do Spring).
+     */
+    private String reconciliacaoCron = "0 30 3 * * *";
+
+    /**
+     * Quantos dias fechados (até ontem) a reconciliação recalcula a partir da tabela de pedidos.
+     */
+    private int diasReconciliacao = 7;
+
+}
@@ -1,5 +1,7 @@
 package com.deliverytech.config;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -74,6 +76,13 @@ public class SecurityConfig {
             )
 
             .authorizeHttpRequests(authorize -> authorize
+                    // Respostas assíncronas (SSE de /dashboard/stream e /api/pedidos/restaurante/{id}/stream, exportação
+                    // com StreamingResponseBody) terminam num segundo dispatch ASYNC da mesma requisição. A autorização
+                    // já aconteceu no dispatch REQUEST: as regras de URL abaixo e o @PreAuthorize do método, que não é
+                    // invocado de novo no ASYNC (o Spring MVC só devolve o resultado já produzido). O filtro JWT é um
+                    // OncePerRequestFilter e não roda no ASYNC, então sem esta regra o SecurityContext estaria vazio e
+                    // o encerramento do stream seria negado. Nenhum endpoint depende de reautorização no ASYNC.
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers(
                             "/swagger-ui/**",
                             "/swagger-ui.html",
@@ -110,7 +119,7 @@ public class SecurityConfig {
         // ATENÇÃO: Em produção, restrinja as origens para o domínio do seu frontend.
         configuration.setAllowedOrigins(Arrays.asList("*")); 
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "x-auth-token"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "x-auth-token", "Idempotency-Key"));
         configuration.setExposedHeaders(Arrays.asList("x-auth-token"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,95 @@
+package com.deliverytech.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+
+@Component
+@ConfigurationProperties(prefix = "delivery.cache") // Propriedades que começam com "delivery.cache"
+@Data
+public class TwoLevelCacheProperties {
+
+    /**
+     * Modo de operação do cache: TWO_LEVEL (memória local + Redis) ou LOCAL (apenas memória local, sem Redis).
+     */
+    private Modo modo = Modo.TWO_LEVEL;
+
+    /**
+     * Canal do Redis pub/sub usado para avisar as outras instâncias sobre escritas e remoções.
+     */
+    private String canal = "deliverytech:cache:invalidacao";
+
+    /**
+     * Configuração aplicada aos caches que não aparecem em "caches".
+     */
+    private Camada padrao = new Camada(Duration.ofMinutes(1), 1_000L, Duration.ofMinutes(10));
+
+    /**
+     * Configuração específica por nome de cache. Campos omitidos herdam de "padrao".
+     */
+    private Map<String, Camada> caches = new HashMap<>();
+
+    public enum Modo {
+
+        TWO_LEVEL,
+        LOCAL
+
+    }
+
+    @Data
+    public static class Camada {
+
+        /**
+         * Tempo de vida das entradas no cache em memória (L1).
+         */
+        private Duration localTtl;
+
+        /**
+         * Número máximo de entradas no cache em memória (L1).
+         */
+        private Long localMaxSize;
+
+        /**
+         * Tempo de vida das entradas no Redis (L2).
+         */
+        private Duration remotoTtl;
+
+        public Camada() {
+        }
+
+        public Camada(Duration localTtl, Long localMaxSize, Duration remotoTtl) {
+
+            this.localTtl = localTtl;
+            this.localMaxSize = localMaxSize;
+            this.remotoTtl = remotoTtl;
+
+        }
+
+    }
+
+    /**
+    * Resolve a configuração efetiva de um cache, completando os campos omitidos com o padrão.
+    */
+    public Camada camada(String nomeCache) {
+
+        Camada especifica = caches.get(nomeCache);
+        if (especifica == null) {
+
+            return padrao;
+
+        }
+
+        return new Camada(
+            especifica.getLocalTtl() != null ? especifica.getLocalTtl() : padrao.getLocalTtl(),
+            especifica.getLocalMaxSize() != null ? especifica.getLocalMaxSize() : padrao.getLocalMaxSize(),
+            especifica.getRemotoTtl() != null ? especifica.getRemotoTtl() : padrao.getRemotoTtl());
+
+    }
+
+}
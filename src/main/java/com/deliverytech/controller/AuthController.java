@@ -105,4 +105,23 @@ public class AuthController {
 
     }
 
-}
\ No newline at end of file
+    // Documentação do endpoint de logout.
+    @Operation(summary = "ENCERRA TODAS AS SESSÕES DO USUÁRIO",
+    description = "Revoga todos os tokens JWT já emitidos para o usuário logado. Um novo login é necessário para obter outro token.")
+    @ApiResponses(value = {
+
+        @ApiResponse(responseCode = "204", description = "Tokens revogados."),
+        @ApiResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado.")
+
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Principal principal) {
+
+        Usuario usuario = (Usuario) usuarioService.loadUserByUsername(principal.getName());
+        usuarioService.revogarTokens(usuario.getId());
+        return ResponseEntity.noContent().build();
+
+    }
+
+}
@@ -1,26 +1,29 @@
 package com.deliverytech.controller;
 
-import io.micrometer.core.instrument.MeterRegistry;
-
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.service.DashboardService;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 
 @Controller
 @RequestMapping("/dashboard")
 public class DashboardController {
 
-    private final MeterRegistry meterRegistry;
+    private final DashboardService dashboardService;
 
-    public DashboardController(MeterRegistry meterRegistry) {
+    public DashboardController(DashboardService dashboardService) {
 
-        this.meterRegistry = meterRegistry;
+        this.dashboardService = dashboardService;
 
     }
 
@@ -32,39 +35,25 @@ public class DashboardController {
 
     }
 
-    // API que o frontend vai chamar para buscar os dados.
+    // API para consulta pontual (polling). Devolve o snapshot compartilhado do intervalo atual.
     @GetMapping("/api/metrics")
     @ResponseBody
     public Map<String, Object> getMetricsData() {
 
-        Map<String, Object> metrics = new LinkedHashMap<>();
-
-        metrics.put("pedidos_total", getCounterValue("delivery_pedidos_total"));
-        metrics.put("pedidos_sucesso", getCounterValue("delivery_pedidos_sucesso_total"));
-        metrics.put("pedidos_erro", getCounterValue("delivery_pedidos_erro_total"));
-        metrics.put("tempo_medio_pedido_ms", getTimerMean("delivery_pedido_processamento_seconds"));
-        metrics.put("usuarios_ativos", getGaugeValue("delivery_usuarios_ativos_total"));
-
-        return metrics;
-
-    }
-
-    private double getCounterValue(String name) {
-
-        return meterRegistry.find(name).counter() != null ? meterRegistry.find(name).counter().count() : 0.0;
-
-    }
-
-    private double getTimerMean(String name) {
-
-        return meterRegistry.find(name).timer() != null ? meterRegistry.find(name).timer().mean(TimeUnit.MILLISECONDS) : 0.0;
+        return dashboardService.snapshotAtual();
 
     }
 
-    private double getGaugeValue(String name) {
+    // Stream (Server-Sent Events) que o frontend assina para receber as métricas a cada intervalo.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
 
-        return meterRegistry.find(name).gauge() != null ? meterRegistry.find(name).gauge().value() : 0.0;
+        return dashboardService.inscrever()
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "10")
+                .build());
 
     }
 
-}
\ No newline at end of file
+}
@@ -11,23 +11,40 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.deliverytech.config.ExportacaoAsyncConfig;
 import com.deliverytech.dto.request.CalculoPedidoDTO;
 import com.deliverytech.dto.request.PedidoDTO;
+import com.deliverytech.dto.request.PedidoFiltro;
 import com.deliverytech.dto.request.StatusPedidoDTO;
 import com.deliverytech.dto.response.ApiResponseWrapper;
 import com.deliverytech.dto.response.CalculoPedidoResponseDTO;
+import com.deliverytech.dto.response.CursorPagedResponseWrapper;
 import com.deliverytech.dto.response.PagedResponseWrapper;
 import com.deliverytech.dto.response.PedidoResponseDTO;
+import com.deliverytech.enums.FormatoExportacao;
 import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.pagination.CursorPage;
+import com.deliverytech.service.IdempotencyService;
+import com.deliverytech.service.MetricsService;
+import com.deliverytech.service.PedidoExportService;
+import com.deliverytech.service.PedidoFeedService;
 import com.deliverytech.service.PedidoService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import java.security.Principal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -42,6 +59,18 @@ public class PedidoController {
     @Autowired
     private PedidoService pedidoService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Autowired
+    private PedidoFeedService pedidoFeedService;
+
+    @Autowired
+    private PedidoExportService pedidoExportService;
+
     @PostMapping
     @PreAuthorize("hasRole('CLIENTE')")
     @Operation(summary = "CRIAR NOVO PEDIDO (CLIENTE)",
@@ -54,9 +83,28 @@ public class PedidoController {
         @ApiResponse(responseCode = "403", description = "Acesso negado.") // Usuário não é cliente.
 
     })
-    public ResponseEntity<ApiResponseWrapper<PedidoResponseDTO>> criarPedido(@Valid @RequestBody PedidoDTO dto) {
+    public ResponseEntity<ApiResponseWrapper<PedidoResponseDTO>> criarPedido(
+        @Valid @RequestBody PedidoDTO dto,
+        @Parameter(description = "Chave única da tentativa de envio. Reenvios com a mesma chave devolvem o pedido já criado.")
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+        Principal principal) {
+
+        PedidoResponseDTO pedido;
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+
+            pedido = metricsService.medirCriacaoPedido(() -> pedidoService.criarPedido(dto));
+
+        } else {
+
+            // A chave é isolada por usuário para que clientes diferentes não compartilhem respostas.
+            String usuario = principal != null ? principal.getName() : "anonimo";
+            String chave = "pedidos:" + usuario + ":" + idempotencyKey.trim();
+            pedido = idempotencyService.executar(chave, dto, PedidoResponseDTO.class,
+                () -> metricsService.medirCriacaoPedido(() -> pedidoService.criarPedido(dto)));
+
+        }
 
-        PedidoResponseDTO pedido = pedidoService.criarPedido(dto);
         ApiResponseWrapper<PedidoResponseDTO> response =
         new ApiResponseWrapper<>(true, pedido, "Pedido criado com sucesso.");
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -64,7 +112,8 @@ public class PedidoController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @pedidoServiceImpl.canAccess(#id)")
+    // Verificado após a busca: os donos vêm do próprio pedido retornado, sem uma consulta só para autorizar.
+    @PostAuthorize("hasRole('ADMIN') or @pedidoServiceImpl.canAccess(returnObject.body.data)")
     @Operation(summary = "BUSCAR PEDIDO POR ID (ADMIN OU DONO)",
     description = "Recupera um pedido específico com todos os detalhes.")
     @ApiResponses({
@@ -98,17 +147,84 @@ public class PedidoController {
     public ResponseEntity<PagedResponseWrapper<PedidoResponseDTO>> listar(
     @Parameter(description = "Filtrar por status do pedido.") @RequestParam(required = false) StatusPedido status,
     @Parameter(description = "Filtrar por data inicial (formato YYYY-MM-DD).") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-    @Parameter(description = "Filtrar por data final (formato YYYY-MM-DD).") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+    @Parameter(description = "Filtrar por data final, inclusiva (formato YYYY-MM-DD).") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+    @Parameter(description = "Filtrar por restaurante.") @RequestParam(required = false) Long restauranteId,
+    @Parameter(description = "Filtrar por cliente.") @RequestParam(required = false) Long clienteId,
     Pageable pageable) {
 
+        PedidoFiltro filtro = new PedidoFiltro(status, dataInicio, dataFim, restauranteId, clienteId);
         Page<PedidoResponseDTO> pedidos =
-                pedidoService.listarPedidos(status, dataInicio, dataFim, pageable);
+                pedidoService.listarPedidos(filtro, pageable);
         PagedResponseWrapper<PedidoResponseDTO> response =
                 new PagedResponseWrapper<>(pedidos);
         return ResponseEntity.ok(response);
 
     }
 
+    @GetMapping("/exportar")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "EXPORTAR PEDIDOS E ITENS (ADMIN)",
+    description = "Exporta os pedidos do filtro com seus itens em CSV (uma linha por item) ou NDJSON (um pedido por linha). " +
+    "A resposta é escrita conforme as linhas são lidas do banco, com memória constante para qualquer período.")
+    @ApiResponses({
+
+        @ApiResponse(responseCode = "200", description = "Arquivo gerado."),
+        @ApiResponse(responseCode = "401", description = "Não autorizado."),
+        @ApiResponse(responseCode = "403", description = "Acesso negado.")
+
+    })
+    public ResponseEntity<StreamingResponseBody> exportar(
+    @Parameter(description = "Formato do arquivo.") @RequestParam(defaultValue = "CSV") FormatoExportacao formato,
+    @Parameter(description = "Filtrar por status do pedido.") @RequestParam(required = false) StatusPedido status,
+    @Parameter(description = "Filtrar por data inicial (formato YYYY-MM-DD).") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+    @Parameter(description = "Filtrar por data final, inclusiva (formato YYYY-MM-DD).") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+    @Parameter(description = "Filtrar por restaurante.") @RequestParam(required = false) Long restauranteId,
+    @Parameter(description = "Filtrar por cliente.") @RequestParam(required = false) Long clienteId,
+    HttpServletRequest request) {
+
+        // A exportação usa delivery.exportacao.timeout no lugar do timeout padrão das respostas assíncronas.
+        request.setAttribute(ExportacaoAsyncConfig.ATRIBUTO_EXPORTACAO, Boolean.TRUE);
+
+        PedidoFiltro filtro = new PedidoFiltro(status, dataInicio, dataFim, restauranteId, clienteId);
+        String nomeArquivo = "pedidos" + (dataInicio != null ? "-" + dataInicio : "") + (dataFim != null ? "-" + dataFim : "")
+            + "." + formato.getExtensao();
+        StreamingResponseBody corpo = saida -> pedidoExportService.exportar(filtro, formato, saida);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(formato.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(nomeArquivo).build().toString())
+            .body(corpo);
+
+    }
+
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "LISTAR PEDIDOS POR CURSOR (ADMIN)",
+    description = "Lista os pedidos do mais recente para o mais antigo usando paginação por cursor, sem contagem total. " +
+    "Envie cursor vazio para a primeira página e use o link 'next' da resposta para as seguintes.")
+    @ApiResponses({
+
+        @ApiResponse(responseCode = "200", description = "Página de pedidos recuperada com sucesso."),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido."),
+        @ApiResponse(responseCode = "401", description = "Não autorizado."),
+        @ApiResponse(responseCode = "403", description = "Acesso negado.")
+
+    })
+    public ResponseEntity<CursorPagedResponseWrapper<PedidoResponseDTO>> listarPorCursor(
+    @Parameter(description = "Filtrar por status do pedido.") @RequestParam(required = false) StatusPedido status,
+    @Parameter(description = "Filtrar por data inicial (formato YYYY-MM-DD).") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+    @Parameter(description = "Filtrar por data final, inclusiva (formato YYYY-MM-DD).") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+    @Parameter(description = "Filtrar por restaurante.") @RequestParam(required = false) Long restauranteId,
+    @Parameter(description = "Filtrar por cliente.") @RequestParam(required = false) Long clienteId,
+    @Parameter(description = "Token de continuação recebido na página anterior (vazio para a primeira página).") @RequestParam String cursor,
+    @Parameter(description = "Quantidade de itens por página (máximo 100).") @RequestParam(defaultValue = "" + CursorPage.TAMANHO_PADRAO) int size) {
+
+        PedidoFiltro filtro = new PedidoFiltro(status, dataInicio, dataFim, restauranteId, clienteId);
+        CursorPage<PedidoResponseDTO> pedidos = pedidoService.listarPedidosPorCursor(filtro, cursor, size);
+        return ResponseEntity.ok(new CursorPagedResponseWrapper<>(pedidos));
+
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANTE') and @pedidoServiceImpl.isRestaurantOwner(#id))")
     @Operation(summary = "ATUALIZAR STATUS DO PEDIDO (ADMIN OU RESTAURANTE)",
@@ -126,8 +242,8 @@ public class PedidoController {
     @Parameter(description = "ID do pedido") @PathVariable Long id,
     @Valid @RequestBody StatusPedidoDTO statusDTO) {
 
-        PedidoResponseDTO pedido = pedidoService.atualizarStatusPedido(id,
-        statusDTO.getStatus());
+        PedidoResponseDTO pedido = metricsService.medirAtualizacaoStatus(
+        () -> pedidoService.atualizarStatusPedido(id, statusDTO.getStatus()));
         ApiResponseWrapper<PedidoResponseDTO> response =
         new ApiResponseWrapper<>(true, pedido, "Status atualizado com sucesso.");
         return ResponseEntity.ok(response);
@@ -198,6 +314,30 @@ public class PedidoController {
 
     }
     
+    @GetMapping(value = "/restaurante/{restauranteId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or #restauranteId == principal.restauranteId")
+    @Operation(summary = "ACOMPANHAR PEDIDOS DE UM RESTAURANTE EM TEMPO REAL (ADMIN OU PRÓPRIO RESTAURANTE)",
+    description = "Stream (Server-Sent Events) que envia os pedidos abertos (PENDENTE, CONFIRMADO, PREPARANDO) no evento \"snapshot\" " +
+    "e depois cada criação ou mudança de status no evento \"pedido\". Substitui o polling da listagem por restaurante.")
+    @ApiResponses({
+
+        @ApiResponse(responseCode = "200", description = "Stream aberto."),
+        @ApiResponse(responseCode = "401", description = "Não autorizado."),
+        @ApiResponse(responseCode = "403", description = "Acesso negado."),
+        @ApiResponse(responseCode = "503", description = "Limite de conexões simultâneas atingido.")
+
+    })
+    public ResponseEntity<SseEmitter> acompanharRestaurante(
+    @Parameter(description = "ID do restaurante") @PathVariable Long restauranteId) {
+
+        return pedidoFeedService.inscrever(restauranteId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "10")
+                .build());
+
+    }
+
     @PostMapping("/calcular")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "CALCULAR TOTAL DO PEDIDO (AUTENTICADO)",
@@ -8,18 +8,25 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import com.deliverytech.dto.request.ProdutoDTO;
 import com.deliverytech.dto.response.ApiResponseWrapper;
+import com.deliverytech.dto.response.ImportacaoProdutosResponseDTO;
+import com.deliverytech.dto.response.PagedResponseWrapper;
 import com.deliverytech.dto.response.ProdutoResponseDTO;
+import com.deliverytech.enums.FormatoImportacao;
 import com.deliverytech.service.ProdutoService;
 
 import jakarta.validation.Valid;
 
+import java.io.InputStream;
 import java.util.List;
 
 
@@ -55,6 +62,35 @@ public class ProdutoController {
 
     }
 
+    @PostMapping(value = "/restaurante/{restauranteId}/importar", consumes = { MediaType.APPLICATION_JSON_VALUE, "text/csv" })
+    @PreAuthorize("hasRole('ADMIN') or #restauranteId == principal.restauranteId")
+    @Operation(summary = "IMPORTAR PRODUTOS EM MASSA (ADMIN OU DONO)",
+    description = "Cadastra o catálogo de um restaurante a partir de um array JSON de produtos ou de um CSV com cabeçalho "
+    + "(nome,descricao,preco,categoria[,imagemUrl]). Linhas inválidas são ignoradas e listadas na resposta.")
+    @ApiResponses({
+
+        @ApiResponse(responseCode = "200", description = "Importação concluída (verifique os erros por linha)."),
+        @ApiResponse(responseCode = "400", description = "Conteúdo malformado ou acima do limite de linhas."),
+        @ApiResponse(responseCode = "401", description = "Não autorizado."),
+        @ApiResponse(responseCode = "403", description = "Acesso negado."),
+        @ApiResponse(responseCode = "404", description = "Restaurante não encontrado.")
+
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<ApiResponseWrapper<ImportacaoProdutosResponseDTO>> importar(
+    @Parameter(description = "ID do restaurante.") @PathVariable Long restauranteId,
+    @RequestHeader("Content-Type") MediaType contentType,
+    InputStream conteudo) {
+
+        // O corpo é lido em streaming pelo serviço, sem ser convertido de uma vez.
+        FormatoImportacao formato = contentType.isCompatibleWith(MediaType.APPLICATION_JSON) ? FormatoImportacao.JSON : FormatoImportacao.CSV;
+        ImportacaoProdutosResponseDTO resultado = produtoService.importarProdutos(restauranteId, conteudo, formato);
+        ApiResponseWrapper<ImportacaoProdutosResponseDTO> response =
+        new ApiResponseWrapper<>(true, resultado, "Importação concluída.");
+        return ResponseEntity.ok(response);
+
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "BUSCAR PRODUTO POR ID (PÚBLICO)",
     description = "Recupera os detalhes de um produto específico pelo seu ID.")
@@ -179,20 +215,20 @@ public class ProdutoController {
     }
 
     @GetMapping("/buscar")
-    @Operation(summary = "BUSCAR PRODUTOS POR NOME (PÚBLICO)",
-    description = "Busca produtos cujo nome contenha o termo pesquisado.")
+    @Operation(summary = "BUSCAR PRODUTOS (PÚBLICO)",
+    description = "Busca produtos disponíveis pelo nome, pela categoria e pela descrição, ignorando acentos e " +
+    "aceitando prefixos e um erro de digitação por palavra. O resultado vem ordenado por relevância (o parâmetro sort é ignorado).")
     @ApiResponses({
 
         @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso.")
 
     })
-    public ResponseEntity<ApiResponseWrapper<List<ProdutoResponseDTO>>> buscarPorNome(@Parameter(description = "Termo para buscar no nome do produto.") 
-    @RequestParam String nome) {
+    public ResponseEntity<PagedResponseWrapper<ProdutoResponseDTO>> buscar(@Parameter(description = "Texto buscado no nome, na categoria e na descrição do produto.") 
+    @RequestParam String nome,
+    Pageable pageable) {
 
-        List<ProdutoResponseDTO> produtos = produtoService.buscarProdutosPorNome(nome);
-        ApiResponseWrapper<List<ProdutoResponseDTO>> response =
-        new ApiResponseWrapper<>(true, produtos, "Busca realizada com sucesso.");
-        return ResponseEntity.ok(response);
+        Page<ProdutoResponseDTO> produtos = produtoService.buscarProdutos(nome, pageable);
+        return ResponseEntity.ok(new PagedResponseWrapper<>(produtos));
 
     }
 
@@ -21,11 +21,14 @@ import org.springframework.web.bind.annotation.*;
 
 import com.deliverytech.dto.request.RestauranteDTO;
 import com.deliverytech.dto.response.ApiResponseWrapper;
+import com.deliverytech.dto.response.CursorPagedResponseWrapper;
 import com.deliverytech.dto.response.PagedResponseWrapper;
 import com.deliverytech.dto.response.ProdutoResponseDTO;
 import com.deliverytech.dto.response.RestauranteResponseDTO;
+import com.deliverytech.pagination.CursorPage;
 import com.deliverytech.service.ProdutoService;
 import com.deliverytech.service.RestauranteService;
+import com.deliverytech.validation.ValidCEP;
 
 import java.util.List;
 
@@ -87,7 +90,50 @@ public class RestauranteController {
         return ResponseEntity.ok(response);
 
     }
-    
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "LISTAR RESTAURANTES POR CURSOR (PÚBLICO)",
+    description = "Retorna restaurantes em ordem de ID usando paginação por cursor, sem contagem total. " +
+    "Envie cursor vazio para a primeira página e use o link 'next' da resposta para as seguintes.")
+    @ApiResponses({
+
+        @ApiResponse(responseCode = "200", description = "Página de restaurantes retornada com sucesso."),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido.")
+
+    })
+    public ResponseEntity<CursorPagedResponseWrapper<RestauranteResponseDTO>> listarPorCursor(
+    @Parameter(description = "Filtrar por categoria de cozinha.") @RequestParam(required = false) String categoria,
+    @Parameter(description = "Filtrar por restaurantes ativos (true) ou inativos (false).") @RequestParam(required = false) Boolean ativo,
+    @Parameter(description = "Token de continuação recebido na página anterior (vazio para a primeira página).") @RequestParam String cursor,
+    @Parameter(description = "Quantidade de itens por página (máximo 100).") @RequestParam(defaultValue = "" + CursorPage.TAMANHO_PADRAO) int size) {
+
+        CursorPage<RestauranteResponseDTO> restaurantes =
+        restauranteService.listarRestaurantesPorCursor(categoria, ativo, cursor, size);
+        return ResponseEntity.ok(new CursorPagedResponseWrapper<>(restaurantes));
+
+    }
+
+    @GetMapping("/proximos")
+    @Operation(summary = "BUSCAR RESTAURANTES PRÓXIMOS (PÚBLICO)",
+    description = "Retorna os restaurantes ativos a até 'raio' km do CEP, do mais próximo para o mais distante, com a distância de cada um.")
+    @ApiResponses({
+
+        @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso."),
+        @ApiResponse(responseCode = "400", description = "CEP ou raio inválido."),
+        @ApiResponse(responseCode = "404", description = "CEP não encontrado na base de localização.")
+
+    })
+    public ResponseEntity<ApiResponseWrapper<List<RestauranteResponseDTO>>> buscarProximos(
+    @Parameter(description = "CEP de referência (com ou sem hífen).", example = "01310-100") @RequestParam @ValidCEP String cep,
+    @Parameter(description = "Raio da busca em km (padrão 5).") @RequestParam(required = false) @Positive(message = "O raio deve ser um número positivo.") Integer raio) {
+
+        List<RestauranteResponseDTO> restaurantes = restauranteService.buscarRestaurantesProximos(cep, raio);
+        ApiResponseWrapper<List<RestauranteResponseDTO>> response =
+        new ApiResponseWrapper<>(true, restaurantes, "Restaurantes encontrados.");
+        return ResponseEntity.ok(response);
+
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "BUSCAR RESTAURANTE POR ID (PÚBLICO)",
     description = "Recupera os detalhes de um restaurante específico pelo seu ID.")
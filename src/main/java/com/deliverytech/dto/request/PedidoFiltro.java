@@ -0,0 +1,20 @@
+package com.deliverytech.dto.request;
+
+import com.deliverytech.enums.StatusPedido;
+
+import java.time.LocalDate;
+
+
+/**
+* Filtros opcionais da listagem de pedidos. Campos nulos não restringem a consulta.
+* O período é inclusivo nas duas pontas: de dataInicio 00:00 até o fim do dia de dataFim.
+*/
+public record PedidoFiltro(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, Long restauranteId, Long clienteId) {
+
+    public static PedidoFiltro vazio() {
+
+        return new PedidoFiltro(null, null, null, null, null);
+
+    }
+
+}
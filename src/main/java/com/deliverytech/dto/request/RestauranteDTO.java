@@ -60,4 +60,18 @@ public class RestauranteDTO{
     @ValidHorarioFuncionamento
     private String horarioFuncionamento;
 
+    @Schema(description = "CEP do restaurante. Sem latitude e longitude, as coordenadas são obtidas por ele.", example = "01310-100")
+    @Pattern(regexp = "^\\d{5}-?\\d{3}$", message = "CEP deve ter o formato 00000-000")
+    private String cep;
+
+    @Schema(description = "Latitude em graus decimais (informe junto com a longitude).", example = "-23.5631")
+    @DecimalMin(value = "-90.0", message = "Latitude deve estar entre -90 e 90")
+    @DecimalMax(value = "90.0", message = "Latitude deve estar entre -90 e 90")
+    private Double latitude;
+
+    @Schema(description = "Longitude em graus decimais (informe junto com a latitude).", example = "-46.6544")
+    @DecimalMin(value = "-180.0", message = "Longitude deve estar entre -180 e 180")
+    @DecimalMax(value = "180.0", message = "Longitude deve estar entre -180 e 180")
+    private Double longitude;
+
 }
\ No newline at end of file
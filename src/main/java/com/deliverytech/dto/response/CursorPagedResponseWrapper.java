@@ -0,0 +1,82 @@
+package com.deliverytech.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import lombok.Getter;
+
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.deliverytech.pagination.CursorPage;
+
+import java.io.Serializable;
+import java.util.List;
+
+
+@Getter
+@Schema(description = "Wrapper para listas paginadas por cursor (keyset), sem contagem total.")
+public class CursorPagedResponseWrapper<T> implements Serializable {
+
+    @Schema(description = "A lista de itens contidos na página atual.")
+    private List<T> content;
+
+    @Schema(description = "Informações sobre a página atual.")
+    private CursorInfo page;
+
+    @Schema(description = "Link para a próxima página.")
+    private CursorLinks links;
+
+    public CursorPagedResponseWrapper(CursorPage<T> page) {
+
+        this.content = page.content();
+        this.page = new CursorInfo(page);
+        this.links = new CursorLinks(page);
+
+    }
+
+    @Getter
+    @Schema(description = "Detalhes sobre o estado da paginação por cursor.")
+    public static class CursorInfo implements Serializable {
+
+        @Schema(description = "O número máximo de itens por página.", example = "20")
+        private final int size;
+
+        @Schema(description = "Indica se existe uma próxima página.", example = "true")
+        private final boolean hasNext;
+
+        @Schema(description = "Token opaco para buscar a próxima página (nulo se for a última).", example = "MjAyNS0wMS0xMFQyMDowMHwxNQ")
+        private final String nextCursor;
+
+        public CursorInfo(CursorPage<?> page) {
+
+            this.size = page.size();
+            this.hasNext = page.hasNext();
+            this.nextCursor = page.nextCursor();
+
+        }
+
+    }
+
+    @Getter
+    @Schema(description = "Links de navegação da paginação por cursor.")
+    public static class CursorLinks implements Serializable {
+
+        @Schema(description = "URL para a próxima página de resultados (nulo se for a última).", example = "/api/pedidos?cursor=MjAyNS0wMS0xMFQyMDowMHwxNQ&size=20")
+        private String next;
+
+        public CursorLinks(CursorPage<?> page) {
+
+            // Mantém os filtros e o tamanho da requisição atual, trocando apenas o cursor.
+            if (page.hasNext()) {
+
+                this.next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.nextCursor())
+                .build()
+                .toUriString();
+
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+@Data
+@Schema(description = "DTO com o resultado de uma importação de produtos em massa.")
+public class ImportacaoProdutosResponseDTO {
+
+    @Schema(description = "Quantidade de produtos gravados.", example = "248")
+    private int importados;
+
+    @Schema(description = "Quantidade de linhas recusadas na validação.", example = "2")
+    private int rejeitados;
+
+    @Schema(description = "Erros de validação por linha.")
+    private List<ErroLinhaDTO> erros = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Erros de validação de uma linha do arquivo importado.")
+    public static class ErroLinhaDTO {
+
+        @Schema(description = "Número da linha (posição no array JSON ou linha do CSV, sem contar o cabeçalho), a partir de 1.", example = "17")
+        private int linha;
+
+        @Schema(description = "Mensagens de validação da linha.", example = "[\"preco: O preço deve ser maior que zero.\"]")
+        private List<String> mensagens;
+
+    }
+
+}
@@ -4,6 +4,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 import lombok.Data;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.io.Serializable;
 import java.math.BigDecimal;
 
@@ -38,5 +40,18 @@ public class RestauranteResponseDTO implements Serializable {
 
     @Schema(description = "Indica se o restaurante está aberto para receber pedidos.", example = "true")
     private boolean ativo;
-    
+
+    @Schema(description = "CEP do restaurante.", example = "01310-100")
+    private String cep;
+
+    @Schema(description = "Latitude do restaurante, em graus decimais.", example = "-23.5631")
+    private Double latitude;
+
+    @Schema(description = "Longitude do restaurante, em graus decimais.", example = "-46.6544")
+    private Double longitude;
+
+    @Schema(description = "Distância em linha reta até o CEP buscado, em km (só na busca por proximidade).", example = "1.27")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanciaKm;
+
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.deliverytech.enums;
+
+
+public enum FormatoExportacao {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+
+        this.contentType = contentType;
+        this.extensao = extensao;
+
+    }
+
+    public String getContentType() {
+
+        return contentType;
+
+    }
+
+    public String getExtensao() {
+
+        return extensao;
+
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.enums;
+
+
+public enum FormatoImportacao {
+
+    // Array JSON de produtos, no mesmo formato do cadastro individual.
+    JSON,
+
+    // CSV com cabeçalho: nome,descricao,preco,categoria[,imagemUrl].
+    CSV
+
+}
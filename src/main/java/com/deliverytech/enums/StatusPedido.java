@@ -1,5 +1,7 @@
 package com.deliverytech.enums;
 
+import java.util.Set;
+
 
 public enum StatusPedido {
 
@@ -10,6 +12,9 @@ public enum StatusPedido {
     ENTREGUE("Entregue"),
     CANCELADO("Cancelado");
 
+    // Pedidos que o restaurante ainda precisa tratar.
+    public static final Set<StatusPedido> ABERTOS = Set.of(PENDENTE, CONFIRMADO, PREPARANDO);
+
     private final String descricao;
 
     StatusPedido(String descricao) {
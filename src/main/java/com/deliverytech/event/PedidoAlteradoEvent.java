@@ -0,0 +1,26 @@
+package com.deliverytech.event;
+
+import com.deliverytech.dto.response.PedidoResponseDTO;
+import com.deliverytech.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+
+/**
+* Evento interno publicado junto com cada evento do outbox (criação, mudança de status, cancelamento).
+* O agregado de vendas o recebe num @EventListener síncrono, dentro da transação do pedido, logo depois
+* do registro no outbox e antes do UPDATE do pedido ser enviado ao banco; o feed o recebe com fase
+* AFTER_COMMIT, só se a transação for confirmada.
+* @param pedidoId O ID do pedido alterado.
+* @param restauranteId O restaurante do pedido, usado para rotear o evento.
+* @param tipo O tipo do evento (ex: PEDIDO_CRIADO).
+* @param status O status atual do pedido.
+* @param statusAnterior O status antes da alteração, ou null na criação.
+* @param dataPedido A data de criação do pedido.
+* @param valorTotal O valor total do pedido.
+* @param pedido O pedido após a alteração, com itens, cliente e endereço, no formato das respostas da API.
+*/
+public record PedidoAlteradoEvent(Long pedidoId, Long restauranteId, String tipo, StatusPedido status,
+    StatusPedido statusAnterior, LocalDateTime dataPedido, BigDecimal valorTotal, PedidoResponseDTO pedido) {
+}
@@ -10,6 +10,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -80,6 +81,22 @@ public class GlobalExceptionHandler {
 
     }
 
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorResponse> handleBusinessException(
+    BusinessException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        errorResponse.setErrorCode(ex.getErrorCode() != null ? ex.getErrorCode() : "BUSINESS_ERROR");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+
+    }
+
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ErrorResponse> handleMethodNotSupportedException(
     HttpRequestMethodNotSupportedException ex, WebRequest request) {
@@ -124,6 +141,14 @@ public class GlobalExceptionHandler {
 
     }
 
+    // Cliente de um stream (SSE) desconectou no meio de um envio: não há resposta a escrever.
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleAsyncRequestNotUsableException(AsyncRequestNotUsableException ex) {
+
+        // Nada a fazer: o emitter já foi removido pelo serviço que tentou enviar.
+
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
     Exception ex, WebRequest request) {
@@ -0,0 +1,33 @@
+package com.deliverytech.geo;
+
+
+/**
+* Ponto em graus decimais (WGS 84).
+*/
+public record Coordenada(double latitude, double longitude) {
+
+    static final double RAIO_TERRA_KM = 6371.0088;
+
+    /**
+    * Distância em linha reta pela superfície da Terra (fórmula de haversine), em quilômetros.
+    */
+    public double distanciaKm(double outraLatitude, double outraLongitude) {
+
+        double lat1 = Math.toRadians(latitude);
+        double lat2 = Math.toRadians(outraLatitude);
+        double senoMeiaDiferencaLat = Math.sin((lat2 - lat1) / 2);
+        double senoMeiaDiferencaLon = Math.sin(Math.toRadians(outraLongitude - longitude) / 2);
+
+        double a = senoMeiaDiferencaLat * senoMeiaDiferencaLat
+            + Math.cos(lat1) * Math.cos(lat2) * senoMeiaDiferencaLon * senoMeiaDiferencaLon;
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+
+    }
+
+    public double distanciaKm(Coordenada outra) {
+
+        return distanciaKm(outra.latitude(), outra.longitude());
+
+    }
+
+}
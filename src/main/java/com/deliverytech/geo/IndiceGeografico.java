@@ -0,0 +1,227 @@
+package com.deliverytech.geo;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.config.GeoProperties;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.search.IndiceEmMemoria;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+* Índice geográfico em memória dos restaurantes ativos com coordenadas, usado pela busca por proximidade.
+* Os restaurantes ficam em uma grade de células de delivery.geo.tamanho-celula-graus de lado. A busca por raio
+* só examina as células que cruzam o retângulo envolvente do círculo, calcula a distância real (haversine)
+* dos restaurantes dessas células e devolve os que estão dentro do raio, do mais próximo para o mais distante.
+* As escritas de restaurante atualizam o índice após o commit; a reconstrução periódica a partir do banco
+* traz as escritas feitas em outras instâncias (ver {@link IndiceEmMemoria}).
+*/
+@Component
+public class IndiceGeografico extends IndiceEmMemoria<RestauranteLocalizado, IndiceGeografico.Grade> {
+
+    private static final Comparator<RestauranteProximo> ORDEM = Comparator.comparingDouble(RestauranteProximo::distanciaKm)
+        .thenComparing(RestauranteProximo::id);
+
+    private final RestauranteRepository restauranteRepository;
+    private final GeoProperties properties;
+
+    public IndiceGeografico(RestauranteRepository restauranteRepository, GeoProperties properties) {
+
+        super("geográfico de restaurantes", RestauranteLocalizado::id, new Grade(properties.getTamanhoCelulaGraus()));
+        this.restauranteRepository = restauranteRepository;
+        this.properties = properties;
+
+    }
+
+    /**
+    * Monta uma grade nova com os restaurantes ativos e localizados do banco e troca a atual por ela.
+    * As buscas continuam na grade atual enquanto a nova é montada.
+    */
+    @Override
+    @Scheduled(fixedDelayString = "${delivery.geo.intervalo-reconstrucao:5m}", initialDelayString = "${delivery.geo.intervalo-reconstrucao:5m}")
+    public void reconstruir() {
+
+        super.reconstruir();
+
+    }
+
+    /**
+    * Restaurantes a até raioKm da origem, do mais próximo para o mais distante, limitados a limite resultados.
+    */
+    public List<RestauranteProximo> buscar(Coordenada origem, double raioKm, int limite) {
+
+        List<RestauranteProximo> resultados = comLeitura(grade -> grade.buscar(origem, raioKm));
+        resultados.sort(ORDEM);
+        return resultados.size() > limite ? List.copyOf(resultados.subList(0, limite)) : resultados;
+
+    }
+
+    int totalRestaurantes() {
+
+        return comLeitura(grade -> grade.porId.size());
+
+    }
+
+    @Override
+    protected List<RestauranteLocalizado> carregar() {
+
+        return restauranteRepository.findLocalizaveis();
+
+    }
+
+    @Override
+    protected Grade novaEstrutura() {
+
+        return new Grade(properties.getTamanhoCelulaGraus());
+
+    }
+
+    /**
+    * Estrutura da grade, sem sincronização própria.
+    * Cada célula é identificada pela linha (faixa de latitude) e pela coluna (faixa de longitude), com as
+    * colunas dando a volta no antimeridiano.
+    */
+    static final class Grade implements IndiceEmMemoria.Estrutura<RestauranteLocalizado> {
+
+        private final double tamanhoCelula;
+        private final int colunas;
+
+        private final Map<Long, RestauranteLocalizado> porId = new HashMap<>();
+        private final Map<Long, List<RestauranteLocalizado>> celulas = new HashMap<>();
+
+        private Grade(double tamanhoCelula) {
+
+            if (!(tamanhoCelula > 0 && tamanhoCelula <= 180)) {
+
+                throw new IllegalArgumentException("delivery.geo.tamanho-celula-graus deve estar entre 0 e 180: " + tamanhoCelula);
+
+            }
+
+            this.tamanhoCelula = tamanhoCelula;
+            this.colunas = (int) Math.ceil(360 / tamanhoCelula);
+
+        }
+
+        @Override
+        public void adicionar(RestauranteLocalizado restaurante) {
+
+            remover(restaurante.id());
+            porId.put(restaurante.id(), restaurante);
+            celulas.computeIfAbsent(chave(linha(restaurante.latitude()), coluna(restaurante.longitude())), celula -> new ArrayList<>())
+                .add(restaurante);
+
+        }
+
+        @Override
+        public void remover(Long id) {
+
+            RestauranteLocalizado restaurante = porId.remove(id);
+            if (restaurante == null) {
+
+                return;
+
+            }
+
+            long chave = chave(linha(restaurante.latitude()), coluna(restaurante.longitude()));
+            List<RestauranteLocalizado> celula = celulas.get(chave);
+            celula.removeIf(outro -> outro.id().equals(id));
+
+            if (celula.isEmpty()) {
+
+                celulas.remove(chave);
+
+            }
+
+        }
+
+        private List<RestauranteProximo> buscar(Coordenada origem, double raioKm) {
+
+            // Ângulo central do raio; o círculo cabe entre as latitudes origem ± esse ângulo.
+            double angulo = raioKm / Coordenada.RAIO_TERRA_KM;
+            double deltaLatitude = Math.toDegrees(angulo);
+
+            int linhaInicial = linha(Math.max(-90, origem.latitude() - deltaLatitude));
+            int linhaFinal = linha(Math.min(90, origem.latitude() + deltaLatitude));
+
+            // Maior afastamento em longitude de um ponto do círculo; se o círculo alcança um polo, todas as colunas.
+            double cosLatitude = Math.cos(Math.toRadians(origem.latitude()));
+            double senoAngulo = Math.sin(Math.min(angulo, Math.PI / 2));
+            boolean todasColunas = angulo >= Math.PI / 2 || senoAngulo >= cosLatitude;
+
+            int colunaInicial = 0;
+            int colunaFinal = colunas - 1;
+
+            if (!todasColunas) {
+
+                double deltaLongitude = Math.toDegrees(Math.asin(senoAngulo / cosLatitude));
+                colunaInicial = (int) Math.floor((origem.longitude() - deltaLongitude + 180) / tamanhoCelula);
+                colunaFinal = (int) Math.floor((origem.longitude() + deltaLongitude + 180) / tamanhoCelula);
+
+                if (colunaFinal - colunaInicial + 1 >= colunas) {
+
+                    colunaInicial = 0;
+                    colunaFinal = colunas - 1;
+
+                }
+
+            }
+
+            List<RestauranteProximo> resultados = new ArrayList<>();
+
+            for (int linha = linhaInicial; linha <= linhaFinal; linha++) {
+
+                for (int coluna = colunaInicial; coluna <= colunaFinal; coluna++) {
+
+                    List<RestauranteLocalizado> celula = celulas.get(chave(linha, Math.floorMod(coluna, colunas)));
+                    if (celula == null) {
+
+                        continue;
+
+                    }
+
+                    for (RestauranteLocalizado restaurante : celula) {
+
+                        double distancia = origem.distanciaKm(restaurante.latitude(), restaurante.longitude());
+                        if (distancia <= raioKm) {
+
+                            resultados.add(new RestauranteProximo(restaurante.id(), distancia));
+
+                        }
+
+                    }
+
+                }
+
+            }
+
+            return resultados;
+
+        }
+
+        private int linha(double latitude) {
+
+            return (int) Math.floor((latitude + 90) / tamanhoCelula);
+
+        }
+
+        private int coluna(double longitude) {
+
+            return Math.floorMod((int) Math.floor((longitude + 180) / tamanhoCelula), colunas);
+
+        }
+
+        private static long chave(int linha, int coluna) {
+
+            return ((long) linha << 32) | (coluna & 0xffffffffL);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.deliverytech.geo;
+
+import com.deliverytech.model.Restaurante;
+
+
+/**
+* Restaurante ativo com coordenadas, como guardado no índice geográfico.
+*/
+public record RestauranteLocalizado(Long id, double latitude, double longitude) {
+
+    /**
+    * O restaurante no formato do índice, ou nulo se ele não deve estar no índice (inativo ou sem coordenadas).
+    */
+    public static RestauranteLocalizado de(Restaurante restaurante) {
+
+        if (!restaurante.isAtivo() || restaurante.getLatitude() == null || restaurante.getLongitude() == null) {
+
+            return null;
+
+        }
+
+        return new RestauranteLocalizado(restaurante.getId(), restaurante.getLatitude(), restaurante.getLongitude());
+
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.deliverytech.geo;
+
+
+/**
+* Resultado da busca por raio: o id do restaurante e a distância até o ponto buscado.
+*/
+public record RestauranteProximo(Long id, double distanciaKm) {
+}
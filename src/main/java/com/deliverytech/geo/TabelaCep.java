@@ -0,0 +1,142 @@
+package com.deliverytech.geo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.config.GeoProperties;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+
+/**
+* Tabela offline de coordenadas por CEP, carregada do arquivo embarcado na inicialização.
+* Cada linha traz um CEP completo (8 dígitos) ou um prefixo de 5 dígitos (o subsetor), com o ponto central
+* da região. A consulta tenta o CEP completo e, se ele não estiver na tabela, o prefixo.
+*/
+@Component
+public class TabelaCep {
+
+    private static final Logger logger = LoggerFactory.getLogger(TabelaCep.class);
+
+    private static final int DIGITOS_CEP = 8;
+    private static final int DIGITOS_PREFIXO = 5;
+
+    private final Map<String, Coordenada> coordenadas;
+
+    public TabelaCep(GeoProperties properties) {
+
+        this.coordenadas = carregar(properties.getArquivoCep());
+        logger.info("Tabela de CEPs carregada com {} entradas", coordenadas.size());
+
+    }
+
+    /**
+    * Coordenadas do CEP (com ou sem hífen), ou vazio se nem ele nem o seu prefixo estão na tabela.
+    */
+    public Optional<Coordenada> localizar(String cep) {
+
+        String digitos = cep == null ? "" : cep.replaceAll("\\D", "");
+        if (digitos.length() != DIGITOS_CEP) {
+
+            return Optional.empty();
+
+        }
+
+        Coordenada coordenada = coordenadas.get(digitos);
+        if (coordenada == null) {
+
+            coordenada = coordenadas.get(digitos.substring(0, DIGITOS_PREFIXO));
+
+        }
+
+        return Optional.ofNullable(coordenada);
+
+    }
+
+    int totalEntradas() {
+
+        return coordenadas.size();
+
+    }
+
+    // Formato: cabeçalho "cep;latitude;longitude", depois uma entrada por linha. Linhas vazias e iniciadas por # são ignoradas.
+    private static Map<String, Coordenada> carregar(Resource arquivo) {
+
+        Map<String, Coordenada> resultado = new HashMap<>();
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8))) {
+
+            boolean cabecalho = true;
+            int numeroLinha = 0;
+            String linha;
+
+            while ((linha = leitor.readLine()) != null) {
+
+                numeroLinha++;
+                linha = linha.strip();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+
+                    continue;
+
+                }
+
+                if (cabecalho) {
+
+                    cabecalho = false;
+                    continue;
+
+                }
+
+                String[] campos = linha.split(";");
+                String cep = campos[0].replaceAll("\\D", "");
+
+                Coordenada coordenada = campos.length == 3 && (cep.length() == DIGITOS_CEP || cep.length() == DIGITOS_PREFIXO)
+                    ? lerCoordenada(campos[1], campos[2]) : null;
+
+                if (coordenada == null) {
+
+                    throw new IllegalStateException("Linha " + numeroLinha + " inválida em " + arquivo.getDescription() + ": " + linha);
+
+                }
+
+                resultado.put(cep, coordenada);
+
+            }
+
+        } catch (IOException e) {
+
+            throw new UncheckedIOException("Não foi possível ler a tabela de CEPs " + arquivo.getDescription(), e);
+
+        }
+
+        return resultado;
+
+    }
+
+    private static Coordenada lerCoordenada(String latitude, String longitude) {
+
+        try {
+
+            double lat = Double.parseDouble(latitude.strip());
+            double lon = Double.parseDouble(longitude.strip());
+            return Math.abs(lat) <= 90 && Math.abs(lon) <= 180 ? new Coordenada(lat, lon) : null;
+
+        } catch (NumberFormatException e) {
+
+            return null;
+
+        }
+
+    }
+
+}
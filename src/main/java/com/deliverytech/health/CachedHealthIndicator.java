@@ -0,0 +1,96 @@
+package com.deliverytech.health;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+
+/**
+* Base para health checks verificados em segundo plano.
+* A verificação roda agendada (delivery.health.intervalo) e o endpoint /actuator/health apenas
+* devolve o último resultado, com o horário e a idade da verificação; assim uma dependência lenta
+* nunca bloqueia as threads que atendem as probes.
+*/
+public abstract class CachedHealthIndicator implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedHealthIndicator.class);
+
+    private final Duration idadeMaxima;
+    private final Clock clock;
+
+    private volatile Resultado ultimo;
+
+    protected CachedHealthIndicator(Duration idadeMaxima, Clock clock) {
+
+        this.idadeMaxima = idadeMaxima;
+        this.clock = clock;
+
+    }
+
+    /**
+    * Executa a verificação real. Roda fora das requisições e deve respeitar seus próprios timeouts.
+    */
+    protected abstract Health verificar() throws Exception;
+
+    @Scheduled(fixedDelayString = "${delivery.health.intervalo:PT15S}")
+    public void atualizar() {
+
+        Health health;
+
+        try {
+
+            health = verificar();
+
+        } catch (Exception e) {
+
+            health = Health.down(e).build();
+
+        }
+
+        if (ultimo == null || !ultimo.health().getStatus().equals(health.getStatus())) {
+
+            logger.info("Health check {} mudou para {}", getClass().getSimpleName(), health.getStatus());
+
+        }
+
+        ultimo = new Resultado(health, clock.instant());
+
+    }
+
+    @Override
+    public Health health() {
+
+        Resultado resultado = ultimo;
+
+        if (resultado == null) {
+
+            return Health.unknown()
+                .withDetail("status", "Aguardando a primeira verificação")
+                .build();
+
+        }
+
+        Duration idade = Duration.between(resultado.verificadoEm(), clock.instant());
+        Health.Builder builder = idade.compareTo(idadeMaxima) > 0
+            ? Health.down().withDetails(resultado.health().getDetails())
+                .withDetail("error", "Resultado desatualizado: a última verificação passou da idade máxima de " + idadeMaxima)
+            : Health.status(resultado.health().getStatus()).withDetails(resultado.health().getDetails());
+
+        return builder
+            .withDetail("verificadoEm", resultado.verificadoEm().toString())
+            .withDetail("idadeMs", idade.toMillis())
+            .build();
+
+    }
+
+    private record Resultado(Health health, Instant verificadoEm) {
+    }
+
+}
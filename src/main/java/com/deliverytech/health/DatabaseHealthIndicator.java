@@ -1,30 +1,35 @@
 package com.deliverytech.health;
 
 import org.springframework.boot.actuate.health.Health;
-import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import com.deliverytech.config.HealthCheckProperties;
+
 import javax.sql.DataSource;
 
 import java.sql.Connection;
+import java.time.Clock;
 
 
 @Component("database")
-public class DatabaseHealthIndicator implements HealthIndicator {
+public class DatabaseHealthIndicator extends CachedHealthIndicator {
 
     private final DataSource dataSource;
+    private final int timeoutSegundos;
 
-    public DatabaseHealthIndicator(DataSource dataSource) {
+    public DatabaseHealthIndicator(DataSource dataSource, HealthCheckProperties properties) {
 
+        super(properties.getIdadeMaxima(), Clock.systemUTC());
         this.dataSource = dataSource;
+        this.timeoutSegundos = (int) Math.max(1, properties.getBanco().getTimeout().toSeconds());
 
     }
 
     @Override
-    public Health health() {
+    protected Health verificar() {
         try (Connection connection = dataSource.getConnection()) {
 
-            if (connection.isValid(1)) {
+            if (connection.isValid(timeoutSegundos)) {
 
                 return Health.up()
                     .withDetail("database", "H2")
@@ -51,4 +56,4 @@ public class DatabaseHealthIndicator implements HealthIndicator {
 
     }
 
-}
\ No newline at end of file
+}
@@ -1,26 +1,48 @@
 package com.deliverytech.health;
 
 import org.springframework.boot.actuate.health.Health;
-import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import com.deliverytech.config.HealthCheckProperties;
+
+import java.time.Clock;
+
 
 @Component("externalService")
-public class ExternalServiceHealthIndicator implements HealthIndicator {
+@ConditionalOnProperty(prefix = "delivery.health.externo", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class ExternalServiceHealthIndicator extends CachedHealthIndicator {
+
+    private final RestTemplate restTemplate;
+    private final String nome;
+    private final String url;
+
+    public ExternalServiceHealthIndicator(HealthCheckProperties properties) {
+
+        super(properties.getIdadeMaxima(), Clock.systemUTC());
 
-    private final RestTemplate restTemplate = new RestTemplate();
+        // Timeouts explícitos: sem eles, uma dependência travada seguraria a verificação indefinidamente.
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getExterno().getConnectTimeout());
+        requestFactory.setReadTimeout(properties.getExterno().getReadTimeout());
+
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.nome = properties.getExterno().getNome();
+        this.url = properties.getExterno().getUrl();
+
+    }
 
     @Override
-    public Health health() {
+    protected Health verificar() {
 
         try {
 
             // Simula a chamada para um serviço externo (gateway de pagamento, etc.).
-            String url = "https://jsonplaceholder.typicode.com/todos/1";;
             restTemplate.getForEntity(url, String.class);
             return Health.up()
-                .withDetail("service", "Gateway de Pagamento (Simulado)")
+                .withDetail("service", nome)
                 .withDetail("url", url)
                 .withDetail("status", "Disponível")
                 .build();
@@ -28,7 +50,8 @@ public class ExternalServiceHealthIndicator implements HealthIndicator {
         } catch (Exception e) {
 
             return Health.down()
-                .withDetail("service", "Gateway de Pagamento (Simulado)")
+                .withDetail("service", nome)
+                .withDetail("url", url)
                 .withDetail("error", e.getMessage())
                 .withDetail("status", "Indisponível")
                 .build();
@@ -37,4 +60,4 @@ public class ExternalServiceHealthIndicator implements HealthIndicator {
 
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.mapper;
+
+import org.mapstruct.Mapper;
+
+import com.deliverytech.dto.response.ClienteResponseDTO;
+import com.deliverytech.model.Cliente;
+
+import java.util.List;
+
+
+@Mapper(config = MapperConfiguration.class)
+public interface ClienteMapper {
+
+    ClienteResponseDTO toResponseDTO(Cliente cliente);
+
+    List<ClienteResponseDTO> toResponseDTOList(List<Cliente> clientes);
+
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.deliverytech.dto.request.ItemPedidoDTO;
+import com.deliverytech.model.ItemPedido;
+
+
+@Mapper(config = MapperConfiguration.class)
+public interface ItemPedidoMapper {
+
+    // Observações do item não são persistidas na entidade ItemPedido.
+    @Mapping(target = "produtoId", source = "produto.id")
+    @Mapping(target = "observacoes", ignore = true)
+    ItemPedidoDTO toDTO(ItemPedido itemPedido);
+
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.ReportingPolicy;
+
+
+/**
+* Configuração comum dos mappers MapStruct.
+* Os mappers são gerados em tempo de compilação (sem reflexão) e registrados como beans do Spring.
+* Qualquer campo de DTO sem origem definida gera erro de compilação, então o mapeamento
+* só lê das entidades os atributos que a resposta realmente expõe.
+*/
+@MapperConfig(
+    componentModel = "spring",
+    injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+    unmappedTargetPolicy = ReportingPolicy.ERROR
+)
+public interface MapperConfiguration {
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.mapper;
+
+import org.mapstruct.Mapper;
+
+import com.deliverytech.dto.response.PedidoResponseDTO;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Restaurante;
+
+
+@Mapper(config = MapperConfiguration.class, uses = ItemPedidoMapper.class)
+public interface PedidoMapper {
+
+    PedidoResponseDTO toResponseDTO(Pedido pedido);
+
+    // Resumos: somente ID e nome; as coleções de Cliente e Restaurante nunca são acessadas.
+    PedidoResponseDTO.ClienteResumidoDTO toClienteResumido(Cliente cliente);
+
+    PedidoResponseDTO.RestauranteResumidoDTO toRestauranteResumido(Restaurante restaurante);
+
+}
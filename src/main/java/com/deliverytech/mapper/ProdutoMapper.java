@@ -0,0 +1,26 @@
+package com.deliverytech.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.deliverytech.dto.response.ProdutoResponseDTO;
+import com.deliverytech.model.Produto;
+import com.deliverytech.search.ProdutoIndexado;
+
+import java.util.List;
+
+
+@Mapper(config = MapperConfiguration.class)
+public interface ProdutoMapper {
+
+    // Apenas o ID do restaurante é lido (não inicializa o proxy da associação).
+    @Mapping(target = "restauranteId", source = "restaurante.id")
+    ProdutoResponseDTO toResponseDTO(Produto produto);
+
+    List<ProdutoResponseDTO> toResponseDTOList(List<Produto> produtos);
+
+    // O índice de busca guarda apenas produtos disponíveis.
+    @Mapping(target = "disponivel", constant = "true")
+    ProdutoResponseDTO toResponseDTO(ProdutoIndexado produto);
+
+}
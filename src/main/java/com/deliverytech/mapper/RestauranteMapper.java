@@ -0,0 +1,21 @@
+package com.deliverytech.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.deliverytech.dto.response.RestauranteResponseDTO;
+import com.deliverytech.model.Restaurante;
+
+import java.util.List;
+
+
+@Mapper(config = MapperConfiguration.class)
+public interface RestauranteMapper {
+
+    // A distância só existe na busca por proximidade, que a preenche depois do mapeamento.
+    @Mapping(target = "distanciaKm", ignore = true)
+    RestauranteResponseDTO toResponseDTO(Restaurante restaurante);
+
+    List<RestauranteResponseDTO> toResponseDTOList(List<Restaurante> restaurantes);
+
+}
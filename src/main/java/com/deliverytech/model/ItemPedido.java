@@ -12,13 +12,15 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 
 
 @Entity
+@Table(indexes = @Index(name = "idx_item_pedido_pedido", columnList = "pedido_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ItemPedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_seq", allocationSize = 50)
     private Long id;
 
     private int quantidade;
@@ -0,0 +1,60 @@
+package com.deliverytech.model;
+
+import jakarta.persistence.*;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+
+/**
+* Evento do ciclo de vida de um pedido gravado na mesma transação da alteração (transactional outbox).
+* O relay publica os pendentes em ordem de id e marca "publicadoEm"; até isso acontecer o evento
+* pode ser reenviado, então os consumidores devem descartar ids repetidos. Um evento que falha só volta
+* a ser enviado em "proximaTentativa"; depois do limite de tentativas recebe "falhouEm" (dead-letter).
+*/
+@Entity
+@Table(name = "outbox_evento", indexes = {
+    @Index(name = "idx_outbox_pendente", columnList = "publicado_em, id"),
+    @Index(name = "idx_outbox_pedido", columnList = "pedido_id, id")
+})
+@Data
+@NoArgsConstructor
+public class OutboxEvento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long pedidoId;
+
+    @Column(nullable = false, length = 50)
+    private String tipo;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+    private LocalDateTime publicadoEm;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    private LocalDateTime proximaTentativa;
+
+    private LocalDateTime falhouEm;
+
+    public OutboxEvento(Long pedidoId, String tipo, String payload, LocalDateTime criadoEm) {
+
+        this.pedidoId = pedidoId;
+        this.tipo = tipo;
+        this.payload = payload;
+        this.criadoEm = criadoEm;
+
+    }
+
+}
@@ -18,13 +18,21 @@ import java.util.UUID;
 
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_pedido_cliente_data", columnList = "cliente_id, data_pedido"),
+    @Index(name = "idx_pedido_restaurante_data", columnList = "restaurante_id, data_pedido"),
+    @Index(name = "idx_pedido_status_data", columnList = "status, data_pedido"),
+    @Index(name = "idx_pedido_data_id", columnList = "data_pedido, id"),
+    @Index(name = "uk_pedido_numero", columnList = "numero_pedido", unique = true)
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Pedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     private Long id;
 
     private String numeroPedido;
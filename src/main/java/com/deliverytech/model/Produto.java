@@ -13,13 +13,19 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_produto_restaurante_disponivel", columnList = "restaurante_id, disponivel"),
+    @Index(name = "idx_produto_categoria_disponivel", columnList = "categoria, disponivel")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Produto {
 
+    // Sequence com alocação em blocos (pooled): o id sai da memória, e os inserts podem ir em lotes JDBC.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -17,7 +17,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 public class Restaurante {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurante_seq")
+    @SequenceGenerator(name = "restaurante_seq", sequenceName = "restaurante_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -33,6 +34,11 @@ public class Restaurante {
     private Integer tempoEntrega;
     private String horarioFuncionamento;
 
+    // Localização usada na busca por proximidade; nula enquanto o restaurante não tiver coordenadas.
+    private String cep;
+    private Double latitude;
+    private Double longitude;
+
     @JsonIgnore
     @OneToMany(mappedBy = "restaurante")
     private List<Produto> produtos;
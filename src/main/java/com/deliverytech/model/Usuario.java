@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,7 +24,8 @@ import java.util.List;
 public class Usuario implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
+    @SequenceGenerator(name = "usuario_seq", sequenceName = "usuario_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -45,6 +48,11 @@ public class Usuario implements UserDetails {
     // Apenas para usuários com role RESTAURANTE.
     private Long restauranteId;
 
+    // Incrementada para invalidar de uma vez todos os tokens JWT já emitidos para o usuário.
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int versaoToken;
+
     // Métodos da interface UserDetails.
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
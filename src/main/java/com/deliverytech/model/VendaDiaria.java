@@ -0,0 +1,57 @@
+package com.deliverytech.model;
+
+import jakarta.persistence.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.deliverytech.enums.StatusPedido;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+
+/**
+* Agregado de pedidos por restaurante, dia de criação e status atual.
+* Mantido na mesma transação de cada criação e mudança de status, para os relatórios lerem
+* uma linha por restaurante/dia/status em vez do histórico inteiro de pedidos.
+*/
+@Entity
+@Table(name = "venda_diaria", indexes = {
+    @Index(name = "idx_venda_diaria_dia", columnList = "dia")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaDiaria {
+
+    @EmbeddedId
+    private Chave id;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Column(nullable = false)
+    private BigDecimal valorTotal;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        @Column(name = "restaurante_id", nullable = false)
+        private Long restauranteId;
+
+        @Column(nullable = false)
+        private LocalDate dia;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private StatusPedido status;
+
+    }
+
+}
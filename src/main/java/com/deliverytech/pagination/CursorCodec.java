@@ -0,0 +1,72 @@
+package com.deliverytech.pagination;
+
+import com.deliverytech.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+
+/**
+* Codifica e decodifica os tokens de continuação da paginação por cursor (keyset).
+* O token é opaco para o cliente: os valores da última linha da página, separados por "|",
+* em Base64 URL-safe (pode ir direto na query string).
+*/
+public final class CursorCodec {
+
+    private static final String SEPARADOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String codificar(Object... valores) {
+
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < valores.length; i++) {
+
+            if (i > 0) {
+
+                texto.append(SEPARADOR);
+
+            }
+
+            texto.append(valores[i]);
+
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.toString().getBytes(StandardCharsets.UTF_8));
+
+    }
+
+    /**
+    * Decodifica um cursor e confere se ele tem a quantidade de valores esperada.
+    * @throws BusinessException Se o cursor não foi gerado por esta API.
+    */
+    public static String[] decodificar(String cursor, int quantidadeValores) {
+
+        try {
+
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] valores = texto.split("\\" + SEPARADOR, -1);
+            if (valores.length != quantidadeValores) {
+
+                throw cursorInvalido(null);
+
+            }
+
+            return valores;
+
+        } catch (IllegalArgumentException e) {
+
+            throw cursorInvalido(e);
+
+        }
+
+    }
+
+    public static BusinessException cursorInvalido(Throwable causa) {
+
+        return new BusinessException("Cursor de paginação inválido.", "INVALID_CURSOR", causa);
+
+    }
+
+}
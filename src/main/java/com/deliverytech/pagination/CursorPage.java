@@ -0,0 +1,44 @@
+package com.deliverytech.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+* Página de uma listagem por cursor: os itens, o tamanho pedido e o cursor da próxima página
+* (nulo quando não há mais itens). Não há contagem total, de propósito.
+*/
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    /**
+    * Mantém o tamanho da página entre 1 e TAMANHO_MAXIMO.
+    */
+    public static int limitarTamanho(int size) {
+
+        return Math.max(1, Math.min(size, TAMANHO_MAXIMO));
+
+    }
+
+    public boolean hasNext() {
+
+        return nextCursor != null;
+
+    }
+
+    /**
+    * Monta a página a partir de uma consulta que buscou size + 1 linhas:
+    * a linha extra só indica que existe uma próxima página e não é devolvida.
+    */
+    public static <E, T> CursorPage<T> of(List<E> linhas, int size, Function<E, String> cursorDe, Function<E, T> conversor) {
+
+        boolean temProxima = linhas.size() > size;
+        List<E> pagina = temProxima ? linhas.subList(0, size) : linhas;
+        String nextCursor = temProxima ? cursorDe.apply(pagina.get(pagina.size() - 1)) : null;
+        return new CursorPage<>(pagina.stream().map(conversor).toList(), size, nextCursor);
+
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.deliverytech.projection;
+
+
+// Projeção com apenas os donos de um pedido, usada nas verificações de autorização.
+public interface PedidoDonos {
+
+    Long getClienteId();
+    Long getRestauranteId();
+
+}
@@ -0,0 +1,48 @@
+package com.deliverytech.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.deliverytech.model.OutboxEvento;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+
+@Repository
+public interface OutboxEventoRepository extends JpaRepository<OutboxEvento, Long> {
+
+    // Pendentes prontos para envio, na ordem em que foram gravados (a ordem por id preserva a ordem dentro de
+    // cada pedido). Ficam de fora os eventos em espera ou com falha definitiva e os que vêm depois deles no
+    // mesmo pedido, para que pedidos travados não ocupem o lote.
+    @Query("SELECT e FROM OutboxEvento e " +
+    "WHERE e.publicadoEm IS NULL AND e.falhouEm IS NULL " +
+    "AND (e.proximaTentativa IS NULL OR e.proximaTentativa <= :agora) " +
+    "AND NOT EXISTS (SELECT a.id FROM OutboxEvento a " +
+    "WHERE a.pedidoId = e.pedidoId AND a.id < e.id AND a.publicadoEm IS NULL " +
+    "AND (a.falhouEm IS NOT NULL OR a.proximaTentativa > :agora)) " +
+    "ORDER BY e.id")
+    List<OutboxEvento> findPendentes(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.publicadoEm = :publicadoEm WHERE e.id IN :ids")
+    int marcarPublicados(@Param("ids") Collection<Long> ids, @Param("publicadoEm") LocalDateTime publicadoEm);
+
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.tentativas = e.tentativas + 1, e.proximaTentativa = :proximaTentativa WHERE e.id = :id")
+    int registrarFalha(@Param("id") Long id, @Param("proximaTentativa") LocalDateTime proximaTentativa);
+
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.tentativas = e.tentativas + 1, e.falhouEm = :falhouEm WHERE e.id = :id")
+    int marcarFalhou(@Param("id") Long id, @Param("falhouEm") LocalDateTime falhouEm);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvento e WHERE e.publicadoEm < :limite")
+    int removerPublicadosAntesDe(@Param("limite") LocalDateTime limite);
+
+}
@@ -1,6 +1,10 @@
 package com.deliverytech.repository;
 
+import jakarta.persistence.LockModeType;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -8,14 +12,17 @@ import org.springframework.stereotype.Repository;
 import com.deliverytech.enums.StatusPedido;
 import com.deliverytech.model.Cliente;
 import com.deliverytech.model.Pedido;
+import com.deliverytech.projection.PedidoDonos;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 @Repository
-public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecificationExecutor<Pedido> {
 
     List<Pedido> findByClienteOrderByDataPedidoDesc(Cliente cliente);
 
@@ -34,19 +41,32 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     @Query("SELECT p FROM Pedido p WHERE p.restaurante.id = :restauranteId ORDER BY p.dataPedido DESC")
     List<Pedido> findByRestauranteId(@Param("restauranteId") Long restauranteId);
 
-    @Query("SELECT p.status, COUNT(p) FROM Pedido p GROUP BY p.status")
+    // Itens no mesmo SELECT: o snapshot do feed mapeia todos os pedidos abertos de uma vez.
+    @Query("SELECT DISTINCT p FROM Pedido p LEFT JOIN FETCH p.itens " +
+    "WHERE p.restaurante.id = :restauranteId AND p.status IN :status ORDER BY p.dataPedido")
+    List<Pedido> findAbertosByRestauranteId(@Param("restauranteId") Long restauranteId, @Param("status") Collection<StatusPedido> status);
+
+    // SELECT ... FOR UPDATE: mudanças de status do mesmo pedido entram em fila, cada uma lê o status gravado
+    // pela anterior e registra seu evento no outbox depois dela.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Pedido p WHERE p.id = :id")
+    Optional<Pedido> findByIdParaAtualizacao(@Param("id") Long id);
+
+    // Lê só as colunas cliente_id e restaurante_id do pedido, sem carregar cliente e restaurante.
+    @Query("SELECT p.cliente.id AS clienteId, p.restaurante.id AS restauranteId FROM Pedido p WHERE p.id = :id")
+    Optional<PedidoDonos> findDonosById(@Param("id") Long id);
+
+    // Contagem e totais por restaurante vêm do agregado diário (venda_diaria), não do histórico de pedidos.
+    @Query("SELECT v.id.status, SUM(v.quantidade) FROM VendaDiaria v GROUP BY v.id.status HAVING SUM(v.quantidade) > 0")
     List<Object[]> countPedidosByStatus();
 
     @Query("SELECT p FROM Pedido p WHERE p.status IN ('PENDENTE', 'CONFIRMADO', 'PREPARANDO') ORDER BY p.dataPedido ASC")
     List<Pedido> findPedidosPendentes();
 
-    @Query("SELECT SUM(p.valorTotal) FROM Pedido p WHERE p.dataPedido BETWEEN :inicio AND :fim AND p.status NOT IN ('CANCELADO')")
-    BigDecimal calcularVendasPorPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
-
-    @Query("SELECT p.restaurante.nome, SUM(p.valorTotal) " +
-    "FROM Pedido p " +
-    "GROUP BY p.restaurante.id, p.restaurante.nome " +
-    "ORDER BY SUM(p.valorTotal) DESC")
+    @Query("SELECT r.nome, SUM(v.valorTotal) " +
+    "FROM VendaDiaria v JOIN Restaurante r ON r.id = v.id.restauranteId " +
+    "GROUP BY r.id, r.nome " +
+    "ORDER BY SUM(v.valorTotal) DESC")
     List<Object[]> calcularTotalVendasPorRestaurante();
 
     @Query("SELECT p FROM Pedido p WHERE p.valorTotal > :valor ORDER BY p.valorTotal DESC")
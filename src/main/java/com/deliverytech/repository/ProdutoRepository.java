@@ -7,8 +7,10 @@ import org.springframework.stereotype.Repository;
 
 import com.deliverytech.model.Produto;
 import com.deliverytech.model.Restaurante;
+import com.deliverytech.search.ProdutoIndexado;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.lang.NonNull; 
@@ -20,15 +22,15 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     @NonNull
     List<Produto> findByRestauranteAndDisponivelTrue(Restaurante restaurante);
     
+    // Consulta explícita: a versão derivada fazia LEFT JOIN em restaurante e filtrava por r.id,
+    // o que impedia o uso do índice (restaurante_id, disponivel) de produto.
+    @Query("SELECT p FROM Produto p WHERE p.restaurante.id = :restauranteId AND p.disponivel = true")
     @NonNull
-    List<Produto> findByRestauranteIdAndDisponivelTrue(Long restauranteId);
+    List<Produto> findByRestauranteIdAndDisponivelTrue(@Param("restauranteId") Long restauranteId);
     
     @NonNull
     List<Produto> findByCategoriaAndDisponivelTrue(String categoria);
     
-    @NonNull
-    List<Produto> findByNomeContainingIgnoreCaseAndDisponivelTrue(String nome);
-    
     @NonNull
     List<Produto> findByPrecoBetweenAndDisponivelTrue(BigDecimal precoMin, BigDecimal precoMax);
     
@@ -62,9 +64,21 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     @NonNull
     List<Object[]> produtosMaisVendidos();
 
+    @Query("SELECT p FROM Produto p WHERE p.restaurante.id = :restauranteId")
+    @NonNull
+    List<Produto> findByRestauranteId(@Param("restauranteId") Long restauranteId);
+
+    // Carrega os produtos de um carrinho em uma única consulta, já com o restaurante (evita N+1).
+    @Query("SELECT p FROM Produto p JOIN FETCH p.restaurante WHERE p.id IN :ids")
     @NonNull
-    List<Produto> findByRestauranteId(Long restauranteId);
+    List<Produto> findAllByIdComRestaurante(@Param("ids") Collection<Long> ids);
     
+    // Produtos disponíveis já no formato do índice de busca, em uma única consulta (sem carregar o restaurante).
+    @Query("SELECT new com.deliverytech.search.ProdutoIndexado(p.id, p.nome, p.descricao, p.preco, p.categoria, p.restaurante.id) " +
+    "FROM Produto p WHERE p.disponivel = true")
+    @NonNull
+    List<ProdutoIndexado> findIndexaveis();
+
     @Override
     @NonNull
     List<Produto> findAll();
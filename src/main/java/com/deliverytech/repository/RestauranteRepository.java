@@ -1,10 +1,12 @@
 package com.deliverytech.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.deliverytech.geo.RestauranteLocalizado;
 import com.deliverytech.model.Restaurante;
 import com.deliverytech.projection.RelatorioVendas;
 
@@ -14,7 +16,7 @@ import java.util.Optional;
 
 
 @Repository
-public interface RestauranteRepository extends JpaRepository<Restaurante, Long> {
+public interface RestauranteRepository extends JpaRepository<Restaurante, Long>, JpaSpecificationExecutor<Restaurante> {
     
     Optional<Restaurante> findByNome(String nome);
     List<Restaurante> findByCategoria(String categoria);
@@ -35,11 +37,17 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
 
     boolean existsByTelefone(String telefone);
 
+    // Carga do índice geográfico: só os campos que ele guarda, dos restaurantes ativos com coordenadas.
+    @Query("SELECT new com.deliverytech.geo.RestauranteLocalizado(r.id, r.latitude, r.longitude) " +
+    "FROM Restaurante r WHERE r.ativo = true AND r.latitude IS NOT NULL AND r.longitude IS NOT NULL")
+    List<RestauranteLocalizado> findLocalizaveis();
+
+    // Lê o agregado diário (venda_diaria), não o histórico de pedidos.
     @Query("SELECT r.nome as nomeRestaurante, " +
-    "SUM(p.valorTotal) as totalVendas, " +
-    "COUNT(p.id) as quantidadePedidos " +
+    "SUM(v.valorTotal) as totalVendas, " +
+    "COALESCE(SUM(v.quantidade), 0) as quantidadePedidos " +
     "FROM Restaurante r " +
-    "LEFT JOIN Pedido p ON r.id = p.restaurante.id " +
+    "LEFT JOIN VendaDiaria v ON v.id.restauranteId = r.id " +
     "GROUP BY r.id, r.nome")
     List<RelatorioVendas> relatorioVendasPorRestaurante();
 
@@ -0,0 +1,25 @@
+package com.deliverytech.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.deliverytech.model.VendaDiaria;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+
+@Repository
+public interface VendaDiariaRepository extends JpaRepository<VendaDiaria, VendaDiaria.Chave> {
+
+    @Query("SELECT v FROM VendaDiaria v WHERE v.id.dia BETWEEN :inicio AND :fim")
+    List<VendaDiaria> findByPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Vendas (exceto canceladas) dos dias informados, inclusive.
+    @Query("SELECT SUM(v.valorTotal) FROM VendaDiaria v WHERE v.id.dia BETWEEN :inicio AND :fim AND v.id.status <> com.deliverytech.enums.StatusPedido.CANCELADO")
+    BigDecimal calcularVendasPorPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+}
@@ -0,0 +1,121 @@
+package com.deliverytech.repository.specification;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.deliverytech.dto.request.PedidoFiltro;
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.model.Pedido;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+* Predicados reutilizáveis para consultas dinâmicas de pedidos.
+* Os filtros comparam as colunas diretamente (sem funções sobre elas), para que o banco
+* consiga usar os índices de status, restaurante, cliente e data do pedido.
+*/
+public final class PedidoSpecifications {
+
+    /**
+    * Ordenação estável usada pela paginação por cursor: mais recentes primeiro, ID como desempate.
+    */
+    public static final Sort ORDEM_CURSOR = Sort.by(Sort.Order.desc("dataPedido"), Sort.Order.desc("id"));
+
+    private PedidoSpecifications() {
+    }
+
+    /**
+    * Pedidos que vêm depois do cursor na ORDEM_CURSOR:
+    * dataPedido < data OR (dataPedido = data AND id < id).
+    */
+    public static Specification<Pedido> aposCursor(LocalDateTime dataPedido, Long id) {
+
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.get("dataPedido"), dataPedido),
+            cb.and(cb.equal(root.get("dataPedido"), dataPedido), cb.lessThan(root.get("id"), id)));
+
+    }
+
+    /**
+    * Combina em uma única consulta apenas os filtros informados.
+    */
+    public static Specification<Pedido> comFiltros(PedidoFiltro filtro) {
+
+        List<Specification<Pedido>> filtros = new ArrayList<>();
+
+        if (filtro.status() != null) {
+
+            filtros.add(comStatus(filtro.status()));
+
+        }
+
+        if (filtro.restauranteId() != null) {
+
+            filtros.add(doRestaurante(filtro.restauranteId()));
+
+        }
+
+        if (filtro.clienteId() != null) {
+
+            filtros.add(doCliente(filtro.clienteId()));
+
+        }
+
+        if (filtro.dataInicio() != null) {
+
+            filtros.add(criadoAPartirDe(filtro.dataInicio()));
+
+        }
+
+        if (filtro.dataFim() != null) {
+
+            filtros.add(criadoAte(filtro.dataFim()));
+
+        }
+
+        return Specification.allOf(filtros);
+
+    }
+
+    public static Specification<Pedido> comStatus(StatusPedido status) {
+
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+
+    }
+
+    // Compara a FK diretamente (p.restaurante.id), sem JOIN com a tabela de restaurantes.
+    public static Specification<Pedido> doRestaurante(Long restauranteId) {
+
+        return (root, query, cb) -> cb.equal(root.get("restaurante").get("id"), restauranteId);
+
+    }
+
+    public static Specification<Pedido> doCliente(Long clienteId) {
+
+        return (root, query, cb) -> cb.equal(root.get("cliente").get("id"), clienteId);
+
+    }
+
+    /**
+    * dataPedido >= início do dia informado.
+    */
+    public static Specification<Pedido> criadoAPartirDe(LocalDate data) {
+
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dataPedido"), data.atStartOfDay());
+
+    }
+
+    /**
+    * dataPedido < início do dia seguinte (intervalo semiaberto: inclui o dia todo sem CAST na coluna).
+    */
+    public static Specification<Pedido> criadoAte(LocalDate data) {
+
+        return (root, query, cb) -> cb.lessThan(root.get("dataPedido"), data.plusDays(1).atStartOfDay());
+
+    }
+
+}
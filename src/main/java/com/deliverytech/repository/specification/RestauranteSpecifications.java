@@ -0,0 +1,41 @@
+package com.deliverytech.repository.specification;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.deliverytech.model.Restaurante;
+
+
+/**
+* Predicados reutilizáveis para consultas dinâmicas de restaurantes.
+* Filtros com valor nulo não restringem a consulta.
+*/
+public final class RestauranteSpecifications {
+
+    /**
+    * Ordenação estável usada pela paginação por cursor.
+    */
+    public static final Sort ORDEM_CURSOR = Sort.by(Sort.Order.asc("id"));
+
+    private RestauranteSpecifications() {
+    }
+
+    public static Specification<Restaurante> aposCursor(Long id) {
+
+        return (root, query, cb) -> id == null ? null : cb.greaterThan(root.get("id"), id);
+
+    }
+
+    public static Specification<Restaurante> comCategoria(String categoria) {
+
+        return (root, query, cb) -> categoria == null ? null : cb.equal(root.get("categoria"), categoria);
+
+    }
+
+    public static Specification<Restaurante> comAtivo(Boolean ativo) {
+
+        return (root, query, cb) -> ativo == null ? null : cb.equal(root.get("ativo"), ativo);
+
+    }
+
+}
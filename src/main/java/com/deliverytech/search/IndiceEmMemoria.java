@@ -0,0 +1,246 @@
+package com.deliverytech.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+
+/**
+* Base dos índices em memória montados a partir do banco (busca de produtos, busca por proximidade).
+* Cuida do que é comum a eles: a estrutura atual fica sob um lock de leitura e escrita, as escritas
+* feitas pela aplicação são aplicadas após o commit e a reconstrução periódica monta uma estrutura nova
+* sem bloquear as buscas, trocando a atual por ela no fim. A estrutura em si (termos, grade) é da subclasse.
+* @param <T> O item indexado.
+* @param <E> A estrutura que guarda os itens, sem sincronização própria.
+*/
+public abstract class IndiceEmMemoria<T, E extends IndiceEmMemoria.Estrutura<T>> {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final String nome;
+    private final Function<T, Long> identificador;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+
+    // Guardados pelo lock. Durante uma reconstrução, as alterações também são anotadas (nulo = remoção)
+    // para serem reaplicadas na estrutura nova, que foi montada a partir de uma leitura possivelmente anterior a elas.
+    private E estrutura;
+    private Map<Long, T> alteracoesDuranteReconstrucao;
+
+    protected IndiceEmMemoria(String nome, Function<T, Long> identificador, E vazia) {
+
+        this.nome = nome;
+        this.identificador = identificador;
+        this.estrutura = vazia;
+
+    }
+
+    /**
+    * Lê do banco todos os itens que devem estar no índice.
+    */
+    protected abstract List<T> carregar();
+
+    /**
+    * Cria uma estrutura vazia para a reconstrução.
+    */
+    protected abstract E novaEstrutura();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+
+        reconstruir();
+
+    }
+
+    /**
+    * Monta uma estrutura nova com os itens do banco e troca a atual por ela.
+    * As buscas continuam na estrutura atual enquanto a nova é montada.
+    */
+    public void reconstruir() {
+
+        if (!reconstrucao.tryLock()) {
+
+            return;
+
+        }
+
+        try {
+
+            comEscrita(() -> alteracoesDuranteReconstrucao = new HashMap<>());
+
+            List<T> itens;
+            try {
+
+                itens = carregar();
+
+            } catch (RuntimeException e) {
+
+                comEscrita(() -> alteracoesDuranteReconstrucao = null);
+                logger.warn("Falha ao reconstruir o índice {}: {}", nome, e.getMessage());
+                return;
+
+            }
+
+            E nova = novaEstrutura();
+            itens.forEach(nova::adicionar);
+
+            comEscrita(() -> {
+
+                alteracoesDuranteReconstrucao.forEach(nova::aplicar);
+                alteracoesDuranteReconstrucao = null;
+                estrutura = nova;
+
+            });
+
+            logger.info("Índice {} reconstruído com {} registros", nome, itens.size());
+
+        } finally {
+
+            reconstrucao.unlock();
+
+        }
+
+    }
+
+    /**
+    * Indexa (ou reindexa) itens. Com transação ativa, o índice muda só após o commit.
+    */
+    public void indexar(Collection<T> itens) {
+
+        Map<Long, T> alteracoes = new LinkedHashMap<>();
+        itens.forEach(item -> alteracoes.put(identificador.apply(item), item));
+        aplicarAposCommit(alteracoes);
+
+    }
+
+    /**
+    * Tira itens do índice. Com transação ativa, o índice muda só após o commit.
+    */
+    public void remover(Collection<Long> ids) {
+
+        Map<Long, T> alteracoes = new LinkedHashMap<>();
+        ids.forEach(id -> alteracoes.put(id, null));
+        aplicarAposCommit(alteracoes);
+
+    }
+
+    /**
+    * Executa uma consulta na estrutura atual sob o lock de leitura.
+    */
+    protected <R> R comLeitura(Function<E, R> consulta) {
+
+        lock.readLock().lock();
+        try {
+
+            return consulta.apply(estrutura);
+
+        } finally {
+
+            lock.readLock().unlock();
+
+        }
+
+    }
+
+    private void aplicarAposCommit(Map<Long, T> alteracoes) {
+
+        if (alteracoes.isEmpty()) {
+
+            return;
+
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+
+                    aplicar(alteracoes);
+
+                }
+
+            });
+
+        } else {
+
+            aplicar(alteracoes);
+
+        }
+
+    }
+
+    private void aplicar(Map<Long, T> alteracoes) {
+
+        comEscrita(() -> {
+
+            alteracoes.forEach(estrutura::aplicar);
+            if (alteracoesDuranteReconstrucao != null) {
+
+                alteracoesDuranteReconstrucao.putAll(alteracoes);
+
+            }
+
+        });
+
+    }
+
+    private void comEscrita(Runnable acao) {
+
+        lock.writeLock().lock();
+        try {
+
+            acao.run();
+
+        } finally {
+
+            lock.writeLock().unlock();
+
+        }
+
+    }
+
+    /**
+    * Estrutura de um índice, acessada sempre sob o lock do {@link IndiceEmMemoria}.
+    */
+    public interface Estrutura<T> {
+
+        /**
+        * Adiciona o item, substituindo o de mesmo id se houver.
+        */
+        void adicionar(T item);
+
+        void remover(Long id);
+
+        default void aplicar(Long id, T item) {
+
+            if (item != null) {
+
+                adicionar(item);
+
+            } else {
+
+                remover(id);
+
+            }
+
+        }
+
+    }
+
+}
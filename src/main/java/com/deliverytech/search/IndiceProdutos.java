@@ -0,0 +1,387 @@
+package com.deliverytech.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.config.BuscaProperties;
+import com.deliverytech.repository.ProdutoRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+
+/**
+* Índice invertido em memória dos produtos disponíveis, usado pela busca de produtos no lugar do
+* LIKE '%termo%', que nenhum índice do banco atende.
+* Cada termo do nome, da categoria e da descrição aponta para os produtos que o contêm, com peso maior
+* para o nome. Um termo da busca casa com o termo igual, com os termos que começam por ele e, a partir de
+* delivery.busca.tamanho-minimo-tolerancia letras, com os termos a um erro de digitação de distância.
+* Todos os termos da busca precisam casar, e o resultado vem ordenado pela soma dos pesos.
+* As escritas de produto atualizam o índice após o commit; a reconstrução periódica a partir do banco
+* traz as escritas feitas em outras instâncias (ver {@link IndiceEmMemoria}).
+*/
+@Component
+public class IndiceProdutos extends IndiceEmMemoria<ProdutoIndexado, IndiceProdutos.Indice> {
+
+    private static final int PESO_NOME = 3;
+    private static final int PESO_CATEGORIA = 2;
+    private static final int PESO_DESCRICAO = 1;
+
+    private static final double FATOR_EXATO = 1.0;
+    private static final double FATOR_PREFIXO = 0.6;
+    private static final double FATOR_ERRO_DIGITACAO = 0.4;
+
+    private static final int TAMANHO_MINIMO_PREFIXO = 2;
+
+    private static final Comparator<Resultado> ORDEM = Comparator.comparingDouble(Resultado::pontuacao).reversed()
+        .thenComparing(Resultado::nomeNormalizado)
+        .thenComparing(resultado -> resultado.produto().id());
+
+    private final ProdutoRepository produtoRepository;
+    private final BuscaProperties properties;
+
+    public IndiceProdutos(ProdutoRepository produtoRepository, BuscaProperties properties) {
+
+        super("de busca de produtos", ProdutoIndexado::id, new Indice(properties.getTamanhoMinimoTolerancia()));
+        this.produtoRepository = produtoRepository;
+        this.properties = properties;
+
+    }
+
+    /**
+    * Monta um índice novo com os produtos disponíveis do banco e troca o atual por ele.
+    * As buscas continuam no índice atual enquanto o novo é montado.
+    */
+    @Override
+    @Scheduled(fixedDelayString = "${delivery.busca.intervalo-reconstrucao:5m}", initialDelayString = "${delivery.busca.intervalo-reconstrucao:5m}")
+    public void reconstruir() {
+
+        super.reconstruir();
+
+    }
+
+    /**
+    * Busca os produtos disponíveis que casam com todos os termos do texto, do mais relevante para o menos.
+    * A ordenação do Pageable é ignorada: a ordem é a da relevância.
+    */
+    public Page<ProdutoIndexado> buscar(String texto, Pageable pageable) {
+
+        List<String> termos = NormalizadorTexto.termos(texto);
+        if (termos.isEmpty()) {
+
+            return Page.empty(pageable);
+
+        }
+
+        List<Resultado> resultados = comLeitura(indice -> indice.buscar(termos));
+        resultados.sort(ORDEM);
+
+        int inicio = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), resultados.size()) : 0;
+        int fim = pageable.isPaged() ? Math.min(inicio + pageable.getPageSize(), resultados.size()) : resultados.size();
+        List<ProdutoIndexado> pagina = resultados.subList(inicio, fim).stream().map(Resultado::produto).toList();
+        return new PageImpl<>(pagina, pageable, resultados.size());
+
+    }
+
+    int totalProdutos() {
+
+        return comLeitura(indice -> indice.documentos.size());
+
+    }
+
+    @Override
+    protected List<ProdutoIndexado> carregar() {
+
+        return produtoRepository.findIndexaveis();
+
+    }
+
+    @Override
+    protected Indice novaEstrutura() {
+
+        return new Indice(properties.getTamanhoMinimoTolerancia());
+
+    }
+
+    private record Documento(ProdutoIndexado produto, String nomeNormalizado, Map<String, Integer> pesos) {
+    }
+
+    private record Resultado(ProdutoIndexado produto, String nomeNormalizado, double pontuacao) {
+    }
+
+    /**
+    * Estrutura do índice, sem sincronização própria.
+    * Os termos ficam ordenados para achar os que começam por um prefixo. Para o erro de digitação, cada
+    * termo é registrado também sob as variantes com uma letra a menos: dois termos a uma troca, inserção,
+    * remoção ou inversão de letras de distância sempre compartilham uma dessas variantes (ou um é variante do outro).
+    */
+    static final class Indice implements IndiceEmMemoria.Estrutura<ProdutoIndexado> {
+
+        private final int tamanhoMinimoTolerancia;
+
+        private final Map<Long, Documento> documentos = new HashMap<>();
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<String, Set<String>> variantes = new HashMap<>();
+
+        private Indice(int tamanhoMinimoTolerancia) {
+
+            this.tamanhoMinimoTolerancia = tamanhoMinimoTolerancia;
+
+        }
+
+        @Override
+        public void adicionar(ProdutoIndexado produto) {
+
+            remover(produto.id());
+
+            Map<String, Integer> pesos = new HashMap<>();
+            somarPesos(pesos, produto.nome(), PESO_NOME);
+            somarPesos(pesos, produto.categoria(), PESO_CATEGORIA);
+            somarPesos(pesos, produto.descricao(), PESO_DESCRICAO);
+
+            documentos.put(produto.id(), new Documento(produto, NormalizadorTexto.normalizar(produto.nome()), pesos));
+
+            pesos.forEach((termo, peso) -> postings.computeIfAbsent(termo, novoTermo -> {
+
+                registrarVariantes(novoTermo);
+                return new HashMap<>();
+
+            }).put(produto.id(), peso));
+
+        }
+
+        @Override
+        public void remover(Long id) {
+
+            Documento documento = documentos.remove(id);
+            if (documento == null) {
+
+                return;
+
+            }
+
+            for (String termo : documento.pesos().keySet()) {
+
+                Map<Long, Integer> produtos = postings.get(termo);
+                produtos.remove(id);
+
+                if (produtos.isEmpty()) {
+
+                    postings.remove(termo);
+                    removerVariantes(termo);
+
+                }
+
+            }
+
+        }
+
+        private List<Resultado> buscar(List<String> termos) {
+
+            Map<Long, Double> pontuacao = null;
+
+            for (String termo : new LinkedHashSet<>(termos)) {
+
+                Map<Long, Double> doTermo = pontuar(termo);
+
+                if (pontuacao == null) {
+
+                    pontuacao = doTermo;
+
+                } else {
+
+                    pontuacao.keySet().retainAll(doTermo.keySet());
+                    pontuacao.replaceAll((id, valor) -> valor + doTermo.get(id));
+
+                }
+
+                if (pontuacao.isEmpty()) {
+
+                    return new ArrayList<>();
+
+                }
+
+            }
+
+            List<Resultado> resultados = new ArrayList<>(pontuacao.size());
+            pontuacao.forEach((id, valor) -> {
+
+                Documento documento = documentos.get(id);
+                resultados.add(new Resultado(documento.produto(), documento.nomeNormalizado(), valor));
+
+            });
+
+            return resultados;
+
+        }
+
+        // Maior pontuação de cada produto para um termo da busca: igual, prefixo ou com um erro de digitação.
+        private Map<Long, Double> pontuar(String termo) {
+
+            Map<Long, Double> pontuacao = new HashMap<>();
+            somarPontuacao(pontuacao, postings.get(termo), FATOR_EXATO);
+
+            if (termo.length() >= TAMANHO_MINIMO_PREFIXO) {
+
+                for (Map<Long, Integer> produtos : postings.subMap(termo, false, termo + Character.MAX_VALUE, false).values()) {
+
+                    somarPontuacao(pontuacao, produtos, FATOR_PREFIXO);
+
+                }
+
+            }
+
+            if (termo.length() >= tamanhoMinimoTolerancia) {
+
+                for (String candidato : termosComUmErro(termo)) {
+
+                    somarPontuacao(pontuacao, postings.get(candidato), FATOR_ERRO_DIGITACAO);
+
+                }
+
+            }
+
+            return pontuacao;
+
+        }
+
+        private Set<String> termosComUmErro(String termo) {
+
+            Set<String> candidatos = new HashSet<>(variantes.getOrDefault(termo, Set.of()));
+
+            for (String variante : variantesDe(termo)) {
+
+                if (postings.containsKey(variante)) {
+
+                    candidatos.add(variante);
+
+                }
+
+                candidatos.addAll(variantes.getOrDefault(variante, Set.of()));
+
+            }
+
+            candidatos.removeIf(candidato -> candidato.equals(termo) || !umErroDeDistancia(termo, candidato));
+            return candidatos;
+
+        }
+
+        private void registrarVariantes(String termo) {
+
+            if (termo.length() < tamanhoMinimoTolerancia) {
+
+                return;
+
+            }
+
+            for (String variante : variantesDe(termo)) {
+
+                variantes.computeIfAbsent(variante, chave -> new HashSet<>()).add(termo);
+
+            }
+
+        }
+
+        private void removerVariantes(String termo) {
+
+            if (termo.length() < tamanhoMinimoTolerancia) {
+
+                return;
+
+            }
+
+            for (String variante : variantesDe(termo)) {
+
+                Set<String> termosDaVariante = variantes.get(variante);
+                if (termosDaVariante != null && termosDaVariante.remove(termo) && termosDaVariante.isEmpty()) {
+
+                    variantes.remove(variante);
+
+                }
+
+            }
+
+        }
+
+        private static void somarPesos(Map<String, Integer> pesos, String texto, int peso) {
+
+            for (String termo : new HashSet<>(NormalizadorTexto.termos(texto))) {
+
+                pesos.merge(termo, peso, Integer::sum);
+
+            }
+
+        }
+
+        private static void somarPontuacao(Map<Long, Double> pontuacao, Map<Long, Integer> produtos, double fator) {
+
+            if (produtos == null) {
+
+                return;
+
+            }
+
+            produtos.forEach((id, peso) -> pontuacao.merge(id, peso * fator, Math::max));
+
+        }
+
+        // O termo sem uma de suas letras, para cada posição.
+        private static Set<String> variantesDe(String termo) {
+
+            Set<String> resultado = new HashSet<>();
+
+            for (int i = 0; i < termo.length(); i++) {
+
+                resultado.add(termo.substring(0, i) + termo.substring(i + 1));
+
+            }
+
+            return resultado;
+
+        }
+
+        // Uma letra trocada, a mais, a menos, ou duas letras vizinhas invertidas.
+        private static boolean umErroDeDistancia(String a, String b) {
+
+            if (Math.abs(a.length() - b.length()) > 1) {
+
+                return false;
+
+            }
+
+            int inicio = 0;
+            while (inicio < a.length() && inicio < b.length() && a.charAt(inicio) == b.charAt(inicio)) {
+
+                inicio++;
+
+            }
+
+            String restoA = a.substring(inicio);
+            String restoB = b.substring(inicio);
+
+            if (restoA.length() == restoB.length()) {
+
+                return !restoA.isEmpty() && (restoA.substring(1).equals(restoB.substring(1))
+                    || restoA.length() >= 2 && restoA.charAt(0) == restoB.charAt(1) && restoA.charAt(1) == restoB.charAt(0)
+                    && restoA.substring(2).equals(restoB.substring(2)));
+
+            }
+
+            return restoA.length() > restoB.length() ? restoA.substring(1).equals(restoB) : restoB.substring(1).equals(restoA);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.deliverytech.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+
+/**
+* Normaliza texto para o índice de busca: minúsculas, sem acentos ("Açaí" vira "acai") e dividido
+* em termos de letras e dígitos. Palavras de ligação do português não viram termos, para que
+* "pizza de calabresa" não exija um "de" no produto.
+*/
+public final class NormalizadorTexto {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> PALAVRAS_IGNORADAS = Set.of(
+        "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "com", "sem", "em", "na", "no",
+        "nas", "nos", "para", "por", "um", "uma", "ao");
+
+    private NormalizadorTexto() {
+    }
+
+    public static String normalizar(String texto) {
+
+        if (texto == null) {
+
+            return "";
+
+        }
+
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(decomposto).replaceAll("").toLowerCase(Locale.ROOT);
+
+    }
+
+    public static List<String> termos(String texto) {
+
+        List<String> termos = new ArrayList<>();
+
+        for (String termo : SEPARADORES.split(normalizar(texto))) {
+
+            if (!termo.isEmpty() && !PALAVRAS_IGNORADAS.contains(termo)) {
+
+                termos.add(termo);
+
+            }
+
+        }
+
+        return termos;
+
+    }
+
+}
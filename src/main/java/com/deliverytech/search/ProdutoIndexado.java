@@ -0,0 +1,22 @@
+package com.deliverytech.search;
+
+import com.deliverytech.model.Produto;
+
+import java.math.BigDecimal;
+
+
+/**
+* Campos de um produto disponível guardados no índice de busca, suficientes para montar a resposta
+* sem voltar ao banco.
+*/
+public record ProdutoIndexado(Long id, String nome, String descricao, BigDecimal preco, String categoria, Long restauranteId) {
+
+    public static ProdutoIndexado de(Produto produto) {
+
+        Long restauranteId = produto.getRestaurante() != null ? produto.getRestaurante().getId() : null;
+        return new ProdutoIndexado(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+            produto.getCategoria(), restauranteId);
+
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.deliverytech.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 
@@ -15,12 +16,15 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.deliverytech.config.JwtProperties;
+import com.deliverytech.model.Usuario;
+import com.deliverytech.service.impl.UsuarioServiceImpl;
+
 import java.io.IOException;
 
 
@@ -30,12 +34,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UsuarioServiceImpl usuarioService;
+    private final JwtProperties jwtProperties;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UsuarioServiceImpl usuarioService, JwtProperties jwtProperties) {
 
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.usuarioService = usuarioService;
+        this.jwtProperties = jwtProperties;
 
     }
 
@@ -56,11 +62,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        String userEmail = null;
+        Claims claims = null;
 
         try {
 
-            userEmail = jwtUtil.extractUsername(jwt);
+            // Assinatura e expiração são verificadas uma única vez, aqui.
+            claims = jwtUtil.extractAllClaims(jwt);
 
         } catch (ExpiredJwtException e) {
 
@@ -72,26 +79,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            try {
-
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                if (jwtUtil.isTokenValid(jwt, userDetails)) {
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+            UserDetails userDetails = jwtProperties.isStateless()
+            ? autenticarPelasClaims(claims)
+            : autenticarPeloUsuario(claims);
 
-                }
+            if (userDetails != null) {
 
-            } catch (UsernameNotFoundException e) {
-
-                logger.warn("Usuário não encontrado para o e-mail no token: {}", userEmail);
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
 
             }
 
@@ -102,4 +104,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     }
 
-}
\ No newline at end of file
+    /**
+    * Modo stateless: o principal vem das claims do token. Só a versão do token é consultada
+    * (em cache), para recusar tokens revogados e de usuários desativados.
+    */
+    private UserDetails autenticarPelasClaims(Claims claims) {
+
+        Usuario usuario = jwtUtil.extractUsuario(claims);
+
+        if (usuario == null) {
+
+            logger.warn("Token JWT sem as claims do usuário: {}", claims.getSubject());
+            return null;
+
+        }
+
+        if (usuario.getVersaoToken() != usuarioService.buscarVersaoToken(usuario.getId())) {
+
+            logger.warn("Token JWT revogado ou usuário inativo: {}", claims.getSubject());
+            return null;
+
+        }
+
+        return usuario;
+
+    }
+
+    /**
+    * Modo com consulta: carrega o usuário pelo e-mail do token a cada requisição.
+    */
+    private UserDetails autenticarPeloUsuario(Claims claims) {
+
+        try {
+
+            Usuario usuario = (Usuario) usuarioService.loadUserByUsername(claims.getSubject());
+            boolean versaoVigente = usuario.getVersaoToken() == jwtUtil.extractVersao(claims);
+
+            if (usuario.isEnabled() && versaoVigente && jwtUtil.isTokenValid(claims, usuario)) {
+
+                return usuario;
+
+            }
+
+            logger.warn("Token JWT revogado ou usuário inativo: {}", claims.getSubject());
+
+        } catch (UsernameNotFoundException e) {
+
+            logger.warn("Usuário não encontrado para o e-mail no token: {}", claims.getSubject());
+
+        }
+
+        return null;
+
+    }
+
+}
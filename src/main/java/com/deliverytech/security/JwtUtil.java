@@ -1,32 +1,62 @@
 package com.deliverytech.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.deliverytech.config.JwtProperties;
+import com.deliverytech.enums.UserRole;
 import com.deliverytech.model.Usuario;
 
 import java.nio.charset.StandardCharsets; 
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_RESTAURANTE_ID = "restauranteId";
+    public static final String CLAIM_VERSAO = "ver";
+
+    private final long jwtExpiration;
+
+    // Chave e parser são imutáveis e thread-safe: criados uma vez e reaproveitados em todas as requisições.
+    private final Key signInKey;
+    private final JwtParser parser;
+
+    // Tokens já verificados, pelo hash SHA-256 do token, até a expiração de cada um.
+    private final Cache<String, Claims> tokensVerificados;
+
+    public JwtUtil(JwtProperties properties) {
+
+        this.jwtExpiration = properties.getExpiration();
+        this.signInKey = getSignInKey(properties.getSecret());
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.tokensVerificados = Caffeine.newBuilder()
+        .maximumSize(properties.getCacheMaxSize())
+        .expireAfter(new ExpiraComOToken())
+        .build();
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    }
 
     public String extractUsername(String token) {
 
@@ -47,11 +77,12 @@ public class JwtUtil {
         if (userDetails instanceof Usuario) {
 
             Usuario user = (Usuario) userDetails;
-            extraClaims.put("userId", user.getId());
-            extraClaims.put("role", user.getRole().name());
+            extraClaims.put(CLAIM_USER_ID, user.getId());
+            extraClaims.put(CLAIM_ROLE, user.getRole().name());
+            extraClaims.put(CLAIM_VERSAO, user.getVersaoToken());
             if (user.getRestauranteId() != null) {
 
-                extraClaims.put("restauranteId", user.getRestauranteId());
+                extraClaims.put(CLAIM_RESTAURANTE_ID, user.getRestauranteId());
 
             }
 
@@ -68,37 +99,75 @@ public class JwtUtil {
         .setSubject(userDetails.getUsername())
         .setIssuedAt(new Date(System.currentTimeMillis()))
         .setExpiration(new Date(System.currentTimeMillis() + expiration))
-        .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+        .signWith(signInKey, SignatureAlgorithm.HS256)
         .compact();
 
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
+    /**
+    * Confere se o token pertence ao usuário, a partir das claims já extraídas.
+    * A assinatura e a expiração já foram verificadas por extractAllClaims, então o token
+    * não precisa ser analisado de novo.
+    */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
 
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return claims.getSubject().equals(userDetails.getUsername());
 
     }
 
-    private boolean isTokenExpired(String token) {
+    /**
+    * Monta o usuário autenticado apenas com as claims do token, sem consultar o banco.
+    * Retorna null para tokens emitidos sem as claims de identificação do usuário.
+    */
+    public Usuario extractUsuario(Claims claims) {
+
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+
+        if (userId == null || role == null) {
+
+            return null;
 
-        return extractExpiration(token).before(new Date());
+        }
+
+        Usuario usuario = new Usuario();
+        usuario.setId(userId);
+        usuario.setEmail(claims.getSubject());
+        usuario.setRole(UserRole.valueOf(role));
+        usuario.setRestauranteId(claims.get(CLAIM_RESTAURANTE_ID, Long.class));
+        usuario.setVersaoToken(extractVersao(claims));
+        usuario.setAtivo(true);
+        return usuario;
 
     }
 
-    private Date extractExpiration(String token) {
+    // Tokens emitidos antes da claim de versão equivalem à versão inicial (0).
+    public int extractVersao(Claims claims) {
 
-        return extractClaim(token, Claims::getExpiration);
+        Integer versao = claims.get(CLAIM_VERSAO, Integer.class);
+        return versao == null ? 0 : versao;
 
     }
 
-    private Claims extractAllClaims(String token) {
+    /**
+    * Valida a assinatura e a expiração do token e retorna todas as suas claims.
+    * Lança ExpiredJwtException ou JwtException quando o token não pode ser aceito.
+    * Tokens válidos ficam em cache até expirar, então requisições seguintes com o mesmo token
+    * pagam apenas o hash, sem refazer a verificação HMAC e a leitura do JSON.
+    */
+    public Claims extractAllClaims(String token) {
+
+        String hash = hash(token);
+        Claims claims = tokensVerificados.getIfPresent(hash);
+
+        if (claims == null) {
+
+            claims = parser.parseClaimsJws(token).getBody();
+            tokensVerificados.put(hash, claims);
 
-        return Jwts.parserBuilder()
-        .setSigningKey(getSignInKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
+        }
+
+        return claims;
 
     }
 
@@ -106,11 +175,61 @@ public class JwtUtil {
      * A chave secreta (secretKey) é uma string simples, então obtemos seus bytes
      * diretamente com o encoding UTF-8, em vez de tentar decodificá-la de Base64.
      */
-    private Key getSignInKey() {
+    private static Key getSignInKey(String secretKey) {
 
-        byte[] keyBytes = this.secretKey.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
         return Keys.hmacShaKeyFor(keyBytes);
 
     }
 
-}
\ No newline at end of file
+    private static String hash(String token) {
+
+        try {
+
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+
+        } catch (NoSuchAlgorithmException e) {
+
+            // Todo runtime Java é obrigado a oferecer SHA-256.
+            throw new IllegalStateException(e);
+
+        }
+
+    }
+
+    // Cada entrada expira junto com o próprio token (claim "exp").
+    private static class ExpiraComOToken implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String hash, Claims claims, long currentTime) {
+
+            Date expiracao = claims.getExpiration();
+            if (expiracao == null) {
+
+                return 0;
+
+            }
+
+            long restanteMillis = expiracao.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(restanteMillis, 0));
+
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, Claims claims, long currentTime, long currentDuration) {
+
+            return currentDuration;
+
+        }
+
+        @Override
+        public long expireAfterRead(String hash, Claims claims, long currentTime, long currentDuration) {
+
+            return currentDuration;
+
+        }
+
+    }
+
+}
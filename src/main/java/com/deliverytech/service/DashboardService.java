@@ -0,0 +1,27 @@
+package com.deliverytech.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Optional;
+
+
+/**
+* Interface para o serviço do dashboard de métricas.
+* Monta um snapshot único das métricas por intervalo e o compartilha entre todos os clientes.
+*/
+public interface DashboardService {
+
+    /**
+    * Retorna o último snapshot publicado (ou monta um, se ainda não houver).
+    * @return As métricas exibidas pelo dashboard.
+    */
+    Map<String, Object> snapshotAtual();
+
+    /**
+    * Inscreve um cliente no stream de métricas (Server-Sent Events).
+    * @return O emitter da conexão, ou vazio se o limite de inscritos foi atingido.
+    */
+    Optional<SseEmitter> inscrever();
+
+}
@@ -0,0 +1,24 @@
+package com.deliverytech.service;
+
+import java.util.function.Supplier;
+
+
+/**
+* Interface para o serviço de idempotência.
+* Garante que uma operação identificada por uma Idempotency-Key seja executada uma única vez.
+*/
+public interface IdempotencyService {
+
+    /**
+    * Executa a operação apenas na primeira vez em que a chave é vista.
+    * Repetições recebem o resultado armazenado; duplicatas concorrentes aguardam o resultado em andamento.
+    * A mesma chave com outro corpo de requisição é recusada com BusinessException.
+    * @param chave A chave de idempotência (já qualificada pelo recurso e pelo usuário).
+    * @param requisicao O corpo da requisição, cuja impressão digital fica associada à chave.
+    * @param tipo O tipo do resultado.
+    * @param operacao A operação a ser executada.
+    * @return O resultado da primeira execução.
+    */
+    <T> T executar(String chave, Object requisicao, Class<T> tipo, Supplier<T> operacao);
+
+}
@@ -0,0 +1,85 @@
+package com.deliverytech.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+
+/**
+* Armazenamento das respostas associadas a uma Idempotency-Key.
+* Cada chave guarda um único registro, que passa de reservado (em processamento, sem resultado) a
+* concluído (com resultado). As transições são atômicas e condicionadas à reserva de quem as faz, então
+* uma instância cuja reserva expirou não sobrescreve a de outra.
+*/
+public interface IdempotencyStore {
+
+    /**
+    * Busca o registro da chave.
+    * @param chave A chave de idempotência.
+    * @return O registro (reservado ou concluído), ou vazio se a chave não existe.
+    */
+    Optional<Registro> buscar(String chave);
+
+    /**
+    * Grava a reserva apenas se a chave não existe, de forma atômica (SET NX).
+    * @param chave A chave de idempotência.
+    * @param reserva A reserva, criada por {@link Registro#novaReserva(String)}.
+    * @param ttl Validade da reserva.
+    * @return true se a reserva foi gravada; false se a chave já está reservada ou concluída.
+    */
+    boolean reservar(String chave, Registro reserva, Duration ttl);
+
+    /**
+    * Prolonga a reserva enquanto a operação está em andamento, se a chave ainda guarda essa reserva.
+    * @param chave A chave de idempotência.
+    * @param reserva A reserva obtida em {@link #reservar(String, Registro, Duration)}.
+    * @param ttl Nova validade da reserva.
+    * @return true se a reserva foi prolongada; false se ela já expirou ou foi substituída.
+    */
+    boolean renovar(String chave, Registro reserva, Duration ttl);
+
+    /**
+    * Troca a reserva pelo registro concluído, se a chave ainda guarda essa reserva.
+    * @param chave A chave de idempotência.
+    * @param reserva A reserva obtida em {@link #reservar(String, Registro, Duration)}.
+    * @param resultado A resposta a ser devolvida nas repetições.
+    * @param ttl Por quanto tempo o resultado deve ser mantido.
+    * @return true se o resultado foi gravado; false se a reserva já expirou ou foi substituída.
+    */
+    boolean concluir(String chave, Registro reserva, Object resultado, Duration ttl);
+
+    /**
+    * Remove a reserva de uma chave cujo processamento falhou, permitindo nova tentativa.
+    * Não faz nada se a chave não guarda mais essa reserva.
+    * @param chave A chave de idempotência.
+    * @param reserva A reserva obtida em {@link #reservar(String, Registro, Duration)}.
+    */
+    void liberar(String chave, Registro reserva);
+
+    /**
+    * Registro de uma chave: a impressão digital do corpo da requisição, o identificador da reserva
+    * e o resultado (nulo enquanto a chave está em processamento).
+    */
+    record Registro(String impressao, String reserva, Object resultado) {
+
+        public static Registro novaReserva(String impressao) {
+
+            return new Registro(impressao, UUID.randomUUID().toString(), null);
+
+        }
+
+        public Registro comResultado(Object resultado) {
+
+            return new Registro(impressao, reserva, resultado);
+
+        }
+
+        public boolean concluido() {
+
+            return resultado != null;
+
+        }
+
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.deliverytech.service;
 
-import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
 
 
 /**
@@ -9,6 +9,18 @@ import io.micrometer.core.instrument.Timer;
 */
 public interface MetricsService {
 
+    /**
+    * Nome do timer de processamento de pedidos, com as tags "operacao" e "resultado".
+    */
+    String TIMER_PROCESSAMENTO_PEDIDO = "delivery_pedido_processamento_seconds";
+
+    String OPERACAO_CRIAR_PEDIDO = "criar_pedido";
+    String OPERACAO_ATUALIZAR_STATUS = "atualizar_status";
+
+    String RESULTADO_SUCESSO = "sucesso";
+    String RESULTADO_REJEITADO = "rejeitado";
+    String RESULTADO_ERRO = "erro";
+
     /**
     * Incrementa o contador de pedidos totais processados.
     */
@@ -25,18 +37,21 @@ public interface MetricsService {
     void incrementarPedidosComErro();
 
     /**
-    * Inicia a cronometragem de uma operação.
+    * Executa a criação de um pedido medindo sua duração (operacao "criar_pedido")
+    * e atualizando os contadores de pedidos processados, com sucesso e com erro.
     *
-    * @return um {@link Timer.Sample} para ser usado ao finalizar a cronometragem.
+    * @param criacao a chamada que cria o pedido.
+    * @return o resultado da criação.
     */
-    Timer.Sample iniciarTimerPedido();
+    <T> T medirCriacaoPedido(Supplier<T> criacao);
 
     /**
-    * Finaliza a cronometragem de uma operação de pedido.
+    * Executa a atualização de status de um pedido medindo sua duração (operacao "atualizar_status").
     *
-    * @param sample o {@link Timer.Sample} retornado pelo método iniciarTimerPedido.
+    * @param atualizacao a chamada que atualiza o status.
+    * @return o resultado da atualização.
     */
-    void finalizarTimerPedido(Timer.Sample sample);
+    <T> T medirAtualizacaoStatus(Supplier<T> atualizacao);
 
     /**
     * Define o valor atual do medidor (gauge) de usuários ativos.
@@ -45,4 +60,4 @@ public interface MetricsService {
     */
     void setUsuariosAtivos(int quantidade);
 
-}
\ No newline at end of file
+}
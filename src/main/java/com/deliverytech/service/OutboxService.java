@@ -0,0 +1,32 @@
+package com.deliverytech.service;
+
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.model.Pedido;
+
+
+/**
+* Interface para o serviço de outbox dos eventos de pedido.
+* Grava os eventos junto com a alteração do pedido e os publica depois, em lotes, no {@link OutboxSink}.
+*/
+public interface OutboxService {
+
+    String PEDIDO_CRIADO = "PEDIDO_CRIADO";
+    String PEDIDO_STATUS_ATUALIZADO = "PEDIDO_STATUS_ATUALIZADO";
+    String PEDIDO_CANCELADO = "PEDIDO_CANCELADO";
+
+    /**
+    * Grava um evento do pedido no outbox. Deve ser chamado dentro da transação que alterou o pedido,
+    * para o evento existir se e somente se a alteração for confirmada.
+    * @param pedido O pedido já com o estado novo.
+    * @param tipo O tipo do evento (ex: PEDIDO_STATUS_ATUALIZADO).
+    * @param statusAnterior O status antes da alteração, ou null na criação.
+    */
+    void registrar(Pedido pedido, String tipo, StatusPedido statusAnterior);
+
+    /**
+    * Publica um lote de eventos pendentes, em ordem, e os marca como publicados.
+    * @return Quantidade de eventos publicados.
+    */
+    int publicarPendentes();
+
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.OutboxEvento;
+
+
+/**
+* Destino dos eventos de pedido publicados pelo relay do outbox.
+* Implementações devem lançar exceção quando a entrega falhar: o evento continua pendente e é reenviado.
+*/
+public interface OutboxSink {
+
+    /**
+    * Entrega um evento. Pode ser chamado mais de uma vez para o mesmo evento (entrega at-least-once).
+    * @param evento O evento, com id único para o consumidor descartar repetições.
+    */
+    void publicar(OutboxEvento evento) throws Exception;
+
+}
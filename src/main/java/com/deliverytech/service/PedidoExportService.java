@@ -0,0 +1,25 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.request.PedidoFiltro;
+import com.deliverytech.enums.FormatoExportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+
+/**
+* Interface para a exportação de pedidos (com seus itens) para o financeiro.
+*/
+public interface PedidoExportService {
+
+    /**
+    * Escreve os pedidos do filtro na saída, lidos por um cursor somente-avanço, sem montar a lista em memória.
+    * CSV: uma linha por item, repetindo as colunas do pedido. NDJSON: um objeto por pedido, com o array de itens.
+    * @param filtro Filtros da exportação (campos nulos não restringem).
+    * @param formato O formato de saída.
+    * @param saida Onde escrever; não é fechada pelo método.
+    * @return Quantidade de pedidos exportados.
+    */
+    long exportar(PedidoFiltro filtro, FormatoExportacao formato, OutputStream saida) throws IOException;
+
+}
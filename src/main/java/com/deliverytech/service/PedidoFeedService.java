@@ -0,0 +1,23 @@
+package com.deliverytech.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+
+/**
+* Interface para o feed de pedidos em tempo real de cada restaurante.
+* Substitui o polling da listagem por restaurante: o cliente recebe os pedidos abertos uma vez
+* e depois apenas as alterações confirmadas.
+*/
+public interface PedidoFeedService {
+
+    /**
+    * Inscreve um cliente no feed do restaurante (Server-Sent Events). O primeiro evento ("snapshot")
+    * traz os pedidos abertos; os seguintes ("pedido") trazem cada criação ou mudança de status.
+    * @param restauranteId O restaurante acompanhado.
+    * @return O emitter da conexão, ou vazio se o limite de inscritos foi atingido.
+    */
+    Optional<SseEmitter> inscrever(Long restauranteId);
+
+}
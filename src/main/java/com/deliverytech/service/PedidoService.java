@@ -6,12 +6,13 @@ import org.springframework.data.domain.Pageable;
 import com.deliverytech.dto.request.CalculoPedidoDTO;
 import com.deliverytech.dto.request.ItemPedidoDTO;
 import com.deliverytech.dto.request.PedidoDTO;
+import com.deliverytech.dto.request.PedidoFiltro;
 import com.deliverytech.dto.response.CalculoPedidoResponseDTO;
 import com.deliverytech.dto.response.PedidoResponseDTO;
 import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.pagination.CursorPage;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.List;
 
 
@@ -29,9 +30,14 @@ public interface PedidoService {
 
     void cancelarPedido(Long id);
 
-    Page<PedidoResponseDTO> listarPedidos(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, Pageable pageable);
+    Page<PedidoResponseDTO> listarPedidos(PedidoFiltro filtro, Pageable pageable);
+
+    CursorPage<PedidoResponseDTO> listarPedidosPorCursor(PedidoFiltro filtro, String cursor, int size);
 
     List<PedidoResponseDTO> buscarPedidosPorRestaurante(Long restauranteId, StatusPedido status);
+
+    // Pedidos ainda em andamento (PENDENTE, CONFIRMADO, PREPARANDO): o snapshot inicial do feed do restaurante.
+    List<PedidoResponseDTO> listarPedidosAbertosPorRestaurante(Long restauranteId);
     
     CalculoPedidoResponseDTO calcularTotalPedido(CalculoPedidoDTO dto);
 
@@ -1,15 +1,23 @@
 package com.deliverytech.service;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.io.InputStream;
 import java.util.List;
 
 import com.deliverytech.dto.request.ProdutoDTO;
+import com.deliverytech.dto.response.ImportacaoProdutosResponseDTO;
 import com.deliverytech.dto.response.ProdutoResponseDTO;
+import com.deliverytech.enums.FormatoImportacao;
 
 
 public interface ProdutoService {
 
     ProdutoResponseDTO cadastrarProduto(ProdutoDTO dto);
 
+    ImportacaoProdutosResponseDTO importarProdutos(Long restauranteId, InputStream conteudo, FormatoImportacao formato);
+
     ProdutoResponseDTO buscarProdutoPorId(Long id);
 
     ProdutoResponseDTO atualizarProduto(Long id, ProdutoDTO dto);
@@ -22,7 +30,7 @@ public interface ProdutoService {
 
     List<ProdutoResponseDTO> buscarProdutosPorCategoria(String categoria);
 
-    List<ProdutoResponseDTO> buscarProdutosPorNome(String nome);
+    Page<ProdutoResponseDTO> buscarProdutos(String texto, Pageable pageable);
     
     List<ProdutoResponseDTO> buscarProdutosPorRestaurante(Long restauranteId, Boolean disponivel);
 
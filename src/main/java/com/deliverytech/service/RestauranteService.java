@@ -5,6 +5,7 @@ import org.springframework.data.domain.Pageable;
 
 import com.deliverytech.dto.request.RestauranteDTO;
 import com.deliverytech.dto.response.RestauranteResponseDTO;
+import com.deliverytech.pagination.CursorPage;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -16,6 +17,8 @@ public interface RestauranteService {
 
     Page<RestauranteResponseDTO> listarRestaurantes(String categoria, Boolean ativo, Pageable pageable);
 
+    CursorPage<RestauranteResponseDTO> listarRestaurantesPorCursor(String categoria, Boolean ativo, String cursor, int size);
+
     RestauranteResponseDTO buscarRestaurantePorId(Long id);
 
     RestauranteResponseDTO atualizarRestaurante(Long id, RestauranteDTO dto);
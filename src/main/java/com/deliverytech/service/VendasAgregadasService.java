@@ -0,0 +1,21 @@
+package com.deliverytech.service;
+
+import java.time.LocalDate;
+
+
+/**
+* Interface para o serviço que mantém o agregado diário de vendas (tabela venda_diaria).
+* O agregado é atualizado a cada evento de pedido; a reconciliação corrige qualquer divergência
+* recalculando os dias a partir da tabela de pedidos.
+*/
+public interface VendasAgregadasService {
+
+    /**
+    * Recalcula o agregado dos dias informados a partir dos pedidos e corrige as linhas divergentes.
+    * @param inicio Primeiro dia, inclusive.
+    * @param fim Último dia, inclusive.
+    * @return Quantidade de linhas do agregado corrigidas (inseridas, alteradas ou removidas).
+    */
+    int reconciliar(LocalDate inicio, LocalDate fim);
+
+}
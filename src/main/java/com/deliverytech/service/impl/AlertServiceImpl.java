@@ -1,6 +1,8 @@
 package com.deliverytech.service.impl;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,7 +10,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.deliverytech.alert.RollingWindowCounter;
+import com.deliverytech.config.AlertProperties;
 import com.deliverytech.service.AlertService;
+import com.deliverytech.service.MetricsService;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 
 @Service
@@ -19,13 +29,27 @@ public class AlertServiceImpl implements AlertService {
     // Injeção da dependência para acessar as métricas da aplicação.
     private final MeterRegistry meterRegistry;
 
-    // Constantes privadas que definem os limites (thresholds) para os alertas.
-    private static final double ERROR_RATE_THRESHOLD = 0.1; // 10%
-    private static final double RESPONSE_TIME_THRESHOLD_MS = 1000; // 1 segundo
+    private final AlertProperties properties;
+
+    // Leituras dos contadores a cada avaliação, cobrindo a maior janela das regras.
+    private final RollingWindowCounter janelas;
+
+    // Alertas disparados e ainda não resolvidos: evita repetir o mesmo alerta a cada avaliação.
+    private final Set<String> alertasAtivos = ConcurrentHashMap.newKeySet();
 
-    public AlertServiceImpl(MeterRegistry meterRegistry) {
+    public AlertServiceImpl(MeterRegistry meterRegistry, AlertProperties properties) {
 
         this.meterRegistry = meterRegistry;
+        this.properties = properties;
+
+        int maxIntervalos = 1;
+        for (AlertProperties.RegraBurnRate regra : properties.getRegras()) {
+
+            maxIntervalos = Math.max(maxIntervalos, intervalos(regra.getJanelaLonga()));
+            maxIntervalos = Math.max(maxIntervalos, intervalos(regra.getJanelaCurta()));
+
+        }
+        this.janelas = new RollingWindowCounter(maxIntervalos);
 
     }
 
@@ -34,32 +58,64 @@ public class AlertServiceImpl implements AlertService {
     * pois o agendamento é um detalhe da implementação.
     */
     @Override
-    @Scheduled(fixedRate = 60000) // Roda a cada 60 segundos
+    @Scheduled(fixedRateString = "${delivery.alertas.intervalo:10s}")
     public void verificarAlertas() {
 
-        logger.info("Executando verificação de alertas...");
+        logger.debug("Executando verificação de alertas...");
         verificarTaxaDeErro();
         verificarTempoDeResposta();
 
     }
 
+    Set<String> alertasAtivos() {
+
+        return Set.copyOf(alertasAtivos);
+
+    }
+
     /**
-    * Lógica privada para verificar a taxa de erro.
-    * Não faz parte do contrato público.
+    * Avalia as regras de burn rate sobre as janelas deslizantes.
+    * A taxa desde a inicialização diluía uma queda recente no histórico inteiro; aqui cada regra
+    * compara o consumo do orçamento de erro na janela longa e na curta com o seu limite.
+    * Só contam como erro as falhas reais (resultado "erro"); pedidos recusados por regra de negócio não.
     */
     private void verificarTaxaDeErro() {
 
-        double totalRequests = getCounterValue("delivery_pedidos_total");
-        double errorRequests = getCounterValue("delivery_pedidos_erro_total");
+        long total = 0;
+        long erros = 0;
+
+        for (Timer timer : meterRegistry.find(MetricsService.TIMER_PROCESSAMENTO_PEDIDO).timers()) {
 
-        if (totalRequests > 10) { // Só alerta se houver um volume mínimo de requisições.
+            total += timer.count();
+            if (MetricsService.RESULTADO_ERRO.equals(timer.getId().getTag("resultado"))) {
 
-            double errorRate = errorRequests / totalRequests;
-            if (errorRate > ERROR_RATE_THRESHOLD) {
+                erros += timer.count();
 
-                enviarAlerta("CRITICAL", "HIGH_ERROR_RATE",
-                    String.format("Taxa de erro de %.2f%% excede o limite de %.2f%%",
-                        errorRate * 100, ERROR_RATE_THRESHOLD * 100));
+            }
+
+        }
+
+        janelas.registrar(total, erros);
+        double orcamentoErro = 1 - properties.getSlo();
+
+        for (AlertProperties.RegraBurnRate regra : properties.getRegras()) {
+
+            RollingWindowCounter.Janela longa = janelas.janela(intervalos(regra.getJanelaLonga()));
+            RollingWindowCounter.Janela curta = janelas.janela(intervalos(regra.getJanelaCurta()));
+            double burnLonga = longa.taxaErro() / orcamentoErro;
+            double burnCurta = curta.taxaErro() / orcamentoErro;
+
+            if (longa.total() >= properties.getVolumeMinimo()
+                && burnLonga > regra.getBurnRate() && burnCurta > regra.getBurnRate()) {
+
+                enviarAlerta(regra.getNome(), regra.getSeveridade(), regra.getNome(),
+                    String.format("Taxa de erro de %.2f%% em %s (%.2f%% em %s) consome o orçamento de erro %.1fx mais rápido que o sustentável (limite %.1fx)",
+                        longa.taxaErro() * 100, regra.getJanelaLonga(), curta.taxaErro() * 100, regra.getJanelaCurta(),
+                        burnLonga, regra.getBurnRate()));
+
+            } else {
+
+                resolverAlerta(regra.getNome());
 
             }
 
@@ -68,17 +124,29 @@ public class AlertServiceImpl implements AlertService {
     }
     
     /**
-    * Lógica privada para verificar o tempo médio de resposta.
+    * Verifica o p99 da janela recente de cada operação/resultado do timer de pedidos.
+    * A média desde a inicialização escondia picos de latência, então o alerta usa o percentil.
     */
     private void verificarTempoDeResposta() {
 
-        // O nome da métrica foi ajustado para buscar segundos, conforme o gabarito.
-        double avgResponseTimeInMillis = getTimerMean("delivery_pedido_processamento_seconds"); 
-        if (avgResponseTimeInMillis > RESPONSE_TIME_THRESHOLD_MS) {
+        double limiteMillis = properties.getP99Limite().toMillis();
+
+        for (Timer timer : meterRegistry.find(MetricsService.TIMER_PROCESSAMENTO_PEDIDO).timers()) {
+
+            String chave = "HIGH_P99_RESPONSE_TIME:" + timer.getId().getTag("operacao") + ":" + timer.getId().getTag("resultado");
+            double p99Millis = getPercentile(timer, 0.99);
 
-        enviarAlerta("WARNING", "HIGH_RESPONSE_TIME",
-        String.format("Tempo médio de resposta de %.2fms excede o limite de %.0fms",
-        avgResponseTimeInMillis, RESPONSE_TIME_THRESHOLD_MS));
+            if (p99Millis > limiteMillis) {
+
+                enviarAlerta(chave, "WARNING", "HIGH_P99_RESPONSE_TIME",
+                    String.format("p99 de %.2fms em %s (%s) excede o limite de %.0fms",
+                        p99Millis, timer.getId().getTag("operacao"), timer.getId().getTag("resultado"), limiteMillis));
+
+            } else {
+
+                resolverAlerta(chave);
+
+            }
 
         }
 
@@ -86,27 +154,52 @@ public class AlertServiceImpl implements AlertService {
 
     /**
     * Método privado responsável por formatar e logar o alerta.
+    * Cada alerta é logado ao disparar e novamente ao ser resolvido, não a cada avaliação.
     */
-    private void enviarAlerta(String severidade, String tipo, String mensagem) {
+    private void enviarAlerta(String chave, String severidade, String tipo, String mensagem) {
+
+        if (alertasAtivos.add(chave)) {
 
-        // Em um cenário real, aqui você integraria com PagerDuty, Slack, E-mail, etc.
-        logger.warn("ALERTA DISPARADO! Severidade: [{}], Tipo: [{}], Mensagem: {}", severidade, tipo, mensagem);
+            // Em um cenário real, aqui você integraria com PagerDuty, Slack, E-mail, etc.
+            logger.warn("ALERTA DISPARADO! Severidade: [{}], Tipo: [{}], Mensagem: {}", severidade, tipo, mensagem);
+
+        }
 
     }
 
-    // Métodos auxiliares privados para buscar os valores das métricas.
-    private double getCounterValue(String name) {
+    private void resolverAlerta(String chave) {
+
+        if (alertasAtivos.remove(chave)) {
 
-        // O `find(name).counter()` pode retornar null se a métrica não existir.
-        return meterRegistry.find(name).counter() != null ? meterRegistry.find(name).counter().count() : 0.0;
+            logger.info("ALERTA RESOLVIDO: [{}]", chave);
+
+        }
 
     }
-    
-    private double getTimerMean(String name) {
 
-        // Retorna a média em segundos, a unidade base do Timer.
-        return meterRegistry.find(name).timer() != null ? meterRegistry.find(name).timer().mean(java.util.concurrent.TimeUnit.MILLISECONDS) : 0.0;
+    // Quantidade de intervalos de avaliação que cobrem a janela.
+    private int intervalos(Duration janela) {
+
+        long intervaloMs = Math.max(1, properties.getIntervalo().toMillis());
+        return (int) Math.max(1, (janela.toMillis() + intervaloMs - 1) / intervaloMs);
+
+    }
+
+    private double getPercentile(Timer timer, double percentil) {
+
+        // Percentis publicados pelo timer (ver MetricsServiceImpl), em milissegundos.
+        for (ValueAtPercentile valor : timer.takeSnapshot().percentileValues()) {
+
+            if (valor.percentile() == percentil) {
+
+                return valor.value(TimeUnit.MILLISECONDS);
+
+            }
+
+        }
+
+        return 0.0;
 
     }
 
-}
\ No newline at end of file
+}
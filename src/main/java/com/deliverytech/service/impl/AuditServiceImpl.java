@@ -1,76 +1,42 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.audit.AuditEvent;
+import com.deliverytech.audit.AuditEventWriter;
 import com.deliverytech.service.AuditService;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 
+/**
+* Monta os eventos de auditoria na thread da requisição (onde estão o horário e o correlationId)
+* e os entrega ao {@link AuditEventWriter}, que serializa e grava em segundo plano.
+* O objeto passado em "details" é serializado depois, então não deve ser alterado após o registro.
+*/
 @Service
 public class AuditServiceImpl implements AuditService {
 
-    // Logger específico "AUDIT" que configuramos no logback-spring.xml
-    private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private AuditEventWriter auditEventWriter;
 
     @Override
     public void logUserAction(String userId, String action, String resource, Object details) {
 
-        Map<String, Object> auditEvent = new LinkedHashMap<>();
-        auditEvent.put("timestamp", Instant.now().toString());
-        auditEvent.put("type", "USER_ACTION");
-        auditEvent.put("userId", userId);
-        auditEvent.put("action", action);
-        auditEvent.put("resource", resource);
-        auditEvent.put("details", details);
-        auditEvent.put("correlationId", MDC.get("correlationId"));
-
-        log(auditEvent);
+        auditEventWriter.publicar(new AuditEvent.UserAction(
+            Instant.now(), userId, action, resource, details, MDC.get("correlationId")));
 
     }
 
     @Override
     public void logSecurityEvent(String event, String details, boolean success) {
 
-        Map<String, Object> securityEvent = new LinkedHashMap<>();
-        securityEvent.put("timestamp", Instant.now().toString());
-        securityEvent.put("type", "SECURITY_EVENT");
-        securityEvent.put("event", event);
-        securityEvent.put("details", details);
-        securityEvent.put("success", success);
-        securityEvent.put("correlationId", MDC.get("correlationId"));
-
-        log(securityEvent);
-
-    }
-
-    /**
-    * Método privado auxiliar para converter o evento em JSON e registrar no log.
-    * @param event O mapa contendo os dados do evento de auditoria.
-    */
-    private void log(Map<String, Object> event) {
-
-        try {
-
-            String jsonLog = objectMapper.writeValueAsString(event);
-            auditLogger.info(jsonLog);
-
-        } catch (Exception e) {
-
-            // Loga um erro no logger padrão caso a serialização para JSON falhe.
-            LoggerFactory.getLogger(AuditServiceImpl.class).error("Erro ao registrar evento de auditoria", e);
-
-        }
+        auditEventWriter.publicar(new AuditEvent.SecurityEvent(
+            Instant.now(), event, details, success, MDC.get("correlationId")));
 
     }
 
-}
\ No newline at end of file
+}
@@ -12,6 +12,7 @@ import com.deliverytech.dto.response.ClienteResponseDTO;
 import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.ConflictException;
 import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.mapper.ClienteMapper;
 import com.deliverytech.model.Cliente;
 import com.deliverytech.repository.ClienteRepository;
 import com.deliverytech.service.ClienteService;
@@ -30,6 +31,9 @@ public class ClienteServiceImpl implements ClienteService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ClienteMapper clienteMapper;
+
     /**
     * Cadastra um novo cliente.
     * Após o sucesso, invalida todo o cache "clientes" para garantir que
@@ -50,7 +54,7 @@ public class ClienteServiceImpl implements ClienteService {
         cliente.setAtivo(true);
         Cliente novoCliente = clienteRepository.save(cliente);
 
-        return modelMapper.map(novoCliente, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(novoCliente);
 
     }
 
@@ -66,7 +70,7 @@ public class ClienteServiceImpl implements ClienteService {
         System.out.println("##### BUSCANDO CLIENTE DO BANCO DE DADOS (ID: " + id + ") #####");
         Cliente cliente = clienteRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com ID: " + id));
-        return modelMapper.map(cliente, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(cliente);
 
     }
 
@@ -82,7 +86,7 @@ public class ClienteServiceImpl implements ClienteService {
         System.out.println("##### BUSCANDO CLIENTE DO BANCO DE DADOS (EMAIL: " + email + ") #####");
         Cliente cliente = clienteRepository.findByEmail(email)
         .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com email: " + email));
-        return modelMapper.map(cliente, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(cliente);
 
     }
 
@@ -98,7 +102,7 @@ public class ClienteServiceImpl implements ClienteService {
         System.out.println("##### BUSCANDO LISTA DE CLIENTES ATIVOS DO BANCO DE DADOS #####");
         List<Cliente> clientesAtivos = clienteRepository.findByAtivoTrue();
         return clientesAtivos.stream()
-        .map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class))
+        .map(cliente -> clienteMapper.toResponseDTO(cliente))
         .collect(Collectors.toList());
 
     }
@@ -126,7 +130,7 @@ public class ClienteServiceImpl implements ClienteService {
         cliente.setEndereco(dto.getEndereco());
 
         Cliente clienteAtualizado = clienteRepository.save(cliente);
-        return modelMapper.map(clienteAtualizado, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(clienteAtualizado);
 
     }
 
@@ -144,7 +148,7 @@ public class ClienteServiceImpl implements ClienteService {
         cliente.setAtivo(!cliente.isAtivo());
         Cliente clienteAtualizado = clienteRepository.save(cliente);
 
-        return modelMapper.map(clienteAtualizado, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(clienteAtualizado);
 
     }
 
@@ -0,0 +1,385 @@
+package com.deliverytech.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.config.DashboardProperties;
+import com.deliverytech.service.DashboardService;
+import com.deliverytech.service.MetricsService;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+* Publica as métricas do dashboard por Server-Sent Events.
+* A cada intervalo um único snapshot é montado e serializado, e o mesmo JSON vai para todos os inscritos.
+* Os medidores são localizados no registry uma vez só, em vez de um find() por métrica a cada requisição.
+* Cada inscrito guarda apenas o snapshot mais recente ainda não enviado: um cliente lento pula
+* snapshots em vez de acumular fila, e é desconectado se um envio ficar travado além do atraso máximo.
+*/
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    private static final String EVENTO_METRICAS = "metricas";
+
+    private final MeterRegistry meterRegistry;
+    private final DashboardProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final Set<Inscrito> inscritos = ConcurrentHashMap.newKeySet();
+    private final Semaphore vagas;
+
+    // Envios bloqueiam na escrita do socket; em threads virtuais, um cliente lento não segura os demais.
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile Medidores medidores;
+    private volatile Snapshot ultimoSnapshot;
+
+    public DashboardServiceImpl(MeterRegistry meterRegistry, DashboardProperties properties, ObjectMapper objectMapper) {
+
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.vagas = new Semaphore(properties.getMaxInscritos());
+
+    }
+
+    @Override
+    public Map<String, Object> snapshotAtual() {
+
+        Snapshot snapshot = ultimoSnapshot;
+
+        // Clientes que ainda consultam por polling também compartilham um snapshot por intervalo.
+        if (snapshot == null || System.nanoTime() - snapshot.geradoEm() >= properties.getIntervalo().toNanos()) {
+
+            snapshot = new Snapshot(montarMetricas(), System.nanoTime());
+            ultimoSnapshot = snapshot;
+
+        }
+
+        return snapshot.metricas();
+
+    }
+
+    @Override
+    public Optional<SseEmitter> inscrever() {
+
+        if (!vagas.tryAcquire()) {
+
+            return Optional.empty();
+
+        }
+
+        Inscrito inscrito = new Inscrito(new SseEmitter(properties.getTimeoutConexao().toMillis()));
+        inscrito.emitter.onCompletion(() -> remover(inscrito));
+        inscrito.emitter.onTimeout(() -> remover(inscrito));
+        inscrito.emitter.onError(erro -> remover(inscrito));
+        inscritos.add(inscrito);
+
+        // Envia o snapshot atual na hora, para a tela não esperar o próximo intervalo.
+        String json = serializar(snapshotAtual());
+        if (json != null) {
+
+            agendarEnvio(inscrito, json);
+
+        }
+
+        return Optional.of(inscrito.emitter);
+
+    }
+
+    @Scheduled(fixedRateString = "${delivery.dashboard.intervalo:2s}")
+    public void publicar() {
+
+        if (inscritos.isEmpty()) {
+
+            return;
+
+        }
+
+        Snapshot snapshot = new Snapshot(montarMetricas(), System.nanoTime());
+        ultimoSnapshot = snapshot;
+        String json = serializar(snapshot.metricas());
+
+        if (json == null) {
+
+            return;
+
+        }
+
+        long atrasoMaximo = properties.getAtrasoMaximo().toNanos();
+
+        for (Inscrito inscrito : inscritos) {
+
+            long envioIniciadoEm = inscrito.envioIniciadoEm;
+            if (envioIniciadoEm != 0 && snapshot.geradoEm() - envioIniciadoEm > atrasoMaximo) {
+
+                logger.info("Desconectando cliente lento do stream do dashboard");
+                remover(inscrito);
+                inscrito.emitter.complete();
+                continue;
+
+            }
+
+            agendarEnvio(inscrito, json);
+
+        }
+
+    }
+
+    int totalInscritos() {
+
+        return inscritos.size();
+
+    }
+
+    @PreDestroy
+    public void encerrar() {
+
+        for (Inscrito inscrito : inscritos) {
+
+            remover(inscrito);
+            inscrito.emitter.complete();
+
+        }
+
+        envios.shutdownNow();
+
+    }
+
+    // Substitui o snapshot pendente do inscrito e dispara o envio se não houver um em andamento.
+    private void agendarEnvio(Inscrito inscrito, String json) {
+
+        inscrito.pendente.set(json);
+        if (inscrito.enviando.compareAndSet(false, true)) {
+
+            envios.execute(() -> enviarPendentes(inscrito));
+
+        }
+
+    }
+
+    private void enviarPendentes(Inscrito inscrito) {
+
+        do {
+
+            String json;
+            while ((json = inscrito.pendente.getAndSet(null)) != null) {
+
+                if (!enviar(inscrito, json)) {
+
+                    return;
+
+                }
+
+            }
+
+            inscrito.enviando.set(false);
+
+        // Um snapshot pode ter chegado entre o último getAndSet e a liberação do flag.
+        } while (inscrito.pendente.get() != null && inscrito.enviando.compareAndSet(false, true));
+
+    }
+
+    private boolean enviar(Inscrito inscrito, String json) {
+
+        inscrito.envioIniciadoEm = System.nanoTime();
+
+        try {
+
+            inscrito.emitter.send(SseEmitter.event().name(EVENTO_METRICAS).data(json, MediaType.APPLICATION_JSON));
+            return true;
+
+        } catch (IOException | IllegalStateException e) {
+
+            // Cliente desconectou (ou a conexão já foi encerrada).
+            remover(inscrito);
+            return false;
+
+        } finally {
+
+            inscrito.envioIniciadoEm = 0;
+
+        }
+
+    }
+
+    private void remover(Inscrito inscrito) {
+
+        if (inscrito.removido.compareAndSet(false, true)) {
+
+            inscritos.remove(inscrito);
+            vagas.release();
+
+        }
+
+    }
+
+    private String serializar(Map<String, Object> metricas) {
+
+        try {
+
+            return objectMapper.writeValueAsString(metricas);
+
+        } catch (JsonProcessingException e) {
+
+            logger.error("Erro ao serializar as métricas do dashboard", e);
+            return null;
+
+        }
+
+    }
+
+    private Map<String, Object> montarMetricas() {
+
+        Medidores medidores = resolverMedidores();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+
+        metrics.put("pedidos_total", medidores != null ? medidores.pedidosTotal().count() : 0.0);
+        metrics.put("pedidos_sucesso", medidores != null ? medidores.pedidosSucesso().count() : 0.0);
+        metrics.put("pedidos_erro", medidores != null ? medidores.pedidosErro().count() : 0.0);
+        metrics.put("tempo_medio_pedido_ms", medidores != null ? getTimerMean(medidores.temposPedido()) : 0.0);
+        metrics.put("usuarios_ativos", medidores != null ? medidores.usuariosAtivos().value() : 0.0);
+
+        // Percentis da janela recente dos pedidos concluídos com sucesso, por operação.
+        Map<String, Object> latencia = new LinkedHashMap<>();
+        latencia.put(MetricsService.OPERACAO_CRIAR_PEDIDO, getTimerPercentiles(medidores != null ? medidores.criarPedido() : null));
+        latencia.put(MetricsService.OPERACAO_ATUALIZAR_STATUS, getTimerPercentiles(medidores != null ? medidores.atualizarStatus() : null));
+        metrics.put("latencia_pedido_ms", latencia);
+
+        return metrics;
+
+    }
+
+    // Localiza os medidores uma única vez; enquanto algum não existir, tenta de novo no próximo snapshot.
+    private Medidores resolverMedidores() {
+
+        Medidores resolvidos = medidores;
+        if (resolvidos != null) {
+
+            return resolvidos;
+
+        }
+
+        Counter pedidosTotal = meterRegistry.find("delivery_pedidos_total").counter();
+        Counter pedidosSucesso = meterRegistry.find("delivery_pedidos_sucesso_total").counter();
+        Counter pedidosErro = meterRegistry.find("delivery_pedidos_erro_total").counter();
+        Gauge usuariosAtivos = meterRegistry.find("delivery_usuarios_ativos_total").gauge();
+        List<Timer> temposPedido = List.copyOf(meterRegistry.find(MetricsService.TIMER_PROCESSAMENTO_PEDIDO).timers());
+        Timer criarPedido = timerDeSucesso(MetricsService.OPERACAO_CRIAR_PEDIDO);
+        Timer atualizarStatus = timerDeSucesso(MetricsService.OPERACAO_ATUALIZAR_STATUS);
+
+        if (pedidosTotal == null || pedidosSucesso == null || pedidosErro == null || usuariosAtivos == null
+            || criarPedido == null || atualizarStatus == null) {
+
+            return null;
+
+        }
+
+        resolvidos = new Medidores(pedidosTotal, pedidosSucesso, pedidosErro, usuariosAtivos, temposPedido,
+            criarPedido, atualizarStatus);
+        medidores = resolvidos;
+        return resolvidos;
+
+    }
+
+    private Timer timerDeSucesso(String operacao) {
+
+        return meterRegistry.find(MetricsService.TIMER_PROCESSAMENTO_PEDIDO)
+            .tag("operacao", operacao)
+            .tag("resultado", MetricsService.RESULTADO_SUCESSO)
+            .timer();
+
+    }
+
+    // Média desde a inicialização, somando todas as operações e resultados do timer.
+    private double getTimerMean(List<Timer> timers) {
+
+        double totalMs = 0;
+        long count = 0;
+
+        for (Timer timer : timers) {
+
+            totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+            count += timer.count();
+
+        }
+
+        return count > 0 ? totalMs / count : 0.0;
+
+    }
+
+    private Map<String, Double> getTimerPercentiles(Timer timer) {
+
+        Map<String, Double> percentis = new LinkedHashMap<>();
+
+        if (timer != null) {
+
+            for (ValueAtPercentile valor : timer.takeSnapshot().percentileValues()) {
+
+                percentis.put("p" + Math.round(valor.percentile() * 100), valor.value(TimeUnit.MILLISECONDS));
+
+            }
+
+        }
+
+        return percentis;
+
+    }
+
+    private record Medidores(Counter pedidosTotal, Counter pedidosSucesso, Counter pedidosErro, Gauge usuariosAtivos,
+        List<Timer> temposPedido, Timer criarPedido, Timer atualizarStatus) {
+    }
+
+    private record Snapshot(Map<String, Object> metricas, long geradoEm) {
+    }
+
+    private static final class Inscrito {
+
+        private final SseEmitter emitter;
+        private final AtomicReference<String> pendente = new AtomicReference<>();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean removido = new AtomicBoolean();
+
+        // Início do envio em andamento (System.nanoTime), ou 0 quando não há envio.
+        private volatile long envioIniciadoEm;
+
+        private Inscrito(SseEmitter emitter) {
+
+            this.emitter = emitter;
+
+        }
+
+    }
+
+}
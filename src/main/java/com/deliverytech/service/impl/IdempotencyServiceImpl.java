@@ -0,0 +1,283 @@
+package com.deliverytech.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Service;
+
+import com.deliverytech.config.IdempotencyProperties;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.exception.ConflictException;
+import com.deliverytech.service.IdempotencyService;
+import com.deliverytech.service.IdempotencyStore;
+import com.deliverytech.service.IdempotencyStore.Registro;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+
+/**
+* Implementação do serviço de idempotência.
+* Duplicatas na mesma instância aguardam o CompletableFuture da execução em andamento;
+* duplicatas em outras instâncias aguardam o resultado aparecer no IdempotencyStore.
+* Cada chave fica presa à impressão digital (SHA-256) do corpo da primeira requisição: a mesma chave com
+* outro corpo é recusada em vez de devolver o resultado da primeira. Enquanto a operação roda, a reserva
+* é renovada a cada terço de delivery.idempotency.in-flight-ttl, então só expira se a instância cair.
+*/
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    // Intervalo entre consultas ao armazenamento enquanto outra instância processa a mesma chave.
+    private static final long INTERVALO_ESPERA_MS = 50;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // Execuções em andamento nesta instância, indexadas pela chave.
+    private final ConcurrentMap<String, EmAndamento> emAndamento = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService renovacoes = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("idempotency-renovacao").daemon().factory());
+
+    public IdempotencyServiceImpl(IdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper) {
+
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+    }
+
+    @PreDestroy
+    public void encerrar() {
+
+        renovacoes.shutdownNow();
+
+    }
+
+    @Override
+    public <T> T executar(String chave, Object requisicao, Class<T> tipo, Supplier<T> operacao) {
+
+        String impressao = impressao(requisicao);
+
+        Optional<Registro> armazenado = store.buscar(chave);
+        if (armazenado.isPresent() && armazenado.get().concluido()) {
+
+            verificarImpressao(armazenado.get(), impressao);
+            logger.debug("Idempotency-Key repetida, devolvendo resultado armazenado: {}", chave);
+            return tipo.cast(armazenado.get().resultado());
+
+        }
+
+        EmAndamento execucao = new EmAndamento(impressao, new CompletableFuture<>());
+        EmAndamento existente = emAndamento.putIfAbsent(chave, execucao);
+
+        if (existente != null) {
+
+            if (!existente.impressao().equals(impressao)) {
+
+                throw chaveReutilizada();
+
+            }
+
+            logger.debug("Idempotency-Key em processamento nesta instância, aguardando resultado: {}", chave);
+            return tipo.cast(aguardar(existente.futuro()));
+
+        }
+
+        try {
+
+            Object resultado = executarOuAguardarOutraInstancia(chave, impressao, operacao);
+            execucao.futuro().complete(resultado);
+            return tipo.cast(resultado);
+
+        } catch (RuntimeException e) {
+
+            execucao.futuro().completeExceptionally(e);
+            throw e;
+
+        } finally {
+
+            emAndamento.remove(chave, execucao);
+
+        }
+
+    }
+
+    private Object executarOuAguardarOutraInstancia(String chave, String impressao, Supplier<?> operacao) {
+
+        long limite = System.nanoTime() + properties.getWaitTimeout().toNanos();
+
+        while (true) {
+
+            // Reservar primeiro: o SET NX falha se a chave já tem reserva ou resultado, sem janela entre ler e reservar.
+            Registro reserva = Registro.novaReserva(impressao);
+            if (store.reservar(chave, reserva, properties.getInFlightTtl())) {
+
+                return executarReservado(chave, reserva, operacao);
+
+            }
+
+            Optional<Registro> atual = store.buscar(chave);
+            if (atual.isPresent()) {
+
+                verificarImpressao(atual.get(), impressao);
+                if (atual.get().concluido()) {
+
+                    return atual.get().resultado();
+
+                }
+
+            } else {
+
+                // A reserva expirou ou foi liberada entre as duas chamadas: tenta reservar de novo.
+                continue;
+
+            }
+
+            if (System.nanoTime() > limite) {
+
+                throw new ConflictException("Já existe uma requisição em processamento com esta Idempotency-Key.");
+
+            }
+
+            try {
+
+                TimeUnit.MILLISECONDS.sleep(INTERVALO_ESPERA_MS);
+
+            } catch (InterruptedException e) {
+
+                Thread.currentThread().interrupt();
+                throw new ConflictException("Espera pela requisição com a mesma Idempotency-Key foi interrompida.");
+
+            }
+
+        }
+
+    }
+
+    private Object executarReservado(String chave, Registro reserva, Supplier<?> operacao) {
+
+        Duration ttl = properties.getInFlightTtl();
+        long intervalo = Math.max(1, ttl.toMillis() / 3);
+        ScheduledFuture<?> renovacao = renovacoes.scheduleAtFixedRate(() -> {
+
+            if (!store.renovar(chave, reserva, ttl)) {
+
+                logger.warn("Reserva da Idempotency-Key perdida durante o processamento: {}", chave);
+
+            }
+
+        }, intervalo, intervalo, TimeUnit.MILLISECONDS);
+
+        Object resultado;
+
+        try {
+
+            resultado = operacao.get();
+
+        } catch (RuntimeException e) {
+
+            // A falha não é memorizada: o cliente pode repetir a requisição com a mesma chave.
+            renovacao.cancel(false);
+            store.liberar(chave, reserva);
+            throw e;
+
+        }
+
+        renovacao.cancel(false);
+        if (!store.concluir(chave, reserva, resultado, properties.getTtl())) {
+
+            logger.warn("Reserva da Idempotency-Key expirou antes do resultado ser gravado: {}", chave);
+
+        }
+
+        return resultado;
+
+    }
+
+    private void verificarImpressao(Registro registro, String impressao) {
+
+        if (!impressao.equals(registro.impressao())) {
+
+            throw chaveReutilizada();
+
+        }
+
+    }
+
+    private BusinessException chaveReutilizada() {
+
+        return new BusinessException("Idempotency-Key já utilizada com outro conteúdo de requisição. Gere uma nova chave para um novo pedido.");
+
+    }
+
+    // SHA-256 do corpo da requisição serializado em JSON (os campos saem sempre na mesma ordem).
+    private String impressao(Object requisicao) {
+
+        try {
+
+            byte[] corpo = objectMapper.writeValueAsBytes(requisicao);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(corpo));
+
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+
+            throw new IllegalStateException("Não foi possível calcular a impressão da requisição", e);
+
+        }
+
+    }
+
+    private Object aguardar(CompletableFuture<Object> futuro) {
+
+        try {
+
+            return futuro.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+
+        } catch (ExecutionException e) {
+
+            if (e.getCause() instanceof RuntimeException causa) {
+
+                throw causa;
+
+            }
+
+            throw new IllegalStateException(e.getCause());
+
+        } catch (TimeoutException e) {
+
+            throw new ConflictException("Já existe uma requisição em processamento com esta Idempotency-Key.");
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Espera pela requisição com a mesma Idempotency-Key foi interrompida.");
+
+        }
+
+    }
+
+    private record EmAndamento(String impressao, CompletableFuture<Object> futuro) {
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.deliverytech.service.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.config.IdempotencyProperties;
+import com.deliverytech.service.IdempotencyStore;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+
+/**
+* Armazenamento de idempotência em memória, limitado em número de chaves e com expiração por TTL.
+* Indicado para desenvolvimento, testes ou uma única instância da API.
+*/
+@Component
+@ConditionalOnProperty(prefix = "delivery.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final int maxEntries;
+
+    // Em ordem de inserção: as entradas mais antigas (e mais próximas de expirar) ficam no início.
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+
+        this.maxEntries = properties.getMaxEntries();
+        this.entradas = new LinkedHashMap<>(16, 0.75f, false) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+
+                return size() > InMemoryIdempotencyStore.this.maxEntries;
+
+            }
+
+        };
+
+    }
+
+    @Override
+    public synchronized Optional<Registro> buscar(String chave) {
+
+        Entrada entrada = buscarValida(chave);
+        return entrada == null ? Optional.empty() : Optional.of(entrada.registro());
+
+    }
+
+    @Override
+    public synchronized boolean reservar(String chave, Registro reserva, Duration ttl) {
+
+        if (buscarValida(chave) != null) {
+
+            return false;
+
+        }
+
+        entradas.put(chave, new Entrada(reserva, expiracao(ttl)));
+        return true;
+
+    }
+
+    @Override
+    public synchronized boolean renovar(String chave, Registro reserva, Duration ttl) {
+
+        if (!guardaReserva(chave, reserva)) {
+
+            return false;
+
+        }
+
+        entradas.put(chave, new Entrada(reserva, expiracao(ttl)));
+        return true;
+
+    }
+
+    @Override
+    public synchronized boolean concluir(String chave, Registro reserva, Object resultado, Duration ttl) {
+
+        if (!guardaReserva(chave, reserva)) {
+
+            return false;
+
+        }
+
+        // Remove antes de inserir para a chave ir para o fim da ordem de inserção.
+        entradas.remove(chave);
+        entradas.put(chave, new Entrada(reserva.comResultado(resultado), expiracao(ttl)));
+        return true;
+
+    }
+
+    @Override
+    public synchronized void liberar(String chave, Registro reserva) {
+
+        if (guardaReserva(chave, reserva)) {
+
+            entradas.remove(chave);
+
+        }
+
+    }
+
+    synchronized int tamanho() {
+
+        removerExpiradas();
+        return entradas.size();
+
+    }
+
+    private Entrada buscarValida(String chave) {
+
+        removerExpiradas();
+
+        // Reservas têm TTL menor que resultados, então a chave pode ter expirado fora da ordem do mapa.
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null && entrada.expiraEm() - System.nanoTime() <= 0) {
+
+            entradas.remove(chave);
+            return null;
+
+        }
+
+        return entrada;
+
+    }
+
+    // Remove as entradas expiradas do início do mapa até encontrar uma ainda válida.
+    private void removerExpiradas() {
+
+        long agora = System.nanoTime();
+        Iterator<Entrada> iterator = entradas.values().iterator();
+
+        while (iterator.hasNext()) {
+
+            Entrada entrada = iterator.next();
+            if (entrada.expiraEm() - agora > 0) {
+
+                break;
+
+            }
+
+            iterator.remove();
+
+        }
+
+    }
+
+    // A chave ainda está reservada, e pela mesma reserva (não expirou nem foi retomada por outra requisição).
+    private boolean guardaReserva(String chave, Registro reserva) {
+
+        Entrada entrada = buscarValida(chave);
+        return entrada != null && !entrada.registro().concluido() && entrada.registro().reserva().equals(reserva.reserva());
+
+    }
+
+    private long expiracao(Duration ttl) {
+
+        return System.nanoTime() + ttl.toNanos();
+
+    }
+
+    private record Entrada(Registro registro, long expiraEm) {
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.deliverytech.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.config.OutboxProperties;
+import com.deliverytech.model.OutboxEvento;
+import com.deliverytech.service.OutboxSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+* Sink para uso local: loga cada evento e mantém os mais recentes em memória.
+*/
+@Component
+@ConditionalOnProperty(prefix = "delivery.outbox", name = "sink", havingValue = "log", matchIfMissing = true)
+public class LogOutboxSink implements OutboxSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogOutboxSink.class);
+
+    private final int maxEventos;
+
+    private final ArrayDeque<OutboxEvento> recentes = new ArrayDeque<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public LogOutboxSink(OutboxProperties properties) {
+
+        this.maxEventos = properties.getMemoriaMaxEventos();
+
+    }
+
+    @Override
+    public void publicar(OutboxEvento evento) {
+
+        logger.info("Evento {} publicado: {} {}", evento.getId(), evento.getTipo(), evento.getPayload());
+        lock.lock();
+        try {
+
+            recentes.addLast(evento);
+            if (recentes.size() > maxEventos) {
+
+                recentes.pollFirst();
+
+            }
+
+        } finally {
+
+            lock.unlock();
+
+        }
+
+    }
+
+    public List<OutboxEvento> recentes() {
+
+        lock.lock();
+        try {
+
+            return new ArrayList<>(recentes);
+
+        } finally {
+
+            lock.unlock();
+
+        }
+
+    }
+
+}
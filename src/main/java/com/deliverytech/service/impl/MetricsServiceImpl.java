@@ -7,9 +7,14 @@ import io.micrometer.core.instrument.Timer;
 
 import org.springframework.stereotype.Service;
 
+import com.deliverytech.exception.BusinessException;
 import com.deliverytech.service.MetricsService;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 
 /**
@@ -19,6 +24,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Service
 public class MetricsServiceImpl implements MetricsService {
 
+    // Limites de SLO publicados como buckets do histograma (ex.: % de pedidos abaixo de 500ms).
+    private static final Duration[] SLOS = {
+        Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+        Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5)
+    };
+
     // Registrador central de métricas do Micrometer.
     private final MeterRegistry meterRegistry;
 
@@ -26,7 +37,7 @@ public class MetricsServiceImpl implements MetricsService {
     private final Counter pedidosProcessados;
     private final Counter pedidosComSucesso;
     private final Counter pedidosComErro;
-    private final Timer tempoProcessamentoPedido;
+    private final Map<String, Timer> temposProcessamentoPedido = new HashMap<>();
     private final AtomicInteger usuariosAtivos = new AtomicInteger(0);
 
     public MetricsServiceImpl(MeterRegistry meterRegistry) {
@@ -48,10 +59,17 @@ public class MetricsServiceImpl implements MetricsService {
                 .description("Pedidos com erro no processamento")
                 .register(meterRegistry);
 
-        // 2. Temporizador (Timer): para medir a duração de eventos.
-        this.tempoProcessamentoPedido = Timer.builder("delivery_pedido_processamento_seconds")
-                .description("Tempo de processamento de pedidos")
-                .register(meterRegistry);
+        // 2. Temporizadores (Timers): um por operação e resultado, registrados já na inicialização
+        //    para que as séries existam no Prometheus antes do primeiro pedido.
+        for (String operacao : new String[] { OPERACAO_CRIAR_PEDIDO, OPERACAO_ATUALIZAR_STATUS }) {
+
+            for (String resultado : new String[] { RESULTADO_SUCESSO, RESULTADO_REJEITADO, RESULTADO_ERRO }) {
+
+                temposProcessamentoPedido.put(operacao + ":" + resultado, registrarTimer(operacao, resultado));
+
+            }
+
+        }
 
         // 3. Medidor (Gauge): para valores que podem aumentar e diminuir (ex: usuários online).
         Gauge.builder("delivery_usuarios_ativos_total", usuariosAtivos, AtomicInteger::get)
@@ -82,16 +100,34 @@ public class MetricsServiceImpl implements MetricsService {
     }
 
     @Override
-    public Timer.Sample iniciarTimerPedido() {
+    public <T> T medirCriacaoPedido(Supplier<T> criacao) {
+
+        incrementarPedidosProcessados();
 
-        return Timer.start(meterRegistry);
+        try {
+
+            T resultado = medir(OPERACAO_CRIAR_PEDIDO, criacao);
+            incrementarPedidosComSucesso();
+            return resultado;
+
+        } catch (BusinessException e) {
+
+            // Recusa por regra de negócio não é erro de processamento: fica só no timer "rejeitado".
+            throw e;
+
+        } catch (RuntimeException e) {
+
+            incrementarPedidosComErro();
+            throw e;
+
+        }
 
     }
 
     @Override
-    public void finalizarTimerPedido(Timer.Sample sample) {
+    public <T> T medirAtualizacaoStatus(Supplier<T> atualizacao) {
 
-        sample.stop(this.tempoProcessamentoPedido);
+        return medir(OPERACAO_ATUALIZAR_STATUS, atualizacao);
 
     }
 
@@ -102,4 +138,49 @@ public class MetricsServiceImpl implements MetricsService {
 
     }
 
-}
\ No newline at end of file
+    private <T> T medir(String operacao, Supplier<T> execucao) {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String resultado = RESULTADO_ERRO;
+
+        try {
+
+            T retorno = execucao.get();
+            resultado = RESULTADO_SUCESSO;
+            return retorno;
+
+        } catch (BusinessException e) {
+
+            // Pedido recusado por regra de negócio (400/404/409): separado das falhas reais.
+            resultado = RESULTADO_REJEITADO;
+            throw e;
+
+        } finally {
+
+            sample.stop(temposProcessamentoPedido.get(operacao + ":" + resultado));
+
+        }
+
+    }
+
+    /**
+    * Timer com percentis (p50/p95/p99 da janela recente, lidos em memória pelo dashboard e pelos alertas),
+    * histograma para histogram_quantile() no Prometheus e buckets nos limites de SLO.
+    * O Prometheus exporta só o histograma; os percentis calculados no cliente não aparecem no scrape.
+    */
+    private Timer registrarTimer(String operacao, String resultado) {
+
+        return Timer.builder(TIMER_PROCESSAMENTO_PEDIDO)
+                .description("Tempo de processamento de pedidos")
+                .tag("operacao", operacao)
+                .tag("resultado", resultado)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(SLOS)
+                .minimumExpectedValue(Duration.ofMillis(5))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry);
+
+    }
+
+}
@@ -0,0 +1,240 @@
+package com.deliverytech.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.config.OutboxProperties;
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.event.PedidoAlteradoEvent;
+import com.deliverytech.mapper.PedidoMapper;
+import com.deliverytech.model.OutboxEvento;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.repository.OutboxEventoRepository;
+import com.deliverytech.service.OutboxService;
+import com.deliverytech.service.OutboxSink;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    private final OutboxEventoRepository outboxEventoRepository;
+
+    private final OutboxSink sink;
+
+    private final OutboxProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    // Monta o pedido completo enviado aos ouvintes internos junto com o evento.
+    private final PedidoMapper pedidoMapper;
+
+    // Avisa os ouvintes internos (ex: feed dos restaurantes) sem esperar o relay.
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Marca os eventos publicados em uma transação curta, separada das chamadas ao sink.
+    private final TransactionTemplate transactionTemplate;
+
+    // Um único relay por vez: duas execuções simultâneas poderiam publicar o mesmo pedido fora de ordem.
+    private final ReentrantLock relay = new ReentrantLock();
+
+    public OutboxServiceImpl(OutboxEventoRepository outboxEventoRepository, OutboxSink sink,
+        OutboxProperties properties, ObjectMapper objectMapper, PedidoMapper pedidoMapper,
+        ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+
+        this.outboxEventoRepository = outboxEventoRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.pedidoMapper = pedidoMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+    }
+
+    /**
+    * Exige uma transação em andamento: o evento é confirmado ou desfeito junto com a alteração do pedido.
+    */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Pedido pedido, String tipo, StatusPedido statusAnterior) {
+
+        LocalDateTime agora = LocalDateTime.now();
+        Long restauranteId = pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null;
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("tipo", tipo);
+        payload.put("pedidoId", pedido.getId());
+        payload.put("numeroPedido", pedido.getNumeroPedido());
+        payload.put("status", pedido.getStatus());
+        if (statusAnterior != null) {
+
+            payload.put("statusAnterior", statusAnterior);
+
+        }
+        payload.put("restauranteId", restauranteId);
+        payload.put("clienteId", pedido.getCliente() != null ? pedido.getCliente().getId() : null);
+        payload.put("valorTotal", pedido.getValorTotal());
+        payload.put("ocorridoEm", agora.toString());
+
+        String json = serializar(payload);
+        outboxEventoRepository.save(new OutboxEvento(pedido.getId(), tipo, json, agora));
+        eventPublisher.publishEvent(new PedidoAlteradoEvent(pedido.getId(), restauranteId, tipo, pedido.getStatus(),
+            statusAnterior, pedido.getDataPedido(), pedido.getValorTotal(), pedidoMapper.toResponseDTO(pedido)));
+
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.outbox.intervalo:1s}")
+    public void executarRelay() {
+
+        int publicados;
+        do {
+
+            publicados = publicarPendentes();
+
+        } while (publicados >= properties.getTamanhoLote());
+
+    }
+
+    /**
+    * Publica um lote na ordem de gravação. Quando um evento falha, ele e os seguintes do mesmo pedido
+    * esperam a próxima tentativa (espera exponencial), para nenhum consumidor ver um status antes do
+    * anterior; os demais pedidos seguem normalmente. Depois de delivery.outbox.max-tentativas falhas o
+    * evento é marcado como falho e sai da fila. Os publicados só são marcados depois do envio,
+    * então uma queda entre o envio e a marcação reenvia o evento (at-least-once).
+    */
+    @Override
+    public int publicarPendentes() {
+
+        if (!relay.tryLock()) {
+
+            return 0;
+
+        }
+
+        try {
+
+            List<OutboxEvento> pendentes = outboxEventoRepository.findPendentes(LocalDateTime.now(),
+                PageRequest.of(0, properties.getTamanhoLote()));
+            List<Long> publicados = new ArrayList<>();
+            Set<Long> pedidosBloqueados = new HashSet<>();
+
+            for (OutboxEvento evento : pendentes) {
+
+                if (pedidosBloqueados.contains(evento.getPedidoId())) {
+
+                    continue;
+
+                }
+
+                try {
+
+                    sink.publicar(evento);
+                    publicados.add(evento.getId());
+
+                } catch (Exception e) {
+
+                    pedidosBloqueados.add(evento.getPedidoId());
+                    registrarFalha(evento, e);
+
+                }
+
+            }
+
+            if (!publicados.isEmpty()) {
+
+                LocalDateTime agora = LocalDateTime.now();
+                transactionTemplate.executeWithoutResult(status -> outboxEventoRepository.marcarPublicados(publicados, agora));
+
+            }
+
+            return publicados.size();
+
+        } finally {
+
+            relay.unlock();
+
+        }
+
+    }
+
+    private void registrarFalha(OutboxEvento evento, Exception erro) {
+
+        int tentativas = evento.getTentativas() + 1;
+        LocalDateTime agora = LocalDateTime.now();
+
+        if (tentativas >= properties.getMaxTentativas()) {
+
+            logger.error("Evento {} do pedido {} falhou {} vezes e saiu da fila do outbox; os eventos seguintes do pedido "
+                + "ficam retidos até ele ser reprocessado: {}", evento.getId(), evento.getPedidoId(), tentativas, erro.getMessage());
+            transactionTemplate.executeWithoutResult(status -> outboxEventoRepository.marcarFalhou(evento.getId(), agora));
+            return;
+
+        }
+
+        LocalDateTime proximaTentativa = agora.plus(espera(tentativas));
+        logger.warn("Falha ao publicar evento {} do pedido {} (tentativa {}), nova tentativa em {}: {}",
+            evento.getId(), evento.getPedidoId(), tentativas, proximaTentativa, erro.getMessage());
+        transactionTemplate.executeWithoutResult(status -> outboxEventoRepository.registrarFalha(evento.getId(), proximaTentativa));
+
+    }
+
+    // Espera inicial dobrada a cada falha, limitada à espera máxima.
+    private Duration espera(int tentativas) {
+
+        Duration espera = properties.getEsperaInicial().multipliedBy(1L << Math.min(tentativas - 1, 30));
+        return espera.compareTo(properties.getEsperaMaxima()) > 0 ? properties.getEsperaMaxima() : espera;
+
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.outbox.intervalo-limpeza:1h}")
+    public void limparPublicados() {
+
+        LocalDateTime limite = LocalDateTime.now().minus(properties.getRetencao());
+        Integer removidos = transactionTemplate.execute(status -> outboxEventoRepository.removerPublicadosAntesDe(limite));
+
+        if (removidos != null && removidos > 0) {
+
+            logger.info("Outbox: {} eventos publicados antes de {} removidos.", removidos, limite);
+
+        }
+
+    }
+
+    private String serializar(Map<String, Object> payload) {
+
+        try {
+
+            return objectMapper.writeValueAsString(payload);
+
+        } catch (JsonProcessingException e) {
+
+            throw new IllegalStateException("Falha ao serializar evento do outbox", e);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,395 @@
+package com.deliverytech.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.config.ExportacaoProperties;
+import com.deliverytech.dto.request.PedidoFiltro;
+import com.deliverytech.enums.FormatoExportacao;
+import com.deliverytech.service.PedidoExportService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+* Exporta pedidos direto do ResultSet para a resposta.
+* A consulta percorre pedido pelo índice (data_pedido, id) com os itens em LEFT JOIN, então as linhas
+* de um pedido chegam juntas e só o pedido atual fica em memória, qualquer que seja o período.
+*/
+@Service
+public class PedidoExportServiceImpl implements PedidoExportService {
+
+    private static final String SQL_BASE =
+        "SELECT p.id, p.numero_pedido, p.data_pedido, p.status, p.restaurante_id, r.nome AS restaurante_nome, " +
+        "p.cliente_id, p.subtotal, p.taxa_entrega, p.valor_total, " +
+        "i.id AS item_id, i.produto_id, pr.nome AS produto_nome, i.quantidade, i.preco_unitario, i.subtotal AS item_subtotal " +
+        "FROM pedido p " +
+        "LEFT JOIN restaurante r ON r.id = p.restaurante_id " +
+        "LEFT JOIN item_pedido i ON i.pedido_id = p.id " +
+        "LEFT JOIN produto pr ON pr.id = i.produto_id";
+
+    private static final String CABECALHO_CSV =
+        "pedido_id,numero_pedido,data_pedido,status,restaurante_id,restaurante_nome,cliente_id,subtotal,taxa_entrega," +
+        "valor_total,item_id,produto_id,produto_nome,quantidade,preco_unitario,item_subtotal";
+
+    private static final String INICIO_FORMULA = "=+-@\t\r";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ExportacaoProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    // Alguns drivers (ex: PostgreSQL) só respeitam o fetch size com a conexão fora do autocommit.
+    private final TransactionTemplate transactionTemplate;
+
+    public PedidoExportServiceImpl(JdbcTemplate jdbcTemplate, ExportacaoProperties properties, ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+    }
+
+    @Override
+    public long exportar(PedidoFiltro filtro, FormatoExportacao formato, OutputStream saida) throws IOException {
+
+        List<Object> parametros = new ArrayList<>();
+        String sql = SQL_BASE + montarWhere(filtro, parametros) + " ORDER BY p.data_pedido, p.id";
+
+        Escritor escritor = formato == FormatoExportacao.CSV ? new EscritorCsv(saida) : new EscritorNdjson(saida);
+
+        try {
+
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(conexao -> {
+
+                PreparedStatement ps = conexao.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(properties.getFetchSize());
+                for (int i = 0; i < parametros.size(); i++) {
+
+                    ps.setObject(i + 1, parametros.get(i));
+
+                }
+                return ps;
+
+            }, rs -> {
+
+                try {
+
+                    escritor.linha(rs);
+
+                } catch (IOException e) {
+
+                    // Normalmente o cliente desconectou: interrompe a leitura do cursor.
+                    throw new UncheckedIOException(e);
+
+                }
+
+            }));
+
+        } catch (UncheckedIOException e) {
+
+            throw e.getCause();
+
+        }
+
+        escritor.finalizar();
+        return escritor.pedidos;
+
+    }
+
+    private String montarWhere(PedidoFiltro filtro, List<Object> parametros) {
+
+        List<String> condicoes = new ArrayList<>();
+
+        if (filtro.status() != null) {
+
+            condicoes.add("p.status = ?");
+            parametros.add(filtro.status().name());
+
+        }
+
+        if (filtro.dataInicio() != null) {
+
+            condicoes.add("p.data_pedido >= ?");
+            parametros.add(Timestamp.valueOf(filtro.dataInicio().atStartOfDay()));
+
+        }
+
+        if (filtro.dataFim() != null) {
+
+            condicoes.add("p.data_pedido < ?");
+            parametros.add(Timestamp.valueOf(filtro.dataFim().plusDays(1).atStartOfDay()));
+
+        }
+
+        if (filtro.restauranteId() != null) {
+
+            condicoes.add("p.restaurante_id = ?");
+            parametros.add(filtro.restauranteId());
+
+        }
+
+        if (filtro.clienteId() != null) {
+
+            condicoes.add("p.cliente_id = ?");
+            parametros.add(filtro.clienteId());
+
+        }
+
+        return condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes);
+
+    }
+
+    private abstract class Escritor {
+
+        private long linhas;
+        private long pedidoAtual = -1;
+        long pedidos;
+
+        void linha(ResultSet rs) throws SQLException, IOException {
+
+            long pedidoId = rs.getLong("id");
+            boolean novoPedido = pedidoId != pedidoAtual;
+            if (novoPedido) {
+
+                pedidoAtual = pedidoId;
+                pedidos++;
+
+            }
+
+            escrever(rs, novoPedido);
+
+            if (++linhas % properties.getFlushLinhas() == 0) {
+
+                descarregar();
+
+            }
+
+        }
+
+        abstract void escrever(ResultSet rs, boolean novoPedido) throws SQLException, IOException;
+
+        abstract void descarregar() throws IOException;
+
+        abstract void finalizar() throws IOException;
+
+    }
+
+    // Uma linha por item (ou uma linha com as colunas do item vazias, se o pedido não tiver itens).
+    private final class EscritorCsv extends Escritor {
+
+        private final Writer writer;
+
+        private EscritorCsv(OutputStream saida) throws IOException {
+
+            this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+
+        }
+
+        @Override
+        void escrever(ResultSet rs, boolean novoPedido) throws SQLException, IOException {
+
+            Timestamp dataPedido = rs.getTimestamp("data_pedido");
+            Object[] colunas = {
+                rs.getLong("id"), rs.getString("numero_pedido"), dataPedido != null ? dataPedido.toLocalDateTime() : null,
+                rs.getString("status"), rs.getObject("restaurante_id"), rs.getString("restaurante_nome"), rs.getObject("cliente_id"),
+                rs.getBigDecimal("subtotal"), rs.getBigDecimal("taxa_entrega"), rs.getBigDecimal("valor_total"),
+                rs.getObject("item_id"), rs.getObject("produto_id"), rs.getString("produto_nome"), rs.getObject("quantidade"),
+                rs.getBigDecimal("preco_unitario"), rs.getBigDecimal("item_subtotal")
+            };
+
+            for (int i = 0; i < colunas.length; i++) {
+
+                if (i > 0) {
+
+                    writer.write(',');
+
+                }
+                writer.write(campoCsv(colunas[i]));
+
+            }
+            writer.write('\n');
+
+        }
+
+        @Override
+        void descarregar() throws IOException {
+
+            writer.flush();
+
+        }
+
+        @Override
+        void finalizar() throws IOException {
+
+            writer.flush();
+
+        }
+
+        private String campoCsv(Object valor) {
+
+            if (valor == null) {
+
+                return "";
+
+            }
+
+            String texto = valor instanceof BigDecimal decimal ? decimal.toPlainString() : valor.toString();
+
+            // Texto livre (nomes de restaurante e produto) que começa com =, +, -, @, tab ou CR vira fórmula
+            // ao abrir o arquivo numa planilha; com o apóstrofo na frente a célula é lida como texto.
+            if (valor instanceof String && !texto.isEmpty() && INICIO_FORMULA.indexOf(texto.charAt(0)) >= 0) {
+
+                texto = "'" + texto;
+
+            }
+
+            if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+
+                return '"' + texto.replace("\"", "\"\"") + '"';
+
+            }
+
+            return texto;
+
+        }
+
+    }
+
+    // Um objeto JSON por pedido e por linha; os itens vão num array dentro do pedido.
+    private final class EscritorNdjson extends Escritor {
+
+        private final JsonGenerator gerador;
+        private boolean pedidoAberto;
+
+        private EscritorNdjson(OutputStream saida) throws IOException {
+
+            this.gerador = objectMapper.getFactory().createGenerator(saida);
+            // Sem o separador padrão (espaço) entre objetos da raiz: cada objeto termina com a própria quebra de linha.
+            this.gerador.setRootValueSeparator(null);
+
+        }
+
+        @Override
+        void escrever(ResultSet rs, boolean novoPedido) throws SQLException, IOException {
+
+            if (novoPedido) {
+
+                fecharPedido();
+
+                Timestamp dataPedido = rs.getTimestamp("data_pedido");
+                gerador.writeStartObject();
+                gerador.writeNumberField("id", rs.getLong("id"));
+                gerador.writeStringField("numeroPedido", rs.getString("numero_pedido"));
+                gerador.writeStringField("dataPedido", dataPedido != null ? dataPedido.toLocalDateTime().toString() : null);
+                gerador.writeStringField("status", rs.getString("status"));
+                escreverLong("restauranteId", rs, "restaurante_id");
+                gerador.writeStringField("restauranteNome", rs.getString("restaurante_nome"));
+                escreverLong("clienteId", rs, "cliente_id");
+                escreverDecimal("subtotal", rs.getBigDecimal("subtotal"));
+                escreverDecimal("taxaEntrega", rs.getBigDecimal("taxa_entrega"));
+                escreverDecimal("valorTotal", rs.getBigDecimal("valor_total"));
+                gerador.writeArrayFieldStart("itens");
+                pedidoAberto = true;
+
+            }
+
+            if (rs.getObject("item_id") != null) {
+
+                gerador.writeStartObject();
+                gerador.writeNumberField("id", rs.getLong("item_id"));
+                escreverLong("produtoId", rs, "produto_id");
+                gerador.writeStringField("produtoNome", rs.getString("produto_nome"));
+                gerador.writeNumberField("quantidade", rs.getInt("quantidade"));
+                escreverDecimal("precoUnitario", rs.getBigDecimal("preco_unitario"));
+                escreverDecimal("subtotal", rs.getBigDecimal("item_subtotal"));
+                gerador.writeEndObject();
+
+            }
+
+        }
+
+        @Override
+        void descarregar() throws IOException {
+
+            gerador.flush();
+
+        }
+
+        @Override
+        void finalizar() throws IOException {
+
+            fecharPedido();
+            gerador.flush();
+
+        }
+
+        private void fecharPedido() throws IOException {
+
+            if (pedidoAberto) {
+
+                gerador.writeEndArray();
+                gerador.writeEndObject();
+                gerador.writeRaw('\n');
+                pedidoAberto = false;
+
+            }
+
+        }
+
+        private void escreverLong(String campo, ResultSet rs, String coluna) throws SQLException, IOException {
+
+            long valor = rs.getLong(coluna);
+            if (rs.wasNull()) {
+
+                gerador.writeNullField(campo);
+
+            } else {
+
+                gerador.writeNumberField(campo, valor);
+
+            }
+
+        }
+
+        private void escreverDecimal(String campo, BigDecimal valor) throws IOException {
+
+            if (valor == null) {
+
+                gerador.writeNullField(campo);
+
+            } else {
+
+                gerador.writeNumberField(campo, valor);
+
+            }
+
+        }
+
+    }
+
+}
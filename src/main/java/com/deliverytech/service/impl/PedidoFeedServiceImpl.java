@@ -0,0 +1,329 @@
+package com.deliverytech.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.config.PedidoFeedProperties;
+import com.deliverytech.dto.response.PedidoResponseDTO;
+import com.deliverytech.event.PedidoAlteradoEvent;
+import com.deliverytech.service.PedidoFeedService;
+import com.deliverytech.service.PedidoService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+* Feed de pedidos por restaurante via Server-Sent Events.
+* Na inscrição o cliente recebe um snapshot dos pedidos abertos; depois, cada evento de pedido
+* confirmado no banco (AFTER_COMMIT) é enviado só aos inscritos daquele restaurante, sem nova consulta.
+* O evento leva o pedido completo, no mesmo formato de cada item do snapshot, para o cliente
+* substituir (ou incluir) o pedido pelo id.
+* Ao contrário do dashboard, nenhum evento é descartado: cada inscrito tem uma fila limitada e,
+* se ela encher, a conexão é encerrada para o cliente reconectar e receber um snapshot novo.
+*/
+@Service
+public class PedidoFeedServiceImpl implements PedidoFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoFeedServiceImpl.class);
+
+    static final String EVENTO_SNAPSHOT = "snapshot";
+    static final String EVENTO_PEDIDO = "pedido";
+
+    private final PedidoService pedidoService;
+    private final PedidoFeedProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // Inscritos agrupados por restaurante: um evento percorre só as conexões do seu restaurante.
+    private final Map<Long, Set<Inscrito>> inscritosPorRestaurante = new ConcurrentHashMap<>();
+
+    private final Semaphore vagas;
+
+    private final AtomicInteger totalInscritos = new AtomicInteger();
+
+    // Envios bloqueiam na escrita do socket; em threads virtuais, um cliente lento não segura os demais.
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PedidoFeedServiceImpl(PedidoService pedidoService, PedidoFeedProperties properties, ObjectMapper objectMapper) {
+
+        this.pedidoService = pedidoService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.vagas = new Semaphore(properties.getMaxInscritos());
+
+    }
+
+    @Override
+    public Optional<SseEmitter> inscrever(Long restauranteId) {
+
+        if (!vagas.tryAcquire()) {
+
+            return Optional.empty();
+
+        }
+
+        Inscrito inscrito = new Inscrito(restauranteId, new SseEmitter(properties.getTimeoutConexao().toMillis()));
+        inscrito.emitter.onCompletion(() -> remover(inscrito));
+        inscrito.emitter.onTimeout(() -> remover(inscrito));
+        inscrito.emitter.onError(erro -> remover(inscrito));
+
+        // Inscreve antes de consultar: um pedido confirmado durante a consulta fica na fila e sai depois do
+        // snapshot. Se ele já estiver no snapshot, o cliente recebe o mesmo status duas vezes (idempotente).
+        inscritosPorRestaurante.compute(restauranteId, (id, inscritos) -> {
+
+            Set<Inscrito> conjunto = inscritos != null ? inscritos : ConcurrentHashMap.newKeySet();
+            conjunto.add(inscrito);
+            return conjunto;
+
+        });
+        totalInscritos.incrementAndGet();
+
+        try {
+
+            List<PedidoResponseDTO> abertos = pedidoService.listarPedidosAbertosPorRestaurante(restauranteId);
+            inscrito.snapshot = objectMapper.writeValueAsString(abertos);
+
+        } catch (JsonProcessingException | RuntimeException e) {
+
+            remover(inscrito);
+            throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException("Falha ao montar o snapshot do feed", e);
+
+        }
+
+        inscrito.pronto = true;
+        agendarEnvio(inscrito);
+        return Optional.of(inscrito.emitter);
+
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarPedido(PedidoAlteradoEvent evento) {
+
+        Set<Inscrito> inscritos = evento.restauranteId() != null ? inscritosPorRestaurante.get(evento.restauranteId()) : null;
+        if (inscritos == null) {
+
+            return;
+
+        }
+
+        // Serializado uma vez por evento, não por inscrito.
+        String pedido;
+        try {
+
+            pedido = objectMapper.writeValueAsString(evento.pedido());
+
+        } catch (JsonProcessingException e) {
+
+            // Sem o evento o feed ficaria desatualizado: desconecta os inscritos para eles receberem um snapshot novo.
+            logger.warn("Falha ao serializar o pedido {} para o feed: {}", evento.pedidoId(), e.getMessage());
+            inscritos.forEach(inscrito -> {
+
+                remover(inscrito);
+                inscrito.emitter.complete();
+
+            });
+            return;
+
+        }
+
+        for (Inscrito inscrito : inscritos) {
+
+            if (inscrito.tamanhoFila.incrementAndGet() > properties.getFilaMaxima()) {
+
+                logger.info("Desconectando cliente lento do feed do restaurante {}", inscrito.restauranteId);
+                remover(inscrito);
+                inscrito.emitter.complete();
+                continue;
+
+            }
+
+            inscrito.fila.add(pedido);
+            if (inscrito.pronto) {
+
+                agendarEnvio(inscrito);
+
+            }
+
+        }
+
+    }
+
+    @Scheduled(fixedRateString = "${delivery.pedidos.feed.heartbeat:25s}")
+    public void enviarHeartbeat() {
+
+        for (Set<Inscrito> inscritos : inscritosPorRestaurante.values()) {
+
+            for (Inscrito inscrito : inscritos) {
+
+                if (inscrito.pronto && inscrito.fila.isEmpty()) {
+
+                    inscrito.heartbeatPendente = true;
+                    agendarEnvio(inscrito);
+
+                }
+
+            }
+
+        }
+
+    }
+
+    int totalInscritos() {
+
+        return totalInscritos.get();
+
+    }
+
+    @PreDestroy
+    public void encerrar() {
+
+        for (Set<Inscrito> inscritos : inscritosPorRestaurante.values()) {
+
+            for (Inscrito inscrito : inscritos) {
+
+                remover(inscrito);
+                inscrito.emitter.complete();
+
+            }
+
+        }
+
+        envios.shutdownNow();
+
+    }
+
+    // Dispara o envio da fila se não houver um em andamento para o inscrito.
+    private void agendarEnvio(Inscrito inscrito) {
+
+        if (inscrito.enviando.compareAndSet(false, true)) {
+
+            envios.execute(() -> enviarPendentes(inscrito));
+
+        }
+
+    }
+
+    private void enviarPendentes(Inscrito inscrito) {
+
+        do {
+
+            String snapshot = inscrito.snapshot;
+            if (snapshot != null) {
+
+                inscrito.snapshot = null;
+                if (!enviar(inscrito, SseEmitter.event().name(EVENTO_SNAPSHOT).data(snapshot, MediaType.APPLICATION_JSON))) {
+
+                    return;
+
+                }
+
+            }
+
+            String payload;
+            while ((payload = inscrito.fila.poll()) != null) {
+
+                inscrito.tamanhoFila.decrementAndGet();
+                if (!enviar(inscrito, SseEmitter.event().name(EVENTO_PEDIDO).data(payload, MediaType.APPLICATION_JSON))) {
+
+                    return;
+
+                }
+
+            }
+
+            if (inscrito.heartbeatPendente) {
+
+                inscrito.heartbeatPendente = false;
+                if (!enviar(inscrito, SseEmitter.event().comment("keep-alive"))) {
+
+                    return;
+
+                }
+
+            }
+
+            inscrito.enviando.set(false);
+
+        // Um evento pode ter chegado entre o último poll e a liberação do flag.
+        } while (!inscrito.fila.isEmpty() && inscrito.enviando.compareAndSet(false, true));
+
+    }
+
+    private boolean enviar(Inscrito inscrito, SseEmitter.SseEventBuilder evento) {
+
+        try {
+
+            inscrito.emitter.send(evento);
+            return true;
+
+        } catch (IOException | IllegalStateException e) {
+
+            // Cliente desconectou (ou a conexão já foi encerrada).
+            remover(inscrito);
+            return false;
+
+        }
+
+    }
+
+    private void remover(Inscrito inscrito) {
+
+        if (inscrito.removido.compareAndSet(false, true)) {
+
+            inscritosPorRestaurante.computeIfPresent(inscrito.restauranteId, (id, inscritos) -> {
+
+                inscritos.remove(inscrito);
+                return inscritos.isEmpty() ? null : inscritos;
+
+            });
+            totalInscritos.decrementAndGet();
+            vagas.release();
+
+        }
+
+    }
+
+    private static final class Inscrito {
+
+        private final Long restauranteId;
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<String> fila = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger tamanhoFila = new AtomicInteger();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean removido = new AtomicBoolean();
+        private volatile String snapshot;
+        private volatile boolean pronto;
+        private volatile boolean heartbeatPendente;
+
+        private Inscrito(Long restauranteId, SseEmitter emitter) {
+
+            this.restauranteId = restauranteId;
+            this.emitter = emitter;
+
+        }
+
+    }
+
+}
@@ -1,12 +1,11 @@
 package com.deliverytech.service.impl;
 
-import org.modelmapper.ModelMapper;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -15,20 +14,32 @@ import org.springframework.transaction.annotation.Transactional;
 import com.deliverytech.dto.request.CalculoPedidoDTO;
 import com.deliverytech.dto.request.ItemPedidoDTO;
 import com.deliverytech.dto.request.PedidoDTO;
+import com.deliverytech.dto.request.PedidoFiltro;
 import com.deliverytech.dto.response.CalculoPedidoResponseDTO;
 import com.deliverytech.dto.response.PedidoResponseDTO;
 import com.deliverytech.enums.StatusPedido;
 import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.mapper.PedidoMapper;
 import com.deliverytech.model.*;
+import com.deliverytech.projection.PedidoDonos;
+import com.deliverytech.pagination.CursorCodec;
+import com.deliverytech.pagination.CursorPage;
 import com.deliverytech.repository.*;
+import com.deliverytech.repository.specification.PedidoSpecifications;
+import com.deliverytech.service.OutboxService;
 import com.deliverytech.service.PedidoService;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -49,7 +60,11 @@ public class PedidoServiceImpl implements PedidoService {
     private ProdutoRepository produtoRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private PedidoMapper pedidoMapper;
+
+    // Eventos do ciclo de vida do pedido, gravados na mesma transação da alteração.
+    @Autowired
+    private OutboxService outboxService;
 
     @Override
     @Transactional
@@ -76,26 +91,16 @@ public class PedidoServiceImpl implements PedidoService {
 
         }
 
-        // 3. Validar produtos e criar itens.
+        // 3. Validar produtos e criar itens (uma única consulta para todo o carrinho).
+        Map<Long, Produto> produtos = carregarProdutos(dto.getItens());
+        validarProdutos(produtos.values(), dto.getRestauranteId());
+
         List<ItemPedido> itensPedido = new ArrayList<>();
         BigDecimal subtotal = BigDecimal.ZERO;
 
         for (ItemPedidoDTO itemDTO : dto.getItens()) {
 
-            Produto produto = produtoRepository.findById(itemDTO.getProdutoId())
-            .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + itemDTO.getProdutoId()));
-
-            if (!produto.isDisponivel()) {
-
-                throw new BusinessException("Produto indisponível: " + produto.getNome());
-
-            }
-
-            if (!produto.getRestaurante().getId().equals(dto.getRestauranteId())) {
-
-                throw new BusinessException("Produto não pertence ao restaurante selecionado");
-
-            }
+            Produto produto = produtos.get(itemDTO.getProdutoId());
 
             ItemPedido item = new ItemPedido();
             item.setProduto(produto);
@@ -133,9 +138,10 @@ public class PedidoServiceImpl implements PedidoService {
         pedido.setItens(itensPedido);
         
         Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        outboxService.registrar(pedidoSalvo, OutboxService.PEDIDO_CRIADO, null);
 
         // 6. Retornar DTO.
-        return modelMapper.map(pedidoSalvo, PedidoResponseDTO.class);
+        return pedidoMapper.toResponseDTO(pedidoSalvo);
 
     }
 
@@ -153,7 +159,7 @@ public class PedidoServiceImpl implements PedidoService {
         System.out.println("### BUSCANDO PEDIDO DO BANCO DE DADOS (ID: " + id + ") ###");
         Pedido pedido = pedidoRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return pedidoMapper.toResponseDTO(pedido);
 
     }
 
@@ -163,7 +169,7 @@ public class PedidoServiceImpl implements PedidoService {
 
         List<Pedido> pedidos = pedidoRepository.findByClienteId(clienteId);
         return pedidos.stream()
-        .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
+        .map(pedido -> pedidoMapper.toResponseDTO(pedido))
         .collect(Collectors.toList());
 
     }
@@ -179,7 +185,7 @@ public class PedidoServiceImpl implements PedidoService {
     public PedidoResponseDTO atualizarStatusPedido(Long id, StatusPedido novoStatus) {
 
         System.out.println("### ATUALIZANDO PEDIDO E LIMPANDO CACHE (ID: " + id + ") ###");
-        Pedido pedido = pedidoRepository.findById(id)
+        Pedido pedido = pedidoRepository.findByIdParaAtualizacao(id)
         .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
 
         if (!isTransicaoValida(pedido.getStatus(), novoStatus)) {
@@ -188,9 +194,11 @@ public class PedidoServiceImpl implements PedidoService {
 
         }
 
+        StatusPedido statusAnterior = pedido.getStatus();
         pedido.setStatus(novoStatus);
         Pedido pedidoAtualizado = pedidoRepository.save(pedido);
-        return modelMapper.map(pedidoAtualizado, PedidoResponseDTO.class);
+        outboxService.registrar(pedidoAtualizado, OutboxService.PEDIDO_STATUS_ATUALIZADO, statusAnterior);
+        return pedidoMapper.toResponseDTO(pedidoAtualizado);
 
     }
     
@@ -198,18 +206,7 @@ public class PedidoServiceImpl implements PedidoService {
     @Transactional(readOnly = true)
     public BigDecimal calcularTotalPedido(List<ItemPedidoDTO> itens) {
 
-        // ... (lógica inalterada).
-        BigDecimal total = BigDecimal.ZERO;
-        for (ItemPedidoDTO item : itens) {
-
-            Produto produto = produtoRepository.findById(item.getProdutoId())
-            .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
-            BigDecimal subtotalItem = produto.getPreco().multiply(BigDecimal.valueOf(item.getQuantidade()));
-            total = total.add(subtotalItem);
-
-        }
-
-        return total;
+        return calcularSubtotal(itens, carregarProdutos(itens));
 
     }
 
@@ -223,7 +220,7 @@ public class PedidoServiceImpl implements PedidoService {
     public void cancelarPedido(Long id) {
 
         System.out.println("##### CANCELANDO PEDIDO E LIMPANDO CACHE (ID: " + id + ") #####");
-        Pedido pedido = pedidoRepository.findById(id)
+        Pedido pedido = pedidoRepository.findByIdParaAtualizacao(id)
         .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado."));
         if (!podeSerCancelado(pedido.getStatus())) {
 
@@ -231,18 +228,61 @@ public class PedidoServiceImpl implements PedidoService {
 
         }
 
+        StatusPedido statusAnterior = pedido.getStatus();
         pedido.setStatus(StatusPedido.CANCELADO);
         pedidoRepository.save(pedido);
+        outboxService.registrar(pedido, OutboxService.PEDIDO_CANCELADO, statusAnterior);
 
     }
 
+    /**
+    * Lista pedidos aplicando no banco apenas os filtros informados (status, período, restaurante e cliente).
+    */
     @Override
     @Transactional(readOnly = true)
-    public Page<PedidoResponseDTO> listarPedidos(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, Pageable pageable) {
+    public Page<PedidoResponseDTO> listarPedidos(PedidoFiltro filtro, Pageable pageable) {
 
-        // ... (lógica inalterada).
-        Page<Pedido> pedidosPage = pedidoRepository.findAll(pageable);
-        return pedidosPage.map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class));
+        validarPeriodo(filtro);
+        Page<Pedido> pedidosPage = pedidoRepository.findAll(PedidoSpecifications.comFiltros(filtro), pageable);
+        return pedidosPage.map(pedido -> pedidoMapper.toResponseDTO(pedido));
+
+    }
+
+    /**
+    * Lista pedidos por cursor (keyset), do mais recente para o mais antigo.
+    * Em vez de OFFSET + COUNT, cada página busca size + 1 linhas a partir da posição
+    * (dataPedido, id) do último pedido da página anterior, com custo constante em qualquer profundidade.
+    */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PedidoResponseDTO> listarPedidosPorCursor(PedidoFiltro filtro, String cursor, int size) {
+
+        validarPeriodo(filtro);
+        int tamanho = CursorPage.limitarTamanho(size);
+        List<Specification<Pedido>> filtros = new ArrayList<>();
+        filtros.add(PedidoSpecifications.comFiltros(filtro));
+
+        if (cursor != null && !cursor.isBlank()) {
+
+            String[] valores = CursorCodec.decodificar(cursor, 2);
+            try {
+
+                filtros.add(PedidoSpecifications.aposCursor(LocalDateTime.parse(valores[0]), Long.valueOf(valores[1])));
+
+            } catch (DateTimeParseException | NumberFormatException e) {
+
+                throw CursorCodec.cursorInvalido(e);
+
+            }
+
+        }
+
+        List<Pedido> pedidos = pedidoRepository.findBy(Specification.allOf(filtros),
+            consulta -> consulta.sortBy(PedidoSpecifications.ORDEM_CURSOR).limit(tamanho + 1).all());
+
+        return CursorPage.of(pedidos, tamanho,
+            pedido -> CursorCodec.codificar(pedido.getDataPedido(), pedido.getId()),
+            pedido -> pedidoMapper.toResponseDTO(pedido));
 
     }
 
@@ -250,10 +290,20 @@ public class PedidoServiceImpl implements PedidoService {
     @Transactional(readOnly = true)
     public List<PedidoResponseDTO> buscarPedidosPorRestaurante(Long restauranteId, StatusPedido status) {
 
-        // ... (lógica inalterada).
-        List<Pedido> pedidos = pedidoRepository.findByRestauranteId(restauranteId);
+        PedidoFiltro filtro = new PedidoFiltro(status, null, null, restauranteId, null);
+        List<Pedido> pedidos = pedidoRepository.findAll(PedidoSpecifications.comFiltros(filtro), PedidoSpecifications.ORDEM_CURSOR);
         return pedidos.stream()
-        .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
+        .map(pedido -> pedidoMapper.toResponseDTO(pedido))
+        .collect(Collectors.toList());
+
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PedidoResponseDTO> listarPedidosAbertosPorRestaurante(Long restauranteId) {
+
+        return pedidoRepository.findAbertosByRestauranteId(restauranteId, StatusPedido.ABERTOS).stream()
+        .map(pedido -> pedidoMapper.toResponseDTO(pedido))
         .collect(Collectors.toList());
 
     }
@@ -265,14 +315,7 @@ public class PedidoServiceImpl implements PedidoService {
         Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
         .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado"));
 
-        BigDecimal subtotal = BigDecimal.ZERO;
-        for (ItemPedidoDTO itemDTO : dto.getItens()) {
-
-            Produto produto = produtoRepository.findById(itemDTO.getProdutoId())
-            .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + itemDTO.getProdutoId()));
-            subtotal = subtotal.add(produto.getPreco().multiply(BigDecimal.valueOf(itemDTO.getQuantidade())));
-
-        }
+        BigDecimal subtotal = calcularSubtotal(dto.getItens(), carregarProdutos(dto.getItens()));
 
         BigDecimal taxaEntrega = restaurante.getTaxaEntrega();
         BigDecimal valorTotal = subtotal.add(taxaEntrega);
@@ -287,6 +330,91 @@ public class PedidoServiceImpl implements PedidoService {
     }
 
     // ----- Métodos privados e de autorização (inalterados) -----
+    private void validarPeriodo(PedidoFiltro filtro) {
+
+        if (filtro.dataInicio() != null && filtro.dataFim() != null && filtro.dataInicio().isAfter(filtro.dataFim())) {
+
+            throw new BusinessException("A data inicial não pode ser posterior à data final.");
+
+        }
+
+    }
+
+    /**
+    * Carrega em uma única consulta todos os produtos referenciados pelos itens,
+    * já com o restaurante associado, indexados pelo ID.
+    * Se algum produto não existir, todos os IDs ausentes são informados de uma vez.
+    */
+    private Map<Long, Produto> carregarProdutos(List<ItemPedidoDTO> itens) {
+
+        Set<Long> ids = itens.stream()
+        .map(ItemPedidoDTO::getProdutoId)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, Produto> produtos = produtoRepository.findAllByIdComRestaurante(ids).stream()
+        .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        String inexistentes = ids.stream()
+        .filter(id -> !produtos.containsKey(id))
+        .map(String::valueOf)
+        .collect(Collectors.joining(", "));
+
+        if (!inexistentes.isEmpty()) {
+
+            throw new EntityNotFoundException("Produto não encontrado: " + inexistentes);
+
+        }
+
+        return produtos;
+
+    }
+
+    /**
+    * Valida disponibilidade e restaurante de todos os produtos a partir do mapa em memória,
+    * acumulando os problemas para reportar todos os itens inválidos em uma única exceção.
+    */
+    private void validarProdutos(Collection<Produto> produtos, Long restauranteId) {
+
+        List<String> erros = new ArrayList<>();
+
+        for (Produto produto : produtos) {
+
+            if (!produto.isDisponivel()) {
+
+                erros.add("Produto indisponível: " + produto.getNome());
+
+            }
+
+            if (!produto.getRestaurante().getId().equals(restauranteId)) {
+
+                erros.add("Produto não pertence ao restaurante selecionado: " + produto.getNome());
+
+            }
+
+        }
+
+        if (!erros.isEmpty()) {
+
+            throw new BusinessException(String.join("; ", erros));
+
+        }
+
+    }
+
+    private BigDecimal calcularSubtotal(List<ItemPedidoDTO> itens, Map<Long, Produto> produtos) {
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (ItemPedidoDTO item : itens) {
+
+            Produto produto = produtos.get(item.getProdutoId());
+            subtotal = subtotal.add(produto.getPreco().multiply(BigDecimal.valueOf(item.getQuantidade())));
+
+        }
+
+        return subtotal;
+
+    }
+
     private boolean isTransicaoValida(StatusPedido statusAtual, StatusPedido novoStatus) {
 
         switch (statusAtual) {
@@ -326,16 +454,20 @@ public class PedidoServiceImpl implements PedidoService {
 
     }
 
-    public boolean canAccess(Long pedidoId) {
+    /**
+    * Usada no @PostAuthorize da busca por ID: confere os donos no próprio pedido já carregado
+    * (ou vindo do cache "pedidos"), sem nenhuma consulta adicional.
+    */
+    public boolean canAccess(PedidoResponseDTO pedido) {
 
         Usuario usuarioLogado = getUsuarioLogado();
-        if (usuarioLogado == null) return false;
+        if (usuarioLogado == null || pedido == null) return false;
 
-        Pedido pedido = pedidoRepository.findById(pedidoId)
-        .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
-        
-        boolean isClientOwner = pedido.getCliente().getId().equals(usuarioLogado.getId());
-        boolean isRestaurantOwner = pedido.getRestaurante().getId().equals(usuarioLogado.getRestauranteId());
+        Long clienteId = pedido.getCliente() != null ? pedido.getCliente().getId() : null;
+        Long restauranteId = pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null;
+
+        boolean isClientOwner = clienteId != null && clienteId.equals(usuarioLogado.getId());
+        boolean isRestaurantOwner = restauranteId != null && restauranteId.equals(usuarioLogado.getRestauranteId());
 
         return isClientOwner || isRestaurantOwner;
 
@@ -346,10 +478,7 @@ public class PedidoServiceImpl implements PedidoService {
         Usuario usuarioLogado = getUsuarioLogado();
         if (usuarioLogado == null) return false;
 
-        Pedido pedido = pedidoRepository.findById(pedidoId)
-        .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
-
-        return pedido.getCliente().getId().equals(usuarioLogado.getId());
+        return buscarDonos(pedidoId).getClienteId().equals(usuarioLogado.getId());
 
     }
 
@@ -359,10 +488,15 @@ public class PedidoServiceImpl implements PedidoService {
 
         if (usuarioLogado == null || usuarioLogado.getRestauranteId() == null) return false;
 
-        Pedido pedido = pedidoRepository.findById(pedidoId)
-        .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
+        return buscarDonos(pedidoId).getRestauranteId().equals(usuarioLogado.getRestauranteId());
 
-        return pedido.getRestaurante().getId().equals(usuarioLogado.getRestauranteId());
+    }
+
+    // Consulta apenas (cliente_id, restaurante_id) do pedido, sem carregar a entidade e suas associações.
+    private PedidoDonos buscarDonos(Long pedidoId) {
+
+        return pedidoRepository.findDonosById(pedidoId)
+        .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
 
     }
 
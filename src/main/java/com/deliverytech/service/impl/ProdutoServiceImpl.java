@@ -1,27 +1,60 @@
 package com.deliverytech.service.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
 import org.modelmapper.ModelMapper;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.deliverytech.cache.ProdutoCacheInvalidator;
+import com.deliverytech.config.ImportacaoProperties;
 import com.deliverytech.dto.request.ProdutoDTO;
+import com.deliverytech.dto.response.ImportacaoProdutosResponseDTO;
 import com.deliverytech.dto.response.ProdutoResponseDTO;
+import com.deliverytech.enums.FormatoImportacao;
+import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.mapper.ProdutoMapper;
 import com.deliverytech.model.Produto;
 import com.deliverytech.model.Restaurante;
 import com.deliverytech.model.Usuario;
 import com.deliverytech.repository.ProdutoRepository;
 import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.search.IndiceProdutos;
+import com.deliverytech.search.ProdutoIndexado;
 import com.deliverytech.service.ProdutoService;
 
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
@@ -38,12 +71,32 @@ public class ProdutoServiceImpl implements ProdutoService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ProdutoMapper produtoMapper;
+
+    @Autowired
+    private ProdutoCacheInvalidator produtoCacheInvalidator;
+
+    @Autowired
+    private IndiceProdutos indiceProdutos;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ImportacaoProperties importacaoProperties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
-    * Limpa todos os caches de "produtos" sempre que um novo produto é cadastrado.
-    * Isso garante que qualquer lista de produtos em cache seja atualizada na próxima requisição.
+    * Invalida apenas as listas de "produtos" nas quais o novo produto passa a aparecer
+    * (todos, sua categoria e seu restaurante) e o inclui no índice de busca.
     */
     @Override
-    @CacheEvict(value = "produtos", allEntries = true)
     public ProdutoResponseDTO cadastrarProduto(ProdutoDTO dto) {
 
         Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
@@ -54,8 +107,87 @@ public class ProdutoServiceImpl implements ProdutoService {
         produto.setDisponivel(true);
         
         Produto produtoSalvo = produtoRepository.save(produto);
+        produtoCacheInvalidator.invalidar(null, ProdutoCacheInvalidator.Estado.de(produtoSalvo));
+        atualizarIndice(produtoSalvo);
         System.out.println("### CADASTRANDO PRODUTO E LIMPANDO CACHE DE LISTAS ###");
-        return modelMapper.map(produtoSalvo, ProdutoResponseDTO.class);
+        return produtoMapper.toResponseDTO(produtoSalvo);
+
+    }
+
+    /**
+    * Importa o catálogo de um restaurante lendo o conteúdo em streaming (array JSON ou CSV com cabeçalho).
+    * Cada linha é validada assim que é lida; as válidas são gravadas em lotes (inserts em lote JDBC, ids
+    * da sequence em blocos) e as inválidas voltam na resposta com o número da linha.
+    * As listas do cache são invalidadas (e o índice de busca atualizado) uma única vez, após o commit.
+    * Conteúdo malformado ou acima do limite de linhas recusa a importação inteira (rollback).
+    */
+    @Override
+    public ImportacaoProdutosResponseDTO importarProdutos(Long restauranteId, InputStream conteudo, FormatoImportacao formato) {
+
+        Restaurante restaurante = restauranteRepository.findById(restauranteId)
+        .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + restauranteId));
+
+        ImportacaoProdutosResponseDTO resultado = new ImportacaoProdutosResponseDTO();
+        List<Produto> lote = new ArrayList<>();
+        List<ProdutoCacheInvalidator.Estado> cadastrados = new ArrayList<>();
+        List<ProdutoIndexado> indexados = new ArrayList<>();
+
+        try (LeitorProdutos leitor = formato == FormatoImportacao.CSV ? new LeitorCsv(conteudo) : new LeitorJson(conteudo)) {
+
+            LinhaImportada linha;
+            while ((linha = leitor.proxima()) != null) {
+
+                if (linha.numero() > importacaoProperties.getMaxLinhas()) {
+
+                    throw new BusinessException("A importação aceita no máximo " + importacaoProperties.getMaxLinhas() + " linhas.");
+
+                }
+
+                List<String> erros = linha.erros();
+                if (erros.isEmpty()) {
+
+                    linha.dto().setRestauranteId(restauranteId);
+                    erros = validar(linha.dto());
+
+                }
+
+                if (!erros.isEmpty()) {
+
+                    resultado.getErros().add(new ImportacaoProdutosResponseDTO.ErroLinhaDTO(linha.numero(), erros));
+                    continue;
+
+                }
+
+                lote.add(novoProduto(linha.dto(), restaurante));
+                if (lote.size() >= importacaoProperties.getTamanhoLote()) {
+
+                    gravarLote(lote, cadastrados, indexados);
+
+                }
+
+            }
+
+        } catch (IOException e) {
+
+            // Sem o trecho "[Source: ...]" que o Jackson anexa à mensagem.
+            String detalhe = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+            throw new BusinessException("Conteúdo da importação malformado: " + detalhe);
+
+        }
+
+        gravarLote(lote, cadastrados, indexados);
+
+        if (!cadastrados.isEmpty()) {
+
+            produtoCacheInvalidator.invalidarCadastros(cadastrados);
+            indiceProdutos.indexar(indexados);
+
+        }
+
+        resultado.setImportados(cadastrados.size());
+        resultado.setRejeitados(resultado.getErros().size());
+        System.out.println("### IMPORTANDO " + cadastrados.size() + " PRODUTOS E LIMPANDO CACHE DE LISTAS (RESTAURANTE: " + restauranteId + ") ###");
+        return resultado;
 
     }
 
@@ -71,26 +203,20 @@ public class ProdutoServiceImpl implements ProdutoService {
         System.out.println("### BUSCANDO PRODUTO DO BANCO DE DADOS (ID: " + id + ") ###");
         Produto produto = produtoRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + id));
-        return modelMapper.map(produto, ProdutoResponseDTO.class);
+        return produtoMapper.toResponseDTO(produto);
 
     }
 
     /**
-     * Invalida o cache para um produto específico (pelo ID) e também limpa
-     * todos os caches de listas de produtos para refletir a alteração.
+     * Invalida o cache do produto (pelo ID) e as listas em que ele aparecia antes
+     * ou aparece depois da alteração (ex.: categoria antiga e nova).
      */
     @Override
-    @Caching(evict = {
-
-        @CacheEvict(value = "produtos", key = "#id"),
-        @CacheEvict(value = "produtos", allEntries = true)
-
-    })
-
     public ProdutoResponseDTO atualizarProduto(Long id, ProdutoDTO dto) {
 
         Produto produto = produtoRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + id));
+        ProdutoCacheInvalidator.Estado anterior = ProdutoCacheInvalidator.Estado.de(produto);
 
         produto.setNome(dto.getNome());
         produto.setDescricao(dto.getDescricao());
@@ -98,54 +224,44 @@ public class ProdutoServiceImpl implements ProdutoService {
         produto.setCategoria(dto.getCategoria());
 
         Produto produtoAtualizado = produtoRepository.save(produto);
+        produtoCacheInvalidator.invalidar(anterior, ProdutoCacheInvalidator.Estado.de(produtoAtualizado));
+        atualizarIndice(produtoAtualizado);
         System.out.println("### ATUALIZANDO PRODUTO E LIMPANDO SEU CACHE (ID: " + id + ") ###");
-        return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        return produtoMapper.toResponseDTO(produtoAtualizado);
 
     }
 
     /**
-     * Invalida o cache de um produto ao removê-lo.
+     * Invalida o cache de um produto ao removê-lo, junto com as listas em que ele aparecia.
+     * O produto é carregado antes da remoção para saber quais listas são afetadas.
      */
     @Override
-    @Caching(evict = {
-
-        @CacheEvict(value = "produtos", key = "#id"),
-        @CacheEvict(value = "produtos", allEntries = true)
-
-    })
-
     public void removerProduto(Long id) {
 
-        if (!produtoRepository.existsById(id)) {
-
-            throw new EntityNotFoundException("Produto não encontrado: " + id);
-
-        }
+        Produto produto = produtoRepository.findById(id)
+        .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + id));
 
-        produtoRepository.deleteById(id);
+        produtoRepository.delete(produto);
+        produtoCacheInvalidator.invalidar(ProdutoCacheInvalidator.Estado.de(produto), null);
+        indiceProdutos.remover(List.of(id));
         System.out.println("### REMOVENDO PRODUTO E LIMPANDO SEU CACHE (ID: " + id + ") ###");
 
     }
 
     /**
-    * Invalida o cache do produto cuja disponibilidade foi alterada.
+    * Invalida o cache do produto cuja disponibilidade foi alterada e as listas em que ele aparece.
     */
     @Override
-    @Caching(evict = {
-
-        @CacheEvict(value = "produtos", key = "#id"),
-        @CacheEvict(value = "produtos", allEntries = true)
-
-    })
-
     public ProdutoResponseDTO alterarDisponibilidade(Long id) {
 
         Produto produto = produtoRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + id));
         produto.setDisponivel(!produto.isDisponivel());
         produtoRepository.save(produto);
+        produtoCacheInvalidator.invalidar(null, ProdutoCacheInvalidator.Estado.de(produto));
+        atualizarIndice(produto);
         System.out.println("### ALTERANDO DISPONIBILIDADE E LIMPANDO CACHE (ID: " + id + ") ###");
-        return modelMapper.map(produto, ProdutoResponseDTO.class);
+        return produtoMapper.toResponseDTO(produto);
 
     }
 
@@ -161,7 +277,7 @@ public class ProdutoServiceImpl implements ProdutoService {
         System.out.println("### BUSCANDO TODOS OS PRODUTOS DO BANCO DE DADOS ###");
         List<Produto> produtos = produtoRepository.findAll();
         return produtos.stream()
-        .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+        .map(produto -> produtoMapper.toResponseDTO(produto))
         .collect(Collectors.toList());
 
     }
@@ -178,24 +294,23 @@ public class ProdutoServiceImpl implements ProdutoService {
         System.out.println("### BUSCANDO PRODUTOS POR CATEGORIA DO BANCO: " + categoria + " ###");
         List<Produto> produtos = produtoRepository.findByCategoriaAndDisponivelTrue(categoria);
         return produtos.stream()
-        .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+        .map(produto -> produtoMapper.toResponseDTO(produto))
         .collect(Collectors.toList());
 
     }
 
+    /**
+    * Busca no índice em memória (nome, categoria e descrição), sem consultar o banco nem o cache.
+    * SUPPORTS evita abrir transação, e com ela uma conexão, a cada busca.
+    */
     @Override
-    @Transactional(readOnly = true)
-    @Cacheable(value = "produtos", key = "'nome::' + #nome")
-    public List<ProdutoResponseDTO> buscarProdutosPorNome(String nome) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<ProdutoResponseDTO> buscarProdutos(String texto, Pageable pageable) {
 
-        System.out.println("### BUSCANDO PRODUTOS POR NOME DO BANCO: " + nome + " ###");
-        List<Produto> produtos = produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue(nome);
-        return produtos.stream()
-        .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
-        .collect(Collectors.toList());
+        return indiceProdutos.buscar(texto, pageable).map(produtoMapper::toResponseDTO);
 
     }
-    
+
     @Override
     @Transactional(readOnly = true)
     @Cacheable(value = "produtos", key = "'restaurante::' + #restauranteId + '::disponivel::' + #disponivel")
@@ -215,7 +330,7 @@ public class ProdutoServiceImpl implements ProdutoService {
         }
 
         return produtos.stream()
-        .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+        .map(produto -> produtoMapper.toResponseDTO(produto))
         .collect(Collectors.toList());
 
     }
@@ -250,4 +365,320 @@ public class ProdutoServiceImpl implements ProdutoService {
 
     }
 
+    // Produtos indisponíveis ficam fora do índice de busca.
+    private void atualizarIndice(Produto produto) {
+
+        if (produto.isDisponivel()) {
+
+            indiceProdutos.indexar(List.of(ProdutoIndexado.de(produto)));
+
+        } else {
+
+            indiceProdutos.remover(List.of(produto.getId()));
+
+        }
+
+    }
+
+    // Grava o lote e limpa o contexto de persistência, para a importação não acumular entidades gerenciadas.
+    private void gravarLote(List<Produto> lote, List<ProdutoCacheInvalidator.Estado> cadastrados, List<ProdutoIndexado> indexados) {
+
+        if (lote.isEmpty()) {
+
+            return;
+
+        }
+
+        produtoRepository.saveAll(lote);
+        entityManager.flush();
+
+        for (Produto produto : lote) {
+
+            cadastrados.add(ProdutoCacheInvalidator.Estado.de(produto));
+            indexados.add(ProdutoIndexado.de(produto));
+
+        }
+
+        entityManager.clear();
+        lote.clear();
+
+    }
+
+    private Produto novoProduto(ProdutoDTO dto, Restaurante restaurante) {
+
+        Produto produto = new Produto();
+        produto.setNome(dto.getNome());
+        produto.setDescricao(dto.getDescricao());
+        produto.setPreco(dto.getPreco());
+        produto.setCategoria(dto.getCategoria());
+        produto.setRestaurante(restaurante);
+        produto.setDisponivel(true);
+        return produto;
+
+    }
+
+    private List<String> validar(ProdutoDTO dto) {
+
+        Set<ConstraintViolation<ProdutoDTO>> violacoes = validator.validate(dto);
+        return violacoes.stream()
+        .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+        .sorted()
+        .collect(Collectors.toList());
+
+    }
+
+    // Linha lida do conteúdo importado; erros de conversão (ex.: preço não numérico) chegam sem DTO.
+    private record LinhaImportada(int numero, ProdutoDTO dto, List<String> erros) {
+
+        static LinhaImportada valida(int numero, ProdutoDTO dto) {
+
+            return new LinhaImportada(numero, dto, List.of());
+
+        }
+
+        static LinhaImportada invalida(int numero, String erro) {
+
+            return new LinhaImportada(numero, null, List.of(erro));
+
+        }
+
+    }
+
+    private interface LeitorProdutos extends Closeable {
+
+        // Próxima linha do conteúdo, ou nulo no fim.
+        LinhaImportada proxima() throws IOException;
+
+    }
+
+    // Lê o array JSON um objeto por vez, sem carregar o array inteiro em memória.
+    private final class LeitorJson implements LeitorProdutos {
+
+        private final JsonParser parser;
+        private int numero;
+
+        private LeitorJson(InputStream conteudo) throws IOException {
+
+            this.parser = objectMapper.getFactory().createParser(conteudo);
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+
+                parser.close();
+                throw new BusinessException("O conteúdo JSON deve ser um array de produtos.");
+
+            }
+
+        }
+
+        @Override
+        public LinhaImportada proxima() throws IOException {
+
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+
+                return null;
+
+            }
+
+            numero++;
+
+            if (token != JsonToken.START_OBJECT) {
+
+                parser.skipChildren();
+                return LinhaImportada.invalida(numero, "A linha deve ser um objeto JSON.");
+
+            }
+
+            JsonNode objeto = objectMapper.readTree(parser);
+
+            try {
+
+                return LinhaImportada.valida(numero, objectMapper.treeToValue(objeto, ProdutoDTO.class));
+
+            } catch (JsonMappingException e) {
+
+                String campo = e.getPath().isEmpty() ? "linha" : e.getPath().get(0).getFieldName();
+                return LinhaImportada.invalida(numero, campo + ": valor inválido.");
+
+            } catch (JsonProcessingException e) {
+
+                return LinhaImportada.invalida(numero, "linha: valor inválido.");
+
+            }
+
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            parser.close();
+
+        }
+
+    }
+
+    // Lê o CSV uma linha por vez. O cabeçalho define a ordem das colunas; campos entre aspas podem conter vírgulas.
+    private static final class LeitorCsv implements LeitorProdutos {
+
+        private static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "descricao", "preco", "categoria");
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> colunas = new HashMap<>();
+        private int numero;
+
+        private LeitorCsv(InputStream conteudo) throws IOException {
+
+            this.reader = new BufferedReader(new InputStreamReader(conteudo, StandardCharsets.UTF_8));
+
+            String cabecalho = reader.readLine();
+            List<String> nomes = cabecalho != null ? dividir(cabecalho.replace("\uFEFF", "")) : null;
+
+            if (nomes != null) {
+
+                for (int i = 0; i < nomes.size(); i++) {
+
+                    colunas.put(nomes.get(i).trim().toLowerCase(Locale.ROOT), i);
+
+                }
+
+            }
+
+            if (nomes == null || !colunas.keySet().containsAll(COLUNAS_OBRIGATORIAS)) {
+
+                reader.close();
+                throw new BusinessException("O CSV deve começar pelo cabeçalho: nome,descricao,preco,categoria[,imagemUrl].");
+
+            }
+
+        }
+
+        @Override
+        public LinhaImportada proxima() throws IOException {
+
+            String linha;
+            do {
+
+                linha = reader.readLine();
+                if (linha == null) {
+
+                    return null;
+
+                }
+
+                numero++;
+
+            } while (linha.isBlank());
+
+            List<String> campos = dividir(linha);
+            if (campos == null) {
+
+                return LinhaImportada.invalida(numero, "linha: aspas não fechadas.");
+
+            }
+
+            ProdutoDTO dto = new ProdutoDTO();
+            dto.setNome(campo(campos, "nome"));
+            dto.setDescricao(campo(campos, "descricao"));
+            dto.setCategoria(campo(campos, "categoria"));
+            dto.setImagemUrl(campo(campos, "imagemurl"));
+
+            String preco = campo(campos, "preco");
+            if (preco != null) {
+
+                try {
+
+                    dto.setPreco(new BigDecimal(preco));
+
+                } catch (NumberFormatException e) {
+
+                    return LinhaImportada.invalida(numero, "preco: valor inválido.");
+
+                }
+
+            }
+
+            return LinhaImportada.valida(numero, dto);
+
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            reader.close();
+
+        }
+
+        // Valor da coluna sem espaços nas pontas; vazio vira nulo para cair nas validações de obrigatório.
+        private String campo(List<String> campos, String coluna) {
+
+            Integer indice = colunas.get(coluna);
+            if (indice == null || indice >= campos.size()) {
+
+                return null;
+
+            }
+
+            String valor = campos.get(indice).trim();
+            return valor.isEmpty() ? null : valor;
+
+        }
+
+        // Divide a linha nas vírgulas fora de aspas ("" dentro de aspas é uma aspa). Nulo se as aspas não fecham.
+        private static List<String> dividir(String linha) {
+
+            List<String> campos = new ArrayList<>();
+            StringBuilder atual = new StringBuilder();
+            boolean entreAspas = false;
+
+            for (int i = 0; i < linha.length(); i++) {
+
+                char c = linha.charAt(i);
+
+                if (entreAspas) {
+
+                    if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+
+                        atual.append('"');
+                        i++;
+
+                    } else if (c == '"') {
+
+                        entreAspas = false;
+
+                    } else {
+
+                        atual.append(c);
+
+                    }
+
+                } else if (c == '"') {
+
+                    entreAspas = true;
+
+                } else if (c == ',') {
+
+                    campos.add(atual.toString());
+                    atual.setLength(0);
+
+                } else {
+
+                    atual.append(c);
+
+                }
+
+            }
+
+            if (entreAspas) {
+
+                return null;
+
+            }
+
+            campos.add(atual.toString());
+            return campos;
+
+        }
+
+    }
+
 }
\ No newline at end of file
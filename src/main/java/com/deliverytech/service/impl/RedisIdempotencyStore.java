@@ -0,0 +1,128 @@
+package com.deliverytech.service.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.service.IdempotencyStore;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+* Armazenamento de idempotência no Redis, compartilhado entre todas as instâncias da API.
+* Cada chave é um único valor "idempotency::<chave>" com o registro em JSON: a reserva entra com SET NX,
+* e a renovação, a conclusão e a liberação são scripts Lua que só agem se o valor ainda guarda a mesma
+* reserva. Assim não há janela entre ler o resultado e reservar a chave, e uma instância cuja reserva
+* expirou não sobrescreve a de outra.
+*/
+@Component
+@ConditionalOnProperty(prefix = "delivery.idempotency", name = "store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIXO = "idempotency::";
+
+    // Trecho comum: o valor atual existe, ainda não tem resultado e é da reserva ARGV[1].
+    private static final String GUARDA_RESERVA = """
+        local atual = redis.call('GET', KEYS[1])
+        if not atual then return 0 end
+        local registro = cjson.decode(atual)
+        if registro['resultado'] ~= nil and registro['resultado'] ~= cjson.null then return 0 end
+        if registro['reserva'] ~= ARGV[1] then return 0 end
+        """;
+
+    private static final RedisScript<Long> RENOVAR = new DefaultRedisScript<>(GUARDA_RESERVA + """
+        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> CONCLUIR = new DefaultRedisScript<>(GUARDA_RESERVA + """
+        redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> LIBERAR = new DefaultRedisScript<>(GUARDA_RESERVA + """
+        redis.call('DEL', KEYS[1])
+        return 1
+        """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+
+    public RedisIdempotencyStore(RedisConnectionFactory connectionFactory) {
+
+        // Mesmos serializadores do CacheConfig: chaves legíveis e valores em JSON com tipo.
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(serializer);
+        template.afterPropertiesSet();
+        this.redisTemplate = template;
+
+    }
+
+    @Override
+    public Optional<Registro> buscar(String chave) {
+
+        return Optional.ofNullable((Registro) redisTemplate.opsForValue().get(PREFIXO + chave));
+
+    }
+
+    @Override
+    public boolean reservar(String chave, Registro reserva, Duration ttl) {
+
+        // SET NX com expiração: a chave só é reservada se não existe nem reserva nem resultado.
+        Boolean reservado = redisTemplate.opsForValue().setIfAbsent(PREFIXO + chave, reserva, ttl);
+        return Boolean.TRUE.equals(reservado);
+
+    }
+
+    @Override
+    public boolean renovar(String chave, Registro reserva, Duration ttl) {
+
+        return executar(RENOVAR, chave, reserva.reserva(), String.valueOf(ttl.toMillis()));
+
+    }
+
+    @Override
+    public boolean concluir(String chave, Registro reserva, Object resultado, Duration ttl) {
+
+        byte[] concluido = serializer.serialize(reserva.comResultado(resultado));
+        return executar(CONCLUIR, chave, reserva.reserva(), concluido, String.valueOf(ttl.toMillis()));
+
+    }
+
+    @Override
+    public void liberar(String chave, Registro reserva) {
+
+        executar(LIBERAR, chave, reserva.reserva());
+
+    }
+
+    // Os argumentos vão como bytes: textos em UTF-8 e o registro já serializado em JSON.
+    private boolean executar(RedisScript<Long> script, String chave, Object... argumentos) {
+
+        Object[] bytes = new Object[argumentos.length];
+        for (int i = 0; i < argumentos.length; i++) {
+
+            bytes[i] = argumentos[i] instanceof byte[] valor ? valor : argumentos[i].toString().getBytes(StandardCharsets.UTF_8);
+
+        }
+
+        Long resultado = redisTemplate.execute(script, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+            List.of(PREFIXO + chave), bytes);
+        return Long.valueOf(1).equals(resultado);
+
+    }
+
+}
@@ -5,6 +5,7 @@ import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -13,17 +14,31 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
 
+import com.deliverytech.config.GeoProperties;
 import com.deliverytech.dto.request.RestauranteDTO;
 import com.deliverytech.dto.response.RestauranteResponseDTO;
+import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.ConflictException;
 import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.geo.Coordenada;
+import com.deliverytech.geo.IndiceGeografico;
+import com.deliverytech.geo.RestauranteLocalizado;
+import com.deliverytech.geo.RestauranteProximo;
+import com.deliverytech.geo.TabelaCep;
+import com.deliverytech.mapper.RestauranteMapper;
 import com.deliverytech.model.Restaurante;
 import com.deliverytech.model.Usuario;
+import com.deliverytech.pagination.CursorCodec;
+import com.deliverytech.pagination.CursorPage;
 import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.repository.specification.RestauranteSpecifications;
 import com.deliverytech.service.RestauranteService;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -36,6 +51,18 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     @Autowired
     private ModelMapper modelMapper;
+
+    @Autowired
+    private RestauranteMapper restauranteMapper;
+
+    @Autowired
+    private TabelaCep tabelaCep;
+
+    @Autowired
+    private IndiceGeografico indiceGeografico;
+
+    @Autowired
+    private GeoProperties geoProperties;
     
     // Invalida o cache de categorias sempre que um novo restaurante é criado.
     @Override
@@ -50,8 +77,10 @@ public class RestauranteServiceImpl implements RestauranteService {
         
         Restaurante restaurante = modelMapper.map(dto, Restaurante.class);
         restaurante.setAtivo(true);
+        aplicarLocalizacao(restaurante, dto);
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
-        return modelMapper.map(restauranteSalvo, RestauranteResponseDTO.class);
+        atualizarIndice(restauranteSalvo);
+        return restauranteMapper.toResponseDTO(restauranteSalvo);
 
     }
 
@@ -61,7 +90,46 @@ public class RestauranteServiceImpl implements RestauranteService {
 
         // Caching de resultados paginados é complexo, então optamos por não cachear esta listagem geral.
         Page<Restaurante> restaurantesPage = restauranteRepository.findAll(pageable);
-        return restaurantesPage.map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class));
+        return restaurantesPage.map(restaurante -> restauranteMapper.toResponseDTO(restaurante));
+
+    }
+
+    /**
+    * Lista restaurantes por cursor (keyset) em ordem de ID, sem contagem total.
+    * Cada página busca size + 1 linhas com ID maior que o último da página anterior.
+    */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<RestauranteResponseDTO> listarRestaurantesPorCursor(String categoria, Boolean ativo, String cursor, int size) {
+
+        int tamanho = CursorPage.limitarTamanho(size);
+        Long ultimoId = null;
+
+        if (cursor != null && !cursor.isBlank()) {
+
+            try {
+
+                ultimoId = Long.valueOf(CursorCodec.decodificar(cursor, 1)[0]);
+
+            } catch (NumberFormatException e) {
+
+                throw CursorCodec.cursorInvalido(e);
+
+            }
+
+        }
+
+        Specification<Restaurante> filtro = Specification.allOf(
+            RestauranteSpecifications.aposCursor(ultimoId),
+            RestauranteSpecifications.comCategoria(categoria),
+            RestauranteSpecifications.comAtivo(ativo));
+
+        List<Restaurante> restaurantes = restauranteRepository.findBy(filtro,
+            consulta -> consulta.sortBy(RestauranteSpecifications.ORDEM_CURSOR).limit(tamanho + 1).all());
+
+        return CursorPage.of(restaurantes, tamanho,
+            restaurante -> CursorCodec.codificar(restaurante.getId()),
+            restaurante -> restauranteMapper.toResponseDTO(restaurante));
 
     }
 
@@ -74,7 +142,7 @@ public class RestauranteServiceImpl implements RestauranteService {
         System.out.println("### BUSCANDO RESTAURANTE DO BANCO DE DADOS (ID: " + id + ") ###");
         Restaurante restaurante = restauranteRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Restaurante", id)); 
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class);
+        return restauranteMapper.toResponseDTO(restaurante);
 
     }
 
@@ -93,9 +161,11 @@ public class RestauranteServiceImpl implements RestauranteService {
         .orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
         
         modelMapper.map(dto, restaurante);
+        aplicarLocalizacao(restaurante, dto);
         
         Restaurante restauranteAtualizado = restauranteRepository.save(restaurante);
-        return modelMapper.map(restauranteAtualizado, RestauranteResponseDTO.class);
+        atualizarIndice(restauranteAtualizado);
+        return restauranteMapper.toResponseDTO(restauranteAtualizado);
 
     }
 
@@ -116,7 +186,8 @@ public class RestauranteServiceImpl implements RestauranteService {
         restaurante.setAtivo(!restaurante.isAtivo());
         
         restauranteRepository.save(restaurante);
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class);
+        atualizarIndice(restaurante);
+        return restauranteMapper.toResponseDTO(restaurante);
 
     }
 
@@ -129,7 +200,7 @@ public class RestauranteServiceImpl implements RestauranteService {
         System.out.println("### BUSCANDO RESTAURANTES POR CATEGORIA DO BANCO (CATEGORIA: " + categoria + ") ###");
         List<Restaurante> restaurantes = restauranteRepository.findByCategoriaAndAtivoTrue(categoria);
         return restaurantes.stream()
-        .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class))
+        .map(restaurante -> restauranteMapper.toResponseDTO(restaurante))
         .collect(Collectors.toList());
 
     }
@@ -142,11 +213,52 @@ public class RestauranteServiceImpl implements RestauranteService {
         return new BigDecimal("10.00");
     }
     
+    /**
+    * Restaurantes ativos a até raio km do CEP, do mais próximo para o mais distante.
+    * O CEP é localizado na tabela offline e o raio é resolvido no índice geográfico em memória;
+    * o banco só é lido para carregar os restaurantes encontrados, por ID.
+    */
     @Override
+    @Transactional(readOnly = true)
     public List<RestauranteResponseDTO> buscarRestaurantesProximos(String cep, Integer raio) {
 
-        // Implementar lógica de busca por proximidade.
-        return List.of();
+        int raioKm = raio != null ? raio : geoProperties.getRaioPadraoKm();
+        if (raioKm <= 0 || raioKm > geoProperties.getRaioMaximoKm()) {
+
+            throw new BusinessException("O raio deve estar entre 1 e " + geoProperties.getRaioMaximoKm() + " km.");
+
+        }
+
+        Coordenada origem = tabelaCep.localizar(cep)
+        .orElseThrow(() -> new EntityNotFoundException("CEP não encontrado na base de localização: " + cep));
+
+        List<RestauranteProximo> proximos = indiceGeografico.buscar(origem, raioKm, geoProperties.getMaxResultados());
+        if (proximos.isEmpty()) {
+
+            return List.of();
+
+        }
+
+        Map<Long, Restaurante> porId = restauranteRepository.findAllById(proximos.stream().map(RestauranteProximo::id).toList())
+        .stream()
+        .collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+
+        // O índice pode estar um pouco atrás do banco (escritas de outra instância): confere o status ao montar a resposta.
+        List<RestauranteResponseDTO> resultado = new ArrayList<>(proximos.size());
+        for (RestauranteProximo proximo : proximos) {
+
+            Restaurante restaurante = porId.get(proximo.id());
+            if (restaurante != null && restaurante.isAtivo()) {
+
+                RestauranteResponseDTO dto = restauranteMapper.toResponseDTO(restaurante);
+                dto.setDistanciaKm(Math.round(proximo.distanciaKm() * 100) / 100.0);
+                resultado.add(dto);
+
+            }
+
+        }
+
+        return resultado;
 
     }
     
@@ -167,6 +279,49 @@ public class RestauranteServiceImpl implements RestauranteService {
 
         }
         restauranteRepository.deleteById(id);
+        indiceGeografico.remover(List.of(id));
+
+    }
+    
+    /**
+    * Coordenadas informadas no cadastro têm prioridade; sem elas, são obtidas pelo CEP na tabela offline.
+    * Sem coordenadas nem CEP, o restaurante fica fora da busca por proximidade.
+    */
+    private void aplicarLocalizacao(Restaurante restaurante, RestauranteDTO dto) {
+
+        if ((dto.getLatitude() == null) != (dto.getLongitude() == null)) {
+
+            throw new BusinessException("Informe latitude e longitude juntas.");
+
+        }
+
+        restaurante.setCep(dto.getCep());
+        restaurante.setLatitude(dto.getLatitude());
+        restaurante.setLongitude(dto.getLongitude());
+
+        if (dto.getLatitude() == null && dto.getCep() != null && !dto.getCep().isBlank()) {
+
+            Coordenada coordenada = tabelaCep.localizar(dto.getCep())
+            .orElseThrow(() -> new BusinessException("CEP " + dto.getCep() + " sem coordenadas conhecidas. Informe latitude e longitude."));
+            restaurante.setLatitude(coordenada.latitude());
+            restaurante.setLongitude(coordenada.longitude());
+
+        }
+
+    }
+
+    private void atualizarIndice(Restaurante restaurante) {
+
+        RestauranteLocalizado localizado = RestauranteLocalizado.de(restaurante);
+        if (localizado != null) {
+
+            indiceGeografico.indexar(List.of(localizado));
+
+        } else {
+
+            indiceGeografico.remover(List.of(restaurante.getId()));
+
+        }
 
     }
     
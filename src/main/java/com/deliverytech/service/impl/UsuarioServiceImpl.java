@@ -5,10 +5,13 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 
 import com.deliverytech.dto.request.RegisterRequest;
 import com.deliverytech.exception.ConflictException;
+import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.model.Usuario;
 import com.deliverytech.repository.UsuarioRepository;
 
@@ -16,6 +19,9 @@ import com.deliverytech.repository.UsuarioRepository;
 @Service
 public class UsuarioServiceImpl implements UserDetailsService {
 
+    // Versão devolvida para usuários inativos ou inexistentes: nenhum token é emitido com ela.
+    public static final int VERSAO_TOKEN_INVALIDA = -1;
+
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -43,6 +49,42 @@ public class UsuarioServiceImpl implements UserDetailsService {
 
     }
 
+    /**
+    * Versão vigente dos tokens do usuário, usada pela autenticação stateless para recusar
+    * tokens revogados ou de usuários desativados sem carregar o usuário a cada requisição.
+    * O resultado fica no cache "versoesToken", com o ID do usuário como chave. Quem alterar a versão ou o
+    * campo ativo pela aplicação deve remover a entrada, como faz {@link #revogarTokens(Long)}; alterações
+    * feitas direto no banco (como desativar um usuário) só valem quando a entrada expira, por isso o TTL curto.
+    */
+    @Cacheable(value = "versoesToken", key = "#usuarioId")
+    public int buscarVersaoToken(Long usuarioId) {
+
+        return usuarioRepository.findById(usuarioId)
+        .filter(Usuario::isAtivo)
+        .map(Usuario::getVersaoToken)
+        .orElse(VERSAO_TOKEN_INVALIDA);
+
+    }
+
+    /**
+    * Invalida todos os tokens já emitidos para o usuário incrementando sua versão.
+    * Remove dos caches a versão e o próprio usuário (que é usado no login para emitir o novo token).
+    * A remoção acontece depois do save, quando a nova versão já está gravada no banco.
+    */
+    @Caching(evict = {
+        @CacheEvict(value = "versoesToken", key = "#result.id"),
+        @CacheEvict(value = "usuarios", key = "#result.email")
+    })
+    public Usuario revogarTokens(Long usuarioId) {
+
+        Usuario usuario = usuarioRepository.findById(usuarioId)
+        .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado: " + usuarioId));
+
+        usuario.setVersaoToken(usuario.getVersaoToken() + 1);
+        return usuarioRepository.save(usuario);
+
+    }
+
     /**
      * Registra um novo usuário.
      * Não há invalidação de cache aqui, pois estamos criando um dado novo,
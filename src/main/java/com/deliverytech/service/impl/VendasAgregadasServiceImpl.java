@@ -0,0 +1,270 @@
+package com.deliverytech.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.config.RelatorioProperties;
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.event.PedidoAlteradoEvent;
+import com.deliverytech.service.VendasAgregadasService;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+
+/**
+* Mantém a tabela venda_diaria (restaurante × dia de criação × status atual).
+* Cada evento de pedido soma ou subtrai uma linha com MERGE dentro da transação do pedido, então o
+* agregado nunca registra uma alteração desfeita. A reconciliação recalcula dias fechados a partir
+* da tabela pedido (uma leitura por faixa do índice de data) e corrige só as linhas divergentes, com os
+* pedidos e as linhas do agregado do período bloqueados para nenhuma mudança de status cair entre a
+* leitura e a correção. Os dois caminhos bloqueiam o pedido antes da linha do agregado.
+*/
+@Service
+public class VendasAgregadasServiceImpl implements VendasAgregadasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VendasAgregadasServiceImpl.class);
+
+    // Soma a variação na linha do restaurante/dia/status, criando a linha se ela ainda não existir.
+    private static final String SQL_SOMAR =
+        "MERGE INTO venda_diaria v " +
+        "USING (VALUES (CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2)))) " +
+        "AS d (restaurante_id, dia, status, quantidade, valor_total) " +
+        "ON v.restaurante_id = d.restaurante_id AND v.dia = d.dia AND v.status = d.status " +
+        "WHEN MATCHED THEN UPDATE SET quantidade = v.quantidade + d.quantidade, valor_total = v.valor_total + d.valor_total " +
+        "WHEN NOT MATCHED THEN INSERT (restaurante_id, dia, status, quantidade, valor_total) " +
+        "VALUES (d.restaurante_id, d.dia, d.status, d.quantidade, d.valor_total)";
+
+    // Mesma forma, mas grava o valor recalculado em vez de somar (usado pela reconciliação).
+    private static final String SQL_GRAVAR =
+        "MERGE INTO venda_diaria v " +
+        "USING (VALUES (CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2)))) " +
+        "AS d (restaurante_id, dia, status, quantidade, valor_total) " +
+        "ON v.restaurante_id = d.restaurante_id AND v.dia = d.dia AND v.status = d.status " +
+        "WHEN MATCHED THEN UPDATE SET quantidade = d.quantidade, valor_total = d.valor_total " +
+        "WHEN NOT MATCHED THEN INSERT (restaurante_id, dia, status, quantidade, valor_total) " +
+        "VALUES (d.restaurante_id, d.dia, d.status, d.quantidade, d.valor_total)";
+
+    // Bloqueia os pedidos do período antes do agregado. Uma mudança de status também bloqueia o pedido
+    // primeiro (PedidoRepository.findByIdParaAtualizacao) e só depois faz o MERGE em venda_diaria, então as
+    // duas nunca esperam uma pela outra em ordem inversa: a mudança espera a reconciliação terminar e aplica
+    // a sua variação sobre o valor corrigido, ou a reconciliação espera a mudança e já a inclui na leitura.
+    private static final String SQL_BLOQUEAR_PEDIDOS =
+        "SELECT id FROM pedido WHERE data_pedido >= ? AND data_pedido < ? FOR UPDATE";
+
+    private static final String SQL_BLOQUEAR_AGREGADO =
+        "SELECT restaurante_id, dia, status, quantidade, valor_total FROM venda_diaria WHERE dia BETWEEN ? AND ? FOR UPDATE";
+
+    private static final String SQL_RECALCULAR =
+        "SELECT restaurante_id, CAST(data_pedido AS DATE) AS dia, status, COUNT(*) AS quantidade, " +
+        "COALESCE(SUM(valor_total), 0) AS valor_total " +
+        "FROM pedido WHERE data_pedido >= ? AND data_pedido < ? AND restaurante_id IS NOT NULL AND status IS NOT NULL " +
+        "GROUP BY restaurante_id, CAST(data_pedido AS DATE), status";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RelatorioProperties properties;
+
+    // A reconciliação lê e corrige numa transação só; também é chamada pelos métodos agendados desta classe.
+    private final TransactionTemplate transactionTemplate;
+
+    public VendasAgregadasServiceImpl(JdbcTemplate jdbcTemplate, RelatorioProperties properties,
+        PlatformTransactionManager transactionManager) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+    }
+
+    /**
+    * Ouvinte síncrono: roda dentro da transação que alterou o pedido (o registro no outbox exige uma),
+    * que já tem o pedido bloqueado.
+    * O dia é sempre o de criação do pedido; uma mudança de status move a contagem entre as linhas do mesmo dia.
+    */
+    @EventListener
+    public void aoAlterarPedido(PedidoAlteradoEvent evento) {
+
+        if (evento.restauranteId() == null || evento.dataPedido() == null || evento.status() == null
+            || evento.status() == evento.statusAnterior()) {
+
+            return;
+
+        }
+
+        LocalDate dia = evento.dataPedido().toLocalDate();
+        BigDecimal valor = evento.valorTotal() != null ? evento.valorTotal() : BigDecimal.ZERO;
+
+        if (evento.statusAnterior() != null) {
+
+            somar(evento.restauranteId(), dia, evento.statusAnterior(), -1, valor.negate());
+
+        }
+
+        somar(evento.restauranteId(), dia, evento.status(), 1, valor);
+
+    }
+
+    @Override
+    public int reconciliar(LocalDate inicio, LocalDate fim) {
+
+        Integer correcoes = transactionTemplate.execute(status -> corrigir(inicio, fim));
+        if (correcoes != null && correcoes > 0) {
+
+            logger.warn("Reconciliação de vendas {} a {}: {} linhas do agregado corrigidas.", inicio, fim, correcoes);
+
+        }
+
+        return correcoes != null ? correcoes : 0;
+
+    }
+
+    private int corrigir(LocalDate inicio, LocalDate fim) {
+
+        Timestamp inicioPeriodo = Timestamp.valueOf(inicio.atStartOfDay());
+        Timestamp fimPeriodo = Timestamp.valueOf(fim.plusDays(1).atStartOfDay());
+
+        // Os bloqueios vêm antes das leituras: uma mudança de status já em andamento termina (e aparece nas
+        // leituras) antes de a reconciliação seguir, e as seguintes esperam o commit da correção.
+        jdbcTemplate.query(SQL_BLOQUEAR_PEDIDOS, rs -> { }, inicioPeriodo, fimPeriodo);
+
+        Map<Chave, Valores> atual = new HashMap<>();
+        jdbcTemplate.query(SQL_BLOQUEAR_AGREGADO, rs -> {
+
+            Chave chave = new Chave(rs.getLong("restaurante_id"), rs.getDate("dia").toLocalDate(), rs.getString("status"));
+            atual.put(chave, new Valores(rs.getLong("quantidade"), rs.getBigDecimal("valor_total")));
+
+        }, Date.valueOf(inicio), Date.valueOf(fim));
+
+        Map<Chave, Valores> recalculado = new HashMap<>();
+        jdbcTemplate.query(SQL_RECALCULAR, rs -> {
+
+            Chave chave = new Chave(rs.getLong("restaurante_id"), rs.getDate("dia").toLocalDate(), rs.getString("status"));
+            recalculado.put(chave, new Valores(rs.getLong("quantidade"), rs.getBigDecimal("valor_total")));
+
+        }, inicioPeriodo, fimPeriodo);
+
+        int correcoes = 0;
+        for (Map.Entry<Chave, Valores> entrada : recalculado.entrySet()) {
+
+            if (!entrada.getValue().equals(atual.get(entrada.getKey()))) {
+
+                Chave chave = entrada.getKey();
+                jdbcTemplate.update(SQL_GRAVAR, chave.restauranteId(), Date.valueOf(chave.dia()), chave.status(),
+                    entrada.getValue().quantidade(), entrada.getValue().valorTotal());
+                correcoes++;
+
+            }
+
+        }
+
+        Set<Chave> sobrando = new HashSet<>(atual.keySet());
+        sobrando.removeAll(recalculado.keySet());
+        for (Chave chave : sobrando) {
+
+            // Linhas zeradas por mudanças de status também saem aqui, sem contar como divergência.
+            jdbcTemplate.update("DELETE FROM venda_diaria WHERE restaurante_id = ? AND dia = ? AND status = ?",
+                chave.restauranteId(), Date.valueOf(chave.dia()), chave.status());
+            if (!atual.get(chave).zerado()) {
+
+                correcoes++;
+
+            }
+
+        }
+
+        return correcoes;
+
+    }
+
+    @Scheduled(cron = "${delivery.relatorios.reconciliacao-cron:0 30 3 * * *}")
+    public void reconciliarDiasFechados() {
+
+        LocalDate ontem = LocalDate.now().minusDays(1);
+        reconciliar(ontem.minusDays(properties.getDiasReconciliacao() - 1L), ontem);
+
+    }
+
+    // Na primeira subida após a migração o agregado está vazio: monta a partir de todo o histórico.
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+
+        Boolean preenchido = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM venda_diaria)", Boolean.class);
+        if (Boolean.TRUE.equals(preenchido)) {
+
+            return;
+
+        }
+
+        Map<String, Object> periodo = jdbcTemplate.queryForMap("SELECT MIN(data_pedido) AS inicio, MAX(data_pedido) AS fim FROM pedido");
+        if (periodo.get("inicio") instanceof Timestamp inicio && periodo.get("fim") instanceof Timestamp fim) {
+
+            int correcoes = reconciliar(inicio.toLocalDateTime().toLocalDate(), fim.toLocalDateTime().toLocalDate());
+            logger.info("Agregado de vendas montado a partir do histórico de pedidos ({} linhas).", correcoes);
+
+        }
+
+    }
+
+    private void somar(Long restauranteId, LocalDate dia, StatusPedido status, long quantidade, BigDecimal valor) {
+
+        Object[] parametros = { restauranteId, Date.valueOf(dia), status.name(), quantidade, valor };
+
+        try {
+
+            jdbcTemplate.update(SQL_SOMAR, parametros);
+
+        } catch (DuplicateKeyException e) {
+
+            // Outra transação criou a mesma linha entre a busca e a inserção do MERGE; agora ela existe.
+            jdbcTemplate.update(SQL_SOMAR, parametros);
+
+        }
+
+    }
+
+    private record Chave(Long restauranteId, LocalDate dia, String status) {
+    }
+
+    private record Valores(long quantidade, BigDecimal valorTotal) {
+
+        boolean zerado() {
+
+            return quantidade == 0 && valorTotal.signum() == 0;
+
+        }
+
+        // Compara valores monetários pela grandeza, ignorando a escala (50.0 e 50.00 são iguais).
+        @Override
+        public boolean equals(Object outro) {
+
+            return outro instanceof Valores v && quantidade == v.quantidade && valorTotal.compareTo(v.valorTotal) == 0;
+
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(quantidade, valorTotal.stripTrailingZeros());
+
+        }
+
+    }
+
+}
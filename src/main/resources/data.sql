@@ -1,20 +1,23 @@
 -- data.sql
 
--- Inserindo usuários sem especificar o ID. O banco de dados irá gerar automaticamente.
+-- Usuários com ID explícito; no fim do bloco a sequence usuario_seq é reposicionada acima deles.
 -- Senha para todos os usuários de teste: "123456".
-INSERT INTO USUARIO (NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES ('Admin Geral', 'admin@delivery.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'ADMIN', true, NULL);
-INSERT INTO USUARIO (NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES ('Dono Pizzaria', 'dono.pizzaria@delivery.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'RESTAURANTE', true, 1);
-INSERT INTO USUARIO (NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES ('Dono Cantina', 'dono.cantina@delivery.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'RESTAURANTe', true, 2);
-INSERT INTO USUARIO (NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES ('Ana Cliente', 'ana.cliente@email.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'CLIENTE', true, NULL);
-INSERT INTO USUARIO (NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES ('Carlos Entregador', 'carlos.entregador@delivery.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'ENTREGADOR', true, NULL);
+INSERT INTO USUARIO (ID, NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES (1, 'Admin Geral', 'admin@delivery.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'ADMIN', true, NULL);
+INSERT INTO USUARIO (ID, NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES (2, 'Dono Pizzaria', 'dono.pizzaria@delivery.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'RESTAURANTE', true, 1);
+INSERT INTO USUARIO (ID, NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES (3, 'Dono Cantina', 'dono.cantina@delivery.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'RESTAURANTE', true, 2);
+INSERT INTO USUARIO (ID, NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES (4, 'Ana Cliente', 'ana.cliente@email.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'CLIENTE', true, NULL);
+INSERT INTO USUARIO (ID, NOME, EMAIL, SENHA, ROLE, ATIVO, RESTAURANTE_ID) VALUES (5, 'Carlos Entregador', 'carlos.entregador@delivery.com', '$2a$10$DnUtdBLQhp7osUMrSZeTwuey5kZFXiLUTm/IJ9SYyfgJRT64GWWJq', 'ENTREGADOR', true, NULL);
+
+-- O Hibernate trata o valor lido da sequence como o topo do bloco de 50 ids (otimizador pooled).
+ALTER SEQUENCE usuario_seq RESTART WITH (SELECT MAX(ID) + 50 FROM USUARIO);
 
 -- Clientes (com ID para manter a referência nos pedidos).
 INSERT INTO CLIENTE (ID, NOME, EMAIL, TELEFONE, ENDERECO, ATIVO) VALUES (4, 'Ana Cliente', 'ana.cliente@email.com', '11999998888', 'Rua das Flores, 123, Apto 45', true);
 
 -- Restaurantes (com ID para manter a referência nos produtos e pedidos).
-INSERT INTO RESTAURANTE (ID, NOME, CATEGORIA, ENDERECO, TELEFONE, TAXA_ENTREGA, TEMPO_ENTREGA, HORARIO_FUNCIONAMENTO, ATIVO) VALUES (1, 'Pizzaria Italiana Deliciosa', 'Italiana', 'Rua da Pizza, 10', '11987654321', 5.00, 45, '18:00-23:00', true);
-INSERT INTO RESTAURANTE (ID, NOME, CATEGORIA, ENDERECO, TELEFONE, TAXA_ENTREGA, TEMPO_ENTREGA, HORARIO_FUNCIONAMENTO, ATIVO) VALUES (2, 'Cantina da Nona', 'Italiana', 'Av. Massa, 20', '11912345678', 7.50, 50, '19:00-00:00', true);
-INSERT INTO RESTAURANTE (ID, NOME, CATEGORIA, ENDERECO, TELEFONE, TAXA_ENTREGA, TEMPO_ENTREGA, HORARIO_FUNCIONAMENTO, ATIVO) VALUES (3, 'Sushi House', 'Japonesa', 'Travessa do Peixe, 30', '11955554444', 12.00, 60, '12:00-22:00', false);
+INSERT INTO RESTAURANTE (ID, NOME, CATEGORIA, ENDERECO, TELEFONE, TAXA_ENTREGA, TEMPO_ENTREGA, HORARIO_FUNCIONAMENTO, ATIVO, CEP, LATITUDE, LONGITUDE) VALUES (1, 'Pizzaria Italiana Deliciosa', 'Italiana', 'Rua da Pizza, 10', '11987654321', 5.00, 45, '18:00-23:00', true, '01414-000', -23.5594, -46.6644);
+INSERT INTO RESTAURANTE (ID, NOME, CATEGORIA, ENDERECO, TELEFONE, TAXA_ENTREGA, TEMPO_ENTREGA, HORARIO_FUNCIONAMENTO, ATIVO, CEP, LATITUDE, LONGITUDE) VALUES (2, 'Cantina da Nona', 'Italiana', 'Av. Massa, 20', '11912345678', 7.50, 50, '19:00-00:00', true, '04101-000', -23.5870, -46.6362);
+INSERT INTO RESTAURANTE (ID, NOME, CATEGORIA, ENDERECO, TELEFONE, TAXA_ENTREGA, TEMPO_ENTREGA, HORARIO_FUNCIONAMENTO, ATIVO, CEP, LATITUDE, LONGITUDE) VALUES (3, 'Sushi House', 'Japonesa', 'Travessa do Peixe, 30', '11955554444', 12.00, 60, '12:00-22:00', false, '01311-000', -23.5657, -46.6513);
 
 -- Produtos.
 INSERT INTO PRODUTO (ID, NOME, DESCRICAO, PRECO, CATEGORIA, DISPONIVEL, RESTAURANTE_ID) VALUES (1, 'Pizza Margherita', 'Molho de tomate, mussarela e manjericão', 45.00, 'Pizza Salgada', true, 1);
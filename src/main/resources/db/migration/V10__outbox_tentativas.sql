@@ -0,0 +1,10 @@
+-- V10__outbox_tentativas.sql
+-- Limite de tentativas do relay do outbox. Um evento que falha espera até "proxima_tentativa"
+-- (espera exponencial) e, depois de delivery.outbox.max-tentativas falhas, recebe "falhou_em" e sai
+-- da fila (dead-letter). O índice por pedido atende a consulta que ignora os eventos de pedidos
+-- com um evento anterior em espera ou com falha definitiva.
+
+ALTER TABLE outbox_evento ADD COLUMN proxima_tentativa TIMESTAMP(6);
+ALTER TABLE outbox_evento ADD COLUMN falhou_em TIMESTAMP(6);
+
+CREATE INDEX idx_outbox_pedido ON outbox_evento (pedido_id, id);
@@ -0,0 +1,70 @@
+-- V1__schema_inicial.sql
+-- Esquema inicial equivalente ao mapeamento JPA das entidades (validado com ddl-auto: validate).
+-- As chaves estrangeiras ficam para a V3, depois dos índices da V2.
+
+CREATE TABLE cliente (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(255),
+    email VARCHAR(255),
+    telefone VARCHAR(255),
+    endereco VARCHAR(255),
+    ativo BOOLEAN NOT NULL
+);
+
+CREATE TABLE restaurante (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(255),
+    categoria VARCHAR(255),
+    endereco VARCHAR(255),
+    telefone VARCHAR(255),
+    taxa_entrega NUMERIC(38, 2),
+    ativo BOOLEAN NOT NULL,
+    tempo_entrega INTEGER,
+    horario_funcionamento VARCHAR(255),
+    CONSTRAINT uk_restaurante_telefone UNIQUE (telefone)
+);
+
+CREATE TABLE produto (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(255),
+    descricao VARCHAR(255),
+    preco NUMERIC(38, 2),
+    categoria VARCHAR(255),
+    disponivel BOOLEAN NOT NULL,
+    restaurante_id BIGINT
+);
+
+CREATE TABLE pedido (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    numero_pedido VARCHAR(255),
+    data_pedido TIMESTAMP(6),
+    endereco_entrega VARCHAR(255),
+    subtotal NUMERIC(38, 2),
+    taxa_entrega NUMERIC(38, 2),
+    valor_total NUMERIC(38, 2),
+    observacoes VARCHAR(255),
+    status VARCHAR(255),
+    cliente_id BIGINT,
+    restaurante_id BIGINT
+);
+
+CREATE TABLE item_pedido (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    quantidade INTEGER NOT NULL,
+    preco_unitario NUMERIC(38, 2),
+    subtotal NUMERIC(38, 2),
+    pedido_id BIGINT,
+    produto_id BIGINT
+);
+
+CREATE TABLE usuario (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    nome VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    ativo BOOLEAN NOT NULL,
+    data_criacao TIMESTAMP(6),
+    restaurante_id BIGINT,
+    CONSTRAINT uk_usuario_email UNIQUE (email)
+);
@@ -0,0 +1,26 @@
+-- V2__indices_consultas_frequentes.sql
+-- Índices compostos para os filtros mais usados pelos repositórios.
+-- A coluna de igualdade vem primeiro e a de ordenação/intervalo (data_pedido) depois,
+-- para que o banco filtre e ordene pelo próprio índice, sem varrer a tabela.
+-- Os nomes acompanham as anotações @Table(indexes = ...) das entidades.
+
+-- Pedidos de um cliente, de um restaurante ou em um status, do mais recente para o mais antigo.
+CREATE INDEX idx_pedido_cliente_data ON pedido (cliente_id, data_pedido);
+CREATE INDEX idx_pedido_restaurante_data ON pedido (restaurante_id, data_pedido);
+CREATE INDEX idx_pedido_status_data ON pedido (status, data_pedido);
+
+-- Listagem por cursor (ORDER BY data_pedido DESC, id DESC) e filtros apenas por período.
+CREATE INDEX idx_pedido_data_id ON pedido (data_pedido, id);
+
+-- Busca pelo número do pedido (gerado na confirmação e único).
+CREATE UNIQUE INDEX uk_pedido_numero ON pedido (numero_pedido);
+
+-- Itens carregados junto com o pedido (JOIN FETCH p.itens).
+CREATE INDEX idx_item_pedido_pedido ON item_pedido (pedido_id);
+
+-- Cardápio de um restaurante e vitrine por categoria (sempre com disponivel = true).
+CREATE INDEX idx_produto_restaurante_disponivel ON produto (restaurante_id, disponivel);
+CREATE INDEX idx_produto_categoria_disponivel ON produto (categoria, disponivel);
+
+-- Login/cadastro de cliente pelo e-mail.
+CREATE INDEX idx_cliente_email ON cliente (email);
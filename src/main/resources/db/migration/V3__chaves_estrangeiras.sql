@@ -0,0 +1,11 @@
+-- V3__chaves_estrangeiras.sql
+-- O H2 só reaproveita para a constraint um índice com exatamente as colunas da chave: é o caso de
+-- idx_item_pedido_pedido (V2). Para as demais ele cria um índice próprio só da coluna da FK
+-- (FK_..._INDEX_n), mesmo existindo o composto (coluna_fk, data_pedido)/(coluna_fk, disponivel); esse
+-- índice concorre com o composto na escolha do plano, o que o PlanoDeConsultaIndicesTest leva em conta.
+
+ALTER TABLE produto ADD CONSTRAINT fk_produto_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurante (id);
+ALTER TABLE pedido ADD CONSTRAINT fk_pedido_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id);
+ALTER TABLE pedido ADD CONSTRAINT fk_pedido_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurante (id);
+ALTER TABLE item_pedido ADD CONSTRAINT fk_item_pedido_pedido FOREIGN KEY (pedido_id) REFERENCES pedido (id);
+ALTER TABLE item_pedido ADD CONSTRAINT fk_item_pedido_produto FOREIGN KEY (produto_id) REFERENCES produto (id);
@@ -0,0 +1,5 @@
+-- V4__versao_token_usuario.sql
+-- Versão dos tokens do usuário: cada token JWT carrega a versão vigente na emissão e deixa de
+-- valer quando ela é incrementada (logout de todas as sessões ou desativação do usuário).
+
+ALTER TABLE usuario ADD COLUMN versao_token INTEGER DEFAULT 0 NOT NULL;
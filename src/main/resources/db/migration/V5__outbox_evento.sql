@@ -0,0 +1,15 @@
+-- V5__outbox_evento.sql
+-- Outbox dos eventos de pedido: gravados na mesma transação da alteração do pedido e
+-- publicados depois pelo relay. O índice atende a busca dos pendentes em ordem de id.
+
+CREATE TABLE outbox_evento (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    pedido_id BIGINT NOT NULL,
+    tipo VARCHAR(50) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    criado_em TIMESTAMP(6) NOT NULL,
+    publicado_em TIMESTAMP(6),
+    tentativas INTEGER NOT NULL
+);
+
+CREATE INDEX idx_outbox_pendente ON outbox_evento (publicado_em, id);
@@ -0,0 +1,15 @@
+-- V6__venda_diaria.sql
+-- Agregado de pedidos por restaurante, dia de criação e status, mantido a cada criação e mudança
+-- de status. Os relatórios de vendas leem esta tabela em vez de agrupar o histórico de pedidos.
+-- O conteúdo inicial vem da reconciliação, que recalcula o agregado a partir da tabela pedido.
+
+CREATE TABLE venda_diaria (
+    restaurante_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    valor_total NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (restaurante_id, dia, status)
+);
+
+CREATE INDEX idx_venda_diaria_dia ON venda_diaria (dia);
@@ -0,0 +1,8 @@
+-- V7__sequencia_produto.sql
+-- O id do produto passa a vir da sequence produto_seq (alocação de 50 em 50, otimizador pooled do
+-- Hibernate), para que a importação em massa faça inserts em lote. O otimizador trata o valor lido
+-- como o topo do bloco, então a sequence recomeça em MAX(id) + 50: o primeiro bloco começa em MAX(id) + 1.
+
+CREATE SEQUENCE produto_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE produto_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM produto);
@@ -0,0 +1,20 @@
+-- V8__sequencias_entidades.sql
+-- Pedido, item de pedido, cliente, restaurante e usuário passam a usar sequences com alocação de 50
+-- em 50, como o produto (V7). Com IDENTITY o Hibernate executava cada insert na hora para descobrir
+-- a chave, e o pedido com N itens custava N + 1 inserts; com o id reservado em memória, os inserts
+-- saem em lotes JDBC. Cada sequence recomeça em MAX(id) + 50 pelo mesmo motivo da V7.
+
+CREATE SEQUENCE pedido_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE pedido_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM pedido);
+
+CREATE SEQUENCE item_pedido_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE item_pedido_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM item_pedido);
+
+CREATE SEQUENCE cliente_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE cliente_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM cliente);
+
+CREATE SEQUENCE restaurante_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE restaurante_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM restaurante);
+
+CREATE SEQUENCE usuario_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE usuario_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM usuario);
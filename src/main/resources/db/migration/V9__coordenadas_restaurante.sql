@@ -0,0 +1,8 @@
+-- V9__coordenadas_restaurante.sql
+-- Localização do restaurante para a busca por proximidade. As coordenadas vêm do cadastro ou da
+-- tabela de CEPs embarcada na aplicação; restaurantes sem coordenadas ficam fora da busca até
+-- serem atualizados. A busca por raio é feita em um índice em memória, então as colunas não têm índice.
+
+ALTER TABLE restaurante ADD COLUMN cep VARCHAR(255);
+ALTER TABLE restaurante ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE restaurante ADD COLUMN longitude DOUBLE PRECISION;
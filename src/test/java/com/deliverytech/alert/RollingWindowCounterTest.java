@@ -0,0 +1,45 @@
+package com.deliverytech.alert;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class RollingWindowCounterTest {
+
+    @Test
+    @DisplayName("Deve calcular o volume apenas dos últimos intervalos")
+    void janela_DeveConsiderarSomenteOsIntervalosPedidos() {
+
+        RollingWindowCounter contador = new RollingWindowCounter(3);
+
+        // Acumulados: +10 requisições por intervalo; erros apenas nos dois últimos.
+        contador.registrar(0, 0);
+        contador.registrar(10, 0);
+        contador.registrar(20, 0);
+        contador.registrar(30, 5);
+        contador.registrar(40, 15);
+
+        assertThat(contador.janela(1)).isEqualTo(new RollingWindowCounter.Janela(10, 10));
+        assertThat(contador.janela(2)).isEqualTo(new RollingWindowCounter.Janela(20, 15));
+        assertThat(contador.janela(3).taxaErro()).isEqualTo(0.5);
+
+    }
+
+    @Test
+    @DisplayName("Deve usar o histórico disponível enquanto o anel não está cheio")
+    void janela_ComPoucoHistorico_DeveUsarLeituraMaisAntiga() {
+
+        RollingWindowCounter contador = new RollingWindowCounter(10);
+
+        assertThat(contador.janela(5)).isEqualTo(new RollingWindowCounter.Janela(0, 0));
+
+        contador.registrar(4, 1);
+        contador.registrar(12, 3);
+
+        assertThat(contador.janela(5)).isEqualTo(new RollingWindowCounter.Janela(8, 2));
+
+    }
+
+}
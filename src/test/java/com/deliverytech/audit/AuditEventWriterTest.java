@@ -0,0 +1,162 @@
+package com.deliverytech.audit;
+
+import com.deliverytech.config.AuditProperties;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class AuditEventWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("Deve gravar o evento com os mesmos campos do formato anterior")
+    void publicar_DeveGravarJsonDoEvento() {
+
+        List<String> gravados = new CopyOnWriteArrayList<>();
+        AuditEventWriter writer = new AuditEventWriter(propriedades(16, AuditProperties.PoliticaOverflow.DESCARTAR),
+            objectMapper, gravados::add);
+
+        writer.publicar(new AuditEvent.SecurityEvent(Instant.parse("2025-01-01T10:00:00Z"), "LOGIN", "ana", true, "abc"));
+        writer.encerrar();
+
+        assertThat(String.join("\n", gravados)).isEqualTo(
+            "{\"timestamp\":\"2025-01-01T10:00:00Z\",\"type\":\"SECURITY_EVENT\",\"event\":\"LOGIN\","
+            + "\"details\":\"ana\",\"success\":true,\"correlationId\":\"abc\"}");
+
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar os eventos quando a fila está cheia")
+    void publicar_ComFilaCheiaEPoliticaDescartar_DeveContarDescartes() throws Exception {
+
+        CountDownLatch liberarEscrita = new CountDownLatch(1);
+        List<String> gravados = new CopyOnWriteArrayList<>();
+        AuditEventWriter writer = new AuditEventWriter(propriedades(4, AuditProperties.PoliticaOverflow.DESCARTAR),
+            objectMapper, linhas -> {
+
+                aguardar(liberarEscrita);
+                gravados.add(linhas);
+
+            });
+
+        // O primeiro evento prende o escritor; os 4 seguintes enchem a fila e os 3 últimos são descartados.
+        writer.publicar(evento(0));
+        aguardarFilaVazia(writer);
+        for (int i = 1; i <= 7; i++) {
+
+            writer.publicar(evento(i));
+
+        }
+
+        assertThat(writer.descartados()).isEqualTo(3);
+        assertThat(writer.tamanhoFila()).isEqualTo(4);
+
+        liberarEscrita.countDown();
+        writer.encerrar();
+
+        assertThat(linhas(gravados)).hasSize(5);
+
+    }
+
+    @Test
+    @DisplayName("Deve esperar por espaço quando a política é bloquear, sem perder eventos")
+    void publicar_ComPoliticaBloquear_NaoDevePerderEventos() {
+
+        List<String> gravados = new CopyOnWriteArrayList<>();
+        AuditEventWriter writer = new AuditEventWriter(propriedades(4, AuditProperties.PoliticaOverflow.BLOQUEAR),
+            objectMapper, gravados::add);
+
+        for (int i = 0; i < 1_000; i++) {
+
+            writer.publicar(evento(i));
+
+        }
+        writer.encerrar();
+
+        assertThat(writer.descartados()).isZero();
+        assertThat(linhas(gravados)).hasSize(1_000);
+
+    }
+
+    @Test
+    @DisplayName("Deve gravar cada evento separadamente e descarregar o destino uma vez por lote")
+    void publicar_DeveGravarUmRegistroPorEventoEDescarregarPorLote() {
+
+        List<String> gravados = new CopyOnWriteArrayList<>();
+        AtomicInteger descargas = new AtomicInteger();
+        AuditEventWriter writer = new AuditEventWriter(propriedades(16, AuditProperties.PoliticaOverflow.BLOQUEAR),
+            objectMapper, gravados::add, descargas::incrementAndGet);
+
+        for (int i = 0; i < 10; i++) {
+
+            writer.publicar(evento(i));
+
+        }
+        writer.encerrar();
+
+        assertThat(gravados).hasSize(10).allSatisfy(registro -> assertThat(registro).doesNotContain("\n"));
+        assertThat(descargas.get()).isBetween(5, 10);
+
+    }
+
+    private AuditProperties propriedades(int capacidade, AuditProperties.PoliticaOverflow overflow) {
+
+        AuditProperties properties = new AuditProperties();
+        properties.setCapacidade(capacidade);
+        properties.setTamanhoLote(2);
+        properties.setOverflow(overflow);
+        return properties;
+
+    }
+
+    private AuditEvent evento(int i) {
+
+        return new AuditEvent.UserAction(Instant.now(), "1", "CREATE", "Pedido", i, null);
+
+    }
+
+    private List<String> linhas(List<String> gravados) {
+
+        return gravados.stream().flatMap(String::lines).toList();
+
+    }
+
+    private void aguardarFilaVazia(AuditEventWriter writer) throws InterruptedException {
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.tamanhoFila() > 0 && System.nanoTime() < limite) {
+
+            Thread.sleep(1);
+
+        }
+
+    }
+
+    private void aguardar(CountDownLatch latch) {
+
+        try {
+
+            latch.await(5, TimeUnit.SECONDS);
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.deliverytech.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("Deve arredondar a capacidade e recusar elementos com a fila cheia")
+    void offer_ComFilaCheia_DeveRetornarFalse() {
+
+        MpscRingBuffer<Integer> fila = new MpscRingBuffer<>(3);
+
+        assertThat(fila.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+
+            assertThat(fila.offer(i)).isTrue();
+
+        }
+        assertThat(fila.offer(99)).isFalse();
+        assertThat(fila.size()).isEqualTo(4);
+
+    }
+
+    @Test
+    @DisplayName("Deve drenar em ordem e liberar espaço para novos elementos")
+    void drain_DeveRetornarElementosEmOrdem() {
+
+        MpscRingBuffer<Integer> fila = new MpscRingBuffer<>(4);
+        Integer[] destino = new Integer[4];
+
+        for (int volta = 0; volta < 3; volta++) {
+
+            fila.offer(volta * 10);
+            fila.offer(volta * 10 + 1);
+            fila.offer(volta * 10 + 2);
+
+            assertThat(fila.drain(destino, 2)).isEqualTo(2);
+            assertThat(destino[0]).isEqualTo(volta * 10);
+            assertThat(destino[1]).isEqualTo(volta * 10 + 1);
+            assertThat(fila.drain(destino, 4)).isEqualTo(1);
+            assertThat(destino[0]).isEqualTo(volta * 10 + 2);
+
+        }
+
+        assertThat(fila.isEmpty()).isTrue();
+        assertThat(fila.drain(destino, 4)).isZero();
+
+    }
+
+    @Test
+    @DisplayName("Deve entregar todos os elementos de vários produtores concorrentes exatamente uma vez")
+    void offer_ComProdutoresConcorrentes_NaoDevePerderElementos() throws Exception {
+
+        int produtores = 4;
+        int porProdutor = 20_000;
+        MpscRingBuffer<Integer> fila = new MpscRingBuffer<>(256);
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        for (int p = 0; p < produtores; p++) {
+
+            int base = p * porProdutor;
+            executor.submit(() -> {
+
+                largada.await();
+                for (int i = 0; i < porProdutor; i++) {
+
+                    while (!fila.offer(base + i)) {
+
+                        Thread.onSpinWait();
+
+                    }
+
+                }
+                return null;
+
+            });
+
+        }
+
+        largada.countDown();
+        Integer[] lote = new Integer[64];
+        List<Integer> recebidos = new ArrayList<>();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (recebidos.size() < produtores * porProdutor && System.nanoTime() < limite) {
+
+            int quantidade = fila.drain(lote, lote.length);
+            for (int i = 0; i < quantidade; i++) {
+
+                recebidos.add(lote[i]);
+
+            }
+
+        }
+
+        executor.shutdown();
+        Set<Integer> unicos = new HashSet<>(recebidos);
+        assertThat(recebidos).hasSize(produtores * porProdutor);
+        assertThat(unicos).hasSize(produtores * porProdutor);
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.config.JwtProperties;
+import com.deliverytech.enums.UserRole;
+import com.deliverytech.model.Usuario;
+import com.deliverytech.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+* Custo de verificação do token JWT por requisição autenticada.
+* - tresAnalisesComChaveRecriada: comportamento anterior (chave e parser recriados a cada chamada,
+*   token analisado três vezes: extractUsername e, em isTokenValid, extractUsername + extractExpiration).
+* - umaAnaliseComParserPronto: parser pré-construído, uma análise por requisição (cache desativado).
+* - tokenJaVerificado: mesmo token em requisições seguintes, respondido pelo cache de tokens verificados.
+* Execução: mvn -Pbenchmark test-compile exec:exec -Djmh.include=JwtVerificationBenchmark
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "c2VjcmV0LWRlLWJlbmNobWFyay1jb20tcGVsby1tZW5vcy0yNTYtYml0cw==";
+
+    private JwtUtil semCache;
+    private JwtUtil comCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+
+        semCache = new JwtUtil(propriedades(0));
+        comCache = new JwtUtil(propriedades(10_000));
+
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail("cliente@delivery.com");
+        usuario.setRole(UserRole.CLIENTE);
+        token = comCache.generateToken(usuario);
+        comCache.extractAllClaims(token);
+
+    }
+
+    @Benchmark
+    public boolean tresAnalisesComChaveRecriada() {
+
+        String username = analisarComChaveRecriada(token).getSubject();
+        boolean mesmoUsuario = analisarComChaveRecriada(token).getSubject().equals(username);
+        return mesmoUsuario && !analisarComChaveRecriada(token).getExpiration().before(new Date());
+
+    }
+
+    @Benchmark
+    public Claims umaAnaliseComParserPronto() {
+
+        return semCache.extractAllClaims(token);
+
+    }
+
+    @Benchmark
+    public Claims tokenJaVerificado() {
+
+        return comCache.extractAllClaims(token);
+
+    }
+
+    private Claims analisarComChaveRecriada(String jwt) {
+
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+
+    }
+
+    private static JwtProperties propriedades(long cacheMaxSize) {
+
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(3_600_000L);
+        properties.setCacheMaxSize(cacheMaxSize);
+        return properties;
+
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.dto.response.PedidoResponseDTO;
+import com.deliverytech.dto.response.ProdutoResponseDTO;
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.mapper.ItemPedidoMapperImpl;
+import com.deliverytech.mapper.PedidoMapper;
+import com.deliverytech.mapper.PedidoMapperImpl;
+import com.deliverytech.mapper.ProdutoMapper;
+import com.deliverytech.mapper.ProdutoMapperImpl;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+
+import org.modelmapper.ModelMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+* Compara o ModelMapper (reflexivo) com os mappers gerados pelo MapStruct nas respostas mais frequentes.
+* Execução: mvn -Pbenchmark test-compile exec:exec -Djmh.include=PedidoMappingBenchmark
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PedidoMappingBenchmark {
+
+    @Param({ "1", "10" })
+    private int quantidadeItens;
+
+    private ModelMapper modelMapper;
+    private PedidoMapper pedidoMapper;
+    private ProdutoMapper produtoMapper;
+
+    private Pedido pedido;
+    private Produto produto;
+
+    @Setup
+    public void setUp() {
+
+        modelMapper = new ModelMapper();
+        pedidoMapper = new PedidoMapperImpl(new ItemPedidoMapperImpl());
+        produtoMapper = new ProdutoMapperImpl();
+
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("João Silva");
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(2L);
+        restaurante.setNome("Pizzaria Bella");
+
+        produto = new Produto();
+        produto.setId(3L);
+        produto.setNome("Pizza Margherita");
+        produto.setDescricao("Molho de tomate, mussarela e manjericão");
+        produto.setPreco(new BigDecimal("40.00"));
+        produto.setCategoria("Pizza");
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+
+        pedido = new Pedido();
+        pedido.setId(10L);
+        pedido.setDataPedido(LocalDateTime.now());
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setEnderecoEntrega("Rua A, 100");
+        pedido.setSubtotal(new BigDecimal("80.00"));
+        pedido.setTaxaEntrega(new BigDecimal("5.00"));
+        pedido.setValorTotal(new BigDecimal("85.00"));
+        pedido.setCliente(cliente);
+        pedido.setRestaurante(restaurante);
+
+        List<ItemPedido> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+
+            ItemPedido item = new ItemPedido();
+            item.setId((long) i);
+            item.setProduto(produto);
+            item.setPedido(pedido);
+            item.setQuantidade(2);
+            item.setPrecoUnitario(new BigDecimal("40.00"));
+            item.setSubtotal(new BigDecimal("80.00"));
+            itens.add(item);
+
+        }
+
+        pedido.setItens(itens);
+
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedidoModelMapper() {
+
+        return modelMapper.map(pedido, PedidoResponseDTO.class);
+
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedidoMapStruct() {
+
+        return pedidoMapper.toResponseDTO(pedido);
+
+    }
+
+    @Benchmark
+    public ProdutoResponseDTO produtoModelMapper() {
+
+        return modelMapper.map(produto, ProdutoResponseDTO.class);
+
+    }
+
+    @Benchmark
+    public ProdutoResponseDTO produtoMapStruct() {
+
+        return produtoMapper.toResponseDTO(produto);
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.deliverytech.cache;
+
+import com.deliverytech.config.TwoLevelCacheProperties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ProdutoCacheInvalidatorTest {
+
+    private Cache cache;
+    private ProdutoCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+
+        TwoLevelCacheProperties properties = new TwoLevelCacheProperties();
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(properties, null, null, null, "teste");
+        invalidator = new ProdutoCacheInvalidator(cacheManager);
+
+        cache = cacheManager.getCache(ProdutoCacheInvalidator.CACHE);
+        for (String chave : List.of("todos", "categoria::Bebidas", "categoria::Lanches",
+            "restaurante::7::disponivel::true", "restaurante::7::disponivel::null",
+            "restaurante::8::disponivel::true")) {
+
+            cache.put(chave, List.of());
+
+        }
+
+        cache.put(10L, "produto 10");
+        cache.put(11L, "produto 11");
+
+    }
+
+    @Test
+    @DisplayName("Alteração de preço deve invalidar apenas as listas do restaurante e da categoria do produto")
+    void invalidar_AlteracaoDePreco_DeveRemoverApenasChavesDoProduto() {
+
+        ProdutoCacheInvalidator.Estado estado = new ProdutoCacheInvalidator.Estado(10L, 7L, "Bebidas");
+
+        invalidator.invalidar(estado, estado);
+
+        assertNull(cache.get(10L));
+        assertNull(cache.get("todos"));
+        assertNull(cache.get("categoria::Bebidas"));
+        assertNull(cache.get("restaurante::7::disponivel::true"));
+        assertNull(cache.get("restaurante::7::disponivel::null"));
+
+        assertNotNull(cache.get(11L));
+        assertNotNull(cache.get("categoria::Lanches"));
+        assertNotNull(cache.get("restaurante::8::disponivel::true"));
+
+    }
+
+    @Test
+    @DisplayName("Mudança de categoria deve invalidar as listas antigas e as novas")
+    void chavesAfetadas_MudancaDeCategoria_DeveIncluirEstadoAnteriorEAtual() {
+
+        ProdutoCacheInvalidator.Estado anterior = new ProdutoCacheInvalidator.Estado(10L, 7L, "Bebidas");
+        ProdutoCacheInvalidator.Estado atual = new ProdutoCacheInvalidator.Estado(10L, 7L, "Lanches");
+
+        assertEquals(
+            Set.of(10L, "todos", "categoria::Bebidas", "categoria::Lanches",
+                "restaurante::7::disponivel::true", "restaurante::7::disponivel::false", "restaurante::7::disponivel::null"),
+            invalidator.chavesAfetadas(anterior, atual));
+
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.deliverytech.cache;
+
+import com.deliverytech.config.TwoLevelCacheProperties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class TwoLevelCacheManagerTest {
+
+    private TwoLevelCacheProperties properties;
+    private ConcurrentMapCacheManager remoto;
+    private List<CacheInvalidationMessage> publicadas;
+
+    // Duas instâncias da aplicação compartilhando o mesmo L2.
+    private TwoLevelCacheManager instanciaA;
+    private TwoLevelCacheManager instanciaB;
+
+    @BeforeEach
+    void setUp() {
+
+        properties = new TwoLevelCacheProperties();
+        remoto = new ConcurrentMapCacheManager();
+        publicadas = new ArrayList<>();
+
+        // Simula o pub/sub entregando cada aviso às duas instâncias.
+        CacheInvalidationPublisher publisher = mensagem -> {
+
+            publicadas.add(mensagem);
+            instanciaA.processarInvalidacao(mensagem);
+            instanciaB.processarInvalidacao(mensagem);
+
+        };
+
+        instanciaA = new TwoLevelCacheManager(properties, remoto, publisher, null, "A");
+        instanciaB = new TwoLevelCacheManager(properties, remoto, publisher, null, "B");
+
+    }
+
+    @Test
+    @DisplayName("Deve servir do L1 sem consultar o L2 após a primeira leitura")
+    void get_DeveServirDoL1_AposPrimeiraLeitura() {
+
+        Cache cache = instanciaA.getCache("produtos");
+        cache.put(1L, "Pizza");
+
+        // Remove direto do L2: a leitura seguinte só pode vir do L1.
+        remoto.getCache("produtos").evict(1L);
+
+        assertEquals("Pizza", cache.get(1L).get());
+
+    }
+
+    @Test
+    @DisplayName("Deve preencher o L1 a partir do L2 quando o valor foi gravado por outra instância")
+    void get_DevePreencherL1_APartirDoL2() {
+
+        instanciaA.getCache("produtos").put(1L, "Pizza");
+
+        assertEquals("Pizza", instanciaB.getCache("produtos").get(1L).get());
+
+    }
+
+    @Test
+    @DisplayName("Deve descartar o L1 das outras instâncias quando um valor é alterado ou removido")
+    void evict_DeveInvalidarL1DasOutrasInstancias() {
+
+        instanciaA.getCache("produtos").put(1L, "Pizza");
+        instanciaB.getCache("produtos").get(1L);
+
+        instanciaA.getCache("produtos").put(1L, "Pizza Grande");
+        assertEquals("Pizza Grande", instanciaB.getCache("produtos").get(1L).get());
+
+        instanciaA.getCache("produtos").evict(1L);
+        assertNull(instanciaB.getCache("produtos").get(1L));
+
+        instanciaA.getCache("produtos").put(2L, "Suco");
+        instanciaB.getCache("produtos").get(2L);
+        instanciaA.getCache("produtos").clear();
+        assertNull(instanciaB.getCache("produtos").get(2L));
+        assertEquals(CacheInvalidationMessage.Tipo.CLEAR, publicadas.get(publicadas.size() - 1).tipo());
+
+    }
+
+    @Test
+    @DisplayName("Deve carregar o valor uma única vez quando usado com sincronização")
+    void getComLoader_DeveCarregarUmaVez() {
+
+        AtomicInteger cargas = new AtomicInteger();
+        Cache cache = instanciaA.getCache("produtos");
+
+        assertEquals("Pizza", cache.get(1L, () -> "Pizza" + (cargas.incrementAndGet() > 1 ? "!" : "")));
+        assertEquals("Pizza", cache.get(1L, () -> "Pizza" + (cargas.incrementAndGet() > 1 ? "!" : "")));
+        assertEquals("Pizza", instanciaB.getCache("produtos").get(1L, () -> "outro"));
+        assertEquals(1, cargas.get());
+
+    }
+
+    @Test
+    @DisplayName("Não deve publicar invalidação nem descartar o L1 das outras instâncias ao carregar um valor")
+    void getComLoader_NaoDevePublicarInvalidacao() {
+
+        instanciaB.getCache("produtos").get(1L, () -> "Pizza");
+
+        // Remove direto do L2 antes e depois da carga da instância A: a leitura final de B só pode vir do seu L1.
+        remoto.getCache("produtos").evict(1L);
+        assertEquals("Pizza", instanciaA.getCache("produtos").get(1L, () -> "Pizza"));
+        remoto.getCache("produtos").evict(1L);
+
+        assertTrue(publicadas.isEmpty());
+        assertEquals("Pizza", instanciaB.getCache("produtos").get(1L).get());
+
+    }
+
+    @Test
+    @DisplayName("Deve funcionar apenas com o L1 quando não há Redis")
+    void modoLocal_DeveFuncionarSemL2() {
+
+        TwoLevelCacheManager local = new TwoLevelCacheManager(properties, null, null, null, "local");
+        Cache cache = local.getCache("clientes");
+
+        cache.put("joao@example.com", "João");
+        assertEquals("João", cache.get("joao@example.com").get());
+        assertNull(cache.putIfAbsent("maria@example.com", "Maria"));
+        assertEquals("Maria", cache.putIfAbsent("maria@example.com", "Outra").get());
+
+        cache.evict("joao@example.com");
+        assertNull(cache.get("joao@example.com"));
+
+    }
+
+    @Test
+    @DisplayName("Deve codificar e decodificar mensagens com chaves contendo o separador")
+    void mensagem_DeveSuportarSeparadorNaChave() {
+
+        CacheInvalidationMessage mensagem = CacheInvalidationMessage.evict("A", "produtos", "nome::a|b");
+
+        assertEquals(mensagem, CacheInvalidationMessage.decodificar(mensagem.codificar()));
+
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.deliverytech.geo;
+
+import com.deliverytech.config.GeoProperties;
+import com.deliverytech.repository.RestauranteRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+class IndiceGeograficoTest {
+
+    // Avenida Paulista, São Paulo.
+    private static final Coordenada PAULISTA = new Coordenada(-23.5614, -46.6559);
+
+    private RestauranteRepository restauranteRepository;
+    private IndiceGeografico indice;
+
+    @BeforeEach
+    void setUp() {
+
+        restauranteRepository = mock(RestauranteRepository.class);
+        indice = new IndiceGeografico(restauranteRepository, new GeoProperties());
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver só os restaurantes dentro do raio, do mais próximo para o mais distante")
+    void buscar_DeveFiltrarPeloRaioEOrdenarPelaDistancia() {
+
+        when(restauranteRepository.findLocalizaveis()).thenReturn(List.of(
+            new RestauranteLocalizado(1L, -23.5594, -46.6644), // ~0,9 km
+            new RestauranteLocalizado(2L, -23.5870, -46.6362), // ~3,5 km
+            new RestauranteLocalizado(3L, -23.5657, -46.6513), // ~0,7 km
+            new RestauranteLocalizado(4L, -22.9035, -43.1760))); // Rio de Janeiro
+        indice.reconstruir();
+
+        List<RestauranteProximo> proximos = indice.buscar(PAULISTA, 5, 100);
+
+        assertThat(proximos).extracting(RestauranteProximo::id).containsExactly(3L, 1L, 2L);
+        assertThat(proximos.get(0).distanciaKm()).isBetween(0.5, 0.9);
+        assertThat(indice.buscar(PAULISTA, 1, 100)).extracting(RestauranteProximo::id).containsExactly(3L, 1L);
+        assertThat(indice.buscar(PAULISTA, 5, 2)).extracting(RestauranteProximo::id).containsExactly(3L, 1L);
+
+    }
+
+    @Test
+    @DisplayName("Deve achar os mesmos restaurantes que uma varredura completa, inclusive nas bordas das células")
+    void buscar_DeveCoincidirComVarreduraCompleta() {
+
+        Random aleatorio = new Random(42);
+        List<RestauranteLocalizado> restaurantes = new ArrayList<>();
+
+        // 20 mil restaurantes espalhados por um quadrado de ~110 km em torno de São Paulo.
+        for (long id = 1; id <= 20_000; id++) {
+
+            restaurantes.add(new RestauranteLocalizado(id,
+                PAULISTA.latitude() + aleatorio.nextDouble() - 0.5,
+                PAULISTA.longitude() + aleatorio.nextDouble() - 0.5));
+
+        }
+
+        when(restauranteRepository.findLocalizaveis()).thenReturn(restaurantes);
+        indice.reconstruir();
+
+        for (int consulta = 0; consulta < 50; consulta++) {
+
+            Coordenada origem = new Coordenada(
+                PAULISTA.latitude() + aleatorio.nextDouble() - 0.5,
+                PAULISTA.longitude() + aleatorio.nextDouble() - 0.5);
+            double raioKm = 1 + aleatorio.nextInt(20);
+
+            List<Long> esperados = restaurantes.stream()
+                .map(restaurante -> new RestauranteProximo(restaurante.id(), origem.distanciaKm(restaurante.latitude(), restaurante.longitude())))
+                .filter(proximo -> proximo.distanciaKm() <= raioKm)
+                .sorted(Comparator.comparingDouble(RestauranteProximo::distanciaKm).thenComparing(RestauranteProximo::id))
+                .map(RestauranteProximo::id)
+                .toList();
+
+            assertThat(indice.buscar(origem, raioKm, Integer.MAX_VALUE)).extracting(RestauranteProximo::id)
+                .containsExactlyElementsOf(esperados);
+
+        }
+
+    }
+
+    @Test
+    @DisplayName("Deve refletir cadastros, mudanças de endereço e remoções sem reconstruir o índice")
+    void indexarERemover_DevemAtualizarOIndice() {
+
+        when(restauranteRepository.findLocalizaveis()).thenReturn(List.of(
+            new RestauranteLocalizado(1L, -23.5594, -46.6644),
+            new RestauranteLocalizado(2L, -23.5870, -46.6362)));
+        indice.reconstruir();
+
+        // O restaurante 1 muda para o Rio, o 2 é inativado e o 3 abre perto da Paulista.
+        indice.indexar(List.of(
+            new RestauranteLocalizado(1L, -22.9035, -43.1760),
+            new RestauranteLocalizado(3L, -23.5657, -46.6513)));
+        indice.remover(List.of(2L));
+
+        assertThat(indice.buscar(PAULISTA, 10, 100)).extracting(RestauranteProximo::id).containsExactly(3L);
+        assertThat(indice.buscar(new Coordenada(-22.9035, -43.1760), 1, 100)).extracting(RestauranteProximo::id).containsExactly(1L);
+        assertThat(indice.totalRestaurantes()).isEqualTo(2);
+
+    }
+
+    @Test
+    @DisplayName("Deve encontrar restaurantes do outro lado do antimeridiano")
+    void buscar_DeveAtravessarOAntimeridiano() {
+
+        when(restauranteRepository.findLocalizaveis()).thenReturn(List.of(
+            new RestauranteLocalizado(1L, -17.0, 179.99),
+            new RestauranteLocalizado(2L, -17.0, -179.99)));
+        indice.reconstruir();
+
+        assertThat(indice.buscar(new Coordenada(-17.0, 179.999), 5, 100)).extracting(RestauranteProximo::id)
+            .containsExactlyInAnyOrder(1L, 2L);
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.deliverytech.geo;
+
+import com.deliverytech.config.GeoProperties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class TabelaCepTest {
+
+    @Test
+    @DisplayName("Deve preferir o CEP completo e, na falta dele, usar o prefixo de 5 dígitos")
+    void localizar_DeveUsarCepCompletoOuPrefixo() {
+
+        TabelaCep tabela = tabela("""
+            # comentário
+            cep;latitude;longitude
+            01310;-23.5614;-46.6559
+            01310-100;-23.5631;-46.6544
+            """);
+
+        assertThat(tabela.localizar("01310-100")).contains(new Coordenada(-23.5631, -46.6544));
+        assertThat(tabela.localizar("01310200")).contains(new Coordenada(-23.5614, -46.6559));
+        assertThat(tabela.localizar("99999-999")).isEmpty();
+        assertThat(tabela.localizar("01310")).isEmpty();
+        assertThat(tabela.localizar(null)).isEmpty();
+
+    }
+
+    @Test
+    @DisplayName("Deve recusar na subida um arquivo com linha inválida")
+    void carregar_ComLinhaInvalida_DeveFalhar() {
+
+        assertThatThrownBy(() -> tabela("cep;latitude;longitude\n01310;-123.0;-46.6\n"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Linha 2");
+
+    }
+
+    @Test
+    @DisplayName("O arquivo embarcado deve cobrir o CEP usado nos dados de exemplo")
+    void arquivoEmbarcado_DeveCarregar() {
+
+        TabelaCep tabela = new TabelaCep(new GeoProperties());
+
+        assertThat(tabela.totalEntradas()).isPositive();
+        assertThat(tabela.localizar("16015-240")).isPresent();
+
+    }
+
+    private static TabelaCep tabela(String conteudo) {
+
+        GeoProperties properties = new GeoProperties();
+        properties.setArquivoCep(new ByteArrayResource(conteudo.getBytes(StandardCharsets.UTF_8)));
+        return new TabelaCep(properties);
+
+    }
+
+}
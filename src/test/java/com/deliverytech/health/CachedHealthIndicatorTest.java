@@ -0,0 +1,146 @@
+package com.deliverytech.health;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class CachedHealthIndicatorTest {
+
+    private RelogioManual relogio;
+    private AtomicInteger verificacoes;
+    private Health proximoResultado;
+    private CachedHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+
+        relogio = new RelogioManual(Instant.parse("2025-01-01T10:00:00Z"));
+        verificacoes = new AtomicInteger();
+        proximoResultado = Health.up().withDetail("database", "H2").build();
+
+        indicator = new CachedHealthIndicator(Duration.ofMinutes(1), relogio) {
+
+            @Override
+            protected Health verificar() {
+
+                verificacoes.incrementAndGet();
+                if (proximoResultado == null) {
+
+                    throw new IllegalStateException("falha na verificação");
+
+                }
+                return proximoResultado;
+
+            }
+
+        };
+
+    }
+
+    @Test
+    @DisplayName("Deve reportar UNKNOWN antes da primeira verificação")
+    void health_SemVerificacao_DeveRetornarUnknown() {
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UNKNOWN);
+        assertThat(verificacoes).hasValue(0);
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver o último resultado com horário e idade, sem verificar de novo")
+    void health_AposVerificacao_DeveRetornarResultadoEmCache() {
+
+        indicator.atualizar();
+        relogio.avancar(Duration.ofSeconds(10));
+
+        Health health = indicator.health();
+        indicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails())
+            .containsEntry("database", "H2")
+            .containsEntry("verificadoEm", "2025-01-01T10:00:00Z")
+            .containsEntry("idadeMs", 10_000L);
+        assertThat(verificacoes).hasValue(1);
+
+    }
+
+    @Test
+    @DisplayName("Deve reportar DOWN quando a verificação lança exceção")
+    void atualizar_ComExcecao_DeveGuardarDown() {
+
+        proximoResultado = null;
+
+        indicator.atualizar();
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+
+    }
+
+    @Test
+    @DisplayName("Deve reportar DOWN quando o último resultado passou da idade máxima")
+    void health_ComResultadoDesatualizado_DeveRetornarDown() {
+
+        indicator.atualizar();
+        relogio.avancar(Duration.ofMinutes(2));
+
+        Health health = indicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsKey("error").containsEntry("idadeMs", 120_000L);
+
+    }
+
+    private static class RelogioManual extends Clock {
+
+        private Instant agora;
+
+        RelogioManual(Instant agora) {
+
+            this.agora = agora;
+
+        }
+
+        void avancar(Duration duracao) {
+
+            agora = agora.plus(duracao);
+
+        }
+
+        @Override
+        public ZoneId getZone() {
+
+            return ZoneOffset.UTC;
+
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+
+            return this;
+
+        }
+
+        @Override
+        public Instant instant() {
+
+            return agora;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.deliverytech.mapper;
+
+import com.deliverytech.dto.response.PedidoResponseDTO;
+import com.deliverytech.dto.response.ProdutoResponseDTO;
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+
+class PedidoMapperTest {
+
+    private final PedidoMapper pedidoMapper = new PedidoMapperImpl(new ItemPedidoMapperImpl());
+    private final ProdutoMapper produtoMapper = new ProdutoMapperImpl();
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+    private Pedido pedido;
+
+    @BeforeEach
+    void setUp() {
+
+        cliente = spy(new Cliente());
+        cliente.setId(1L);
+        cliente.setNome("João Silva");
+
+        restaurante = spy(new Restaurante());
+        restaurante.setId(2L);
+        restaurante.setNome("Pizzaria Bella");
+
+        produto = spy(new Produto());
+        produto.setId(3L);
+        produto.setNome("Pizza Margherita");
+        produto.setPreco(new BigDecimal("40.00"));
+        produto.setRestaurante(restaurante);
+
+        ItemPedido item = new ItemPedido();
+        item.setProduto(produto);
+        item.setQuantidade(2);
+        item.setPrecoUnitario(new BigDecimal("40.00"));
+        item.setSubtotal(new BigDecimal("80.00"));
+
+        pedido = new Pedido();
+        pedido.setId(10L);
+        pedido.setDataPedido(LocalDateTime.of(2025, 1, 10, 20, 0));
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setEnderecoEntrega("Rua A, 100");
+        pedido.setSubtotal(new BigDecimal("80.00"));
+        pedido.setTaxaEntrega(new BigDecimal("5.00"));
+        pedido.setValorTotal(new BigDecimal("85.00"));
+        pedido.setCliente(cliente);
+        pedido.setRestaurante(restaurante);
+        pedido.setItens(List.of(item));
+
+    }
+
+    @Test
+    @DisplayName("Deve mapear o pedido com resumos de cliente, restaurante e itens")
+    void toResponseDTO_DeveMapearTodosOsCampos() {
+
+        PedidoResponseDTO dto = pedidoMapper.toResponseDTO(pedido);
+
+        assertThat(dto.getId()).isEqualTo(10L);
+        assertThat(dto.getStatus()).isEqualTo(StatusPedido.PENDENTE);
+        assertThat(dto.getValorTotal()).isEqualByComparingTo("85.00");
+        assertThat(dto.getCliente().getId()).isEqualTo(1L);
+        assertThat(dto.getCliente().getNome()).isEqualTo("João Silva");
+        assertThat(dto.getRestaurante().getNome()).isEqualTo("Pizzaria Bella");
+        assertThat(dto.getItens()).hasSize(1);
+        assertThat(dto.getItens().get(0).getProdutoId()).isEqualTo(3L);
+        assertThat(dto.getItens().get(0).getQuantidade()).isEqualTo(2);
+
+    }
+
+    @Test
+    @DisplayName("Não deve acessar associações que a resposta não expõe")
+    void toResponseDTO_NaoDeveAcessarAssociacoesNaoExpostas() {
+
+        pedidoMapper.toResponseDTO(pedido);
+        produtoMapper.toResponseDTO(produto);
+
+        verify(cliente, never()).getPedidos();
+        verify(restaurante, never()).getPedidos();
+        verify(restaurante, never()).getProdutos();
+        verify(produto, never()).getItensPedido();
+
+    }
+
+    @Test
+    @DisplayName("Deve mapear o produto expondo apenas o ID do restaurante")
+    void produtoToResponseDTO_DeveMapearIdDoRestaurante() {
+
+        ProdutoResponseDTO dto = produtoMapper.toResponseDTO(produto);
+
+        assertThat(dto.getId()).isEqualTo(3L);
+        assertThat(dto.getRestauranteId()).isEqualTo(2L);
+        assertThat(dto.getPreco()).isEqualByComparingTo("40.00");
+
+    }
+
+}
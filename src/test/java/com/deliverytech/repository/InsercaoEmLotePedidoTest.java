@@ -0,0 +1,132 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+* Conta os statements JDBC da gravação de um pedido no esquema das migrações: com os ids vindos das
+* sequences (alocação em blocos), o pedido e todos os seus itens saem em inserts em lote, e o número
+* de statements não cresce com a quantidade de itens.
+*/
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.defer-datasource-initialization=false",
+    "spring.sql.init.mode=never",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class InsercaoEmLotePedidoTest {
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("INSERT INTO restaurante (id, nome, taxa_entrega, ativo) VALUES (1, 'Pizzaria', 5.00, TRUE)");
+        jdbcTemplate.update("INSERT INTO cliente (id, nome, ativo) VALUES (1, 'Ana', TRUE)");
+        jdbcTemplate.update("INSERT INTO produto (id, nome, preco, disponivel, restaurante_id) VALUES (1, 'Pizza', 45.00, TRUE, 1)");
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+    }
+
+    @Test
+    @DisplayName("O primeiro pedido deve reservar os ids com uma leitura de cada sequence e gravar os itens em um lote")
+    void primeiroPedido_DeveLerCadaSequenceUmaVez() {
+
+        statistics.clear();
+
+        gravarPedido(5);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(6);
+
+        // pedido_seq, item_pedido_seq, insert do pedido e um único lote com os 5 itens.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+    }
+
+    @Test
+    @DisplayName("Pedidos seguintes devem custar dois statements, com 1 ou 10 itens")
+    void pedidosSeguintes_NaoDevemCrescerComOsItens() {
+
+        // Reserva os primeiros blocos de ids.
+        gravarPedido(1);
+
+        statistics.clear();
+        gravarPedido(1);
+        long statementsComUmItem = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        gravarPedido(10);
+        long statementsComDezItens = statistics.getPrepareStatementCount();
+
+        assertThat(statementsComUmItem).isEqualTo(2);
+        assertThat(statementsComDezItens).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(11);
+
+    }
+
+    private void gravarPedido(int quantidadeItens) {
+
+        Produto produto = entityManager.getReference(Produto.class, 1L);
+
+        Pedido pedido = new Pedido();
+        pedido.setCliente(entityManager.getReference(Cliente.class, 1L));
+        pedido.setRestaurante(entityManager.getReference(Restaurante.class, 1L));
+        pedido.setDataPedido(LocalDateTime.now());
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setSubtotal(BigDecimal.ZERO);
+        pedido.setTaxaEntrega(BigDecimal.ZERO);
+        pedido.setValorTotal(BigDecimal.ZERO);
+
+        for (int i = 0; i < quantidadeItens; i++) {
+
+            ItemPedido item = new ItemPedido();
+            item.setProduto(produto);
+            item.setQuantidade(1);
+            item.setPrecoUnitario(new BigDecimal("45.00"));
+            item.setSubtotal(new BigDecimal("45.00"));
+            item.setPedido(pedido);
+            pedido.getItens().add(item);
+
+        }
+
+        pedidoRepository.save(pedido);
+        entityManager.flush();
+        entityManager.clear();
+
+    }
+
+}
@@ -0,0 +1,265 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.dto.request.PedidoFiltro;
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.repository.specification.PedidoSpecifications;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+* Regressão de plano de consulta: sobe o esquema pelas migrações do Flyway (com o Hibernate apenas
+* validando o mapeamento), captura o SQL gerado por cada consulta frequente dos repositórios e
+* confere no EXPLAIN do H2 que a tabela principal é lida pelo índice esperado, e não por varredura.
+*/
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.defer-datasource-initialization=false",
+    "spring.sql.init.mode=never"
+})
+class PlanoDeConsultaIndicesTest {
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CapturaSql capturaSql;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+
+        capturaSql.limpar();
+
+    }
+
+    @Test
+    @DisplayName("Pedidos do cliente devem usar o índice (cliente_id, data_pedido)")
+    void pedidosDoCliente_DevemUsarIndiceClienteData() throws SQLException {
+
+        pedidoRepository.findByClienteIdOrderByDataPedidoDesc(1L);
+
+        assertUsaIndice("pedido", "CLIENTE_ID = ?");
+
+    }
+
+    @Test
+    @DisplayName("Pedidos do restaurante devem usar o índice (restaurante_id, data_pedido)")
+    void pedidosDoRestaurante_DevemUsarIndiceRestauranteData() throws SQLException {
+
+        pedidoRepository.findByRestauranteId(1L);
+
+        assertUsaIndice("pedido", "RESTAURANTE_ID = ?");
+
+    }
+
+    @Test
+    @DisplayName("Snapshot do feed do restaurante deve usar o índice (restaurante_id, data_pedido)")
+    void pedidosAbertosDoRestaurante_DevemUsarIndiceRestauranteData() throws SQLException {
+
+        pedidoRepository.findAbertosByRestauranteId(1L, StatusPedido.ABERTOS);
+
+        assertUsaIndice("pedido", "RESTAURANTE_ID = ?");
+
+    }
+
+    @Test
+    @DisplayName("Pedidos por status devem usar o índice (status, data_pedido)")
+    void pedidosPorStatus_DevemUsarIndiceStatusData() throws SQLException {
+
+        pedidoRepository.findByStatusOrderByDataPedidoDesc(StatusPedido.PENDENTE);
+
+        assertUsaIndice("pedido", "STATUS = ?");
+
+    }
+
+    @Test
+    @DisplayName("Listagem filtrada por restaurante e período deve usar o índice (restaurante_id, data_pedido)")
+    void listagemFiltrada_DeveUsarIndiceRestauranteData() throws SQLException {
+
+        PedidoFiltro filtro = new PedidoFiltro(null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 1L, null);
+        pedidoRepository.findAll(PedidoSpecifications.comFiltros(filtro), PedidoSpecifications.ORDEM_CURSOR);
+
+        assertUsaIndice("pedido", "RESTAURANTE_ID = ?", "DATA_PEDIDO >= ?", "DATA_PEDIDO < ?");
+
+    }
+
+    @Test
+    @DisplayName("Listagem filtrada só por período deve usar o índice (data_pedido, id)")
+    void listagemPorPeriodo_DeveUsarIndiceData() throws SQLException {
+
+        PedidoFiltro filtro = new PedidoFiltro(null, LocalDate.of(2025, 1, 1), null, null, null);
+        pedidoRepository.findAll(PedidoSpecifications.comFiltros(filtro), PedidoSpecifications.ORDEM_CURSOR);
+
+        assertUsaIndice("pedido", "DATA_PEDIDO >= ?");
+
+    }
+
+    @Test
+    @DisplayName("Busca pelo número do pedido deve usar o índice único de numero_pedido")
+    void buscaPorNumero_DeveUsarIndiceNumero() throws SQLException {
+
+        pedidoRepository.findByNumeroPedido("PED-001");
+
+        assertUsaIndice("pedido", "NUMERO_PEDIDO = ?");
+
+    }
+
+    @Test
+    @DisplayName("Cardápio disponível do restaurante deve usar o índice (restaurante_id, disponivel)")
+    void cardapioDoRestaurante_DeveUsarIndiceRestauranteDisponivel() throws SQLException {
+
+        produtoRepository.findByRestauranteIdAndDisponivelTrue(1L);
+
+        assertUsaIndice("produto", "RESTAURANTE_ID = ?");
+
+    }
+
+    @Test
+    @DisplayName("Produtos disponíveis por categoria devem usar o índice (categoria, disponivel)")
+    void produtosPorCategoria_DevemUsarIndiceCategoriaDisponivel() throws SQLException {
+
+        produtoRepository.findByCategoriaAndDisponivelTrue("Bebidas");
+
+        assertUsaIndice("produto", "CATEGORIA = ?");
+
+    }
+
+    @Test
+    @DisplayName("Busca de cliente por e-mail deve usar o índice de email")
+    void clientePorEmail_DeveUsarIndiceEmail() throws SQLException {
+
+        clienteRepository.findByEmail("ana.cliente@email.com");
+
+        assertUsaIndice("cliente", "EMAIL = ?");
+
+    }
+
+    // Roda EXPLAIN sobre o último SELECT capturado e confere que a tabela é lida por um índice
+    // que atende às condições informadas. No plano do H2, cada tabela do FROM/JOIN vem seguida
+    // de um comentário com o índice escolhido e as condições resolvidas por ele.
+    // O H2 cria um índice próprio para cada chave estrangeira e, como não considera a ordenação
+    // no custo, pode preferi-lo ao composto quando só a coluna da FK é filtrada; por isso a
+    // verificação é pelas condições atendidas, e não pelo nome do índice.
+    private void assertUsaIndice(String tabela, String... condicoes) throws SQLException {
+
+        String plano = explain(capturaSql.ultimoSelect());
+        String referencia = "\"PUBLIC\".\"" + tabela.toUpperCase() + "\"";
+
+        int inicio = plano.indexOf(referencia);
+        assertThat(inicio).as("Tabela %s ausente do plano:%n%s", tabela, plano).isNotNegative();
+
+        int fimComentario = plano.indexOf("*/", inicio);
+        String indiceEscolhido = plano.substring(inicio, fimComentario < 0 ? plano.length() : fimComentario);
+        assertThat(indiceEscolhido)
+        .as("Índice usado na tabela %s. Plano:%n%s", tabela, plano)
+        .doesNotContain("tableScan")
+        .contains(condicoes);
+
+    }
+
+    private String explain(String sql) throws SQLException {
+
+        Connection conexao = DataSourceUtils.getConnection(dataSource);
+
+        try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql);
+             ResultSet resultado = explain.executeQuery()) {
+
+            resultado.next();
+            return resultado.getString(1);
+
+        } finally {
+
+            DataSourceUtils.releaseConnection(conexao, dataSource);
+
+        }
+
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        CapturaSql capturaSql() {
+
+            return new CapturaSql();
+
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer inspetorDeSql(CapturaSql capturaSql) {
+
+            return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, capturaSql);
+
+        }
+
+    }
+
+    static class CapturaSql implements StatementInspector {
+
+        private static final Pattern COMENTARIO_INICIAL = Pattern.compile("^\\s*/\\*.*?\\*/\\s*", Pattern.DOTALL);
+
+        private final List<String> comandos = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+
+            // Remove o comentário que o Hibernate põe antes do SQL (use_sql_comments).
+            comandos.add(COMENTARIO_INICIAL.matcher(sql).replaceFirst(""));
+            return sql;
+
+        }
+
+        void limpar() {
+
+            comandos.clear();
+
+        }
+
+        String ultimoSelect() {
+
+            return comandos.stream()
+            .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+            .reduce((primeiro, segundo) -> segundo)
+            .orElseThrow(() -> new AssertionError("Nenhum SELECT foi executado."));
+
+        }
+
+    }
+
+}
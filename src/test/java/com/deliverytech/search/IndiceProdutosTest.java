@@ -0,0 +1,132 @@
+package com.deliverytech.search;
+
+import com.deliverytech.config.BuscaProperties;
+import com.deliverytech.repository.ProdutoRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+class IndiceProdutosTest {
+
+    private static final PageRequest PRIMEIRA_PAGINA = PageRequest.of(0, 10);
+
+    private ProdutoRepository produtoRepository;
+    private IndiceProdutos indice;
+
+    @BeforeEach
+    void setUp() {
+
+        produtoRepository = mock(ProdutoRepository.class);
+        indice = new IndiceProdutos(produtoRepository, new BuscaProperties());
+
+        when(produtoRepository.findIndexaveis()).thenReturn(List.of(
+            produto(1L, "Pizza Margherita", "Molho de tomate, mussarela e manjericão", "Pizza Salgada"),
+            produto(2L, "Pizza Calabresa", "Molho, calabresa e cebola", "Pizza Salgada"),
+            produto(3L, "Açaí na Tigela", "Açaí com banana e granola", "Sobremesas"),
+            produto(4L, "Suco de Laranja", "Suco natural, sem açúcar", "Bebidas"),
+            produto(5L, "Esfiha de Calabresa", "Massa aberta com calabresa", "Salgados")));
+        indice.reconstruir();
+
+    }
+
+    @Test
+    @DisplayName("Deve ignorar acentos e maiúsculas no texto buscado e nos produtos")
+    void buscar_DeveIgnorarAcentos() {
+
+        assertThat(ids(indice.buscar("ACAI", PRIMEIRA_PAGINA))).containsExactly(3L);
+        assertThat(ids(indice.buscar("açúcar", PRIMEIRA_PAGINA))).containsExactly(4L);
+
+    }
+
+    @Test
+    @DisplayName("Deve casar prefixos e termos com um erro de digitação")
+    void buscar_DeveAceitarPrefixoEErroDeDigitacao() {
+
+        assertThat(ids(indice.buscar("marg", PRIMEIRA_PAGINA))).containsExactly(1L);
+        assertThat(ids(indice.buscar("calabreza", PRIMEIRA_PAGINA))).containsExactlyInAnyOrder(2L, 5L);
+        assertThat(ids(indice.buscar("laarnja", PRIMEIRA_PAGINA))).containsExactly(4L);
+        assertThat(ids(indice.buscar("piza", PRIMEIRA_PAGINA))).containsExactlyInAnyOrder(1L, 2L);
+
+        // Dois erros na mesma palavra não casam.
+        assertThat(indice.buscar("calabreeza", PRIMEIRA_PAGINA)).isEmpty();
+
+    }
+
+    @Test
+    @DisplayName("Deve exigir todos os termos e ordenar pela relevância, com o nome pesando mais que a descrição")
+    void buscar_DeveOrdenarPorRelevancia() {
+
+        // "calabresa" está no nome dos dois, mas só a pizza também tem "pizza" no nome e na categoria.
+        assertThat(ids(indice.buscar("pizza de calabresa", PRIMEIRA_PAGINA))).containsExactly(2L);
+
+        // A pizza tem "calabresa" no nome e na descrição; a esfiha também. Empate desfeito pelo nome.
+        assertThat(ids(indice.buscar("calabresa", PRIMEIRA_PAGINA))).containsExactly(5L, 2L);
+
+        // "molho" só aparece na descrição das pizzas: fica atrás de um produto com o termo no nome.
+        indice.indexar(List.of(produto(6L, "Molho Extra", "Porção de molho da casa", "Adicionais")));
+        assertThat(ids(indice.buscar("molho", PRIMEIRA_PAGINA)).get(0)).isEqualTo(6L);
+
+    }
+
+    @Test
+    @DisplayName("Deve paginar o resultado informando o total de produtos encontrados")
+    void buscar_DevePaginar() {
+
+        Page<ProdutoIndexado> primeira = indice.buscar("pizza", PageRequest.of(0, 1));
+        Page<ProdutoIndexado> segunda = indice.buscar("pizza", PageRequest.of(1, 1));
+
+        assertThat(primeira.getTotalElements()).isEqualTo(2);
+        assertThat(ids(primeira)).containsExactly(2L);
+        assertThat(ids(segunda)).containsExactly(1L);
+        assertThat(indice.buscar("pizza", PageRequest.of(5, 1)).getContent()).isEmpty();
+
+    }
+
+    @Test
+    @DisplayName("Deve refletir cadastros, alterações e remoções sem reconstruir o índice")
+    void indexarERemover_DevemAtualizarOIndice() {
+
+        indice.indexar(List.of(produto(2L, "Pizza Portuguesa", "Presunto, ovos e cebola", "Pizza Salgada")));
+        indice.remover(List.of(3L));
+
+        assertThat(ids(indice.buscar("calabresa", PRIMEIRA_PAGINA))).containsExactly(5L);
+        assertThat(ids(indice.buscar("portuguesa", PRIMEIRA_PAGINA))).containsExactly(2L);
+        assertThat(indice.buscar("acai", PRIMEIRA_PAGINA)).isEmpty();
+        assertThat(indice.totalProdutos()).isEqualTo(4);
+
+    }
+
+    @Test
+    @DisplayName("Texto sem termos úteis deve retornar página vazia")
+    void buscar_SemTermos_DeveRetornarVazio() {
+
+        assertThat(indice.buscar("  de  ", PRIMEIRA_PAGINA)).isEmpty();
+
+    }
+
+    private static ProdutoIndexado produto(Long id, String nome, String descricao, String categoria) {
+
+        return new ProdutoIndexado(id, nome, descricao, new BigDecimal("10.00"), categoria, 1L);
+
+    }
+
+    private static List<Long> ids(Page<ProdutoIndexado> pagina) {
+
+        return pagina.getContent().stream().map(ProdutoIndexado::id).toList();
+
+    }
+
+}
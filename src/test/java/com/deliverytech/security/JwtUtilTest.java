@@ -0,0 +1,107 @@
+package com.deliverytech.security;
+
+import com.deliverytech.config.JwtProperties;
+import com.deliverytech.enums.UserRole;
+import com.deliverytech.model.Usuario;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class JwtUtilTest {
+
+    private static final String SECRET = "c2VjcmV0LWRlLXRlc3RlLWNvbS1wZWxvLW1lbm9zLTI1Ni1iaXRzLWRlLWNoYXZl";
+
+    private JwtUtil jwtUtil;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+
+        jwtUtil = new JwtUtil(propriedades(3_600_000L));
+
+        usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setEmail("dono@delivery.com");
+        usuario.setRole(UserRole.RESTAURANTE);
+        usuario.setRestauranteId(3L);
+        usuario.setVersaoToken(2);
+
+    }
+
+    @Test
+    @DisplayName("Deve montar o usuário a partir das claims do token gerado")
+    void extractUsuario_DeveRetornarUsuarioDasClaims() {
+
+        String token = jwtUtil.generateToken(usuario);
+
+        Usuario doToken = jwtUtil.extractUsuario(jwtUtil.extractAllClaims(token));
+
+        assertThat(doToken.getId()).isEqualTo(7L);
+        assertThat(doToken.getUsername()).isEqualTo("dono@delivery.com");
+        assertThat(doToken.getRole()).isEqualTo(UserRole.RESTAURANTE);
+        assertThat(doToken.getRestauranteId()).isEqualTo(3L);
+        assertThat(doToken.getVersaoToken()).isEqualTo(2);
+        assertThat(jwtUtil.isTokenValid(jwtUtil.extractAllClaims(token), usuario)).isTrue();
+
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar as claims de um token já verificado")
+    void extractAllClaims_ComTokenJaVerificado_DeveRetornarClaimsDoCache() {
+
+        String token = jwtUtil.generateToken(usuario);
+
+        Claims primeira = jwtUtil.extractAllClaims(token);
+        Claims segunda = jwtUtil.extractAllClaims(token);
+
+        assertThat(segunda).isSameAs(primeira);
+
+    }
+
+    @Test
+    @DisplayName("Deve recusar token com assinatura adulterada mesmo após o original estar em cache")
+    void extractAllClaims_ComTokenAdulterado_DeveLancarJwtException() {
+
+        String token = jwtUtil.generateToken(usuario);
+        jwtUtil.extractAllClaims(token);
+
+        String assinatura = token.substring(token.lastIndexOf('.') + 1);
+        char trocado = assinatura.charAt(0) == 'A' ? 'B' : 'A';
+        String adulterado = token.substring(0, token.lastIndexOf('.') + 1) + trocado + assinatura.substring(1);
+
+        assertThatThrownBy(() -> jwtUtil.extractAllClaims(adulterado))
+            .isInstanceOf(JwtException.class);
+
+    }
+
+    @Test
+    @DisplayName("Deve recusar token expirado")
+    void extractAllClaims_ComTokenExpirado_DeveLancarExpiredJwtException() {
+
+        JwtUtil expiraImediatamente = new JwtUtil(propriedades(-1_000L));
+        String token = expiraImediatamente.generateToken(usuario);
+
+        assertThatThrownBy(() -> expiraImediatamente.extractAllClaims(token))
+            .isInstanceOf(ExpiredJwtException.class);
+
+    }
+
+    private static JwtProperties propriedades(long expiration) {
+
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(expiration);
+        return properties;
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.config.AlertProperties;
+import com.deliverytech.exception.BusinessException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+
+class AlertServiceImplTest {
+
+    private MetricsServiceImpl metricsService;
+    private AlertServiceImpl alertService;
+
+    @BeforeEach
+    void setUp() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metricsService = new MetricsServiceImpl(registry);
+
+        AlertProperties properties = new AlertProperties();
+        properties.setIntervalo(Duration.ofSeconds(10));
+        alertService = new AlertServiceImpl(registry, properties);
+
+    }
+
+    @Test
+    @DisplayName("Deve disparar o alerta de queima rápida com uma queda recente, mesmo com histórico longo saudável")
+    void verificarAlertas_ComQuedaRecente_DeveDispararQueimaRapida() {
+
+        // 100 intervalos (~16min) saudáveis: 1000 pedidos sem erro.
+        for (int i = 0; i < 100; i++) {
+
+            pedidos(10, 0);
+            alertService.verificarAlertas();
+
+        }
+        assertThat(alertService.alertasAtivos()).isEmpty();
+
+        // Último minuto fora do ar: no acumulado são só 60 erros em 1060 pedidos (5,7%).
+        for (int i = 0; i < 6; i++) {
+
+            pedidos(0, 10);
+            alertService.verificarAlertas();
+
+        }
+
+        assertThat(alertService.alertasAtivos()).contains("ERROR_BUDGET_FAST_BURN");
+
+    }
+
+    @Test
+    @DisplayName("Deve resolver o alerta quando a janela curta volta ao normal")
+    void verificarAlertas_AposRecuperacao_DeveResolverAlerta() {
+
+        for (int i = 0; i < 6; i++) {
+
+            pedidos(0, 10);
+            alertService.verificarAlertas();
+
+        }
+        assertThat(alertService.alertasAtivos()).contains("ERROR_BUDGET_FAST_BURN");
+
+        for (int i = 0; i < 6; i++) {
+
+            pedidos(10, 0);
+            alertService.verificarAlertas();
+
+        }
+
+        assertThat(alertService.alertasAtivos()).doesNotContain("ERROR_BUDGET_FAST_BURN");
+
+    }
+
+    @Test
+    @DisplayName("Não deve contar pedidos recusados por regra de negócio como erro")
+    void verificarAlertas_ComPedidosRejeitados_NaoDeveDisparar() {
+
+        for (int i = 0; i < 6; i++) {
+
+            for (int j = 0; j < 10; j++) {
+
+                catchThrowable(() -> metricsService.medirCriacaoPedido(() -> {
+
+                    throw new BusinessException("Cliente inativo");
+
+                }));
+
+            }
+            alertService.verificarAlertas();
+
+        }
+
+        assertThat(alertService.alertasAtivos()).isEmpty();
+
+    }
+
+    private void pedidos(int sucessos, int erros) {
+
+        for (int i = 0; i < sucessos; i++) {
+
+            metricsService.medirCriacaoPedido(() -> "ok");
+
+        }
+
+        for (int i = 0; i < erros; i++) {
+
+            catchThrowable(() -> metricsService.medirCriacaoPedido(() -> {
+
+                throw new IllegalStateException("falha");
+
+            }));
+
+        }
+
+    }
+
+}
@@ -5,6 +5,7 @@ import com.deliverytech.dto.response.ClienteResponseDTO;
 import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.ConflictException;
 import com.deliverytech.exception.EntityNotFoundException; 
+import com.deliverytech.mapper.ClienteMapper;
 import com.deliverytech.model.Cliente;
 import com.deliverytech.repository.ClienteRepository;
 
@@ -40,6 +41,9 @@ class ClienteServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ClienteMapper clienteMapper;
+
     @InjectMocks
     private ClienteServiceImpl clienteService;
 
@@ -89,7 +93,7 @@ class ClienteServiceImplTest {
         cliente.setAtivo(true);
         when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
-        when(modelMapper.map(cliente, ClienteResponseDTO.class)).thenReturn(clienteResponseDTO);
+        when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
 
         // Act.
         ClienteResponseDTO resultado = clienteService.ativarDesativarCliente(1L);
@@ -118,7 +122,7 @@ class ClienteServiceImplTest {
     void buscarClientePorEmail_QuandoEmailExiste_RetornaCliente() {
 
         when(clienteRepository.findByEmail("joao.silva@example.com")).thenReturn(Optional.of(cliente));
-        when(modelMapper.map(cliente, ClienteResponseDTO.class)).thenReturn(clienteResponseDTO);
+        when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
 
         ClienteResponseDTO resultado = clienteService.buscarClientePorEmail("joao.silva@example.com");
 
@@ -165,7 +169,7 @@ class ClienteServiceImplTest {
 
         when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
-        when(modelMapper.map(cliente, ClienteResponseDTO.class)).thenReturn(clienteResponseDTO);
+        when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
 
         // Act.
         ClienteResponseDTO resultado = clienteService.atualizarCliente(1L, dto);
@@ -195,7 +199,7 @@ class ClienteServiceImplTest {
 
         // Arrange: Simula que o repositório encontrará o cliente com ID 1.
         when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
-        when(modelMapper.map(cliente, ClienteResponseDTO.class)).thenReturn(clienteResponseDTO);
+        when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
 
         // Act: Chama o serviço.
         ClienteResponseDTO resultado = clienteService.buscarClientePorId(1L);
@@ -226,7 +230,7 @@ class ClienteServiceImplTest {
 
         // Arrange: Simula que o repositório retornará uma lista com um cliente.
         when(clienteRepository.findByAtivoTrue()).thenReturn(Collections.singletonList(cliente));
-        when(modelMapper.map(cliente, ClienteResponseDTO.class)).thenReturn(clienteResponseDTO);
+        when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
 
         // Act: Chama o serviço.
         List<ClienteResponseDTO> resultados = clienteService.listarClientesAtivos();
@@ -248,7 +252,7 @@ class ClienteServiceImplTest {
         
         when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
-        when(modelMapper.map(cliente, ClienteResponseDTO.class)).thenReturn(clienteResponseDTO);
+        when(clienteMapper.toResponseDTO(cliente)).thenReturn(clienteResponseDTO);
 
         // Act.
         ClienteResponseDTO resultado = clienteService.atualizarCliente(1L, dadosAtualizacao);
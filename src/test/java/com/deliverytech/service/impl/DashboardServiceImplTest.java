@@ -0,0 +1,79 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.config.DashboardProperties;
+import com.deliverytech.service.MetricsService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class DashboardServiceImplTest {
+
+    private MetricsServiceImpl metricsService;
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metricsService = new MetricsServiceImpl(registry);
+
+        DashboardProperties properties = new DashboardProperties();
+        properties.setMaxInscritos(2);
+        properties.setIntervalo(Duration.ZERO);
+        dashboardService = new DashboardServiceImpl(registry, properties, new ObjectMapper());
+
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        dashboardService.encerrar();
+
+    }
+
+    @Test
+    @DisplayName("Deve montar o snapshot com contadores e percentis das operações de pedido")
+    @SuppressWarnings("unchecked")
+    void snapshotAtual_DeveRefletirAsMetricasDePedido() {
+
+        metricsService.medirCriacaoPedido(() -> "ok");
+        metricsService.medirCriacaoPedido(() -> "ok");
+        metricsService.medirAtualizacaoStatus(() -> "ok");
+
+        Map<String, Object> snapshot = dashboardService.snapshotAtual();
+
+        assertThat(snapshot).containsEntry("pedidos_total", 2.0).containsEntry("pedidos_sucesso", 2.0);
+        Map<String, Map<String, Double>> latencia = (Map<String, Map<String, Double>>) snapshot.get("latencia_pedido_ms");
+        assertThat(latencia.get(MetricsService.OPERACAO_CRIAR_PEDIDO)).containsKeys("p50", "p95", "p99");
+        assertThat(latencia.get(MetricsService.OPERACAO_ATUALIZAR_STATUS)).containsKeys("p50", "p95", "p99");
+
+    }
+
+    @Test
+    @DisplayName("Deve recusar inscrições acima do limite de conexões simultâneas")
+    void inscrever_AcimaDoLimite_DeveRetornarVazio() {
+
+        assertThat(dashboardService.inscrever()).isPresent();
+        assertThat(dashboardService.inscrever()).isPresent();
+        assertThat(dashboardService.inscrever()).isEmpty();
+        assertThat(dashboardService.totalInscritos()).isEqualTo(2);
+
+        dashboardService.publicar();
+
+        assertThat(dashboardService.totalInscritos()).isEqualTo(2);
+
+    }
+
+}
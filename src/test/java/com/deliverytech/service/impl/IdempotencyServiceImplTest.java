@@ -0,0 +1,237 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.config.IdempotencyProperties;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.service.IdempotencyStore.Registro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class IdempotencyServiceImplTest {
+
+    private static final Map<String, Object> CORPO = Map.of("produtoId", 1, "quantidade", 2);
+
+    private IdempotencyProperties properties;
+    private InMemoryIdempotencyStore store;
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+
+        properties = new IdempotencyProperties();
+        properties.setMaxEntries(3);
+        store = new InMemoryIdempotencyStore(properties);
+        idempotencyService = new IdempotencyServiceImpl(store, properties, new ObjectMapper());
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver o resultado armazenado quando a mesma chave é reenviada")
+    void executar_DeveDevolverResultadoArmazenado_QuandoChaveRepetida() {
+
+        AtomicInteger execucoes = new AtomicInteger();
+
+        String primeiro = idempotencyService.executar("pedidos:joao:abc", CORPO, String.class, () -> "pedido-" + execucoes.incrementAndGet());
+        String segundo = idempotencyService.executar("pedidos:joao:abc", CORPO, String.class, () -> "pedido-" + execucoes.incrementAndGet());
+
+        assertEquals("pedido-1", primeiro);
+        assertEquals("pedido-1", segundo);
+        assertEquals(1, execucoes.get());
+
+    }
+
+    @Test
+    @DisplayName("Deve executar a operação uma única vez quando requisições concorrentes usam a mesma chave")
+    void executar_DeveExecutarUmaVez_QuandoRequisicoesConcorrentes() throws Exception {
+
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+
+            Future<String> primeira = executor.submit(() -> idempotencyService.executar("pedidos:joao:xyz", CORPO, String.class, () -> {
+
+                iniciou.countDown();
+                aguardar(liberar);
+                return "pedido-" + execucoes.incrementAndGet();
+
+            }));
+
+            assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+            Future<String> segunda = executor.submit(() ->
+                idempotencyService.executar("pedidos:joao:xyz", CORPO, String.class, () -> "pedido-" + execucoes.incrementAndGet()));
+            Future<String> terceira = executor.submit(() ->
+                idempotencyService.executar("pedidos:joao:xyz", CORPO, String.class, () -> "pedido-" + execucoes.incrementAndGet()));
+
+            liberar.countDown();
+
+            assertEquals("pedido-1", primeira.get(5, TimeUnit.SECONDS));
+            assertEquals("pedido-1", segunda.get(5, TimeUnit.SECONDS));
+            assertEquals("pedido-1", terceira.get(5, TimeUnit.SECONDS));
+            assertEquals(1, execucoes.get());
+
+        } finally {
+
+            executor.shutdownNow();
+
+        }
+
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave quando a operação falha, permitindo nova tentativa")
+    void executar_DeveLiberarChave_QuandoOperacaoFalha() {
+
+        assertThrows(BusinessException.class, () -> idempotencyService.executar("pedidos:joao:falha", CORPO, String.class, () -> {
+
+            throw new BusinessException("Produto indisponível: Pizza");
+
+        }));
+
+        String resultado = idempotencyService.executar("pedidos:joao:falha", CORPO, String.class, () -> "pedido-1");
+
+        assertEquals("pedido-1", resultado);
+
+    }
+
+    @Test
+    @DisplayName("Deve recusar a mesma chave com outro corpo de requisição, sem executar a operação")
+    void executar_DeveRecusarChave_QuandoCorpoDiferente() {
+
+        AtomicInteger execucoes = new AtomicInteger();
+        idempotencyService.executar("pedidos:joao:corpo", CORPO, String.class, () -> "pedido-" + execucoes.incrementAndGet());
+
+        BusinessException erro = assertThrows(BusinessException.class, () ->
+            idempotencyService.executar("pedidos:joao:corpo", Map.of("produtoId", 2), String.class, () -> "pedido-" + execucoes.incrementAndGet()));
+
+        assertTrue(erro.getMessage().contains("outro conteúdo"));
+        assertEquals(1, execucoes.get());
+
+    }
+
+    @Test
+    @DisplayName("Deve renovar a reserva enquanto a operação roda além do in-flight-ttl")
+    void executar_DeveRenovarReserva_EnquantoOperacaoRoda() {
+
+        properties.setInFlightTtl(Duration.ofMillis(150));
+
+        String resultado = idempotencyService.executar("pedidos:joao:lenta", CORPO, String.class, () -> {
+
+            aguardarMillis(600);
+
+            // A reserva continua valendo: outra instância não conseguiria reservar a chave.
+            assertFalse(store.reservar("pedidos:joao:lenta", Registro.novaReserva("outra"), Duration.ofSeconds(30)));
+            return "pedido-1";
+
+        });
+
+        assertEquals("pedido-1", resultado);
+        assertEquals("pedido-1", store.buscar("pedidos:joao:lenta").orElseThrow().resultado());
+
+    }
+
+    @Test
+    @DisplayName("Armazenamento deve manter um único registro por chave, que só a própria reserva conclui ou libera")
+    void store_DeveConcluirSomenteComAMesmaReserva() {
+
+        Registro reserva = Registro.novaReserva("abc");
+        Registro outra = Registro.novaReserva("abc");
+
+        assertTrue(store.reservar("chave", reserva, Duration.ofSeconds(30)));
+        assertFalse(store.reservar("chave", outra, Duration.ofSeconds(30)));
+        assertFalse(store.concluir("chave", outra, "valor", Duration.ofHours(1)));
+
+        store.liberar("chave", outra);
+        assertFalse(store.buscar("chave").orElseThrow().concluido());
+
+        assertTrue(store.concluir("chave", reserva, "valor", Duration.ofHours(1)));
+        assertFalse(store.reservar("chave", outra, Duration.ofSeconds(30)));
+        assertFalse(store.renovar("chave", reserva, Duration.ofSeconds(30)));
+        assertEquals("valor", store.buscar("chave").orElseThrow().resultado());
+
+    }
+
+    @Test
+    @DisplayName("Armazenamento em memória deve descartar as chaves mais antigas acima do limite")
+    void store_DeveRespeitarLimiteDeChaves() {
+
+        for (int i = 0; i < 5; i++) {
+
+            concluir("chave-" + i, "valor-" + i, Duration.ofHours(1));
+
+        }
+
+        assertEquals(3, store.tamanho());
+        assertTrue(store.buscar("chave-0").isEmpty());
+        assertEquals("valor-4", store.buscar("chave-4").orElseThrow().resultado());
+
+    }
+
+    @Test
+    @DisplayName("Armazenamento em memória deve expirar chaves após o TTL")
+    void store_DeveExpirarChaves_AposTtl() {
+
+        concluir("expirada", "valor", Duration.ZERO);
+        concluir("valida", "valor", Duration.ofHours(1));
+
+        assertTrue(store.buscar("expirada").isEmpty());
+        assertTrue(store.reservar("expirada", Registro.novaReserva("abc"), Duration.ofSeconds(30)));
+        assertFalse(store.reservar("valida", Registro.novaReserva("abc"), Duration.ofSeconds(30)));
+
+    }
+
+    private void concluir(String chave, String valor, Duration ttl) {
+
+        Registro reserva = Registro.novaReserva("abc");
+        store.reservar(chave, reserva, Duration.ofSeconds(30));
+        store.concluir(chave, reserva, valor, ttl);
+
+    }
+
+    private static void aguardarMillis(long millis) {
+
+        try {
+
+            Thread.sleep(millis);
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+        }
+
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+
+        try {
+
+            latch.await(5, TimeUnit.SECONDS);
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+        }
+
+    }
+
+}
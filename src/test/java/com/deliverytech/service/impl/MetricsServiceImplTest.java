@@ -0,0 +1,85 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.service.MetricsService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class MetricsServiceImplTest {
+
+    private PrometheusMeterRegistry registry;
+    private MetricsServiceImpl metricsService;
+
+    @BeforeEach
+    void setUp() {
+
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        metricsService = new MetricsServiceImpl(registry);
+
+    }
+
+    @Test
+    @DisplayName("Deve medir a criação de pedidos por resultado e atualizar os contadores")
+    void medirCriacaoPedido_DeveSepararSucessoRejeicaoEErro() {
+
+        assertThat(metricsService.medirCriacaoPedido(() -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> metricsService.medirCriacaoPedido(() -> {
+
+            throw new BusinessException("Cliente inativo");
+
+        })).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> metricsService.medirCriacaoPedido(() -> {
+
+            throw new IllegalStateException("falha");
+
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer(MetricsService.OPERACAO_CRIAR_PEDIDO, MetricsService.RESULTADO_SUCESSO).count()).isEqualTo(1);
+        assertThat(timer(MetricsService.OPERACAO_CRIAR_PEDIDO, MetricsService.RESULTADO_REJEITADO).count()).isEqualTo(1);
+        assertThat(timer(MetricsService.OPERACAO_CRIAR_PEDIDO, MetricsService.RESULTADO_ERRO).count()).isEqualTo(1);
+        assertThat(registry.get("delivery_pedidos_total").counter().count()).isEqualTo(3);
+        assertThat(registry.get("delivery_pedidos_sucesso_total").counter().count()).isEqualTo(1);
+        assertThat(registry.get("delivery_pedidos_erro_total").counter().count()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("Deve publicar p95/p99 e os buckets de SLO do timer de pedidos")
+    void medirAtualizacaoStatus_DevePublicarPercentisEHistograma() {
+
+        metricsService.medirAtualizacaoStatus(() -> "ok");
+
+        Timer timer = timer(MetricsService.OPERACAO_ATUALIZAR_STATUS, MetricsService.RESULTADO_SUCESSO);
+        assertThat(Arrays.stream(timer.takeSnapshot().percentileValues()).map(ValueAtPercentile::percentile))
+            .containsExactly(0.5, 0.95, 0.99);
+
+        // No Prometheus o timer vira histograma; os percentis saem de histogram_quantile() sobre os buckets.
+        assertThat(registry.scrape())
+            .contains("# TYPE delivery_pedido_processamento_seconds histogram")
+            .contains("delivery_pedido_processamento_seconds_bucket{operacao=\"atualizar_status\",resultado=\"sucesso\",le=\"0.5\"} 1");
+
+    }
+
+    private Timer timer(String operacao, String resultado) {
+
+        return registry.get(MetricsService.TIMER_PROCESSAMENTO_PEDIDO)
+            .tag("operacao", operacao)
+            .tag("resultado", resultado)
+            .timer();
+
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.config.OutboxProperties;
+import com.deliverytech.mapper.PedidoMapper;
+import com.deliverytech.model.OutboxEvento;
+import com.deliverytech.repository.OutboxEventoRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    @Mock
+    private OutboxEventoRepository outboxEventoRepository;
+
+    @Mock
+    private PedidoMapper pedidoMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> entregues = new ArrayList<>();
+    private Set<Long> falhas = Set.of();
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+
+        OutboxProperties properties = new OutboxProperties();
+        properties.setTamanhoLote(10);
+        outboxService = new OutboxServiceImpl(outboxEventoRepository, evento -> {
+
+            if (falhas.contains(evento.getId())) {
+
+                throw new IllegalStateException("sink indisponível");
+
+            }
+            entregues.add(evento.getId());
+
+        }, properties, new ObjectMapper(), pedidoMapper, evento -> { }, transactionManager);
+
+    }
+
+    @Test
+    @DisplayName("Deve publicar os pendentes em ordem e marcá-los como publicados")
+    @SuppressWarnings("unchecked")
+    void publicarPendentes_DevePublicarEmOrdemEMarcar() {
+
+        when(outboxEventoRepository.findPendentes(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(evento(1L, 10L), evento(2L, 20L), evento(3L, 10L)));
+
+        int publicados = outboxService.publicarPendentes();
+
+        assertThat(publicados).isEqualTo(3);
+        assertThat(entregues).containsExactly(1L, 2L, 3L);
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxEventoRepository).marcarPublicados(ids.capture(), any(LocalDateTime.class));
+        assertThat(ids.getValue()).containsExactly(1L, 2L, 3L);
+
+    }
+
+    @Test
+    @DisplayName("Deve segurar os eventos seguintes do pedido que falhou e seguir com os demais")
+    @SuppressWarnings("unchecked")
+    void publicarPendentes_ComFalha_DeveManterOrdemPorPedido() {
+
+        falhas = Set.of(1L);
+        when(outboxEventoRepository.findPendentes(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(evento(1L, 10L), evento(2L, 20L), evento(3L, 10L), evento(4L, 20L)));
+
+        int publicados = outboxService.publicarPendentes();
+
+        assertThat(publicados).isEqualTo(2);
+        assertThat(entregues).containsExactly(2L, 4L);
+        verify(outboxEventoRepository).registrarFalha(eq(1L), any(LocalDateTime.class));
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxEventoRepository).marcarPublicados(ids.capture(), any(LocalDateTime.class));
+        assertThat(ids.getValue()).containsExactly(2L, 4L);
+
+    }
+
+    @Test
+    @DisplayName("Deve adiar a próxima tentativa com espera exponencial e marcar como falho no limite")
+    void publicarPendentes_ComFalhasRepetidas_DeveAdiarEMarcarFalho() {
+
+        falhas = Set.of(1L, 2L);
+        OutboxEvento terceiraFalha = evento(1L, 10L);
+        terceiraFalha.setTentativas(2);
+        OutboxEvento ultimaFalha = evento(2L, 20L);
+        ultimaFalha.setTentativas(9);
+        when(outboxEventoRepository.findPendentes(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(terceiraFalha, ultimaFalha));
+
+        LocalDateTime antes = LocalDateTime.now();
+        outboxService.publicarPendentes();
+
+        ArgumentCaptor<LocalDateTime> proximaTentativa = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventoRepository).registrarFalha(eq(1L), proximaTentativa.capture());
+        assertThat(proximaTentativa.getValue()).isAfterOrEqualTo(antes.plusSeconds(4)).isBefore(antes.plusSeconds(10));
+        verify(outboxEventoRepository).marcarFalhou(eq(2L), any(LocalDateTime.class));
+        verify(outboxEventoRepository, never()).registrarFalha(eq(2L), any());
+
+    }
+
+    @Test
+    @DisplayName("Não deve marcar nada quando não há pendentes")
+    void publicarPendentes_SemPendentes_NaoDeveMarcar() {
+
+        when(outboxEventoRepository.findPendentes(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+
+        assertThat(outboxService.publicarPendentes()).isZero();
+        verify(outboxEventoRepository, never()).marcarPublicados(anyCollection(), any());
+
+    }
+
+    private OutboxEvento evento(Long id, Long pedidoId) {
+
+        OutboxEvento evento = new OutboxEvento(pedidoId, "PEDIDO_STATUS_ATUALIZADO", "{}", LocalDateTime.now());
+        evento.setId(id);
+        return evento;
+
+    }
+
+}
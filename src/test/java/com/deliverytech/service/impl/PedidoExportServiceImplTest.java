@@ -0,0 +1,141 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.config.ExportacaoProperties;
+import com.deliverytech.dto.request.PedidoFiltro;
+import com.deliverytech.enums.FormatoExportacao;
+import com.deliverytech.enums.StatusPedido;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+* Exporta pedidos gravados no H2 com o esquema das migrações.
+*/
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.defer-datasource-initialization=false",
+    "spring.sql.init.mode=never",
+    "delivery.exportacao.fetch-size=2",
+    "delivery.exportacao.flush-linhas=1"
+})
+@Import({ PedidoExportServiceImpl.class, ExportacaoProperties.class, ObjectMapper.class })
+class PedidoExportServiceImplTest {
+
+    private static final PedidoFiltro JANEIRO = new PedidoFiltro(null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), null, null);
+
+    @Autowired
+    private PedidoExportServiceImpl pedidoExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("INSERT INTO restaurante (id, nome, ativo) VALUES (1, 'Pizzaria, Centro', TRUE)");
+        jdbcTemplate.update("INSERT INTO cliente (id, nome, ativo) VALUES (1, 'Ana', TRUE)");
+        jdbcTemplate.update("INSERT INTO produto (id, nome, disponivel, restaurante_id) VALUES (1, 'Pizza \"Grande\"', TRUE, 1), (2, 'Suco', TRUE, 1)");
+        jdbcTemplate.update("INSERT INTO pedido (id, numero_pedido, data_pedido, status, valor_total, cliente_id, restaurante_id) VALUES " +
+            "(1, 'PED-1', TIMESTAMP '2025-01-10 12:00:00', 'ENTREGUE', 55.00, 1, 1), " +
+            "(2, 'PED-2', TIMESTAMP '2025-01-31 23:30:00', 'CANCELADO', 10.00, 1, 1), " +
+            "(3, 'PED-3', TIMESTAMP '2025-02-01 00:00:00', 'PENDENTE', 20.00, 1, 1)");
+        jdbcTemplate.update("INSERT INTO item_pedido (id, quantidade, preco_unitario, subtotal, pedido_id, produto_id) VALUES " +
+            "(1, 1, 45.00, 45.00, 1, 1), (2, 2, 5.00, 10.00, 1, 2)");
+
+    }
+
+    @Test
+    @DisplayName("Deve exportar uma linha CSV por item, com campos especiais entre aspas")
+    void exportar_Csv_DeveEscreverUmaLinhaPorItem() throws IOException {
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long pedidos = pedidoExportService.exportar(JANEIRO, FormatoExportacao.CSV, saida);
+
+        List<String> linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(pedidos).isEqualTo(2);
+        assertThat(linhas).hasSize(4);
+        assertThat(linhas.get(0)).startsWith("pedido_id,numero_pedido,data_pedido,status");
+        assertThat(linhas.get(1)).startsWith("1,PED-1,2025-01-10T12:00,ENTREGUE,1,\"Pizzaria, Centro\",1,")
+            .contains(",1,1,\"Pizza \"\"Grande\"\"\",1,45.00,45.00");
+        assertThat(linhas.get(2)).startsWith("1,PED-1,").endsWith(",2,2,Suco,2,5.00,10.00");
+        assertThat(linhas.get(3)).startsWith("2,PED-2,2025-01-31T23:30,CANCELADO,").endsWith(",,,,,,");
+
+    }
+
+    @Test
+    @DisplayName("Deve neutralizar no CSV os nomes que uma planilha interpretaria como fórmula")
+    void exportar_Csv_DeveNeutralizarFormulas() throws IOException {
+
+        jdbcTemplate.update("UPDATE restaurante SET nome = '@SUM(A1:A9)' WHERE id = 1");
+        jdbcTemplate.update("UPDATE produto SET nome = '=HYPERLINK(\"http://x\",\"abrir\")' WHERE id = 1");
+        jdbcTemplate.update("UPDATE produto SET nome = '-2+3' WHERE id = 2");
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        pedidoExportService.exportar(JANEIRO, FormatoExportacao.CSV, saida);
+
+        List<String> linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(linhas.get(1)).contains(",'@SUM(A1:A9),")
+            .contains(",\"'=HYPERLINK(\"\"http://x\"\",\"\"abrir\"\")\",");
+        assertThat(linhas.get(2)).endsWith(",'-2+3,2,5.00,10.00");
+
+    }
+
+    @Test
+    @DisplayName("Deve exportar um objeto NDJSON por pedido, com os itens agrupados")
+    void exportar_Ndjson_DeveAgruparItensPorPedido() throws IOException {
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        pedidoExportService.exportar(JANEIRO, FormatoExportacao.NDJSON, saida);
+
+        String conteudo = saida.toString(StandardCharsets.UTF_8);
+        List<String> linhas = conteudo.lines().toList();
+        assertThat(conteudo).endsWith("\n");
+        assertThat(linhas).hasSize(2);
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode primeiro = mapper.readTree(linhas.get(0));
+        assertThat(primeiro.get("numeroPedido").asText()).isEqualTo("PED-1");
+        assertThat(primeiro.get("itens")).hasSize(2);
+        assertThat(primeiro.get("itens").get(1).get("produtoNome").asText()).isEqualTo("Suco");
+        JsonNode segundo = mapper.readTree(linhas.get(1));
+        assertThat(segundo.get("status").asText()).isEqualTo(StatusPedido.CANCELADO.name());
+        assertThat(segundo.get("itens")).isEmpty();
+
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os demais filtros na consulta")
+    void exportar_ComStatus_DeveFiltrar() throws IOException {
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        PedidoFiltro filtro = new PedidoFiltro(StatusPedido.PENDENTE, null, null, 1L, 1L);
+
+        long pedidos = pedidoExportService.exportar(filtro, FormatoExportacao.NDJSON, saida);
+
+        assertThat(pedidos).isEqualTo(1);
+        assertThat(saida.toString(StandardCharsets.UTF_8)).contains("\"numeroPedido\":\"PED-3\"");
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.config.PedidoFeedProperties;
+import com.deliverytech.dto.response.PedidoResponseDTO;
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.event.PedidoAlteradoEvent;
+import com.deliverytech.service.PedidoService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class PedidoFeedServiceImplTest {
+
+    @Mock
+    private PedidoService pedidoService;
+
+    private PedidoFeedServiceImpl feedService;
+
+    @BeforeEach
+    void setUp() {
+
+        PedidoFeedProperties properties = new PedidoFeedProperties();
+        properties.setMaxInscritos(2);
+        feedService = new PedidoFeedServiceImpl(pedidoService, properties, new ObjectMapper().findAndRegisterModules());
+
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        feedService.encerrar();
+
+    }
+
+    @Test
+    @DisplayName("Deve consultar os pedidos abertos do restaurante só na inscrição")
+    void inscrever_DeveMontarSnapshotDoRestaurante() {
+
+        when(pedidoService.listarPedidosAbertosPorRestaurante(1L)).thenReturn(List.of());
+
+        assertThat(feedService.inscrever(1L)).isPresent();
+        feedService.aoAlterarPedido(evento(10L, 1L));
+        feedService.aoAlterarPedido(evento(11L, 2L));
+
+        verify(pedidoService, times(1)).listarPedidosAbertosPorRestaurante(1L);
+        verifyNoMoreInteractions(pedidoService);
+        assertThat(feedService.totalInscritos()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("Deve recusar inscrições acima do limite de conexões simultâneas")
+    void inscrever_AcimaDoLimite_DeveRetornarVazio() {
+
+        when(pedidoService.listarPedidosAbertosPorRestaurante(anyLong())).thenReturn(List.of());
+
+        assertThat(feedService.inscrever(1L)).isPresent();
+        assertThat(feedService.inscrever(2L)).isPresent();
+        assertThat(feedService.inscrever(1L)).isEmpty();
+        assertThat(feedService.totalInscritos()).isEqualTo(2);
+
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga quando a consulta do snapshot falha")
+    void inscrever_ComFalhaNoSnapshot_DeveLiberarVaga() {
+
+        when(pedidoService.listarPedidosAbertosPorRestaurante(1L)).thenThrow(new IllegalStateException("banco indisponível"));
+
+        assertThatThrownBy(() -> feedService.inscrever(1L)).isInstanceOf(IllegalStateException.class);
+        assertThat(feedService.totalInscritos()).isZero();
+
+    }
+
+    private PedidoAlteradoEvent evento(Long pedidoId, Long restauranteId) {
+
+        PedidoResponseDTO pedido = new PedidoResponseDTO();
+        pedido.setId(pedidoId);
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setDataPedido(LocalDateTime.now());
+        return new PedidoAlteradoEvent(pedidoId, restauranteId, "PEDIDO_CRIADO", StatusPedido.PENDENTE, null,
+            pedido.getDataPedido(), BigDecimal.TEN, pedido);
+
+    }
+
+}
@@ -5,11 +5,16 @@ import com.deliverytech.dto.response.*;
 import com.deliverytech.enums.StatusPedido;
 import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.mapper.PedidoMapper;
 import com.deliverytech.model.*;
+import com.deliverytech.pagination.CursorCodec;
+import com.deliverytech.pagination.CursorPage;
+import com.deliverytech.projection.PedidoDonos;
 import com.deliverytech.repository.ClienteRepository;
 import com.deliverytech.repository.PedidoRepository;
 import com.deliverytech.repository.ProdutoRepository;
 import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.OutboxService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,23 +22,27 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import org.modelmapper.ModelMapper;
-
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -42,6 +51,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -62,7 +73,10 @@ class PedidoServiceImplTest {
     private RestauranteRepository restauranteRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private PedidoMapper pedidoMapper;
+
+    @Mock
+    private OutboxService outboxService;
 
     @Mock
     private Authentication authentication;
@@ -132,9 +146,9 @@ class PedidoServiceImplTest {
 
             when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
             when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
-            when(produtoRepository.findById(produto.getId())).thenReturn(Optional.of(produto));
+            when(produtoRepository.findAllByIdComRestaurante(anyCollection())).thenReturn(List.of(produto));
             when(pedidoRepository.save(any(Pedido.class))).thenReturn(pedido);
-            when(modelMapper.map(any(Pedido.class), eq(PedidoResponseDTO.class))).thenReturn(pedidoResponseDTO);
+            when(pedidoMapper.toResponseDTO(any(Pedido.class))).thenReturn(pedidoResponseDTO);
 
             PedidoResponseDTO response = pedidoService.criarPedido(pedidoDTO);
 
@@ -183,11 +197,11 @@ class PedidoServiceImplTest {
 
             when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
             when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
-            when(produtoRepository.findById(produto.getId())).thenReturn(Optional.of(produto));
+            when(produtoRepository.findAllByIdComRestaurante(anyCollection())).thenReturn(List.of(produto));
 
             assertThatThrownBy(() -> pedidoService.criarPedido(pedidoDTO))
                 .isInstanceOf(BusinessException.class)
-                .hasMessage("Produto não pertence ao restaurante selecionado");
+                .hasMessage("Produto não pertence ao restaurante selecionado: " + produto.getNome());
             verify(pedidoRepository, never()).save(any());
 
         }
@@ -199,7 +213,7 @@ class PedidoServiceImplTest {
             produto.setDisponivel(false);
             when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
             when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
-            when(produtoRepository.findById(produto.getId())).thenReturn(Optional.of(produto));
+            when(produtoRepository.findAllByIdComRestaurante(anyCollection())).thenReturn(List.of(produto));
 
             assertThatThrownBy(() -> pedidoService.criarPedido(pedidoDTO))
                 .isInstanceOf(BusinessException.class)
@@ -226,7 +240,7 @@ class PedidoServiceImplTest {
 
             when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
             when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
-            when(produtoRepository.findById(produto.getId())).thenReturn(Optional.empty());
+            when(produtoRepository.findAllByIdComRestaurante(anyCollection())).thenReturn(List.of());
 
             assertThatThrownBy(() -> pedidoService.criarPedido(pedidoDTO))
                 .isInstanceOf(EntityNotFoundException.class);
@@ -234,6 +248,90 @@ class PedidoServiceImplTest {
 
         }
 
+        @Test
+        @DisplayName("Deve carregar todos os produtos do carrinho em uma única consulta")
+        void criarPedido_ComVariosItens_CarregaProdutosEmUmaConsulta() {
+
+            Produto bebida = new Produto();
+            bebida.setId(11L);
+            bebida.setNome("Refrigerante Teste");
+            bebida.setPreco(new BigDecimal("8.00"));
+            bebida.setDisponivel(true);
+            bebida.setRestaurante(restaurante);
+
+            ItemPedidoDTO itemBebida = new ItemPedidoDTO();
+            itemBebida.setProdutoId(bebida.getId());
+            itemBebida.setQuantidade(3);
+            pedidoDTO.setItens(List.of(pedidoDTO.getItens().get(0), itemBebida));
+
+            when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
+            when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
+            when(produtoRepository.findAllByIdComRestaurante(anyCollection())).thenReturn(List.of(produto, bebida));
+            when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(pedidoMapper.toResponseDTO(any(Pedido.class))).thenReturn(pedidoResponseDTO);
+
+            pedidoService.criarPedido(pedidoDTO);
+
+            verify(produtoRepository, times(1)).findAllByIdComRestaurante(anyCollection());
+            verify(produtoRepository, never()).findById(any());
+            verify(pedidoRepository).save(argThat(p -> p.getItens().size() == 2
+                && p.getSubtotal().compareTo(new BigDecimal("74.00")) == 0
+                && p.getValorTotal().compareTo(new BigDecimal("79.00")) == 0));
+
+        }
+
+        @Test
+        @DisplayName("Deve reportar todos os itens inválidos de uma só vez")
+        void criarPedido_ComVariosItensInvalidos_ReportaTodosOsErros() {
+
+            Restaurante outroRestaurante = new Restaurante();
+            outroRestaurante.setId(2L);
+
+            Produto produtoDeOutroRestaurante = new Produto();
+            produtoDeOutroRestaurante.setId(12L);
+            produtoDeOutroRestaurante.setNome("Sushi Teste");
+            produtoDeOutroRestaurante.setDisponivel(true);
+            produtoDeOutroRestaurante.setRestaurante(outroRestaurante);
+            produto.setDisponivel(false);
+
+            ItemPedidoDTO itemSushi = new ItemPedidoDTO();
+            itemSushi.setProdutoId(produtoDeOutroRestaurante.getId());
+            itemSushi.setQuantidade(1);
+            pedidoDTO.setItens(List.of(pedidoDTO.getItens().get(0), itemSushi));
+
+            when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
+            when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
+            when(produtoRepository.findAllByIdComRestaurante(anyCollection())).thenReturn(List.of(produto, produtoDeOutroRestaurante));
+
+            assertThatThrownBy(() -> pedidoService.criarPedido(pedidoDTO))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Produto indisponível: Pizza Teste; Produto não pertence ao restaurante selecionado: Sushi Teste");
+            verify(pedidoRepository, never()).save(any());
+
+        }
+
+        @Test
+        @DisplayName("Deve informar todos os IDs de produtos inexistentes de uma só vez")
+        void criarPedido_ComVariosProdutosInexistentes_InformaTodosOsIds() {
+
+            ItemPedidoDTO itemInexistente = new ItemPedidoDTO();
+            itemInexistente.setProdutoId(99L);
+            itemInexistente.setQuantidade(1);
+            ItemPedidoDTO outroItemInexistente = new ItemPedidoDTO();
+            outroItemInexistente.setProdutoId(98L);
+            outroItemInexistente.setQuantidade(1);
+            pedidoDTO.setItens(List.of(pedidoDTO.getItens().get(0), itemInexistente, outroItemInexistente));
+
+            when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
+            when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
+            when(produtoRepository.findAllByIdComRestaurante(anyCollection())).thenReturn(List.of(produto));
+
+            assertThatThrownBy(() -> pedidoService.criarPedido(pedidoDTO))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Produto não encontrado: 99, 98");
+
+        }
+
     }
 
     @Nested
@@ -276,7 +374,7 @@ class PedidoServiceImplTest {
         void atualizarStatusPedido_DeEntregueParaPendente_DeveLancarExcecao() {
 
             pedido.setStatus(StatusPedido.ENTREGUE);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(100L, StatusPedido.PENDENTE))
                 .isInstanceOf(BusinessException.class)
@@ -289,7 +387,7 @@ class PedidoServiceImplTest {
         void atualizarStatusPedido_DePendenteParaEntregue_DeveLancarExcecao() {
 
             pedido.setStatus(StatusPedido.PENDENTE);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(100L, StatusPedido.ENTREGUE))
                 .isInstanceOf(BusinessException.class)
@@ -302,7 +400,7 @@ class PedidoServiceImplTest {
         void atualizarStatusPedido_DeConfirmadoParaEntregue_DeveLancarExcecao() {
 
             pedido.setStatus(StatusPedido.CONFIRMADO);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(100L, StatusPedido.ENTREGUE))
                 .isInstanceOf(BusinessException.class)
@@ -315,7 +413,7 @@ class PedidoServiceImplTest {
         void atualizarStatusPedido_DePreparandoParaPendente_DeveLancarExcecao() {
 
             pedido.setStatus(StatusPedido.PREPARANDO);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(100L, StatusPedido.PENDENTE))
                 .isInstanceOf(BusinessException.class)
@@ -328,7 +426,7 @@ class PedidoServiceImplTest {
         void atualizarStatusPedido_DeSaiuParaEntregaParaPreparando_DeveLancarExcecao() {
 
             pedido.setStatus(StatusPedido.SAIU_PARA_ENTREGA);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(100L, StatusPedido.PREPARANDO))
                 .isInstanceOf(BusinessException.class)
@@ -341,7 +439,7 @@ class PedidoServiceImplTest {
         void atualizarStatusPedido_DeEntregueParaConfirmado_DeveLancarExcecao() {
 
             pedido.setStatus(StatusPedido.ENTREGUE);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(100L, StatusPedido.CONFIRMADO))
                 .isInstanceOf(BusinessException.class)
@@ -359,12 +457,13 @@ class PedidoServiceImplTest {
         void cancelarPedido_ComStatusConfirmado_DeveAlterarStatusParaCancelado() {
 
             pedido.setStatus(StatusPedido.CONFIRMADO);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             pedidoService.cancelarPedido(100L);
             
             assertThat(pedido.getStatus()).isEqualTo(StatusPedido.CANCELADO);
             verify(pedidoRepository).save(pedido);
+            verify(outboxService).registrar(pedido, OutboxService.PEDIDO_CANCELADO, StatusPedido.CONFIRMADO);
 
         }
 
@@ -373,7 +472,7 @@ class PedidoServiceImplTest {
         void cancelarPedido_ComStatusPendente_DeveAlterarStatusParaCancelado() {
 
             pedido.setStatus(StatusPedido.PENDENTE);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             pedidoService.cancelarPedido(100L);
             
@@ -387,7 +486,7 @@ class PedidoServiceImplTest {
         void cancelarPedido_ComStatusEntregue_DeveLancarBusinessException() {
 
             pedido.setStatus(StatusPedido.ENTREGUE);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             assertThatThrownBy(() -> pedidoService.cancelarPedido(100L))
                 .isInstanceOf(BusinessException.class)
@@ -400,7 +499,7 @@ class PedidoServiceImplTest {
         void cancelarPedido_ComStatusPreparando_DeveLancarBusinessException() {
 
             pedido.setStatus(StatusPedido.PREPARANDO);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             assertThatThrownBy(() -> pedidoService.cancelarPedido(100L))
                 .isInstanceOf(BusinessException.class)
@@ -413,7 +512,7 @@ class PedidoServiceImplTest {
         void cancelarPedido_ComStatusSaiuParaEntrega_DeveLancarBusinessException() {
 
             pedido.setStatus(StatusPedido.SAIU_PARA_ENTREGA);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
             
             assertThatThrownBy(() -> pedidoService.cancelarPedido(100L))
                 .isInstanceOf(BusinessException.class)
@@ -430,7 +529,7 @@ class PedidoServiceImplTest {
         @DisplayName("Deve calcular o total de um pedido (versão com lista de itens)")
         void calcularTotalPedido_ComListaDeItens_DeveRetornarSomaCorreta() {
 
-            when(produtoRepository.findById(produto.getId())).thenReturn(Optional.of(produto));
+            when(produtoRepository.findAllByIdComRestaurante(anyCollection())).thenReturn(List.of(produto));
             
             BigDecimal total = pedidoService.calcularTotalPedido(pedidoDTO.getItens());
 
@@ -447,7 +546,7 @@ class PedidoServiceImplTest {
             calculoDTO.setItens(pedidoDTO.getItens());
 
             when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
-            when(produtoRepository.findById(produto.getId())).thenReturn(Optional.of(produto));
+            when(produtoRepository.findAllByIdComRestaurante(anyCollection())).thenReturn(List.of(produto));
             
             CalculoPedidoResponseDTO response = pedidoService.calcularTotalPedido(calculoDTO);
 
@@ -467,13 +566,65 @@ class PedidoServiceImplTest {
         void listarPedidos_DeveRetornarPaginaDeDTOs() {
 
             Page<Pedido> paginaDePedidos = new PageImpl<>(List.of(pedido));
-            when(pedidoRepository.findAll(any(Pageable.class))).thenReturn(paginaDePedidos);
-            when(modelMapper.map(any(Pedido.class), eq(PedidoResponseDTO.class))).thenReturn(pedidoResponseDTO);
+            when(pedidoRepository.findAll(ArgumentMatchers.<Specification<Pedido>>any(), any(Pageable.class))).thenReturn(paginaDePedidos);
+            when(pedidoMapper.toResponseDTO(any(Pedido.class))).thenReturn(pedidoResponseDTO);
 
-            Page<PedidoResponseDTO> resultado = pedidoService.listarPedidos(null, null, null, Pageable.unpaged());
+            PedidoFiltro filtro = new PedidoFiltro(StatusPedido.ENTREGUE, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 1L, 2L);
+            Page<PedidoResponseDTO> resultado = pedidoService.listarPedidos(filtro, Pageable.unpaged());
 
             assertThat(resultado).isNotNull();
             assertThat(resultado.getContent()).hasSize(1);
+            verify(pedidoRepository, never()).findAll(any(Pageable.class));
+
+        }
+
+        @Test
+        @DisplayName("Deve lançar BusinessException quando a data inicial é posterior à final")
+        void listarPedidos_ComPeriodoInvertido_DeveLancarExcecao() {
+
+            PedidoFiltro filtro = new PedidoFiltro(null, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, null);
+
+            assertThatThrownBy(() -> pedidoService.listarPedidos(filtro, Pageable.unpaged()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("A data inicial não pode ser posterior à data final.");
+
+            verifyNoInteractions(pedidoRepository);
+
+        }
+
+        @Test
+        @DisplayName("Deve listar pedidos por cursor buscando uma linha a mais para saber se há próxima página")
+        @SuppressWarnings("unchecked")
+        void listarPedidosPorCursor_ComMaisLinhasQueOTamanho_DeveRetornarProximoCursor() {
+
+            Pedido segundo = new Pedido();
+            segundo.setId(99L);
+            segundo.setDataPedido(LocalDateTime.of(2025, 1, 10, 20, 0));
+            Pedido terceiro = new Pedido();
+            terceiro.setId(98L);
+            terceiro.setDataPedido(LocalDateTime.of(2025, 1, 9, 20, 0));
+
+            when(pedidoRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(List.of(pedido, segundo, terceiro));
+            when(pedidoMapper.toResponseDTO(any(Pedido.class))).thenReturn(pedidoResponseDTO);
+
+            CursorPage<PedidoResponseDTO> resultado = pedidoService.listarPedidosPorCursor(PedidoFiltro.vazio(), "", 2);
+
+            assertThat(resultado.content()).hasSize(2);
+            assertThat(resultado.hasNext()).isTrue();
+            assertThat(CursorCodec.decodificar(resultado.nextCursor(), 2)).containsExactly("2025-01-10T20:00", "99");
+
+        }
+
+        @Test
+        @DisplayName("Deve lançar BusinessException para cursor inválido")
+        @SuppressWarnings("unchecked")
+        void listarPedidosPorCursor_ComCursorInvalido_DeveLancarExcecao() {
+
+            assertThatThrownBy(() -> pedidoService.listarPedidosPorCursor(PedidoFiltro.vazio(), CursorCodec.codificar("ontem", "abc"), 20))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Cursor de paginação inválido.");
+
+            verify(pedidoRepository, never()).findBy(any(Specification.class), any(Function.class));
 
         }
 
@@ -481,10 +632,10 @@ class PedidoServiceImplTest {
         @DisplayName("Deve buscar pedidos por restaurante")
         void buscarPedidosPorRestaurante_ComIdValido_DeveRetornarListaDeDTOs() {
 
-            when(pedidoRepository.findByRestauranteId(1L)).thenReturn(List.of(pedido));
-            when(modelMapper.map(any(Pedido.class), eq(PedidoResponseDTO.class))).thenReturn(pedidoResponseDTO);
+            when(pedidoRepository.findAll(ArgumentMatchers.<Specification<Pedido>>any(), any(Sort.class))).thenReturn(List.of(pedido));
+            when(pedidoMapper.toResponseDTO(any(Pedido.class))).thenReturn(pedidoResponseDTO);
 
-            List<PedidoResponseDTO> resultado = pedidoService.buscarPedidosPorRestaurante(1L, null);
+            List<PedidoResponseDTO> resultado = pedidoService.buscarPedidosPorRestaurante(1L, StatusPedido.PENDENTE);
 
             assertThat(resultado).isNotNull().hasSize(1);
 
@@ -494,7 +645,7 @@ class PedidoServiceImplTest {
         void buscarPedidoPorId_ComIdExistente_DeveRetornarDTO() {
 
             when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
-            when(modelMapper.map(pedido, PedidoResponseDTO.class)).thenReturn(pedidoResponseDTO);
+            when(pedidoMapper.toResponseDTO(pedido)).thenReturn(pedidoResponseDTO);
             PedidoResponseDTO response = pedidoService.buscarPedidoPorId(100L);
             assertThat(response).isNotNull();
 
@@ -504,7 +655,7 @@ class PedidoServiceImplTest {
         void buscarPedidosPorCliente_ComClienteExistente_DeveRetornarListaDeDTOs() {
 
             when(pedidoRepository.findByClienteId(1L)).thenReturn(List.of(pedido));
-            when(modelMapper.map(pedido, PedidoResponseDTO.class)).thenReturn(pedidoResponseDTO);
+            when(pedidoMapper.toResponseDTO(pedido)).thenReturn(pedidoResponseDTO);
             List<PedidoResponseDTO> response = pedidoService.buscarPedidosPorCliente(1L);
             assertThat(response).isNotNull().hasSize(1);
 
@@ -520,9 +671,10 @@ class PedidoServiceImplTest {
         void isClientOwner_WhenUserIsClient_ReturnsTrue() {
 
             setupSecurityContext(usuario);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findDonosById(100L)).thenReturn(Optional.of(donos(1L, 1L)));
 
             assertTrue(pedidoService.isClientOwner(100L));
+            verify(pedidoRepository, never()).findById(anyLong());
 
         }
 
@@ -533,20 +685,33 @@ class PedidoServiceImplTest {
             Usuario outroUsuario = new Usuario();
             outroUsuario.setId(999L);
             setupSecurityContext(outroUsuario);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findDonosById(100L)).thenReturn(Optional.of(donos(1L, 1L)));
 
             assertFalse(pedidoService.isClientOwner(100L));
 
         }
 
+        @Test
+        @DisplayName("Deve lançar EntityNotFoundException se o pedido não existe")
+        void isClientOwner_WhenPedidoDoesNotExist_ThrowsException() {
+
+            setupSecurityContext(usuario);
+            when(pedidoRepository.findDonosById(100L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> pedidoService.isClientOwner(100L))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        }
+
         @Test
         @DisplayName("Deve retornar true se usuário é dono do restaurante")
         void isRestaurantOwner_WhenUserIsRestaurantOwner_ReturnsTrue() {
 
             setupSecurityContext(usuario);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findDonosById(100L)).thenReturn(Optional.of(donos(1L, 1L)));
 
             assertTrue(pedidoService.isRestaurantOwner(100L));
+            verify(pedidoRepository, never()).findById(anyLong());
 
         }
 
@@ -558,20 +723,36 @@ class PedidoServiceImplTest {
             outroUsuario.setId(999L);
             outroUsuario.setRestauranteId(999L);
             setupSecurityContext(outroUsuario);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+            when(pedidoRepository.findDonosById(100L)).thenReturn(Optional.of(donos(1L, 1L)));
 
             assertFalse(pedidoService.isRestaurantOwner(100L));
 
         }
 
         @Test
-        @DisplayName("Deve return true se usuário tem acesso ao pedido")
+        @DisplayName("Deve retornar true se usuário tem acesso ao pedido retornado, sem consultar o banco")
         void canAccess_WhenUserHasAccess_ReturnsTrue() {
 
+            PedidoResponseDTO.ClienteResumidoDTO clienteResumido = new PedidoResponseDTO.ClienteResumidoDTO();
+            clienteResumido.setId(1L);
+            pedidoResponseDTO.setCliente(clienteResumido);
             setupSecurityContext(usuario);
-            when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
 
-            assertTrue(pedidoService.canAccess(100L));
+            assertTrue(pedidoService.canAccess(pedidoResponseDTO));
+            verifyNoInteractions(pedidoRepository);
+
+        }
+
+        @Test
+        @DisplayName("Deve retornar false se o usuário não é cliente nem restaurante do pedido")
+        void canAccess_WhenUserIsNotOwner_ReturnsFalse() {
+
+            PedidoResponseDTO.RestauranteResumidoDTO restauranteResumido = new PedidoResponseDTO.RestauranteResumidoDTO();
+            restauranteResumido.setId(2L);
+            pedidoResponseDTO.setRestaurante(restauranteResumido);
+            setupSecurityContext(usuario);
+
+            assertFalse(pedidoService.canAccess(pedidoResponseDTO));
 
         }
 
@@ -580,7 +761,29 @@ class PedidoServiceImplTest {
         void canAccess_WhenNoAuthentication_ReturnsFalse() {
 
             SecurityContextHolder.clearContext();
-            assertFalse(pedidoService.canAccess(100L));
+            assertFalse(pedidoService.canAccess(pedidoResponseDTO));
+
+        }
+
+        private PedidoDonos donos(Long clienteId, Long restauranteId) {
+
+            return new PedidoDonos() {
+
+                @Override
+                public Long getClienteId() {
+
+                    return clienteId;
+
+                }
+
+                @Override
+                public Long getRestauranteId() {
+
+                    return restauranteId;
+
+                }
+
+            };
 
         }
 
@@ -597,9 +800,9 @@ class PedidoServiceImplTest {
     private void testarTransicaoDeStatusValida(StatusPedido statusInicial, StatusPedido statusFinal) {
 
         pedido.setStatus(statusInicial);
-        when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+        when(pedidoRepository.findByIdParaAtualizacao(100L)).thenReturn(Optional.of(pedido));
         when(pedidoRepository.save(any(Pedido.class))).thenReturn(pedido);
-        when(modelMapper.map(any(Pedido.class), eq(PedidoResponseDTO.class))).thenReturn(pedidoResponseDTO);
+        when(pedidoMapper.toResponseDTO(any(Pedido.class))).thenReturn(pedidoResponseDTO);
 
         pedidoService.atualizarStatusPedido(100L, statusFinal);
         
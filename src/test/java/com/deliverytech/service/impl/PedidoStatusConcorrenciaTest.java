@@ -0,0 +1,267 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.config.OutboxProperties;
+import com.deliverytech.config.RelatorioProperties;
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.event.PedidoAlteradoEvent;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.mapper.PedidoMapper;
+import com.deliverytech.service.OutboxService;
+import com.deliverytech.service.OutboxSink;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+* Mudanças de status concorrentes com transações de verdade no H2 (esquema das migrações).
+* Um ouvinte do evento segura cada transação aberta um pouco antes do commit, depois do registro no
+* outbox e do MERGE no agregado, para a outra operação começar enquanto ela ainda não terminou.
+*/
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:concorrencia;LOCK_TIMEOUT=10000",
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.defer-datasource-initialization=false",
+    "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ PedidoServiceImpl.class, OutboxServiceImpl.class, OutboxProperties.class, VendasAgregadasServiceImpl.class,
+    RelatorioProperties.class, JacksonAutoConfiguration.class, PedidoStatusConcorrenciaTest.Config.class })
+class PedidoStatusConcorrenciaTest {
+
+    private static final LocalDateTime ONTEM = LocalDate.now().minusDays(1).atTime(12, 0);
+    private static final long PEDIDO_ID = 1L;
+    private static final long PAUSA_ANTES_DO_COMMIT_MS = 300;
+
+    @Autowired
+    private PedidoServiceImpl pedidoService;
+
+    @Autowired
+    private VendasAgregadasServiceImpl vendasAgregadasService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AntesDoCommit antesDoCommit;
+
+    @MockitoBean
+    private PedidoMapper pedidoMapper;
+
+    private ExecutorService executor;
+
+    @MockitoBean
+    private OutboxSink outboxSink;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("INSERT INTO restaurante (id, nome, ativo) VALUES (1, 'Pizzaria', TRUE)");
+        jdbcTemplate.update("INSERT INTO pedido (id, data_pedido, status, valor_total, restaurante_id) VALUES (?, ?, 'PENDENTE', 50.00, 1)",
+            PEDIDO_ID, ONTEM);
+        vendasAgregadasService.reconciliar(ONTEM.toLocalDate(), ONTEM.toLocalDate());
+        antesDoCommit.acao = this::pausar;
+        executor = Executors.newFixedThreadPool(2);
+
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        executor.shutdownNow();
+        antesDoCommit.acao = () -> { };
+        jdbcTemplate.update("DELETE FROM outbox_evento");
+        jdbcTemplate.update("DELETE FROM venda_diaria");
+        jdbcTemplate.update("DELETE FROM pedido");
+        jdbcTemplate.update("DELETE FROM restaurante");
+
+    }
+
+    @Test
+    @DisplayName("Duas mudanças simultâneas do mesmo pedido devem ser aplicadas uma após a outra")
+    void atualizarStatusPedido_Concorrente_DeveSerializarPeloPedido() {
+
+        CompletableFuture<Void> primeira = executar(() -> pedidoService.atualizarStatusPedido(PEDIDO_ID, StatusPedido.CONFIRMADO));
+        CompletableFuture<Void> segunda = executar(() -> pedidoService.atualizarStatusPedido(PEDIDO_ID, StatusPedido.CONFIRMADO));
+
+        // A segunda espera o bloqueio do pedido, lê CONFIRMADO e recusa a transição repetida.
+        List<Throwable> falhas = List.of(primeira, segunda).stream().map(this::falha).filter(falha -> falha != null).toList();
+        assertThat(falhas).hasSize(1).first().isInstanceOf(BusinessException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_evento WHERE pedido_id = ? AND tipo = ?",
+            Long.class, PEDIDO_ID, OutboxService.PEDIDO_STATUS_ATUALIZADO)).isEqualTo(1);
+        assertThat(contagemPorStatus()).containsOnly(Map.entry(StatusPedido.CONFIRMADO, 1L));
+
+    }
+
+    @Test
+    @DisplayName("Cancelamento simultâneo a uma mudança de status deve ler o status já gravado por ela")
+    void cancelarPedido_ConcorrenteComAtualizacao_DeveGravarEventosEmOrdem() {
+
+        CompletableFuture<Void> confirmacao = executar(() -> pedidoService.atualizarStatusPedido(PEDIDO_ID, StatusPedido.CONFIRMADO));
+        pausar();
+        CompletableFuture<Void> cancelamento = executar(() -> pedidoService.cancelarPedido(PEDIDO_ID));
+
+        assertThat(falha(confirmacao)).isNull();
+        assertThat(falha(cancelamento)).isNull();
+
+        // Um evento por mudança, na ordem em que foram aplicadas, cada um com o status anterior correto.
+        assertThat(jdbcTemplate.queryForList("SELECT tipo FROM outbox_evento WHERE pedido_id = ? ORDER BY id", String.class, PEDIDO_ID))
+            .containsExactly(OutboxService.PEDIDO_STATUS_ATUALIZADO, OutboxService.PEDIDO_CANCELADO);
+        assertThat(contagemPorStatus()).containsOnly(Map.entry(StatusPedido.CANCELADO, 1L));
+
+    }
+
+    @Test
+    @DisplayName("Reconciliação simultânea a uma mudança de status deve esperar por ela, sem deadlock")
+    void reconciliar_ConcorrenteComAtualizacao_NaoDeveTravar() {
+
+        // A mudança de status chega ao commit com o pedido e a linha do agregado bloqueados; só então a
+        // reconciliação começa e pede os mesmos bloqueios, na mesma ordem (pedido, depois venda_diaria).
+        CountDownLatch mudancaNoCommit = new CountDownLatch(1);
+        antesDoCommit.acao = () -> {
+
+            mudancaNoCommit.countDown();
+            pausar();
+
+        };
+
+        CompletableFuture<Void> confirmacao = executar(() -> pedidoService.atualizarStatusPedido(PEDIDO_ID, StatusPedido.CONFIRMADO));
+        assertThat(aguardar(mudancaNoCommit)).isTrue();
+        CompletableFuture<Void> reconciliacao = executar(() -> vendasAgregadasService.reconciliar(ONTEM.toLocalDate(), ONTEM.toLocalDate()));
+
+        assertThat(falha(confirmacao)).isNull();
+        assertThat(falha(reconciliacao)).isNull();
+        assertThat(contagemPorStatus()).containsOnly(Map.entry(StatusPedido.CONFIRMADO, 1L));
+
+    }
+
+    private CompletableFuture<Void> executar(Runnable operacao) {
+
+        return CompletableFuture.runAsync(operacao, executor);
+
+    }
+
+    private boolean aguardar(CountDownLatch sinal) {
+
+        try {
+
+            return sinal.await(30, TimeUnit.SECONDS);
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            return false;
+
+        }
+
+    }
+
+    private Throwable falha(CompletableFuture<Void> operacao) {
+
+        try {
+
+            operacao.get(30, TimeUnit.SECONDS);
+            return null;
+
+        } catch (Exception e) {
+
+            return e instanceof ExecutionException ? e.getCause() : e;
+
+        }
+
+    }
+
+    private Map<StatusPedido, Long> contagemPorStatus() {
+
+        return jdbcTemplate.queryForList("SELECT status, quantidade FROM venda_diaria WHERE quantidade <> 0").stream()
+            .collect(Collectors.toMap(linha -> StatusPedido.valueOf((String) linha.get("STATUS")),
+                linha -> ((Number) linha.get("QUANTIDADE")).longValue()));
+
+    }
+
+    private void pausar() {
+
+        try {
+
+            Thread.sleep(PAUSA_ANTES_DO_COMMIT_MS);
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+        }
+
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        AntesDoCommit antesDoCommit() {
+
+            return new AntesDoCommit();
+
+        }
+
+    }
+
+    // Executa a ação no fim da transação que alterou o pedido, com os bloqueios dela ainda mantidos.
+    static class AntesDoCommit {
+
+        volatile Runnable acao = () -> { };
+
+        @EventListener
+        public void aoAlterarPedido(PedidoAlteradoEvent evento) {
+
+            Runnable pendente = acao;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+
+                    pendente.run();
+
+                }
+
+            });
+
+        }
+
+    }
+
+}
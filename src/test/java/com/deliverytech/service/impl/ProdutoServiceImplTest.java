@@ -1,30 +1,52 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.cache.ProdutoCacheInvalidator;
+import com.deliverytech.config.ImportacaoProperties;
 import com.deliverytech.dto.request.*;
 import com.deliverytech.dto.response.*;
+import com.deliverytech.enums.FormatoImportacao;
+import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.mapper.ProdutoMapper;
 import com.deliverytech.model.Produto;
 import com.deliverytech.model.Restaurante;
 import com.deliverytech.model.Usuario;
 import com.deliverytech.repository.ProdutoRepository;
 import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.search.IndiceProdutos;
+import com.deliverytech.search.ProdutoIndexado;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.modelmapper.ModelMapper;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,12 +54,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -56,6 +81,27 @@ class ProdutoServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ProdutoMapper produtoMapper;
+
+    @Mock
+    private ProdutoCacheInvalidator produtoCacheInvalidator;
+
+    @Mock
+    private IndiceProdutos indiceProdutos;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private ImportacaoProperties importacaoProperties = new ImportacaoProperties();
+
     @Mock
     private SecurityContext securityContext;
 
@@ -109,7 +155,7 @@ class ProdutoServiceImplTest {
         when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
         when(modelMapper.map(any(ProdutoDTO.class), eq(Produto.class))).thenReturn(produto);
         when(produtoRepository.save(any(Produto.class))).thenReturn(produto);
-        when(modelMapper.map(any(Produto.class), eq(ProdutoResponseDTO.class))).thenReturn(produtoResponseDTO);
+        when(produtoMapper.toResponseDTO(any(Produto.class))).thenReturn(produtoResponseDTO);
 
         // Act.
         ProdutoResponseDTO response = produtoService.cadastrarProduto(produtoDTO);
@@ -118,6 +164,7 @@ class ProdutoServiceImplTest {
         assertThat(response).isNotNull();
         assertThat(response.getNome()).isEqualTo("Pizza Teste");
         verify(produtoRepository).save(produto);
+        verify(produtoCacheInvalidator).invalidar(isNull(), eq(ProdutoCacheInvalidator.Estado.de(produto)));
 
     }
 
@@ -137,6 +184,126 @@ class ProdutoServiceImplTest {
 
     }
 
+    // ----- Testes para importarProdutos -----
+
+    @Test
+    @DisplayName("Deve importar as linhas válidas do CSV em lotes e listar as inválidas")
+    @SuppressWarnings("unchecked")
+    void importarProdutos_CsvComLinhasInvalidas_DeveGravarValidasEmLotes() {
+
+        // Arrange.
+        importacaoProperties.setTamanhoLote(2);
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+        String csv = """
+            nome,descricao,preco,categoria
+            Pizza Quatro Queijos,"Mussarela, provolone, gorgonzola e parmesão",52.00,PIZZA
+            Pizza Sem Preço,Massa fina com molho de tomate,abc,PIZZA
+            Suco de Laranja,Suco natural de laranja 500ml,9.90,BEBIDA
+
+            X,Descrição curta demais,,BEBIDA
+            Água Mineral,Garrafa de água mineral sem gás,4.50,BEBIDA
+            """;
+
+        // Act.
+        var resultado = produtoService.importarProdutos(1L, conteudo(csv), FormatoImportacao.CSV);
+
+        // Assert.
+        assertThat(resultado.getImportados()).isEqualTo(3);
+        assertThat(resultado.getRejeitados()).isEqualTo(2);
+        assertThat(resultado.getErros()).extracting("linha").containsExactly(2, 5);
+        assertThat(resultado.getErros().get(0).getMensagens()).containsExactly("preco: valor inválido.");
+        assertThat(resultado.getErros().get(1).getMensagens())
+            .containsExactly("nome: O nome deve ter entre 2 e 100 caracteres.", "preco: O preço do produto é obrigatório.");
+
+        verify(produtoRepository, times(2)).saveAll(any());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+
+        ArgumentCaptor<Collection<ProdutoCacheInvalidator.Estado>> estados = ArgumentCaptor.forClass(Collection.class);
+        verify(produtoCacheInvalidator).invalidarCadastros(estados.capture());
+        assertThat(estados.getValue()).extracting(ProdutoCacheInvalidator.Estado::categoria)
+            .containsExactly("PIZZA", "BEBIDA", "BEBIDA");
+
+        ArgumentCaptor<Collection<ProdutoIndexado>> indexados = ArgumentCaptor.forClass(Collection.class);
+        verify(indiceProdutos).indexar(indexados.capture());
+        assertThat(indexados.getValue()).extracting(ProdutoIndexado::nome)
+            .containsExactly("Pizza Quatro Queijos", "Suco de Laranja", "Água Mineral");
+
+    }
+
+    @Test
+    @DisplayName("Deve importar o array JSON usando o restaurante do caminho")
+    void importarProdutos_Json_DeveUsarRestauranteDoCaminho() {
+
+        // Arrange.
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+        String json = """
+            [
+              {"nome": "Pizza Portuguesa", "descricao": "Presunto, ovos, cebola e azeitonas", "preco": 49.90, "categoria": "PIZZA", "restauranteId": 99},
+              {"nome": "Pizza Grátis", "descricao": "Promoção que não deveria existir", "preco": 0, "categoria": "PIZZA"}
+            ]
+            """;
+
+        // Act.
+        var resultado = produtoService.importarProdutos(1L, conteudo(json), FormatoImportacao.JSON);
+
+        // Assert.
+        assertThat(resultado.getImportados()).isEqualTo(1);
+        assertThat(resultado.getErros()).singleElement().satisfies(erro -> {
+
+            assertThat(erro.getLinha()).isEqualTo(2);
+            assertThat(erro.getMensagens()).containsExactly("preco: O preço deve ser maior que zero.");
+
+        });
+
+        verify(produtoCacheInvalidator).invalidarCadastros(List.of(new ProdutoCacheInvalidator.Estado(null, 1L, "PIZZA")));
+
+    }
+
+    @Test
+    @DisplayName("Deve recusar a importação inteira acima do limite de linhas")
+    void importarProdutos_AcimaDoLimite_DeveLancarBusinessException() {
+
+        // Arrange.
+        importacaoProperties.setMaxLinhas(1);
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+        String csv = """
+            nome,descricao,preco,categoria
+            Suco de Laranja,Suco natural de laranja 500ml,9.90,BEBIDA
+            Água Mineral,Garrafa de água mineral sem gás,4.50,BEBIDA
+            """;
+
+        // Act e Assert.
+        assertThatThrownBy(() -> produtoService.importarProdutos(1L, conteudo(csv), FormatoImportacao.CSV))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("no máximo 1 linhas");
+
+        verify(produtoCacheInvalidator, never()).invalidarCadastros(anyCollection());
+
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException quando o JSON não é um array")
+    void importarProdutos_JsonSemArray_DeveLancarBusinessException() {
+
+        // Arrange.
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+
+        // Act e Assert.
+        assertThatThrownBy(() -> produtoService.importarProdutos(1L, conteudo("{\"nome\": \"Pizza\"}"), FormatoImportacao.JSON))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("array de produtos");
+
+        verify(produtoRepository, never()).saveAll(any());
+
+    }
+
+    private static InputStream conteudo(String texto) {
+
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+
+    }
+
     // ----- Testes para buscarProdutoPorId -----
 
     @Test
@@ -145,7 +312,7 @@ class ProdutoServiceImplTest {
 
         // Arrange.
         when(produtoRepository.findById(101L)).thenReturn(Optional.of(produto));
-        when(modelMapper.map(produto, ProdutoResponseDTO.class)).thenReturn(produtoResponseDTO);
+        when(produtoMapper.toResponseDTO(produto)).thenReturn(produtoResponseDTO);
 
         // Act.
         ProdutoResponseDTO response = produtoService.buscarProdutoPorId(101L);
@@ -176,9 +343,11 @@ class ProdutoServiceImplTest {
     void atualizarProduto_ComIdExistente_DeveRetornarProdutoAtualizadoDTO() {
 
         // Arrange.
+        produto.setCategoria("LANCHE");
+        ProdutoCacheInvalidator.Estado anterior = ProdutoCacheInvalidator.Estado.de(produto);
         when(produtoRepository.findById(101L)).thenReturn(Optional.of(produto));
         when(produtoRepository.save(any(Produto.class))).thenReturn(produto);
-        when(modelMapper.map(produto, ProdutoResponseDTO.class)).thenReturn(produtoResponseDTO);
+        when(produtoMapper.toResponseDTO(produto)).thenReturn(produtoResponseDTO);
         
         // Act.
         ProdutoResponseDTO response = produtoService.atualizarProduto(101L, produtoDTO);
@@ -189,23 +358,28 @@ class ProdutoServiceImplTest {
         assertThat(produto.getNome()).isEqualTo(produtoDTO.getNome());
         assertThat(produto.getDescricao()).isEqualTo(produtoDTO.getDescricao());
 
+        // As listas da categoria antiga e da nova precisam ser invalidadas.
+        verify(produtoCacheInvalidator).invalidar(anterior, new ProdutoCacheInvalidator.Estado(101L, 1L, "PIZZA"));
+        verify(indiceProdutos).indexar(List.of(ProdutoIndexado.de(produto)));
+
     }
 
     // ----- Testes para removerProduto -----
 
     @Test
     @DisplayName("Deve remover um produto com sucesso")
-    void removerProduto_ComIdExistente_DeveChamarDeleteById() {
+    void removerProduto_ComIdExistente_DeveChamarDelete() {
 
         // Arrange.
-        when(produtoRepository.existsById(101L)).thenReturn(true);
-        doNothing().when(produtoRepository).deleteById(101L);
+        when(produtoRepository.findById(101L)).thenReturn(Optional.of(produto));
+        doNothing().when(produtoRepository).delete(produto);
 
         // Act.
         produtoService.removerProduto(101L);
 
         // Assert.
-        verify(produtoRepository, times(1)).deleteById(101L);
+        verify(produtoRepository, times(1)).delete(produto);
+        verify(produtoCacheInvalidator).invalidar(eq(ProdutoCacheInvalidator.Estado.de(produto)), isNull());
 
     }
 
@@ -214,13 +388,14 @@ class ProdutoServiceImplTest {
     void removerProduto_ComIdInexistente_DeveLancarEntityNotFoundException() {
 
         // Arrange.
-        when(produtoRepository.existsById(99L)).thenReturn(false);
+        when(produtoRepository.findById(99L)).thenReturn(Optional.empty());
 
         // Act e Assert.
         assertThatThrownBy(() -> produtoService.removerProduto(99L))
             .isInstanceOf(EntityNotFoundException.class);
 
-        verify(produtoRepository, never()).deleteById(anyLong());
+        verify(produtoRepository, never()).delete(any(Produto.class));
+        verify(produtoCacheInvalidator, never()).invalidar(any(), any());
 
     }
     
@@ -234,7 +409,7 @@ class ProdutoServiceImplTest {
         produto.setDisponivel(true); // Estado inicial
         when(produtoRepository.findById(101L)).thenReturn(Optional.of(produto));
         when(produtoRepository.save(any(Produto.class))).thenReturn(produto);
-        when(modelMapper.map(produto, ProdutoResponseDTO.class)).thenReturn(produtoResponseDTO);
+        when(produtoMapper.toResponseDTO(produto)).thenReturn(produtoResponseDTO);
 
         // Act.
         ProdutoResponseDTO response = produtoService.alterarDisponibilidade(101L);
@@ -267,7 +442,7 @@ class ProdutoServiceImplTest {
 
         // Arrange.
         when(produtoRepository.findByRestauranteIdAndDisponivelTrue(1L)).thenReturn(List.of(produto));
-        when(modelMapper.map(produto, ProdutoResponseDTO.class)).thenReturn(produtoResponseDTO);
+        when(produtoMapper.toResponseDTO(produto)).thenReturn(produtoResponseDTO);
 
         // Act.
         List<ProdutoResponseDTO> result = produtoService.buscarProdutosPorRestaurante(1L, true);
@@ -285,7 +460,7 @@ class ProdutoServiceImplTest {
 
         // Arrange.
         when(produtoRepository.findByRestauranteId(1L)).thenReturn(List.of(produto));
-        when(modelMapper.map(produto, ProdutoResponseDTO.class)).thenReturn(produtoResponseDTO);
+        when(produtoMapper.toResponseDTO(produto)).thenReturn(produtoResponseDTO);
 
         // Act.
         List<ProdutoResponseDTO> result = produtoService.buscarProdutosPorRestaurante(1L, null);
@@ -303,7 +478,7 @@ class ProdutoServiceImplTest {
 
         // Arrange.
         when(produtoRepository.findByRestauranteId(1L)).thenReturn(List.of(produto));
-        when(modelMapper.map(produto, ProdutoResponseDTO.class)).thenReturn(produtoResponseDTO);
+        when(produtoMapper.toResponseDTO(produto)).thenReturn(produtoResponseDTO);
 
         // Act.
         List<ProdutoResponseDTO> result = produtoService.buscarProdutosPorRestaurante(1L, false);
@@ -323,7 +498,7 @@ class ProdutoServiceImplTest {
 
         // Arrange.
         when(produtoRepository.findAll()).thenReturn(List.of(produto));
-        when(modelMapper.map(produto, ProdutoResponseDTO.class)).thenReturn(produtoResponseDTO);
+        when(produtoMapper.toResponseDTO(produto)).thenReturn(produtoResponseDTO);
         
         // Act.
         List<ProdutoResponseDTO> result = produtoService.listarTodosProdutos();
@@ -341,7 +516,7 @@ class ProdutoServiceImplTest {
         // Arrange.
         when(produtoRepository.findByCategoriaAndDisponivelTrue("PIZZA"))
             .thenReturn(List.of(produto));
-        when(modelMapper.map(produto, ProdutoResponseDTO.class))
+        when(produtoMapper.toResponseDTO(produto))
             .thenReturn(produtoResponseDTO);
 
         // Act.
@@ -354,21 +529,21 @@ class ProdutoServiceImplTest {
     }
 
     @Test
-    @DisplayName("Deve buscar produtos por nome")
-    void buscarProdutosPorNome_DeveRetornarLista() {
+    @DisplayName("Deve buscar produtos no índice, sem consultar o banco")
+    void buscarProdutos_DeveUsarOIndice() {
 
         // Arrange.
-        when(produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue("Pizza"))
-            .thenReturn(List.of(produto));
-        when(modelMapper.map(produto, ProdutoResponseDTO.class))
-            .thenReturn(produtoResponseDTO);
+        ProdutoIndexado indexado = ProdutoIndexado.de(produto);
+        PageRequest pagina = PageRequest.of(0, 10);
+        when(indiceProdutos.buscar("Pizza", pagina)).thenReturn(new PageImpl<>(List.of(indexado), pagina, 1));
+        when(produtoMapper.toResponseDTO(indexado)).thenReturn(produtoResponseDTO);
 
         // Act.
-        List<ProdutoResponseDTO> result = produtoService.buscarProdutosPorNome("Pizza");
+        Page<ProdutoResponseDTO> result = produtoService.buscarProdutos("Pizza", pagina);
         
         // Assert.
-        assertThat(result).hasSize(1);
-        verify(produtoRepository).findByNomeContainingIgnoreCaseAndDisponivelTrue("Pizza");
+        assertThat(result.getContent()).containsExactly(produtoResponseDTO);
+        verifyNoInteractions(produtoRepository);
 
     }
 
@@ -1,11 +1,21 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.config.GeoProperties;
 import com.deliverytech.dto.request.*;
 import com.deliverytech.dto.response.*;
+import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.ConflictException;
 import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.geo.Coordenada;
+import com.deliverytech.geo.IndiceGeografico;
+import com.deliverytech.geo.RestauranteLocalizado;
+import com.deliverytech.geo.RestauranteProximo;
+import com.deliverytech.geo.TabelaCep;
+import com.deliverytech.mapper.RestauranteMapper;
 import com.deliverytech.model.Restaurante;
 import com.deliverytech.model.Usuario;
+import com.deliverytech.pagination.CursorCodec;
+import com.deliverytech.pagination.CursorPage;
 import com.deliverytech.repository.RestauranteRepository;
 
 import org.junit.jupiter.api.AfterEach;
@@ -16,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.modelmapper.ModelMapper;
@@ -23,6 +34,7 @@ import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,6 +43,7 @@ import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -54,6 +67,18 @@ class RestauranteServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private RestauranteMapper restauranteMapper;
+
+    @Mock
+    private TabelaCep tabelaCep;
+
+    @Mock
+    private IndiceGeografico indiceGeografico;
+
+    @Spy
+    private GeoProperties geoProperties = new GeoProperties();
+
     private Restaurante restaurante;
     private RestauranteDTO restauranteDTO;
     private RestauranteResponseDTO restauranteResponseDTO;
@@ -96,7 +121,7 @@ class RestauranteServiceImplTest {
         when(restauranteRepository.existsByTelefone(anyString())).thenReturn(false);
         when(modelMapper.map(any(RestauranteDTO.class), eq(Restaurante.class))).thenReturn(restaurante);
         when(restauranteRepository.save(any(Restaurante.class))).thenReturn(restaurante);
-        when(modelMapper.map(any(Restaurante.class), eq(RestauranteResponseDTO.class))).thenReturn(restauranteResponseDTO);
+        when(restauranteMapper.toResponseDTO(any(Restaurante.class))).thenReturn(restauranteResponseDTO);
 
         RestauranteResponseDTO response = restauranteService.cadastrarRestaurante(restauranteDTO);
 
@@ -126,7 +151,7 @@ class RestauranteServiceImplTest {
 
         Page<Restaurante> paginaDeRestaurantes = new PageImpl<>(Collections.singletonList(restaurante));
         when(restauranteRepository.findAll(any(Pageable.class))).thenReturn(paginaDeRestaurantes);
-        when(modelMapper.map(any(Restaurante.class), eq(RestauranteResponseDTO.class))).thenReturn(restauranteResponseDTO);
+        when(restauranteMapper.toResponseDTO(any(Restaurante.class))).thenReturn(restauranteResponseDTO);
 
         Page<RestauranteResponseDTO> resultado = restauranteService.listarRestaurantes(null, null, Pageable.unpaged());
 
@@ -136,12 +161,29 @@ class RestauranteServiceImplTest {
 
     }
 
+    @Test
+    @DisplayName("Deve retornar a última página por cursor sem próximo cursor")
+    @SuppressWarnings("unchecked")
+    void listarRestaurantesPorCursor_UltimaPagina_NaoDeveTerProximoCursor() {
+
+        when(restauranteRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(List.of(restaurante));
+        when(restauranteMapper.toResponseDTO(any(Restaurante.class))).thenReturn(restauranteResponseDTO);
+
+        CursorPage<RestauranteResponseDTO> resultado =
+        restauranteService.listarRestaurantesPorCursor("Italiana", true, CursorCodec.codificar(0L), 10);
+
+        assertThat(resultado.content()).hasSize(1);
+        assertThat(resultado.hasNext()).isFalse();
+        assertThat(resultado.nextCursor()).isNull();
+
+    }
+
     @Test
     @DisplayName("Deve retornar um restaurante quando o ID existe")
     void buscarRestaurantePorId_ComIdExistente_DeveRetornarRestauranteDTO() {
 
         when(restauranteRepository.findById(anyLong())).thenReturn(Optional.of(restaurante));
-        when(modelMapper.map(restaurante, RestauranteResponseDTO.class)).thenReturn(restauranteResponseDTO);
+        when(restauranteMapper.toResponseDTO(restaurante)).thenReturn(restauranteResponseDTO);
 
         RestauranteResponseDTO response = restauranteService.buscarRestaurantePorId(1L);
 
@@ -168,7 +210,7 @@ class RestauranteServiceImplTest {
 
         when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
         when(restauranteRepository.save(any(Restaurante.class))).thenReturn(restaurante);
-        when(modelMapper.map(restaurante, RestauranteResponseDTO.class)).thenReturn(restauranteResponseDTO);
+        when(restauranteMapper.toResponseDTO(restaurante)).thenReturn(restauranteResponseDTO);
         
         doNothing().when(modelMapper).map(any(RestauranteDTO.class), any(Restaurante.class));
 
@@ -187,7 +229,7 @@ class RestauranteServiceImplTest {
         restaurante.setAtivo(true);
         when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
         when(restauranteRepository.save(any(Restaurante.class))).thenReturn(restaurante);
-        when(modelMapper.map(any(Restaurante.class), eq(RestauranteResponseDTO.class))).thenReturn(restauranteResponseDTO);
+        when(restauranteMapper.toResponseDTO(any(Restaurante.class))).thenReturn(restauranteResponseDTO);
 
         restauranteService.alterarStatusRestaurante(1L);
 
@@ -203,7 +245,7 @@ class RestauranteServiceImplTest {
         restaurante.setAtivo(false);
         when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
         when(restauranteRepository.save(any(Restaurante.class))).thenReturn(restaurante);
-        when(modelMapper.map(any(Restaurante.class), eq(RestauranteResponseDTO.class))).thenReturn(restauranteResponseDTO);
+        when(restauranteMapper.toResponseDTO(any(Restaurante.class))).thenReturn(restauranteResponseDTO);
         
         restauranteService.alterarStatusRestaurante(1L);
         
@@ -277,7 +319,7 @@ class RestauranteServiceImplTest {
     void buscarRestaurantesPorCategoria_ComCategoriaExistente_DeveRetornarListaDeDTOs() {
 
         when(restauranteRepository.findByCategoriaAndAtivoTrue("ITALIANA")).thenReturn(List.of(restaurante));
-        when(modelMapper.map(restaurante, RestauranteResponseDTO.class)).thenReturn(restauranteResponseDTO);
+        when(restauranteMapper.toResponseDTO(restaurante)).thenReturn(restauranteResponseDTO);
 
         List<RestauranteResponseDTO> resultado = restauranteService.buscarRestaurantesPorCategoria("ITALIANA");
 
@@ -287,11 +329,83 @@ class RestauranteServiceImplTest {
     }
 
     @Test
-    @DisplayName("Deve retornar lista vazia para restaurantes próximos (não implementado)")
-    void buscarRestaurantesProximos_NaoImplementado_DeveRetornarVazio() {
+    @DisplayName("Deve devolver os restaurantes próximos na ordem do índice, com a distância e sem os inativos")
+    void buscarRestaurantesProximos_DeveSeguirOIndiceEIgnorarInativos() {
+
+        Coordenada origem = new Coordenada(-23.5614, -46.6559);
+        Restaurante inativo = new Restaurante();
+        inativo.setId(2L);
+        inativo.setAtivo(false);
+
+        when(tabelaCep.localizar("01310-100")).thenReturn(Optional.of(origem));
+        when(indiceGeografico.buscar(origem, 5, 100)).thenReturn(List.of(
+            new RestauranteProximo(2L, 0.4), new RestauranteProximo(1L, 1.234)));
+        when(restauranteRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(restaurante, inativo));
+        when(restauranteMapper.toResponseDTO(restaurante)).thenReturn(restauranteResponseDTO);
+
+        List<RestauranteResponseDTO> resultado = restauranteService.buscarRestaurantesProximos("01310-100", null);
+
+        assertThat(resultado).extracting(RestauranteResponseDTO::getId).containsExactly(1L);
+        assertThat(resultado.get(0).getDistanciaKm()).isEqualTo(1.23);
+
+    }
+
+    @Test
+    @DisplayName("Deve recusar raio acima do máximo e CEP fora da base de localização")
+    void buscarRestaurantesProximos_ComRaioOuCepInvalido_DeveLancarExcecao() {
+
+        assertThatThrownBy(() -> restauranteService.buscarRestaurantesProximos("01310-100", 51))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("entre 1 e 50 km");
+
+        when(tabelaCep.localizar("99999-999")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> restauranteService.buscarRestaurantesProximos("99999-999", 10))
+            .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(indiceGeografico);
+
+    }
+
+    @Test
+    @DisplayName("Deve obter as coordenadas pelo CEP no cadastro e indexar o restaurante")
+    void cadastrarRestaurante_SemCoordenadas_DeveLocalizarPeloCep() {
+
+        restauranteDTO.setCep("01310-100");
+        when(restauranteRepository.existsByTelefone(anyString())).thenReturn(false);
+        when(modelMapper.map(any(RestauranteDTO.class), eq(Restaurante.class))).thenReturn(restaurante);
+        when(tabelaCep.localizar("01310-100")).thenReturn(Optional.of(new Coordenada(-23.5631, -46.6544)));
+        when(restauranteRepository.save(any(Restaurante.class))).thenReturn(restaurante);
+        when(restauranteMapper.toResponseDTO(any(Restaurante.class))).thenReturn(restauranteResponseDTO);
+
+        restauranteService.cadastrarRestaurante(restauranteDTO);
+
+        assertThat(restaurante.getLatitude()).isEqualTo(-23.5631);
+        assertThat(restaurante.getLongitude()).isEqualTo(-46.6544);
+        verify(indiceGeografico).indexar(List.of(new RestauranteLocalizado(1L, -23.5631, -46.6544)));
+
+    }
 
-        List<RestauranteResponseDTO> resultado = restauranteService.buscarRestaurantesProximos("12345678", 10);
-        assertThat(resultado).isEmpty();
+    @Test
+    @DisplayName("Deve recusar no cadastro um CEP sem coordenadas conhecidas ou só uma das coordenadas")
+    void cadastrarRestaurante_ComLocalizacaoIncompleta_DeveLancarBusinessException() {
+
+        when(restauranteRepository.existsByTelefone(anyString())).thenReturn(false);
+        when(modelMapper.map(any(RestauranteDTO.class), eq(Restaurante.class))).thenReturn(restaurante);
+
+        restauranteDTO.setCep("99999-999");
+        when(tabelaCep.localizar("99999-999")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> restauranteService.cadastrarRestaurante(restauranteDTO))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Informe latitude e longitude");
+
+        restauranteDTO.setLatitude(-23.5);
+
+        assertThatThrownBy(() -> restauranteService.cadastrarRestaurante(restauranteDTO))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("juntas");
+
+        verify(restauranteRepository, never()).save(any(Restaurante.class));
 
     }
 
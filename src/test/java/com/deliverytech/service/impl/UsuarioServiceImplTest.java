@@ -3,6 +3,7 @@ package com.deliverytech.service.impl;
 import com.deliverytech.dto.request.*;
 import com.deliverytech.enums.UserRole;
 import com.deliverytech.exception.ConflictException;
+import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.model.Usuario;
 import com.deliverytech.repository.UsuarioRepository;
 
@@ -144,4 +145,68 @@ class UsuarioServiceImplTest {
         
     }
 
-}
\ No newline at end of file
+    // ----- Testes para a versão dos tokens -----
+
+    @Test
+    @DisplayName("Deve retornar a versão do token de um usuário ativo")
+    void buscarVersaoToken_ComUsuarioAtivo_DeveRetornarVersao() {
+
+        // Arrange.
+        usuario.setVersaoToken(3);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // Act e Assert.
+        assertThat(usuarioService.buscarVersaoToken(1L)).isEqualTo(3);
+
+    }
+
+    @Test
+    @DisplayName("Deve retornar versão inválida para usuário inativo ou inexistente")
+    void buscarVersaoToken_ComUsuarioInativoOuInexistente_DeveRetornarVersaoInvalida() {
+
+        // Arrange.
+        usuario.setAtivo(false);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act e Assert.
+        assertThat(usuarioService.buscarVersaoToken(1L)).isEqualTo(UsuarioServiceImpl.VERSAO_TOKEN_INVALIDA);
+        assertThat(usuarioService.buscarVersaoToken(99L)).isEqualTo(UsuarioServiceImpl.VERSAO_TOKEN_INVALIDA);
+
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a versão do token ao revogar os tokens do usuário")
+    void revogarTokens_DeveIncrementarVersao() {
+
+        // Arrange.
+        usuario.setVersaoToken(1);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.save(usuario)).thenReturn(usuario);
+
+        // Act.
+        Usuario revogado = usuarioService.revogarTokens(1L);
+
+        // Assert.
+        assertThat(revogado.getVersaoToken()).isEqualTo(2);
+        verify(usuarioRepository).save(usuario);
+
+    }
+
+    @Test
+    @DisplayName("Deve lançar EntityNotFoundException ao revogar tokens de usuário inexistente")
+    void revogarTokens_ComUsuarioInexistente_DeveLancarEntityNotFoundException() {
+
+        // Arrange.
+        when(usuarioRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act e Assert.
+        assertThatThrownBy(() -> usuarioService.revogarTokens(99L))
+            .isInstanceOf(EntityNotFoundException.class)
+            .hasMessage("Usuário não encontrado: 99");
+
+        verify(usuarioRepository, never()).save(any());
+
+    }
+
+}
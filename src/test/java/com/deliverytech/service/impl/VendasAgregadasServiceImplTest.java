@@ -0,0 +1,127 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.config.RelatorioProperties;
+import com.deliverytech.enums.StatusPedido;
+import com.deliverytech.event.PedidoAlteradoEvent;
+import com.deliverytech.projection.RelatorioVendas;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.repository.VendaDiariaRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+
+/**
+* Roda o MERGE e a reconciliação no H2 com o esquema das migrações.
+*/
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.defer-datasource-initialization=false",
+    "spring.sql.init.mode=never"
+})
+@Import({ VendasAgregadasServiceImpl.class, RelatorioProperties.class })
+class VendasAgregadasServiceImplTest {
+
+    private static final LocalDateTime ONTEM = LocalDate.now().minusDays(1).atTime(12, 0);
+
+    @Autowired
+    private VendasAgregadasServiceImpl vendasAgregadasService;
+
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("INSERT INTO restaurante (id, nome, ativo) VALUES (1, 'Pizzaria', TRUE), (2, 'Sushi', TRUE)");
+
+    }
+
+    @Test
+    @DisplayName("Deve somar criações e mover a contagem entre status nas mudanças de status")
+    void aoAlterarPedido_DeveManterOAgregado() {
+
+        vendasAgregadasService.aoAlterarPedido(evento(1L, StatusPedido.PENDENTE, null, "50.00"));
+        vendasAgregadasService.aoAlterarPedido(evento(1L, StatusPedido.PENDENTE, null, "30.00"));
+        vendasAgregadasService.aoAlterarPedido(evento(1L, StatusPedido.CANCELADO, StatusPedido.PENDENTE, "30.00"));
+
+        assertThat(contagemPorStatus()).containsEntry(StatusPedido.PENDENTE, 1L).containsEntry(StatusPedido.CANCELADO, 1L);
+        assertThat(vendaDiariaRepository.calcularVendasPorPeriodo(ONTEM.toLocalDate(), ONTEM.toLocalDate()))
+            .isEqualByComparingTo("50.00");
+
+        List<RelatorioVendas> relatorio = restauranteRepository.relatorioVendasPorRestaurante();
+        assertThat(relatorio).extracting(RelatorioVendas::getNomeRestaurante, RelatorioVendas::getQuantidadePedidos)
+            .containsExactlyInAnyOrder(tuple("Pizzaria", 2L), tuple("Sushi", 0L));
+
+    }
+
+    @Test
+    @DisplayName("Deve corrigir o agregado divergente a partir da tabela de pedidos")
+    void reconciliar_DeveCorrigirDivergencias() {
+
+        inserirPedido(1L, StatusPedido.ENTREGUE, "40.00");
+        inserirPedido(1L, StatusPedido.ENTREGUE, "60.00");
+        inserirPedido(2L, StatusPedido.PENDENTE, "25.00");
+        // Divergências: falta uma entrega do restaurante 1 e sobra uma linha que não existe nos pedidos.
+        vendasAgregadasService.aoAlterarPedido(evento(1L, StatusPedido.ENTREGUE, null, "40.00"));
+        vendasAgregadasService.aoAlterarPedido(evento(2L, StatusPedido.CANCELADO, null, "99.00"));
+
+        int correcoes = vendasAgregadasService.reconciliar(ONTEM.toLocalDate(), ONTEM.toLocalDate());
+
+        assertThat(correcoes).isEqualTo(3);
+        assertThat(contagemPorStatus()).containsOnly(Map.entry(StatusPedido.ENTREGUE, 2L), Map.entry(StatusPedido.PENDENTE, 1L));
+        assertThat(vendaDiariaRepository.calcularVendasPorPeriodo(ONTEM.toLocalDate(), ONTEM.toLocalDate()))
+            .isEqualByComparingTo("125.00");
+        assertThat(vendasAgregadasService.reconciliar(ONTEM.toLocalDate(), ONTEM.toLocalDate())).isZero();
+
+    }
+
+    private Map<StatusPedido, Long> contagemPorStatus() {
+
+        return pedidoRepository.countPedidosByStatus().stream()
+            .collect(Collectors.toMap(linha -> (StatusPedido) linha[0], linha -> ((Number) linha[1]).longValue()));
+
+    }
+
+    private void inserirPedido(Long restauranteId, StatusPedido status, String valorTotal) {
+
+        jdbcTemplate.update("INSERT INTO pedido (data_pedido, status, valor_total, restaurante_id) VALUES (?, ?, ?, ?)",
+            ONTEM, status.name(), new BigDecimal(valorTotal), restauranteId);
+
+    }
+
+    private PedidoAlteradoEvent evento(Long restauranteId, StatusPedido status, StatusPedido statusAnterior, String valorTotal) {
+
+        return new PedidoAlteradoEvent(1L, restauranteId, "PEDIDO_STATUS_ATUALIZADO", status, statusAnterior,
+            ONTEM, new BigDecimal(valorTotal), null);
+
+    }
+
+}